@@ -23,6 +23,10 @@ dependencies {
     implementation("io.quarkus:quarkus-hibernate-orm-panache")
     implementation("io.quarkus:quarkus-hibernate-validator")
     implementation("io.quarkus:quarkus-websockets")
+    implementation("io.quarkus:quarkus-flyway")
+    implementation("io.quarkus:quarkus-micrometer-registry-prometheus")
+    implementation("io.quarkus:quarkus-mutiny")
+    implementation("io.quarkus:quarkus-virtual-threads")
 
     implementation("commons-io:commons-io")
     implementation("org.apache.commons:commons-lang3")
@@ -33,7 +37,6 @@ dependencies {
     implementation(libs.mapstruct.runtime)
 
     runtimeOnly("io.quarkus:quarkus-jdbc-h2")
-    runtimeOnly("io.quarkus:quarkus-flyway")
     runtimeOnly("io.quarkus:quarkus-resteasy-reactive-jackson")
     runtimeOnly("io.quarkus:quarkus-container-image-docker")
 
@@ -64,10 +67,46 @@ tasks.withType<JavaCompile>().configureEach {
 val openApiSpecificationFile = layout.buildDirectory.file("openapi-specification.json")
 
 tasks.test {
+    useJUnitPlatform {
+        excludeTags("load", "startup")
+    }
     outputs.file(openApiSpecificationFile)
     systemProperty("openapi.specification.target-file", openApiSpecificationFile.get().asFile.absolutePath)
 }
 
+val loadTest by tasks.registering(Test::class) {
+    description = "Runs the load tests of the REST endpoints."
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    System.getProperties()
+        .filterKeys { it.toString().startsWith("load-test.") }
+        .forEach { (key, value) -> systemProperty(key.toString(), value) }
+    testLogging.showStandardStreams = true
+}
+
+val startupBenchmark by tasks.registering(Test::class) {
+    description = "Measures the startup time, memory usage and latency of the packaged JVM and native application."
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("startup")
+    }
+    systemProperty("startup-benchmark.build-dir", layout.buildDirectory.get().asFile.absolutePath)
+    systemProperty("startup-benchmark.keystore", file("src/main/resources/keystore/ec.p12").absolutePath)
+    systemProperty("startup-benchmark.native-runner", "tsa-${project.version}-runner")
+    System.getProperties()
+        .filterKeys { it.toString().startsWith("startup-benchmark.") }
+        .forEach { (key, value) -> systemProperty(key.toString(), value) }
+    // the measured artifacts are not inputs of the task, so the results must never be considered up-to-date
+    outputs.upToDateWhen { false }
+    testLogging.showStandardStreams = true
+}
+
 artifacts {
     add(openApiSpecification.name, openApiSpecificationFile) {
         builtBy(tasks.test)
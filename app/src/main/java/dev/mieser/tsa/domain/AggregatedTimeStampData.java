@@ -0,0 +1,46 @@
+package dev.mieser.tsa.domain;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Encapsulates the TSP response which was issued for the root of a Merkle tree and the information required to prove
+ * that a specific message imprint is a leaf of that tree.
+ * <p/>
+ * The hash of a leaf is calculated over {@code 0x00 || messageImprint}. Applying all {@link #inclusionProof steps} of
+ * the inclusion proof to the leaf hash results in the message imprint of the TSP response.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class AggregatedTimeStampData {
+
+    /**
+     * The TSP response which was issued for the root of the Merkle tree.
+     */
+    private final TimeStampResponseData response;
+
+    /**
+     * The zero-based index of the leaf in the Merkle tree.
+     */
+    private final int leafIndex;
+
+    /**
+     * The OID of the hash algorithm which was used to calculate the message imprint and the hashes of the Merkle tree.
+     */
+    private final String hashAlgorithmIdentifier;
+
+    /**
+     * The message imprint which was aggregated.
+     */
+    private final byte[] messageImprint;
+
+    /**
+     * The steps from the leaf to the root of the Merkle tree. Empty when the tree only consists of a single leaf.
+     */
+    private final List<InclusionProofStep> inclusionProof;
+
+}
@@ -0,0 +1,31 @@
+package dev.mieser.tsa.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * The outcome of validating a single TSP response out of multiple concatenated TSP responses. Either the
+ * {@link #result} or the {@link #error} is set.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class BulkValidationResult {
+
+    /**
+     * The zero-based position of the TSP response in the concatenated TSP responses.
+     */
+    private final int index;
+
+    /**
+     * The validation result of the TSP response. {@code null} when the TSP response could not be validated.
+     */
+    private final TimeStampValidationResult result;
+
+    /**
+     * The reason why the TSP response could not be validated. {@code null} when it was validated successfully.
+     */
+    private final String error;
+
+}
@@ -0,0 +1,25 @@
+package dev.mieser.tsa.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A single step of the path from a leaf to the root of a Merkle tree.
+ */
+@Data
+@AllArgsConstructor
+public class InclusionProofStep {
+
+    /**
+     * The hash of the sibling node on the path to the root.
+     */
+    private final byte[] siblingHash;
+
+    /**
+     * Specifies whether the sibling node is the left child of the parent node. The parent node's hash is calculated over
+     * {@code 0x01 || siblingHash || currentHash} in that case and over {@code 0x01 || currentHash || siblingHash}
+     * otherwise.
+     */
+    private final boolean siblingLeft;
+
+}
@@ -0,0 +1,79 @@
+package dev.mieser.tsa.domain;
+
+import java.math.BigInteger;
+import java.time.ZonedDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * The metadata of a TSP response and its request without the ASN.1 encoded payloads. The ASN.1 encoded TSP response can
+ * be retrieved separately when needed.
+ */
+@Data
+@Builder(builderMethodName = "")
+@AllArgsConstructor
+public class TimeStampResponseSummary {
+
+    /**
+     * An arbitrary Identifier, may be {@code null}.
+     */
+    private final Long id;
+
+    /**
+     * The status of the TSP response as defined in {@code PKIStatus}.
+     */
+    private final ResponseStatus status;
+
+    /**
+     * An optional reason text.
+     */
+    private final String statusString;
+
+    /**
+     * The reason why the request was rejected. {@code null} when the request was signed successfully.
+     */
+    private final FailureInfo failureInfo;
+
+    /**
+     * The time the TSP request was received.
+     */
+    private final ZonedDateTime receptionTime;
+
+    /**
+     * The time the TSP request was signed. {@code null}, when the request was not signed.
+     */
+    private final ZonedDateTime generationTime;
+
+    /**
+     * A unique serial number assigned to the TSP response.
+     */
+    private final BigInteger serialNumber;
+
+    /**
+     * The OID of the hash algorithm which was used in the request.
+     */
+    private final String hashAlgorithmIdentifier;
+
+    /**
+     * The hash which was signed.
+     */
+    private final byte[] hash;
+
+    /**
+     * The nonce which was included in the request. Can be {@code null}.
+     */
+    private final BigInteger nonce;
+
+    /**
+     * Specifies whether the TSA's public key was requested to be included in the response.
+     */
+    private final boolean certificateRequested;
+
+    /**
+     * The OID of the TSA policy requested in the request.
+     */
+    private final String tsaPolicyId;
+
+}
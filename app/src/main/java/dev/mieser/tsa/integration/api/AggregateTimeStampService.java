@@ -0,0 +1,25 @@
+package dev.mieser.tsa.integration.api;
+
+import java.io.InputStream;
+
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
+import dev.mieser.tsa.signing.api.exception.InvalidTspRequestException;
+import dev.mieser.tsa.signing.api.exception.SignerUnavailableException;
+
+public interface AggregateTimeStampService {
+
+    /**
+     * Adds the message imprint of the specified TSP request to the Merkle tree of the current aggregation window and blocks
+     * until the root of the tree has been signed and saved.
+     *
+     * @param tspRequestStream
+     *     The input stream of an ASN.1 DER encoded TSP request, not {@code null}.
+     * @return The saved TSP response of the tree's root and the inclusion proof of the request's message imprint.
+     * @throws InvalidTspRequestException
+     *     When the request cannot be parsed.
+     * @throws SignerUnavailableException
+     *     When the service has been stopped, e.g. because the application is shutting down.
+     */
+    AggregatedTimeStampData aggregate(InputStream tspRequestStream) throws InvalidTspRequestException;
+
+}
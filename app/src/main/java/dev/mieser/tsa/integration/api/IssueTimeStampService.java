@@ -1,6 +1,7 @@
 package dev.mieser.tsa.integration.api;
 
 import java.io.InputStream;
+import java.util.List;
 
 import dev.mieser.tsa.domain.TimeStampResponseData;
 import dev.mieser.tsa.signing.api.exception.InvalidTspRequestException;
@@ -10,6 +11,17 @@ public interface IssueTimeStampService {
     TimeStampResponseData signTimestampRequest(
         InputStream tspRequestStream) throws InvalidTspRequestException;
 
+    /**
+     * Signs and saves all TSP requests contained in the specified stream in a single unit of work.
+     *
+     * @param tspRequestsStream
+     *     The input stream of multiple concatenated ASN.1 DER encoded TSP requests, not {@code null}.
+     * @return The saved responses in the same order as the requests appeared in the input stream.
+     * @throws InvalidTspRequestException
+     *     When at least one of the requests cannot be parsed.
+     */
+    List<TimeStampResponseData> signTimestampRequests(InputStream tspRequestsStream) throws InvalidTspRequestException;
+
     void registerListener(TimeStampListener listener);
 
     void unregisterListener(TimeStampListener listener);
@@ -1,15 +1,42 @@
 package dev.mieser.tsa.integration.api;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
 import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.domain.TimeStampResponseSummary;
+import dev.mieser.tsa.persistence.api.CursorPage;
+import dev.mieser.tsa.persistence.api.CursorPageRequest;
+import dev.mieser.tsa.persistence.api.ExportRequest;
 import dev.mieser.tsa.persistence.api.Page;
 import dev.mieser.tsa.persistence.api.PageRequest;
+import io.smallrye.mutiny.Uni;
 
 public interface QueryTimeStampResponseService {
 
-    Page<TimeStampResponseData> findAll(PageRequest pageRequest);
+    Page<TimeStampResponseSummary> findAll(PageRequest pageRequest);
+
+    CursorPage<TimeStampResponseSummary> findAllAfterCursor(CursorPageRequest pageRequest);
 
     Optional<TimeStampResponseData> findById(long id);
 
+    Optional<byte[]> findAsnEncodedById(long id);
+
+    Optional<AggregatedTimeStampData> findAggregatedById(long responseId, int leafIndex);
+
+    Optional<TimeStampResponseSummary> findBySerialNumber(long serialNumber);
+
+    Uni<Page<TimeStampResponseSummary>> findAllAsync(PageRequest pageRequest);
+
+    Uni<CursorPage<TimeStampResponseSummary>> findAllAfterCursorAsync(CursorPageRequest pageRequest);
+
+    Uni<Optional<TimeStampResponseData>> findByIdAsync(long id);
+
+    Uni<Optional<byte[]>> findAsnEncodedByIdAsync(long id);
+
+    void exportAll(ExportRequest exportRequest, Consumer<TimeStampResponseData> consumer);
+
+    void exportAsnEncoded(ExportRequest exportRequest, Consumer<byte[]> consumer);
+
 }
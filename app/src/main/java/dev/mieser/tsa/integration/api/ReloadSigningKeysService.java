@@ -0,0 +1,18 @@
+package dev.mieser.tsa.integration.api;
+
+import dev.mieser.tsa.signing.api.exception.TsaInitializationException;
+
+public interface ReloadSigningKeysService {
+
+    /**
+     * Starts signing TSP requests using the keys of the configured key store, when they changed since they were last
+     * loaded. TSP requests are not paused while the keys are replaced and responses signed using the previous keys remain
+     * valid.
+     *
+     * @return Whether the signing keys changed.
+     * @throws TsaInitializationException
+     *     When the changed keys cannot be loaded. The previous keys remain in use in that case.
+     */
+    boolean reloadSigningKeys();
+
+}
@@ -0,0 +1,26 @@
+package dev.mieser.tsa.integration.api;
+
+import dev.mieser.tsa.domain.TimeStampResponseData;
+
+/**
+ * Distributes issued TSP responses to the subscribers of all application instances. Implementations determine whether
+ * and how responses reach the subscribers of other instances.
+ */
+public interface TimeStampBroadcaster {
+
+    /**
+     * Distributes the response to the subscribers of all application instances. The subscribers of this instance are
+     * notified on the calling thread.
+     *
+     * @param response
+     *     The issued response, not {@code null}.
+     */
+    void publish(TimeStampResponseData response);
+
+    /**
+     * @param subscriber
+     *     The subscriber which is notified of the responses published by any application instance, not {@code null}.
+     */
+    void subscribe(TimeStampListener subscriber);
+
+}
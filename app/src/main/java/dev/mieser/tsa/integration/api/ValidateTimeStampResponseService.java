@@ -1,7 +1,9 @@
 package dev.mieser.tsa.integration.api;
 
 import java.io.InputStream;
+import java.util.function.Consumer;
 
+import dev.mieser.tsa.domain.BulkValidationResult;
 import dev.mieser.tsa.domain.TimeStampValidationResult;
 import dev.mieser.tsa.signing.api.exception.InvalidCertificateException;
 import dev.mieser.tsa.signing.api.exception.InvalidTspResponseException;
@@ -14,4 +16,17 @@ public interface ValidateTimeStampResponseService {
     TimeStampValidationResult validateTimeStampResponse(InputStream timestampResponse,
         InputStream x509Certificate) throws InvalidTspResponseException, InvalidCertificateException;
 
+    /**
+     * Validates multiple concatenated TSP responses in parallel. The results are passed to the consumer one at a time in
+     * the order the validations finish, while further responses are still being read. A TSP response which cannot be
+     * validated does not affect the other responses. Malformed data ends the validation after all preceding responses were
+     * validated. The method returns after all results were passed to the consumer.
+     *
+     * @param timestampResponses
+     *     The input stream of multiple concatenated ASN.1 DER encoded TSP responses, not {@code null}.
+     * @param consumer
+     *     Receives the result of each TSP response, not {@code null}.
+     */
+    void validateTimeStampResponses(InputStream timestampResponses, Consumer<BulkValidationResult> consumer);
+
 }
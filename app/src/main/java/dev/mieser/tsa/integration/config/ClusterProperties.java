@@ -0,0 +1,71 @@
+package dev.mieser.tsa.integration.config;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "tsa.cluster")
+public interface ClusterProperties {
+
+    /**
+     * Whether multiple application instances share the same database. When enabled, the instances notify each other of
+     * issued TSP responses through the database, so WebSocket clients connected to any instance are notified of the
+     * responses issued by all instances.
+     * <p/>
+     * Disabled by default.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * The ID of this application instance, which must differ from the IDs of all other instances.
+     * <p/>
+     * A random ID is generated on startup by default.
+     */
+    Optional<String> nodeId();
+
+    /**
+     * The delay between two polls for notifications of other instances.
+     * <p/>
+     * Default is set to 200 milliseconds. Cannot be {@code null}.
+     */
+    @NotNull
+    @WithDefault("200ms")
+    Duration pollInterval();
+
+    /**
+     * The maximum time between appending a notification and committing it. Notifications which become visible later than
+     * that might not be delivered. Since the notifications of an instance are appended in batches, this includes the time
+     * it takes to append a batch.
+     * <p/>
+     * Default is set to 5 seconds. Cannot be {@code null}.
+     */
+    @NotNull
+    @WithDefault("5s")
+    Duration maxCommitDelay();
+
+    /**
+     * The time after which notifications are deleted from the database.
+     * <p/>
+     * Default is set to 10 minutes. Cannot be {@code null}.
+     */
+    @NotNull
+    @WithDefault("10m")
+    Duration notificationRetention();
+
+    /**
+     * The maximum number of issued responses waiting to be appended to the database. Notifications of responses issued
+     * while the queue is full are dropped.
+     * <p/>
+     * Default is set to {@code 10000}. Must be positive.
+     */
+    @Positive
+    @WithDefault("10000")
+    int notificationQueueCapacity();
+
+}
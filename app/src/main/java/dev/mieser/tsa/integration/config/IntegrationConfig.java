@@ -1,39 +1,104 @@
 package dev.mieser.tsa.integration.config;
 
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
 import jakarta.ws.rs.Produces;
 
+import dev.mieser.tsa.integration.api.AggregateTimeStampService;
 import dev.mieser.tsa.integration.api.DeleteTimestampResponseService;
 import dev.mieser.tsa.integration.api.IssueTimeStampService;
 import dev.mieser.tsa.integration.api.QueryTimeStampResponseService;
+import dev.mieser.tsa.integration.api.ReloadSigningKeysService;
+import dev.mieser.tsa.integration.api.TimeStampBroadcaster;
 import dev.mieser.tsa.integration.api.ValidateTimeStampResponseService;
+import dev.mieser.tsa.integration.impl.AggregateTimeStampServiceImpl;
 import dev.mieser.tsa.integration.impl.DeleteTimestampResponseServiceImpl;
 import dev.mieser.tsa.integration.impl.IssueTimeStampServiceImpl;
+import dev.mieser.tsa.integration.impl.LocalTimeStampBroadcaster;
+import dev.mieser.tsa.integration.impl.PollingTimeStampBroadcaster;
 import dev.mieser.tsa.integration.impl.QueryTimeStampResponseServiceImpl;
+import dev.mieser.tsa.integration.impl.ReloadSigningKeysServiceImpl;
 import dev.mieser.tsa.integration.impl.ValidateTimeStampResponseServiceImpl;
+import dev.mieser.tsa.persistence.api.ReactiveTspResponseDataRepository;
+import dev.mieser.tsa.persistence.api.TimeStampNotificationRepository;
 import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+import dev.mieser.tsa.persistence.config.PersistenceProperties;
+import dev.mieser.tsa.signing.api.SigningKeyReloader;
 import dev.mieser.tsa.signing.api.TimeStampAuthority;
 import dev.mieser.tsa.signing.api.TimeStampValidator;
+import dev.mieser.tsa.signing.config.TsaProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.virtual.threads.VirtualThreads;
 
 public class IntegrationConfig {
 
+    private static final String PERSIST_TIMER = "tsa.responses.persist";
+
+    /**
+     * The timer recording the persistence of all issued TSP responses, whether they were signed individually or as the root
+     * of a Merkle tree.
+     */
+    @Produces
+    @Singleton
+    @Named(PERSIST_TIMER)
+    Timer persistTimer(MeterRegistry meterRegistry) {
+        return Timer.builder(PERSIST_TIMER)
+            .description("The time it takes to save issued TSP responses.")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
     @Produces
     @ApplicationScoped
     IssueTimeStampService issueTimeStampService(TimeStampAuthority timeStampAuthority,
-        TspResponseDataRepository responseDataRepository) {
-        return new IssueTimeStampServiceImpl(timeStampAuthority, responseDataRepository);
+        TspResponseDataRepository responseDataRepository, MeterRegistry meterRegistry,
+        @Named(PERSIST_TIMER) Timer persistTimer, PersistenceProperties persistenceProperties,
+        TimeStampBroadcaster timeStampBroadcaster) {
+        return new IssueTimeStampServiceImpl(timeStampAuthority, responseDataRepository, meterRegistry, persistTimer,
+            persistenceProperties.mode(), timeStampBroadcaster);
+    }
+
+    @Produces
+    @ApplicationScoped
+    TimeStampBroadcaster timeStampBroadcaster(ClusterProperties clusterProperties,
+        TimeStampNotificationRepository notificationRepository) {
+        if (!clusterProperties.enabled()) {
+            return new LocalTimeStampBroadcaster();
+        }
+
+        String nodeId = clusterProperties.nodeId().orElseGet(() -> UUID.randomUUID().toString());
+        return new PollingTimeStampBroadcaster(notificationRepository, nodeId, clusterProperties.pollInterval(),
+            clusterProperties.maxCommitDelay(), clusterProperties.notificationRetention(),
+            clusterProperties.notificationQueueCapacity(), Clock.systemUTC());
+    }
+
+    void closeTimeStampBroadcaster(@Disposes TimeStampBroadcaster timeStampBroadcaster) {
+        if (timeStampBroadcaster instanceof PollingTimeStampBroadcaster pollingTimeStampBroadcaster) {
+            pollingTimeStampBroadcaster.close();
+        }
     }
 
     @Produces
     @ApplicationScoped
-    QueryTimeStampResponseService queryTimeStampResponseService(TspResponseDataRepository responseDataRepository) {
-        return new QueryTimeStampResponseServiceImpl(responseDataRepository);
+    QueryTimeStampResponseService queryTimeStampResponseService(TspResponseDataRepository responseDataRepository,
+        ReactiveTspResponseDataRepository reactiveResponseDataRepository) {
+        return new QueryTimeStampResponseServiceImpl(responseDataRepository, reactiveResponseDataRepository);
     }
 
     @Produces
     @ApplicationScoped
-    ValidateTimeStampResponseService validateTimeStampResponseService(TimeStampValidator timeStampValidator) {
-        return new ValidateTimeStampResponseServiceImpl(timeStampValidator);
+    ValidateTimeStampResponseService validateTimeStampResponseService(TimeStampValidator timeStampValidator,
+        @VirtualThreads ExecutorService virtualThreadExecutor, TsaProperties tsaProperties) {
+        int parallelism = tsaProperties.validation().bulkParallelism().orElse(Runtime.getRuntime().availableProcessors());
+        return new ValidateTimeStampResponseServiceImpl(timeStampValidator, virtualThreadExecutor, parallelism);
     }
 
     @Produces
@@ -42,4 +107,28 @@ public class IntegrationConfig {
         return new DeleteTimestampResponseServiceImpl(responseDataRepository);
     }
 
+    @Produces
+    @ApplicationScoped
+    ReloadSigningKeysService reloadSigningKeysService(SigningKeyReloader signingKeyReloader) {
+        return new ReloadSigningKeysServiceImpl(signingKeyReloader);
+    }
+
+    @Produces
+    @ApplicationScoped
+    AggregateTimeStampService aggregateTimeStampService(TimeStampAuthority timeStampAuthority,
+        TspResponseDataRepository responseDataRepository, TimeStampBroadcaster timeStampBroadcaster,
+        TsaProperties tsaProperties, MeterRegistry meterRegistry, @Named(PERSIST_TIMER) Timer persistTimer) {
+        var aggregateTimeStampService = new AggregateTimeStampServiceImpl(timeStampAuthority, responseDataRepository,
+            timeStampBroadcaster, persistTimer, tsaProperties.aggregation().window(),
+            tsaProperties.aggregation().maxLeaves());
+        Gauge.builder("tsa.aggregation.pending", aggregateTimeStampService, AggregateTimeStampServiceImpl::pendingImprintCount)
+            .description("The number of message imprints waiting to be aggregated.")
+            .register(meterRegistry);
+        return aggregateTimeStampService;
+    }
+
+    void closeAggregateTimeStampService(@Disposes AggregateTimeStampService aggregateTimeStampService) {
+        ((AggregateTimeStampServiceImpl) aggregateTimeStampService).close();
+    }
+
 }
@@ -0,0 +1,196 @@
+package dev.mieser.tsa.integration.impl;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.extern.slf4j.Slf4j;
+
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
+import dev.mieser.tsa.domain.TimeStampRequestData;
+import dev.mieser.tsa.integration.api.AggregateTimeStampService;
+import dev.mieser.tsa.integration.api.TimeStampBroadcaster;
+import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+import dev.mieser.tsa.signing.api.TimeStampAuthority;
+import dev.mieser.tsa.signing.api.exception.InvalidTspRequestException;
+import dev.mieser.tsa.signing.api.exception.SignerUnavailableException;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Collects message imprints for a configurable time window and signs the root of their Merkle tree using a single
+ * signature. The tree is signed as soon as either the window elapsed or the maximum number of leaves is reached.
+ * Message imprints calculated with different hash algorithms are aggregated in separate trees. The tree is saved on the
+ * thread signing it and the response issued for its root is published like any other issued response.
+ */
+@Slf4j
+public class AggregateTimeStampServiceImpl implements AggregateTimeStampService, AutoCloseable {
+
+    private final TimeStampAuthority timeStampAuthority;
+
+    private final TspResponseDataRepository responseDataRepository;
+
+    private final TimeStampBroadcaster timeStampBroadcaster;
+
+    private final Timer persistTimer;
+
+    private final Duration window;
+
+    private final int maxLeaves;
+
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("merkle-aggregation").daemon().factory());
+
+    /**
+     * Guards the pending imprints.
+     */
+    private final Lock pendingImprintsLock = new ReentrantLock();
+
+    private List<PendingImprint> pendingImprints = new ArrayList<>();
+
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Set once the service is closed, after which no message imprints are accepted anymore.
+     */
+    private boolean closed;
+
+    /**
+     * @param timeStampAuthority
+     *     The TSA used to sign the roots of the Merkle trees, not {@code null}.
+     * @param responseDataRepository
+     *     The repository the signed trees are saved in, not {@code null}.
+     * @param timeStampBroadcaster
+     *     The broadcaster the responses issued for the roots of the Merkle trees are published to, not {@code null}.
+     * @param persistTimer
+     *     The timer the latency of saving the signed trees is recorded in, not {@code null}.
+     * @param window
+     *     The time message imprints are collected for before their tree is signed, not {@code null}.
+     * @param maxLeaves
+     *     The number of message imprints after which their tree is signed right away, must be positive.
+     */
+    public AggregateTimeStampServiceImpl(TimeStampAuthority timeStampAuthority, TspResponseDataRepository responseDataRepository,
+        TimeStampBroadcaster timeStampBroadcaster, Timer persistTimer, Duration window, int maxLeaves) {
+        this.timeStampAuthority = timeStampAuthority;
+        this.responseDataRepository = responseDataRepository;
+        this.timeStampBroadcaster = timeStampBroadcaster;
+        this.persistTimer = persistTimer;
+        this.window = window;
+        this.maxLeaves = maxLeaves;
+    }
+
+    @Override
+    public AggregatedTimeStampData aggregate(InputStream tspRequestStream) throws InvalidTspRequestException {
+        TimeStampRequestData request = timeStampAuthority.parseRequest(tspRequestStream);
+        var pendingImprint = new PendingImprint(request.getHashAlgorithmIdentifier(), request.getHash(),
+            new CompletableFuture<>());
+
+        pendingImprintsLock.lock();
+        try {
+            if (closed) {
+                throw new SignerUnavailableException("The aggregation of message imprints has been stopped.");
+            }
+
+            pendingImprints.add(pendingImprint);
+            if (pendingImprints.size() >= maxLeaves) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                }
+                scheduledFlush = null;
+                flushExecutor.execute(this::flush);
+            } else if (pendingImprints.size() == 1) {
+                scheduledFlush = flushExecutor.schedule(this::flush, window.toNanos(), NANOSECONDS);
+            }
+        } finally {
+            pendingImprintsLock.unlock();
+        }
+
+        try {
+            return pendingImprint.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of message imprints waiting to be aggregated.
+     */
+    public int pendingImprintCount() {
+        pendingImprintsLock.lock();
+        try {
+            return pendingImprints.size();
+        } finally {
+            pendingImprintsLock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting new message imprints and signs all imprints which are still pending.
+     */
+    @Override
+    public void close() {
+        pendingImprintsLock.lock();
+        try {
+            closed = true;
+        } finally {
+            pendingImprintsLock.unlock();
+        }
+
+        flushExecutor.shutdownNow();
+        flush();
+    }
+
+    private void flush() {
+        List<PendingImprint> imprintsToSign;
+        pendingImprintsLock.lock();
+        try {
+            imprintsToSign = pendingImprints;
+            pendingImprints = new ArrayList<>();
+            scheduledFlush = null;
+        } finally {
+            pendingImprintsLock.unlock();
+        }
+
+        imprintsToSign.stream()
+            .collect(groupingBy(PendingImprint::hashAlgorithmOid, LinkedHashMap::new, toList()))
+            .forEach(this::signTree);
+    }
+
+    private void signTree(String hashAlgorithmOid, List<PendingImprint> imprints) {
+        try {
+            List<AggregatedTimeStampData> signedLeaves = timeStampAuthority.signMessageImprints(hashAlgorithmOid,
+                imprints.stream().map(PendingImprint::messageImprint).toList());
+            List<AggregatedTimeStampData> savedLeaves = persistTimer
+                .record(() -> responseDataRepository.saveAggregated(signedLeaves));
+            log.info("Successfully saved aggregated TSP response for {} message imprints.", savedLeaves.size());
+
+            // all leaves share the response issued for the root
+            timeStampBroadcaster.publish(savedLeaves.getFirst().getResponse());
+
+            for (int i = 0; i < imprints.size(); i++) {
+                imprints.get(i).result().complete(savedLeaves.get(i));
+            }
+        } catch (Exception e) {
+            log.error("Failed to sign Merkle tree of {} message imprints.", imprints.size(), e);
+            imprints.forEach(imprint -> imprint.result().completeExceptionally(e));
+        }
+    }
+
+    private record PendingImprint(String hashAlgorithmOid, byte[] messageImprint,
+        CompletableFuture<AggregatedTimeStampData> result) {
+
+    }
+
+}
@@ -1,41 +1,110 @@
 package dev.mieser.tsa.integration.impl;
 
 import java.io.InputStream;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import dev.mieser.tsa.domain.TimeStampResponseData;
 import dev.mieser.tsa.integration.api.IssueTimeStampService;
+import dev.mieser.tsa.integration.api.TimeStampBroadcaster;
 import dev.mieser.tsa.integration.api.TimeStampListener;
+import dev.mieser.tsa.persistence.api.PersistenceMode;
 import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
 import dev.mieser.tsa.signing.api.TimeStampAuthority;
 import dev.mieser.tsa.signing.api.exception.InvalidTspRequestException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Slf4j
-@RequiredArgsConstructor
 public class IssueTimeStampServiceImpl implements IssueTimeStampService {
 
     private final TimeStampAuthority timeStampAuthority;
 
     private final TspResponseDataRepository responseDataRepository;
 
+    /**
+     * Issued TSP responses are not passed to the repositories at all when persistence is disabled.
+     */
+    private final PersistenceMode persistenceMode;
+
+    /**
+     * Issued TSP responses are published to the broadcaster, which passes them on to the registered listeners of all
+     * application instances.
+     */
+    private final TimeStampBroadcaster timeStampBroadcaster;
+
+    private final Timer persistTimer;
+
+    private final Timer notifyTimer;
+
     private final Set<TimeStampListener> registeredListeners = ConcurrentHashMap.newKeySet();
 
+    /**
+     * @param timeStampAuthority
+     *     The TSA used to sign the TSP requests, not {@code null}.
+     * @param responseDataRepository
+     *     The repository the issued TSP responses are saved in, not {@code null}.
+     * @param meterRegistry
+     *     The registry the notification latency is recorded in, not {@code null}.
+     * @param persistTimer
+     *     The timer the latency of saving the issued TSP responses is recorded in, not {@code null}.
+     * @param persistenceMode
+     *     Which data of the issued TSP responses is persisted, not {@code null}.
+     * @param timeStampBroadcaster
+     *     The broadcaster the issued TSP responses are published to, not {@code null}. The registered listeners are
+     *     subscribed to it.
+     */
+    public IssueTimeStampServiceImpl(TimeStampAuthority timeStampAuthority, TspResponseDataRepository responseDataRepository,
+        MeterRegistry meterRegistry, Timer persistTimer, PersistenceMode persistenceMode,
+        TimeStampBroadcaster timeStampBroadcaster) {
+        this.timeStampAuthority = timeStampAuthority;
+        this.responseDataRepository = responseDataRepository;
+        this.persistenceMode = persistenceMode;
+        this.timeStampBroadcaster = timeStampBroadcaster;
+        this.persistTimer = persistTimer;
+        this.notifyTimer = Timer.builder("tsa.listeners.notify")
+            .description("The time it takes to notify all registered listeners of an issued TSP response.")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        timeStampBroadcaster.subscribe(this::notifyListeners);
+    }
+
     @Override
     public TimeStampResponseData signTimestampRequest(InputStream tspRequestStream) throws InvalidTspRequestException {
         TimeStampResponseData response = timeStampAuthority.signRequest(tspRequestStream);
-        TimeStampResponseData savedResponse = responseDataRepository.save(response);
+        if (persistenceMode == PersistenceMode.NONE) {
+            timeStampBroadcaster.publish(response);
+            return response;
+        }
+
+        TimeStampResponseData savedResponse = persistTimer.record(() -> responseDataRepository.save(response));
         log.info("Successfully saved TSP response with serial number '{}' with ID '{}'.", savedResponse.getSerialNumber(),
             savedResponse.getId());
 
-        notifyListeners(savedResponse);
+        timeStampBroadcaster.publish(savedResponse);
 
         return savedResponse;
     }
 
+    @Override
+    public List<TimeStampResponseData> signTimestampRequests(InputStream tspRequestsStream) throws InvalidTspRequestException {
+        List<TimeStampResponseData> responses = timeStampAuthority.signRequests(tspRequestsStream);
+        if (persistenceMode == PersistenceMode.NONE) {
+            responses.forEach(timeStampBroadcaster::publish);
+            return responses;
+        }
+
+        List<TimeStampResponseData> savedResponses = persistTimer.record(() -> responseDataRepository.saveAll(responses));
+        log.info("Successfully saved batch of {} TSP responses.", savedResponses.size());
+
+        savedResponses.forEach(timeStampBroadcaster::publish);
+
+        return savedResponses;
+    }
+
     @Override
     public void registerListener(TimeStampListener listener) {
         registeredListeners.add(listener);
@@ -47,13 +116,13 @@ public class IssueTimeStampServiceImpl implements IssueTimeStampService {
     }
 
     private void notifyListeners(TimeStampResponseData response) {
-        registeredListeners.forEach(listener -> {
+        notifyTimer.record(() -> registeredListeners.forEach(listener -> {
             try {
                 listener.onResponse(response);
             } catch (Exception e) {
                 log.warn("Failed to notify listener.", e);
             }
-        });
+        }));
     }
 
 }
@@ -0,0 +1,44 @@
+package dev.mieser.tsa.integration.impl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import lombok.extern.slf4j.Slf4j;
+
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.integration.api.TimeStampBroadcaster;
+import dev.mieser.tsa.integration.api.TimeStampListener;
+
+/**
+ * {@link TimeStampBroadcaster} which only notifies the subscribers of this application instance.
+ */
+@Slf4j
+public class LocalTimeStampBroadcaster implements TimeStampBroadcaster {
+
+    private final List<TimeStampListener> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(TimeStampResponseData response) {
+        deliver(response);
+    }
+
+    @Override
+    public void subscribe(TimeStampListener subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * @param response
+     *     The response to pass to all subscribers of this application instance, not {@code null}.
+     */
+    protected void deliver(TimeStampResponseData response) {
+        subscribers.forEach(subscriber -> {
+            try {
+                subscriber.onResponse(response);
+            } catch (Exception e) {
+                log.warn("Failed to notify subscriber.", e);
+            }
+        });
+    }
+
+}
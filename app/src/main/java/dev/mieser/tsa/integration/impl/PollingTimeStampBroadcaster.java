@@ -0,0 +1,248 @@
+package dev.mieser.tsa.integration.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.integration.api.TimeStampBroadcaster;
+import dev.mieser.tsa.persistence.api.TimeStampNotificationRepository;
+
+/**
+ * {@link TimeStampBroadcaster} for application instances sharing the same database. Published responses are passed to
+ * the local subscribers immediately and put into a bounded queue. A background thread appends the queued responses to
+ * the {@link TimeStampNotificationRepository} in batches, so publishing never waits for the database. The repository is
+ * polled for the notifications appended by the other instances. Notifications are only sent on a best effort basis: a
+ * response is not appended when the queue is full or the batch cannot be appended.
+ * <p/>
+ * Since notifications are appended in concurrent transactions, a notification might become visible after notifications
+ * with a greater ID. The broadcaster therefore keeps track of the highest ID up to which all notifications were
+ * delivered. Notifications with a greater ID are remembered individually until the gap before them is closed or has
+ * been open for longer than the maximum commit delay, e.g. because the transaction was rolled back.
+ */
+@Slf4j
+public class PollingTimeStampBroadcaster extends LocalTimeStampBroadcaster implements AutoCloseable {
+
+    private static final int APPEND_BATCH_SIZE = 500;
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final TimeStampNotificationRepository notificationRepository;
+
+    private final String nodeId;
+
+    private final Duration maxCommitDelay;
+
+    private final Duration retention;
+
+    private final Clock clock;
+
+    private final ScheduledExecutorService pollExecutor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("notification-poller").daemon().factory());
+
+    private final BlockingQueue<TimeStampResponseData> pendingNotifications;
+
+    private final Thread appenderThread;
+
+    private volatile boolean closed;
+
+    /**
+     * The IDs greater than the {@link #watermark} of the notifications which were already delivered or were appended by
+     * this instance.
+     */
+    private final Set<Long> handledIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The time at which the IDs greater than the {@link #watermark} which have not been handled yet were first noticed to
+     * be missing. Only accessed by the poll thread.
+     */
+    private final Map<Long, Instant> missingIdsSince = new HashMap<>();
+
+    /**
+     * The ID up to which all notifications were either handled or given up on.
+     */
+    private volatile long watermark;
+
+    /**
+     * The time expired notifications were last deleted. Only accessed by the poll thread.
+     */
+    private Instant lastCleanup = Instant.MIN;
+
+    /**
+     * Starts polling for notifications appended after the latest notification which is present on construction.
+     *
+     * @param notificationRepository
+     *     The repository the notifications are appended to and polled from, not {@code null}.
+     * @param nodeId
+     *     The ID of this application instance, which must differ from the IDs of all other instances, not empty.
+     * @param pollInterval
+     *     The delay between two polls, not {@code null}.
+     * @param maxCommitDelay
+     *     The maximum time a notification is waited for after a notification with a greater ID became visible, not
+     *     {@code null}.
+     * @param retention
+     *     The time after which notifications are deleted, not {@code null}. Must be considerably longer than the maximum
+     *     commit delay.
+     * @param queueCapacity
+     *     The maximum number of responses waiting to be appended, must be positive.
+     * @param clock
+     *     The clock the append time of notifications is taken from, not {@code null}.
+     */
+    public PollingTimeStampBroadcaster(TimeStampNotificationRepository notificationRepository, String nodeId,
+        Duration pollInterval, Duration maxCommitDelay, Duration retention, int queueCapacity, Clock clock) {
+        this.notificationRepository = notificationRepository;
+        this.nodeId = nodeId;
+        this.maxCommitDelay = maxCommitDelay;
+        this.retention = retention;
+        this.clock = clock;
+        this.pendingNotifications = new ArrayBlockingQueue<>(queueCapacity);
+        this.watermark = notificationRepository.findLatestId();
+        this.appenderThread = Thread.ofPlatform()
+            .name("notification-appender")
+            .daemon()
+            .start(this::appendPendingNotifications);
+        pollExecutor.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(TimeStampResponseData response) {
+        deliver(response);
+
+        if (!pendingNotifications.offer(response)) {
+            log.warn("Failed to notify other instances of TSP response with serial number '{}', since too many "
+                + "notifications are waiting to be appended.", response.getSerialNumber());
+        }
+    }
+
+    /**
+     * Stops polling for notifications and waits until the queued notifications have been appended.
+     */
+    @Override
+    public void close() {
+        pollExecutor.shutdownNow();
+        closed = true;
+        try {
+            if (!appenderThread.join(CLOSE_TIMEOUT)) {
+                log.warn("Not all pending notifications could be appended.");
+                appenderThread.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void appendPendingNotifications() {
+        while (!closed || !pendingNotifications.isEmpty()) {
+            List<TimeStampResponseData> batch = new ArrayList<>(APPEND_BATCH_SIZE);
+            try {
+                TimeStampResponseData firstResponse = pendingNotifications.poll(100, TimeUnit.MILLISECONDS);
+                if (firstResponse == null) {
+                    continue;
+                }
+
+                batch.add(firstResponse);
+                pendingNotifications.drainTo(batch, APPEND_BATCH_SIZE - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            append(batch);
+        }
+    }
+
+    private void append(List<TimeStampResponseData> batch) {
+        try {
+            List<Long> ids = notificationRepository.appendAll(nodeId, ZonedDateTime.now(clock), batch);
+            long currentWatermark = watermark;
+            ids.stream()
+                .filter(id -> id > currentWatermark)
+                .forEach(handledIds::add);
+        } catch (RuntimeException e) {
+            log.warn("Failed to notify other instances of {} TSP responses.", batch.size(), e);
+        }
+    }
+
+    /**
+     * Delivers the notifications appended by other instances since the last poll and deletes expired notifications.
+     */
+    void poll() {
+        try {
+            List<Long> newIds = notificationRepository.findIdsAfter(watermark, nodeId).stream()
+                .filter(id -> !handledIds.contains(id))
+                .toList();
+            if (!newIds.isEmpty()) {
+                List<TimeStampResponseData> responses = notificationRepository.findResponses(newIds);
+                handledIds.addAll(newIds);
+                responses.forEach(this::deliver);
+            }
+
+            advanceWatermark();
+            deleteExpiredNotifications();
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll notifications of other instances.", e);
+        }
+    }
+
+    private void advanceWatermark() {
+        Instant now = clock.instant();
+        long highestHandledId = handledIds.stream()
+            .mapToLong(Long::longValue)
+            .max()
+            .orElse(watermark);
+
+        long newWatermark = watermark;
+        boolean advancing = true;
+        for (long id = watermark + 1; id <= highestHandledId; id++) {
+            if (handledIds.contains(id)) {
+                if (advancing) {
+                    newWatermark = id;
+                }
+                continue;
+            }
+
+            Instant missingSince = missingIdsSince.computeIfAbsent(id, missingId -> now);
+            if (advancing && missingSince.plus(maxCommitDelay).isBefore(now)) {
+                log.debug("Gave up waiting for notification with ID '{}'.", id);
+                newWatermark = id;
+            } else {
+                advancing = false;
+            }
+        }
+
+        long finalWatermark = newWatermark;
+        watermark = finalWatermark;
+        handledIds.removeIf(id -> id <= finalWatermark);
+        missingIdsSince.keySet().removeIf(id -> id <= finalWatermark);
+    }
+
+    /**
+     * Deletes the notifications which were appended before the retention period at most once per retention period, so
+     * notifications are kept for at most twice the retention period.
+     */
+    private void deleteExpiredNotifications() {
+        Instant now = clock.instant();
+        if (lastCleanup.plus(retention).isAfter(now)) {
+            return;
+        }
+
+        notificationRepository.deleteAppendedBefore(ZonedDateTime.now(clock).minus(retention));
+        lastCleanup = now;
+    }
+
+}
@@ -1,28 +1,88 @@
 package dev.mieser.tsa.integration.impl;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import lombok.RequiredArgsConstructor;
 
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
 import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.domain.TimeStampResponseSummary;
 import dev.mieser.tsa.integration.api.QueryTimeStampResponseService;
+import dev.mieser.tsa.persistence.api.CursorPage;
+import dev.mieser.tsa.persistence.api.CursorPageRequest;
+import dev.mieser.tsa.persistence.api.ExportRequest;
 import dev.mieser.tsa.persistence.api.Page;
 import dev.mieser.tsa.persistence.api.PageRequest;
+import dev.mieser.tsa.persistence.api.ReactiveTspResponseDataRepository;
 import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+import io.smallrye.mutiny.Uni;
 
 @RequiredArgsConstructor
 public class QueryTimeStampResponseServiceImpl implements QueryTimeStampResponseService {
 
     private final TspResponseDataRepository responseDataRepository;
 
+    private final ReactiveTspResponseDataRepository reactiveResponseDataRepository;
+
     @Override
-    public Page<TimeStampResponseData> findAll(PageRequest pageRequest) {
+    public Page<TimeStampResponseSummary> findAll(PageRequest pageRequest) {
         return responseDataRepository.findAll(pageRequest);
     }
 
+    @Override
+    public CursorPage<TimeStampResponseSummary> findAllAfterCursor(CursorPageRequest pageRequest) {
+        return responseDataRepository.findAllAfterCursor(pageRequest);
+    }
+
     @Override
     public Optional<TimeStampResponseData> findById(long id) {
         return responseDataRepository.findById(id);
     }
 
+    @Override
+    public Optional<byte[]> findAsnEncodedById(long id) {
+        return responseDataRepository.findAsnEncodedById(id);
+    }
+
+    @Override
+    public Optional<AggregatedTimeStampData> findAggregatedById(long responseId, int leafIndex) {
+        return responseDataRepository.findAggregatedByResponseId(responseId, leafIndex);
+    }
+
+    @Override
+    public Optional<TimeStampResponseSummary> findBySerialNumber(long serialNumber) {
+        return responseDataRepository.findBySerialNumber(serialNumber);
+    }
+
+    @Override
+    public Uni<Page<TimeStampResponseSummary>> findAllAsync(PageRequest pageRequest) {
+        return reactiveResponseDataRepository.findAll(pageRequest);
+    }
+
+    @Override
+    public Uni<CursorPage<TimeStampResponseSummary>> findAllAfterCursorAsync(CursorPageRequest pageRequest) {
+        return reactiveResponseDataRepository.findAllAfterCursor(pageRequest);
+    }
+
+    @Override
+    public Uni<Optional<TimeStampResponseData>> findByIdAsync(long id) {
+        return reactiveResponseDataRepository.findById(id);
+    }
+
+    @Override
+    public Uni<Optional<byte[]>> findAsnEncodedByIdAsync(long id) {
+        return reactiveResponseDataRepository.findAsnEncodedById(id);
+    }
+
+    @Override
+    public void exportAll(ExportRequest exportRequest, Consumer<TimeStampResponseData> consumer) {
+        responseDataRepository.exportAll(exportRequest, consumer);
+    }
+
+    @Override
+    public void exportAsnEncoded(ExportRequest exportRequest, Consumer<byte[]> consumer) {
+        responseDataRepository.exportAsnEncoded(exportRequest, consumer);
+    }
+
 }
@@ -0,0 +1,25 @@
+package dev.mieser.tsa.integration.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import dev.mieser.tsa.integration.api.ReloadSigningKeysService;
+import dev.mieser.tsa.signing.api.SigningKeyReloader;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReloadSigningKeysServiceImpl implements ReloadSigningKeysService {
+
+    private final SigningKeyReloader signingKeyReloader;
+
+    @Override
+    public boolean reloadSigningKeys() {
+        boolean reloaded = signingKeyReloader.reload();
+        if (reloaded) {
+            log.info("Successfully reloaded changed signing keys.");
+        }
+
+        return reloaded;
+    }
+
+}
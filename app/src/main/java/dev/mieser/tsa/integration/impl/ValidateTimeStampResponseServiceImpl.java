@@ -1,11 +1,20 @@
 package dev.mieser.tsa.integration.impl;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import dev.mieser.tsa.domain.BulkValidationResult;
 import dev.mieser.tsa.domain.TimeStampValidationResult;
 import dev.mieser.tsa.integration.api.ValidateTimeStampResponseService;
 import dev.mieser.tsa.signing.api.TimeStampValidator;
@@ -18,6 +27,18 @@ public class ValidateTimeStampResponseServiceImpl implements ValidateTimeStampRe
 
     private final TimeStampValidator timeStampValidator;
 
+    /**
+     * Executes the validations of concatenated TSP responses.
+     */
+    private final Executor validationExecutor;
+
+    /**
+     * The maximum number of TSP responses of a single bulk validation which are validated at the same time. Reading further
+     * responses is suspended while the limit is reached, so the memory consumption does not depend on the number of
+     * responses.
+     */
+    private final int parallelism;
+
     @Override
     public TimeStampValidationResult validateTimeStampResponse(InputStream timestampResponse) throws InvalidTspResponseException {
         return timeStampValidator.validateResponse(timestampResponse);
@@ -33,4 +54,147 @@ public class ValidateTimeStampResponseServiceImpl implements ValidateTimeStampRe
         }
     }
 
+    @Override
+    public void validateTimeStampResponses(InputStream timestampResponses, Consumer<BulkValidationResult> consumer) {
+        var bulkValidation = new BulkValidation(consumer);
+        InvalidTspResponseException malformedDataException = null;
+        try (timestampResponses) {
+            timeStampValidator.splitResponses(timestampResponses, bulkValidation::submit);
+        } catch (InvalidTspResponseException e) {
+            malformedDataException = e;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to close input stream", e);
+        }
+
+        bulkValidation.awaitCompletion();
+        if (malformedDataException != null) {
+            log.debug("Concatenated TSP responses contain malformed data.", malformedDataException);
+            consumer.accept(BulkValidationResult.builder()
+                .index(bulkValidation.submittedValidations)
+                .error(malformedDataException.getMessage())
+                .build());
+        }
+    }
+
+    private BulkValidationResult validate(int index, byte[] encodedResponse) {
+        try {
+            return BulkValidationResult.builder()
+                .index(index)
+                .result(timeStampValidator.validateResponse(new ByteArrayInputStream(encodedResponse)))
+                .build();
+        } catch (InvalidTspResponseException | RuntimeException e) {
+            log.debug("Failed to validate TSP response at index {}.", index, e);
+            return BulkValidationResult.builder()
+                .index(index)
+                .error(e.getMessage())
+                .build();
+        }
+    }
+
+    /**
+     * Keeps track of the validations of a single bulk validation. The validations are submitted by the thread reading the
+     * concatenated TSP responses. Each validation passes its own result and the results of other finished validations to
+     * the consumer, so the results are not held back while the reading thread waits for further responses.
+     */
+    private final class BulkValidation {
+
+        private final Queue<BulkValidationResult> completedValidations = new ConcurrentLinkedQueue<>();
+
+        /**
+         * One permit for every validation which may be pending at the same time. A permit is released once the result of a
+         * validation was passed to the consumer.
+         */
+        private final Semaphore validationPermits = new Semaphore(parallelism);
+
+        /**
+         * Held while passing results to the consumer, so the consumer is never called concurrently.
+         */
+        private final Lock consumerLock = new ReentrantLock();
+
+        private final Consumer<BulkValidationResult> consumer;
+
+        /**
+         * The exception thrown by the consumer. No further results are passed to the consumer once it failed.
+         */
+        private volatile RuntimeException consumerException;
+
+        /**
+         * Only accessed by the reading thread.
+         */
+        private int submittedValidations;
+
+        private BulkValidation(Consumer<BulkValidationResult> consumer) {
+            this.consumer = consumer;
+        }
+
+        private void submit(byte[] encodedResponse) {
+            acquirePermits(1);
+            rethrowConsumerException();
+
+            int index = submittedValidations++;
+            validationExecutor.execute(() -> {
+                BulkValidationResult result = BulkValidationResult.builder()
+                    .index(index)
+                    .error("The TSP response could not be validated.")
+                    .build();
+                try {
+                    result = validate(index, encodedResponse);
+                } finally {
+                    completedValidations.add(result);
+                    publishCompletedValidations();
+                }
+            });
+        }
+
+        private void awaitCompletion() {
+            acquirePermits(parallelism);
+            rethrowConsumerException();
+        }
+
+        /**
+         * Passes the completed results to the consumer unless another thread is already doing so. That thread checks for
+         * further results after releasing the lock, so no result is left in the queue.
+         */
+        private void publishCompletedValidations() {
+            while (!completedValidations.isEmpty() && consumerLock.tryLock()) {
+                try {
+                    BulkValidationResult completedValidation;
+                    while ((completedValidation = completedValidations.poll()) != null) {
+                        publish(completedValidation);
+                    }
+                } finally {
+                    consumerLock.unlock();
+                }
+            }
+        }
+
+        private void publish(BulkValidationResult completedValidation) {
+            try {
+                if (consumerException == null) {
+                    consumer.accept(completedValidation);
+                }
+            } catch (RuntimeException e) {
+                consumerException = e;
+            } finally {
+                validationPermits.release();
+            }
+        }
+
+        private void acquirePermits(int permits) {
+            try {
+                validationPermits.acquire(permits);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for TSP responses to be validated.", e);
+            }
+        }
+
+        private void rethrowConsumerException() {
+            if (consumerException != null) {
+                throw consumerException;
+            }
+        }
+
+    }
+
 }
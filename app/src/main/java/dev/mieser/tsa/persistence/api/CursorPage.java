@@ -0,0 +1,17 @@
+package dev.mieser.tsa.persistence.api;
+
+import java.util.List;
+
+/**
+ * @param size
+ *     The requested size of this page.
+ * @param nextCursor
+ *     The continuation token which can be used to request the next page or {@code null} when this is the last page.
+ * @param totalElements
+ *     The total number of elements across all pages or {@code null} when the count was not requested.
+ * @param content
+ *     The elements of this page.
+ */
+public record CursorPage<T>(int size, String nextCursor, Long totalElements, List<T> content) {
+
+}
@@ -0,0 +1,19 @@
+package dev.mieser.tsa.persistence.api;
+
+/**
+ * Request for a page which starts after the position described by a continuation token. Unlike {@link PageRequest}s,
+ * the time it takes to retrieve a page does not depend on the number of preceding elements.
+ *
+ * @param cursor
+ *     The continuation token of the previous page or {@code null} to request the first page.
+ * @param size
+ *     The size of the page. Must be greater than or equal to {@code 1}.
+ * @param sort
+ *     The property to sort after or {@code null} to sort after the ID. Must be the same sort the continuation token was
+ *     issued for.
+ * @param includeCount
+ *     Whether the total number of elements should be counted.
+ */
+public record CursorPageRequest(String cursor, int size, Sort sort, boolean includeCount) {
+
+}
@@ -0,0 +1,17 @@
+package dev.mieser.tsa.persistence.api;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Selects the TSP responses to export. The responses are always exported in ascending order of their ID.
+ *
+ * @param receivedFrom
+ *     The inclusive lower bound of the reception time or {@code null} when unbounded.
+ * @param receivedBefore
+ *     The exclusive upper bound of the reception time or {@code null} when unbounded.
+ * @param afterId
+ *     The ID of the last response of a previous export or {@code null} to start with the first response.
+ */
+public record ExportRequest(ZonedDateTime receivedFrom, ZonedDateTime receivedBefore, Long afterId) {
+
+}
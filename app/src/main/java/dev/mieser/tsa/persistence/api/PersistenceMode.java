@@ -0,0 +1,29 @@
+package dev.mieser.tsa.persistence.api;
+
+/**
+ * Determines which data of issued TSP responses is persisted.
+ */
+public enum PersistenceMode {
+
+    /**
+     * The TSP responses and their requests are persisted including their ASN.1 DER encoding. The responses are part of the
+     * response history.
+     */
+    FULL,
+
+    /**
+     * Only the metadata of the TSP responses and their requests is persisted, without their ASN.1 DER encoding. The
+     * metadata is kept in a separate table, which can be searched by serial number, and is not part of the response
+     * history. Saved responses are assigned the ID of their metadata, which cannot be used to look up a response in the
+     * history. The message imprints of the leaves of a Merkle tree are kept next to the metadata of its root.
+     */
+    METADATA,
+
+    /**
+     * Nothing is persisted. Issued TSP responses are only returned to the client and passed to the registered listeners.
+     * The responses are still mapped to their domain representation, since the listeners are notified of every issued
+     * response.
+     */
+    NONE
+
+}
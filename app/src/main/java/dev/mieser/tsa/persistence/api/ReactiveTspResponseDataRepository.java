@@ -0,0 +1,57 @@
+package dev.mieser.tsa.persistence.api;
+
+import java.util.List;
+import java.util.Optional;
+
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.domain.TimeStampResponseSummary;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Non-blocking variant of the {@link TspResponseDataRepository}. The returned {@link Uni}s never block the subscribing
+ * thread, so they can be subscribed to on an event loop thread. Every operation is performed in its own transaction.
+ */
+public interface ReactiveTspResponseDataRepository {
+
+    /**
+     * @param response
+     *     The response to save, not {@code null}.
+     * @return The saved response.
+     */
+    Uni<TimeStampResponseData> save(TimeStampResponseData response);
+
+    /**
+     * @param responses
+     *     The responses to save, not {@code null}.
+     * @return The saved responses in the same order as the specified responses.
+     */
+    Uni<List<TimeStampResponseData>> saveAll(List<TimeStampResponseData> responses);
+
+    Uni<Optional<TimeStampResponseData>> findById(long id);
+
+    /**
+     * @param id
+     *     The ID of the TSP response.
+     * @return The ASN.1 DER encoded TSP response, or an empty optional when no such response exists.
+     */
+    Uni<Optional<byte[]>> findAsnEncodedById(long id);
+
+    /**
+     * @param pageRequest
+     *     The page request, not {@code null}.
+     * @return The requested page of response summaries, which do not contain the ASN.1 encoded payloads.
+     * @see TspResponseDataRepository#findAll(PageRequest)
+     */
+    Uni<Page<TimeStampResponseSummary>> findAll(PageRequest pageRequest);
+
+    /**
+     * @param pageRequest
+     *     The page request, not {@code null}.
+     * @return The requested page of response summaries, which do not contain the ASN.1 encoded payloads. Fails with an
+     * {@link dev.mieser.tsa.persistence.api.exception.InvalidCursorException} when the continuation token is malformed or
+     * was issued for a different sort.
+     * @see TspResponseDataRepository#findAllAfterCursor(CursorPageRequest)
+     */
+    Uni<CursorPage<TimeStampResponseSummary>> findAllAfterCursor(CursorPageRequest pageRequest);
+
+}
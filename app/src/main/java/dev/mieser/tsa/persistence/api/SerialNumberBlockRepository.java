@@ -0,0 +1,16 @@
+package dev.mieser.tsa.persistence.api;
+
+public interface SerialNumberBlockRepository {
+
+    /**
+     * Reserves a block of consecutive serial numbers in a new transaction. Concurrent reservations, even by other
+     * application instances sharing the same database, never return overlapping blocks.
+     *
+     * @param blockSize
+     *     The number of serial numbers to reserve. Must be positive.
+     * @return The first serial number of the reserved block. Greater than the last serial number of all previously reserved
+     * blocks.
+     */
+    long reserveBlock(int blockSize);
+
+}
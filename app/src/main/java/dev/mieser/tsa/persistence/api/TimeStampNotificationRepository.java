@@ -0,0 +1,59 @@
+package dev.mieser.tsa.persistence.api;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import dev.mieser.tsa.domain.TimeStampResponseData;
+
+/**
+ * Stores notifications about issued TSP responses, so application instances sharing the same database are informed
+ * about the responses issued by the other instances. Notifications are identified by IDs which increase in the order
+ * the notifications were appended, but notifications might become visible out of order, since they are appended in
+ * concurrent transactions.
+ */
+public interface TimeStampNotificationRepository {
+
+    /**
+     * Appends a notification for each response in a single new transaction.
+     *
+     * @param nodeId
+     *     The ID of the application instance which issued the responses, not empty.
+     * @param appendedAt
+     *     The date the notifications are appended at, not {@code null}.
+     * @param responses
+     *     The issued responses, not {@code null}.
+     * @return The IDs of the appended notifications, in the order of the responses.
+     */
+    List<Long> appendAll(String nodeId, ZonedDateTime appendedAt, List<TimeStampResponseData> responses);
+
+    /**
+     * @return The ID of the latest notification or {@code 0} when there are no notifications.
+     */
+    long findLatestId();
+
+    /**
+     * @param id
+     *     The ID after which notifications are returned.
+     * @param excludedNodeId
+     *     The ID of the application instance whose notifications are not returned, not empty.
+     * @return The IDs of the notifications appended after the notification with the specified ID, in ascending order.
+     */
+    List<Long> findIdsAfter(long id, String excludedNodeId);
+
+    /**
+     * @param ids
+     *     The IDs of the notifications, not {@code null}.
+     * @return The responses of the notifications with the specified IDs, in ascending order of their IDs.
+     */
+    List<TimeStampResponseData> findResponses(Collection<Long> ids);
+
+    /**
+     * Deletes all notifications which were appended before the specified date.
+     *
+     * @param dateTime
+     *     The date before which notifications are deleted, not {@code null}.
+     */
+    void deleteAppendedBefore(ZonedDateTime dateTime);
+
+}
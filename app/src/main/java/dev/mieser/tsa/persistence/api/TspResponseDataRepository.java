@@ -1,16 +1,103 @@
 package dev.mieser.tsa.persistence.api;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
 import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.domain.TimeStampResponseSummary;
 
 public interface TspResponseDataRepository {
 
     TimeStampResponseData save(TimeStampResponseData response);
 
+    /**
+     * @param responses
+     *     The responses to save, not {@code null}.
+     * @return The saved responses in the same order as the specified responses.
+     */
+    List<TimeStampResponseData> saveAll(List<TimeStampResponseData> responses);
+
+    /**
+     * Saves the TSP response of a Merkle tree's root together with all of its leaves. Joins the current transaction or
+     * starts a new one when called outside a transaction.
+     *
+     * @param leaves
+     *     The leaves of a single Merkle tree, not empty. All leaves must share the same response.
+     * @return The saved leaves in the same order as the specified leaves.
+     */
+    List<AggregatedTimeStampData> saveAggregated(List<AggregatedTimeStampData> leaves);
+
     Optional<TimeStampResponseData> findById(long id);
 
-    Page<TimeStampResponseData> findAll(PageRequest pageRequest);
+    /**
+     * @param id
+     *     The ID of the TSP response.
+     * @return The ASN.1 DER encoded TSP response, or an empty optional when no such response exists.
+     */
+    Optional<byte[]> findAsnEncodedById(long id);
+
+    /**
+     * @param responseId
+     *     The ID of the TSP response which was issued for the root of a Merkle tree.
+     * @param leafIndex
+     *     The zero-based index of the leaf.
+     * @return The leaf, or an empty optional when no such leaf exists.
+     */
+    Optional<AggregatedTimeStampData> findAggregatedByResponseId(long responseId, int leafIndex);
+
+    /**
+     * Looks up the response in the table matching the {@link PersistenceMode}. The metadata of responses which were saved
+     * while only metadata was persisted cannot be found when all data is persisted and vice versa.
+     *
+     * @param serialNumber
+     *     The serial number of the TSP response.
+     * @return The summary of the response with the specified serial number, or an empty optional when no such response
+     * exists or persistence is disabled.
+     */
+    Optional<TimeStampResponseSummary> findBySerialNumber(long serialNumber);
+
+    /**
+     * @param pageRequest
+     *     The page request, not {@code null}.
+     * @return The requested page of response summaries, which do not contain the ASN.1 encoded payloads.
+     */
+    Page<TimeStampResponseSummary> findAll(PageRequest pageRequest);
+
+    /**
+     * Seeks to the position described by the continuation token of the requested page instead of skipping the preceding
+     * elements. Sorting is supported for the {@code id}, {@code receptionTime}, {@code generationTime} and
+     * {@code serialNumber} attributes.
+     *
+     * @param pageRequest
+     *     The page request, not {@code null}.
+     * @return The requested page of response summaries, which do not contain the ASN.1 encoded payloads.
+     * @throws dev.mieser.tsa.persistence.api.exception.InvalidCursorException
+     *     When the continuation token is malformed or was issued for a different sort.
+     */
+    CursorPage<TimeStampResponseSummary> findAllAfterCursor(CursorPageRequest pageRequest);
+
+    /**
+     * Passes all selected responses to the specified consumer one after another without loading all of them into memory.
+     * Joins the current transaction or starts a new one when called outside a transaction.
+     *
+     * @param exportRequest
+     *     The request selecting the responses to export, not {@code null}.
+     * @param consumer
+     *     The consumer the responses are passed to in ascending order of their ID, not {@code null}.
+     */
+    void exportAll(ExportRequest exportRequest, Consumer<TimeStampResponseData> consumer);
+
+    /**
+     * Same as {@link #exportAll(ExportRequest, Consumer)}, but only the ASN.1 DER encoded responses are loaded.
+     *
+     * @param exportRequest
+     *     The request selecting the responses to export, not {@code null}.
+     * @param consumer
+     *     The consumer the ASN.1 DER encoded responses are passed to in ascending order of their ID, not {@code null}.
+     */
+    void exportAsnEncoded(ExportRequest exportRequest, Consumer<byte[]> consumer);
 
     boolean deleteById(long id);
 
@@ -0,0 +1,16 @@
+package dev.mieser.tsa.persistence.api.exception;
+
+/**
+ * Thrown when a continuation token is malformed or was issued for a different sort.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
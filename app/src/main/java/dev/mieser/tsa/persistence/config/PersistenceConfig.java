@@ -1,19 +1,98 @@
 package dev.mieser.tsa.persistence.config;
 
+import java.util.concurrent.ExecutorService;
+
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
 import jakarta.ws.rs.Produces;
 
+import dev.mieser.tsa.persistence.api.PersistenceMode;
+import dev.mieser.tsa.persistence.api.ReactiveTspResponseDataRepository;
+import dev.mieser.tsa.persistence.api.SerialNumberBlockRepository;
+import dev.mieser.tsa.persistence.api.TimeStampNotificationRepository;
 import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+import dev.mieser.tsa.persistence.impl.OffloadingTspResponseDataRepository;
+import dev.mieser.tsa.persistence.impl.SerialNumberBlockPanacheRepository;
+import dev.mieser.tsa.persistence.impl.SerialNumberBlockRepositoryImpl;
+import dev.mieser.tsa.persistence.impl.TimeStampNotificationRepositoryImpl;
+import dev.mieser.tsa.persistence.impl.TspMerkleLeafPanacheRepository;
+import dev.mieser.tsa.persistence.impl.TspNotificationPanacheRepository;
 import dev.mieser.tsa.persistence.impl.TspPanacheRepository;
 import dev.mieser.tsa.persistence.impl.TspResponseDataRepositoryImpl;
+import dev.mieser.tsa.persistence.impl.TspResponseMetadataPanacheRepository;
 import dev.mieser.tsa.persistence.impl.mapper.TspResponseMapperImpl;
+import dev.mieser.tsa.persistence.impl.writebehind.TimeStampResponseDataCodec;
+import dev.mieser.tsa.persistence.impl.writebehind.WriteBehindJournal;
+import dev.mieser.tsa.persistence.impl.writebehind.WriteBehindTspResponseDataRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.Startup;
+import io.quarkus.virtual.threads.VirtualThreads;
 
 class PersistenceConfig {
 
+    /**
+     * Eagerly created on startup, so responses which are still contained in the write-behind journal are persisted
+     * immediately.
+     */
+    @Startup
+    @Produces
+    @ApplicationScoped
+    TspResponseDataRepository tspResponseDataRepository(TspPanacheRepository tspPanacheRepository,
+        TspMerkleLeafPanacheRepository tspMerkleLeafPanacheRepository,
+        TspResponseMetadataPanacheRepository tspResponseMetadataPanacheRepository, PersistenceProperties persistenceProperties,
+        MeterRegistry meterRegistry) {
+        PersistenceProperties.ExportProperties export = persistenceProperties.export();
+        var repository = new TspResponseDataRepositoryImpl(new TspResponseMapperImpl(), tspPanacheRepository,
+            tspMerkleLeafPanacheRepository, tspResponseMetadataPanacheRepository, persistenceProperties.mode(),
+            export.fetchSize(), export.transactionTimeout());
+
+        PersistenceProperties.WriteBehindProperties writeBehind = persistenceProperties.writeBehind();
+        // nothing is written to the database when persistence is disabled, so there is nothing to write behind
+        if (!writeBehind.enabled() || persistenceProperties.mode() == PersistenceMode.NONE) {
+            return repository;
+        }
+
+        var writeBehindRepository = new WriteBehindTspResponseDataRepository(repository,
+            batch -> QuarkusTransaction.requiringNew().run(() -> repository.saveAll(batch)),
+            new WriteBehindJournal(writeBehind.journalPath()),
+            new TimeStampResponseDataCodec(),
+            writeBehind.syncJournal(),
+            writeBehind.queueCapacity(),
+            writeBehind.batchSize());
+        Gauge.builder("tsa.write.behind.pending", writeBehindRepository,
+            WriteBehindTspResponseDataRepository::pendingResponseCount)
+            .description("The number of TSP responses waiting in the write-behind queue to be persisted.")
+            .register(meterRegistry);
+        return writeBehindRepository;
+    }
+
+    void closeTspResponseDataRepository(@Disposes TspResponseDataRepository tspResponseDataRepository) {
+        if (tspResponseDataRepository instanceof WriteBehindTspResponseDataRepository writeBehindRepository) {
+            writeBehindRepository.close();
+        }
+    }
+
+    @Produces
+    @ApplicationScoped
+    ReactiveTspResponseDataRepository reactiveTspResponseDataRepository(TspResponseDataRepository tspResponseDataRepository,
+        @VirtualThreads ExecutorService virtualThreadExecutor) {
+        return new OffloadingTspResponseDataRepository(tspResponseDataRepository, virtualThreadExecutor);
+    }
+
+    @Produces
+    @ApplicationScoped
+    SerialNumberBlockRepository serialNumberBlockRepository(
+        SerialNumberBlockPanacheRepository serialNumberBlockPanacheRepository) {
+        return new SerialNumberBlockRepositoryImpl(serialNumberBlockPanacheRepository);
+    }
+
     @Produces
     @ApplicationScoped
-    TspResponseDataRepository tspResponseDataRepository(TspPanacheRepository tspPanacheRepository) {
-        return new TspResponseDataRepositoryImpl(new TspResponseMapperImpl(), tspPanacheRepository);
+    TimeStampNotificationRepository timeStampNotificationRepository(
+        TspNotificationPanacheRepository tspNotificationPanacheRepository) {
+        return new TimeStampNotificationRepositoryImpl(tspNotificationPanacheRepository, new TimeStampResponseDataCodec());
     }
 
 }
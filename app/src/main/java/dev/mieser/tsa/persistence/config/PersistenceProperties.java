@@ -0,0 +1,110 @@
+package dev.mieser.tsa.persistence.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import dev.mieser.tsa.persistence.api.PersistenceMode;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "tsa.persistence")
+public interface PersistenceProperties {
+
+    /**
+     * Which data of issued TSP responses is persisted. Nodes which only sign TSP requests, while the audit trail is kept
+     * elsewhere, can disable persistence entirely.
+     * <p/>
+     * {@link PersistenceMode#FULL} is used by default. Cannot be {@code null}.
+     */
+    @NotNull
+    @WithDefault("FULL")
+    PersistenceMode mode();
+
+    /**
+     * Encapsulates the properties for persisting issued TSP responses asynchronously.
+     */
+    WriteBehindProperties writeBehind();
+
+    /**
+     * Encapsulates the properties for exporting the response history.
+     */
+    ExportProperties export();
+
+    interface WriteBehindProperties {
+
+        /**
+         * Whether issued TSP responses are persisted asynchronously. When enabled, responses are appended to a local journal
+         * and written to the database in batches by a background thread, so the database is not on the critical path of issuing
+         * a time stamp. Saved responses are therefore returned without an ID.
+         * <p/>
+         * Disabled by default.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The path of the append-only journal the responses are written to before they are persisted. Responses still contained
+         * in the journal on startup are persisted again.
+         * <p/>
+         * Default is set to {@code tsa-write-behind.journal}. Cannot be {@code null}.
+         */
+        @NotNull
+        @WithDefault("tsa-write-behind.journal")
+        Path journalPath();
+
+        /**
+         * Whether the journal is synchronized with the storage device after each append. Disabling synchronization reduces the
+         * latency, but responses might be lost when the operating system crashes.
+         * <p/>
+         * Enabled by default.
+         */
+        @WithDefault("true")
+        boolean syncJournal();
+
+        /**
+         * The maximum number of responses waiting to be persisted. Issuing time stamps blocks while the queue is full.
+         * <p/>
+         * Default is set to {@code 10000}. Must be positive.
+         */
+        @Positive
+        @WithDefault("10000")
+        int queueCapacity();
+
+        /**
+         * The maximum number of responses persisted in a single transaction.
+         * <p/>
+         * Default is set to {@code 500}. Must be positive.
+         */
+        @Positive
+        @WithDefault("500")
+        int batchSize();
+
+    }
+
+    interface ExportProperties {
+
+        /**
+         * The number of rows fetched from the database at once while exporting. Also the number of exported responses after
+         * which the persistence context is cleared, so memory consumption does not grow with the size of the export.
+         * <p/>
+         * Default is set to {@code 500}. Must be positive.
+         */
+        @Positive
+        @WithDefault("500")
+        int fetchSize();
+
+        /**
+         * The timeout of the transaction the export is performed in.
+         * <p/>
+         * Default is set to {@code 1h}. Cannot be {@code null}.
+         */
+        @NotNull
+        @WithDefault("1h")
+        Duration transactionTimeout();
+
+    }
+
+}
@@ -0,0 +1,168 @@
+package dev.mieser.tsa.persistence.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import dev.mieser.tsa.persistence.api.CursorPageRequest;
+import dev.mieser.tsa.persistence.api.Sort;
+import dev.mieser.tsa.persistence.api.SortDirection;
+import dev.mieser.tsa.persistence.api.exception.InvalidCursorException;
+import dev.mieser.tsa.persistence.impl.entity.TspResponseSummaryProjection;
+import io.quarkus.panache.common.Parameters;
+
+/**
+ * JPQL query which seeks to the position after the last element of the previous page instead of skipping the preceding
+ * rows using an offset. The rows are ordered by the sort attribute and the ID, so the position of every row is unique.
+ * {@code null} values are ordered before all other values when sorting in ascending order and after all other values
+ * when sorting in descending order.
+ * <p/>
+ * The continuation token is the URL-safe Base64 encoding of the sort attribute, the sort direction, the ID and the
+ * value of the sort attribute of the last element of a page.
+ */
+class KeysetQuery {
+
+    private static final String SEPARATOR = ":";
+
+    private final SortKey sortKey;
+
+    private final SortDirection direction;
+
+    @Getter
+    private final String query;
+
+    @Getter
+    private final Parameters parameters;
+
+    private KeysetQuery(SortKey sortKey, SortDirection direction, Cursor cursor) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.parameters = new Parameters();
+        this.query = "from TspResponseEntity r" + whereClause(cursor) + orderByClause();
+    }
+
+    /**
+     * @param pageRequest
+     *     The page request, not {@code null}.
+     * @return The query for the requested page.
+     * @throws InvalidCursorException
+     *     When the continuation token is malformed or was issued for a different sort.
+     * @throws IllegalArgumentException
+     *     When the requested sort attribute is not supported.
+     */
+    static KeysetQuery of(CursorPageRequest pageRequest) {
+        Sort sort = pageRequest.sort();
+        SortKey sortKey = sort != null ? SortKey.fromAttributeName(sort.attributeName()) : SortKey.ID;
+        SortDirection direction = sort != null ? sort.direction() : SortDirection.ASC;
+        Cursor cursor = pageRequest.cursor() != null ? decode(pageRequest.cursor(), sortKey, direction) : null;
+        return new KeysetQuery(sortKey, direction, cursor);
+    }
+
+    /**
+     * @param lastElement
+     *     The last element of the current page, not {@code null}.
+     * @return The continuation token of the next page.
+     */
+    String nextCursor(TspResponseSummaryProjection lastElement) {
+        Object value = sortKey.valueExtractor.apply(lastElement);
+        String token = String.join(SEPARATOR, sortKey.name(), direction.name(), lastElement.id().toString(),
+            value != null ? value.toString() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(UTF_8));
+    }
+
+    private String whereClause(Cursor cursor) {
+        if (cursor == null) {
+            return "";
+        }
+
+        parameters.and("id", cursor.id());
+        String attribute = "r." + sortKey.attributeName;
+        String idComparison = direction == SortDirection.ASC ? "r.id > :id" : "r.id < :id";
+        if (sortKey == SortKey.ID) {
+            return " where " + idComparison;
+        } else if (cursor.value() == null) {
+            return direction == SortDirection.ASC
+                ? " where (%1$s is null and %2$s) or %1$s is not null".formatted(attribute, idComparison)
+                : " where %s is null and %s".formatted(attribute, idComparison);
+        }
+
+        parameters.and("value", cursor.value());
+        return direction == SortDirection.ASC
+            ? " where %1$s > :value or (%1$s = :value and %2$s)".formatted(attribute, idComparison)
+            : " where %1$s < :value or (%1$s = :value and %2$s) or %1$s is null".formatted(attribute, idComparison);
+    }
+
+    private String orderByClause() {
+        String sqlDirection = direction == SortDirection.ASC ? "asc" : "desc";
+        if (sortKey == SortKey.ID) {
+            return " order by r.id " + sqlDirection;
+        }
+
+        String nullPrecedence = direction == SortDirection.ASC ? "nulls first" : "nulls last";
+        return " order by r.%s %s %s, r.id %s"
+            .formatted(sortKey.attributeName, sqlDirection, nullPrecedence, sqlDirection);
+    }
+
+    private static Cursor decode(String token, SortKey sortKey, SortDirection direction) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), UTF_8).split(SEPARATOR, 4);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("The cursor is malformed.", e);
+        }
+
+        if (parts.length != 4) {
+            throw new InvalidCursorException("The cursor is malformed.");
+        } else if (!sortKey.name().equals(parts[0]) || !direction.name().equals(parts[1])) {
+            throw new InvalidCursorException("The cursor was issued for a different sort.");
+        }
+
+        try {
+            Object value = parts[3].isEmpty() ? null : sortKey.valueParser.apply(parts[3]);
+            return new Cursor(value, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("The cursor is malformed.", e);
+        }
+    }
+
+    /**
+     * The attributes which can be used to sort. Each attribute is covered by an index together with the ID.
+     */
+    @RequiredArgsConstructor
+    enum SortKey {
+
+        ID("id", entity -> null, value -> null),
+
+        RECEPTION_TIME("receptionTime", TspResponseSummaryProjection::receptionTime, ZonedDateTime::parse),
+
+        GENERATION_TIME("generationTime", TspResponseSummaryProjection::generationTime, ZonedDateTime::parse),
+
+        SERIAL_NUMBER("serialNumber", TspResponseSummaryProjection::serialNumber, Long::valueOf);
+
+        private final String attributeName;
+
+        private final Function<TspResponseSummaryProjection, Object> valueExtractor;
+
+        private final Function<String, Object> valueParser;
+
+        static SortKey fromAttributeName(String attributeName) {
+            return Arrays.stream(values())
+                .filter(sortKey -> sortKey.attributeName.equalsIgnoreCase(attributeName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                    String.format("Sorting by attribute '%s' is not supported.", attributeName)));
+        }
+
+    }
+
+    private record Cursor(Object value, long id) {
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package dev.mieser.tsa.persistence.impl;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import lombok.RequiredArgsConstructor;
+
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.domain.TimeStampResponseSummary;
+import dev.mieser.tsa.persistence.api.CursorPage;
+import dev.mieser.tsa.persistence.api.CursorPageRequest;
+import dev.mieser.tsa.persistence.api.Page;
+import dev.mieser.tsa.persistence.api.PageRequest;
+import dev.mieser.tsa.persistence.api.ReactiveTspResponseDataRepository;
+import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * {@link ReactiveTspResponseDataRepository} which performs the operations of a blocking
+ * {@link TspResponseDataRepository} in a new transaction on the specified executor. There is no non-blocking driver for
+ * the embedded H2 database, so the JDBC calls are moved off the event loop to virtual threads instead. The embedded
+ * database executes the statements and its file I/O on the calling thread, so a virtual thread keeps its carrier thread
+ * busy for the whole call instead of releasing it while waiting for I/O.
+ */
+@RequiredArgsConstructor
+public class OffloadingTspResponseDataRepository implements ReactiveTspResponseDataRepository {
+
+    private final TspResponseDataRepository delegate;
+
+    /**
+     * The executor the blocking operations are performed on. Should create a virtual thread per task.
+     */
+    private final Executor executor;
+
+    @Override
+    public Uni<TimeStampResponseData> save(TimeStampResponseData response) {
+        return inTransaction(() -> delegate.save(response));
+    }
+
+    @Override
+    public Uni<List<TimeStampResponseData>> saveAll(List<TimeStampResponseData> responses) {
+        return inTransaction(() -> delegate.saveAll(responses));
+    }
+
+    @Override
+    public Uni<Optional<TimeStampResponseData>> findById(long id) {
+        return inTransaction(() -> delegate.findById(id));
+    }
+
+    @Override
+    public Uni<Optional<byte[]>> findAsnEncodedById(long id) {
+        return inTransaction(() -> delegate.findAsnEncodedById(id));
+    }
+
+    @Override
+    public Uni<Page<TimeStampResponseSummary>> findAll(PageRequest pageRequest) {
+        return inTransaction(() -> delegate.findAll(pageRequest));
+    }
+
+    @Override
+    public Uni<CursorPage<TimeStampResponseSummary>> findAllAfterCursor(CursorPageRequest pageRequest) {
+        return inTransaction(() -> delegate.findAllAfterCursor(pageRequest));
+    }
+
+    private <T> Uni<T> inTransaction(Supplier<T> operation) {
+        return Uni.createFrom().item(() -> QuarkusTransaction.requiringNew().call(operation::get))
+            .runSubscriptionOn(executor);
+    }
+
+}
@@ -0,0 +1,11 @@
+package dev.mieser.tsa.persistence.impl;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import dev.mieser.tsa.persistence.impl.entity.SerialNumberBlockEntity;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+
+@ApplicationScoped
+public class SerialNumberBlockPanacheRepository implements PanacheRepository<SerialNumberBlockEntity> {
+
+}
@@ -0,0 +1,33 @@
+package dev.mieser.tsa.persistence.impl;
+
+import jakarta.persistence.LockModeType;
+
+import lombok.RequiredArgsConstructor;
+
+import dev.mieser.tsa.persistence.api.SerialNumberBlockRepository;
+import dev.mieser.tsa.persistence.impl.entity.SerialNumberBlockEntity;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+
+/**
+ * {@link SerialNumberBlockRepository} reserving blocks by incrementing the single row of the
+ * {@code TSP_SERIAL_NUMBER_BLOCK} table. The row is locked pessimistically, so concurrent reservations are serialized
+ * by the database.
+ */
+@RequiredArgsConstructor
+public class SerialNumberBlockRepositoryImpl implements SerialNumberBlockRepository {
+
+    private static final long BLOCK_ROW_ID = 1L;
+
+    private final SerialNumberBlockPanacheRepository repository;
+
+    @Override
+    public long reserveBlock(int blockSize) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            SerialNumberBlockEntity block = repository.findById(BLOCK_ROW_ID, LockModeType.PESSIMISTIC_WRITE);
+            long firstSerialNumber = block.getNextSerialNumber();
+            block.setNextSerialNumber(Math.addExact(firstSerialNumber, blockSize));
+            return firstSerialNumber;
+        });
+    }
+
+}
@@ -0,0 +1,68 @@
+package dev.mieser.tsa.persistence.impl;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.persistence.api.TimeStampNotificationRepository;
+import dev.mieser.tsa.persistence.impl.entity.TspNotificationEntity;
+import dev.mieser.tsa.persistence.impl.writebehind.TimeStampResponseDataCodec;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+
+/**
+ * {@link TimeStampNotificationRepository} storing the notifications in the {@code TSP_NOTIFICATION} table. The
+ * responses are stored in the binary representation of the {@link TimeStampResponseDataCodec}.
+ */
+@RequiredArgsConstructor
+public class TimeStampNotificationRepositoryImpl implements TimeStampNotificationRepository {
+
+    private final TspNotificationPanacheRepository repository;
+
+    private final TimeStampResponseDataCodec codec;
+
+    @Override
+    public List<Long> appendAll(String nodeId, ZonedDateTime appendedAt, List<TimeStampResponseData> responses) {
+        List<TspNotificationEntity> notifications = responses.stream()
+            .map(response -> TspNotificationEntity.builder()
+                .nodeId(nodeId)
+                .appendedAt(appendedAt)
+                .responseId(response.getId())
+                .response(codec.encode(response))
+                .build())
+            .toList();
+        QuarkusTransaction.requiringNew().run(() -> repository.persist(notifications));
+        return notifications.stream()
+            .map(TspNotificationEntity::getId)
+            .toList();
+    }
+
+    @Override
+    public long findLatestId() {
+        return QuarkusTransaction.requiringNew().call(repository::findLatestId);
+    }
+
+    @Override
+    public List<Long> findIdsAfter(long id, String excludedNodeId) {
+        return QuarkusTransaction.requiringNew().call(() -> repository.findIdsAfter(id, excludedNodeId));
+    }
+
+    @Override
+    public List<TimeStampResponseData> findResponses(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return QuarkusTransaction.requiringNew().call(() -> repository.findByIds(ids).stream()
+            .map(notification -> codec.decode(notification.getResponse(), notification.getResponseId()))
+            .toList());
+    }
+
+    @Override
+    public void deleteAppendedBefore(ZonedDateTime dateTime) {
+        QuarkusTransaction.requiringNew().run(() -> repository.deleteAppendedBefore(dateTime));
+    }
+
+}
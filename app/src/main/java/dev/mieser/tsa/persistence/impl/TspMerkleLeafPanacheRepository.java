@@ -0,0 +1,17 @@
+package dev.mieser.tsa.persistence.impl;
+
+import java.util.Optional;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import dev.mieser.tsa.persistence.impl.entity.TspMerkleLeafEntity;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+
+@ApplicationScoped
+public class TspMerkleLeafPanacheRepository implements PanacheRepository<TspMerkleLeafEntity> {
+
+    Optional<TspMerkleLeafEntity> findByResponseIdAndLeafIndex(long responseId, int leafIndex) {
+        return find("response.id = ?1 and leafIndex = ?2", responseId, leafIndex).firstResultOptional();
+    }
+
+}
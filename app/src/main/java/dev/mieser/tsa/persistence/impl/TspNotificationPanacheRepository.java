@@ -0,0 +1,39 @@
+package dev.mieser.tsa.persistence.impl;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import dev.mieser.tsa.persistence.impl.entity.TspNotificationEntity;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+
+@ApplicationScoped
+public class TspNotificationPanacheRepository implements PanacheRepository<TspNotificationEntity> {
+
+    long findLatestId() {
+        return getEntityManager().createQuery("select coalesce(max(n.id), 0) from TspNotificationEntity n", Long.class)
+            .getSingleResult();
+    }
+
+    List<Long> findIdsAfter(long id, String excludedNodeId) {
+        return getEntityManager()
+            .createQuery("select n.id from TspNotificationEntity n where n.id > :id and n.nodeId <> :nodeId order by n.id",
+                Long.class)
+            .setParameter("id", id)
+            .setParameter("nodeId", excludedNodeId)
+            .getResultList();
+    }
+
+    List<TspNotificationEntity> findByIds(Collection<Long> ids) {
+        return list("id in :ids", Sort.ascending("id"), Parameters.with("ids", ids));
+    }
+
+    void deleteAppendedBefore(ZonedDateTime dateTime) {
+        delete("appendedAt < ?1", dateTime);
+    }
+
+}
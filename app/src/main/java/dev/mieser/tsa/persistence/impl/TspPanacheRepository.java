@@ -1,5 +1,7 @@
 package dev.mieser.tsa.persistence.impl;
 
+import java.util.Optional;
+
 import jakarta.enterprise.context.ApplicationScoped;
 
 import dev.mieser.tsa.persistence.impl.entity.TspResponseEntity;
@@ -8,4 +10,15 @@ import io.quarkus.hibernate.orm.panache.PanacheRepository;
 @ApplicationScoped
 public class TspPanacheRepository implements PanacheRepository<TspResponseEntity> {
 
+    /**
+     * Selects the ASN.1 encoded response only, so neither the entity nor its request is loaded.
+     */
+    Optional<byte[]> findAsnEncodedById(long id) {
+        return getEntityManager()
+            .createQuery("select r.asnEncoded from TspResponseEntity r where r.id = :id", byte[].class)
+            .setParameter("id", id)
+            .getResultStream()
+            .findFirst();
+    }
+
 }
@@ -1,21 +1,43 @@
 package dev.mieser.tsa.persistence.impl;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import lombok.RequiredArgsConstructor;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.SelectionQuery;
+
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
 import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.domain.TimeStampResponseSummary;
+import dev.mieser.tsa.persistence.api.CursorPage;
+import dev.mieser.tsa.persistence.api.CursorPageRequest;
+import dev.mieser.tsa.persistence.api.ExportRequest;
 import dev.mieser.tsa.persistence.api.Page;
 import dev.mieser.tsa.persistence.api.PageRequest;
+import dev.mieser.tsa.persistence.api.PersistenceMode;
 import dev.mieser.tsa.persistence.api.SortDirection;
 import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+import dev.mieser.tsa.persistence.impl.entity.TspMerkleLeafEntity;
 import dev.mieser.tsa.persistence.impl.entity.TspResponseEntity;
+import dev.mieser.tsa.persistence.impl.entity.TspResponseMetadataEntity;
+import dev.mieser.tsa.persistence.impl.entity.TspResponseSummaryProjection;
 import dev.mieser.tsa.persistence.impl.mapper.TspResponseMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.panache.common.Sort;
 
 /**
- * {@link TspResponseDataRepository} using a Panache Repository to persist the data.
+ * {@link TspResponseDataRepository} using a Panache Repository to persist the data. Saved responses are persisted
+ * according to the configured {@link PersistenceMode}.
  */
 @RequiredArgsConstructor
 public class TspResponseDataRepositoryImpl implements TspResponseDataRepository {
@@ -24,21 +46,127 @@ public class TspResponseDataRepositoryImpl implements TspResponseDataRepository
 
     private final TspPanacheRepository repository;
 
+    private final TspMerkleLeafPanacheRepository merkleLeafRepository;
+
+    private final TspResponseMetadataPanacheRepository metadataRepository;
+
+    private final PersistenceMode persistenceMode;
+
+    /**
+     * The number of rows fetched at once while exporting.
+     */
+    private final int exportFetchSize;
+
+    private final Duration exportTransactionTimeout;
+
     @Override
     public TimeStampResponseData save(TimeStampResponseData response) {
+        if (persistenceMode == PersistenceMode.NONE) {
+            return response;
+        } else if (persistenceMode == PersistenceMode.METADATA) {
+            return saveMetadata(response);
+        }
+
         TspResponseEntity entity = tspResponseMapper.fromDomain(response);
         repository.persist(entity);
         return tspResponseMapper.toDomain(entity);
     }
 
+    @Override
+    public List<TimeStampResponseData> saveAll(List<TimeStampResponseData> responses) {
+        if (persistenceMode == PersistenceMode.NONE) {
+            return responses;
+        } else if (persistenceMode == PersistenceMode.METADATA) {
+            List<TspResponseMetadataEntity> entities = responses.stream()
+                .map(tspResponseMapper::toMetadataEntity)
+                .toList();
+            metadataRepository.persist(entities);
+            return IntStream.range(0, responses.size())
+                .mapToObj(i -> tspResponseMapper.withId(responses.get(i), entities.get(i).getId()))
+                .toList();
+        }
+
+        List<TspResponseEntity> entities = responses.stream()
+            .map(tspResponseMapper::fromDomain)
+            .toList();
+        repository.persist(entities);
+        return entities.stream()
+            .map(tspResponseMapper::toDomain)
+            .toList();
+    }
+
+    @Override
+    public List<AggregatedTimeStampData> saveAggregated(List<AggregatedTimeStampData> leaves) {
+        if (persistenceMode == PersistenceMode.NONE) {
+            return leaves;
+        } else if (persistenceMode == PersistenceMode.METADATA) {
+            return QuarkusTransaction.joiningExisting().call(() -> {
+                TimeStampResponseData savedResponse = saveMetadata(leaves.get(0).getResponse());
+                metadataRepository.persist(leaves.stream()
+                    .map(tspResponseMapper::toMetadataEntity)
+                    .toList());
+
+                return leaves.stream()
+                    .map(leaf -> tspResponseMapper.withResponse(leaf, savedResponse))
+                    .toList();
+            });
+        }
+
+        return QuarkusTransaction.joiningExisting().call(() -> {
+            TspResponseEntity responseEntity = tspResponseMapper.fromDomain(leaves.get(0).getResponse());
+            repository.persist(responseEntity);
+
+            List<TspMerkleLeafEntity> leafEntities = leaves.stream()
+                .map(leaf -> tspResponseMapper.fromDomain(leaf).setResponse(responseEntity))
+                .toList();
+            merkleLeafRepository.persist(leafEntities);
+
+            return leafEntities.stream()
+                .map(tspResponseMapper::toDomain)
+                .toList();
+        });
+    }
+
+    /**
+     * @return The specified response with the ID of its persisted metadata.
+     */
+    private TimeStampResponseData saveMetadata(TimeStampResponseData response) {
+        TspResponseMetadataEntity entity = tspResponseMapper.toMetadataEntity(response);
+        metadataRepository.persist(entity);
+        return tspResponseMapper.withId(response, entity.getId());
+    }
+
     @Override
     public Optional<TimeStampResponseData> findById(long id) {
         return repository.findByIdOptional(id).map(tspResponseMapper::toDomain);
     }
 
     @Override
-    public Page<TimeStampResponseData> findAll(PageRequest pageRequest) {
+    public Optional<byte[]> findAsnEncodedById(long id) {
+        return repository.findAsnEncodedById(id);
+    }
+
+    @Override
+    public Optional<AggregatedTimeStampData> findAggregatedByResponseId(long responseId, int leafIndex) {
+        return merkleLeafRepository.findByResponseIdAndLeafIndex(responseId, leafIndex).map(tspResponseMapper::toDomain);
+    }
+
+    @Override
+    public Optional<TimeStampResponseSummary> findBySerialNumber(long serialNumber) {
+        return switch (persistenceMode) {
+        case FULL -> repository.find("serialNumber", serialNumber)
+            .project(TspResponseSummaryProjection.class)
+            .firstResultOptional()
+            .map(tspResponseMapper::toDomain);
+        case METADATA -> metadataRepository.findBySerialNumber(serialNumber).map(tspResponseMapper::toDomain);
+        case NONE -> Optional.empty();
+        };
+    }
+
+    @Override
+    public Page<TimeStampResponseSummary> findAll(PageRequest pageRequest) {
         var pagedQuery = repository.findAll(mapSort(pageRequest))
+            .project(TspResponseSummaryProjection.class)
             .page(pageRequest.pageNumber() - 1, pageRequest.size());
         var mappedEntries = pagedQuery.stream()
             .map(tspResponseMapper::toDomain)
@@ -48,6 +176,89 @@ public class TspResponseDataRepositoryImpl implements TspResponseDataRepository
             mappedEntries);
     }
 
+    @Override
+    public CursorPage<TimeStampResponseSummary> findAllAfterCursor(CursorPageRequest pageRequest) {
+        var keysetQuery = KeysetQuery.of(pageRequest);
+        // one additional element is fetched to determine whether there is a next page
+        List<TspResponseSummaryProjection> projections = repository
+            .find(keysetQuery.getQuery(), keysetQuery.getParameters())
+            .project(TspResponseSummaryProjection.class)
+            .range(0, pageRequest.size())
+            .list();
+
+        boolean hasNextPage = projections.size() > pageRequest.size();
+        var pageProjections = hasNextPage ? projections.subList(0, pageRequest.size()) : projections;
+        String nextCursor = hasNextPage ? keysetQuery.nextCursor(pageProjections.getLast()) : null;
+        Long totalElements = pageRequest.includeCount() ? repository.count() : null;
+
+        return new CursorPage<>(pageRequest.size(), nextCursor, totalElements, pageProjections.stream()
+            .map(tspResponseMapper::toDomain)
+            .toList());
+    }
+
+    @Override
+    public void exportAll(ExportRequest exportRequest, Consumer<TimeStampResponseData> consumer) {
+        export("select r from TspResponseEntity r join fetch r.request", exportRequest, TspResponseEntity.class,
+            tspResponseMapper::toDomain, consumer);
+    }
+
+    @Override
+    public void exportAsnEncoded(ExportRequest exportRequest, Consumer<byte[]> consumer) {
+        export("select r.asnEncoded from TspResponseEntity r", exportRequest, byte[].class, Function.identity(), consumer);
+    }
+
+    /**
+     * Iterates over the selected rows using a forward-only cursor. The persistence context is cleared after every fetched
+     * chunk, so the loaded entities can be garbage collected.
+     */
+    private <T, R> void export(String select, ExportRequest exportRequest, Class<T> resultType, Function<T, R> mapper,
+        Consumer<R> consumer) {
+        QuarkusTransaction.joiningExisting().timeout((int) exportTransactionTimeout.toSeconds()).run(() -> {
+            Session session = repository.getEntityManager().unwrap(Session.class);
+            SelectionQuery<T> query = session.createSelectionQuery(select + whereClause(exportRequest) + " order by r.id",
+                resultType);
+            bindParameters(query, exportRequest);
+
+            try (ScrollableResults<T> results = query.setFetchSize(exportFetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+                long exported = 0;
+                while (results.next()) {
+                    consumer.accept(mapper.apply(results.get()));
+                    if (++exported % exportFetchSize == 0) {
+                        session.clear();
+                    }
+                }
+            }
+        });
+    }
+
+    private String whereClause(ExportRequest exportRequest) {
+        var conditions = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+        if (exportRequest.receivedFrom() != null) {
+            conditions.add("r.receptionTime >= :receivedFrom");
+        }
+        if (exportRequest.receivedBefore() != null) {
+            conditions.add("r.receptionTime < :receivedBefore");
+        }
+        if (exportRequest.afterId() != null) {
+            conditions.add("r.id > :afterId");
+        }
+        return conditions.toString();
+    }
+
+    private void bindParameters(SelectionQuery<?> query, ExportRequest exportRequest) {
+        if (exportRequest.receivedFrom() != null) {
+            query.setParameter("receivedFrom", exportRequest.receivedFrom());
+        }
+        if (exportRequest.receivedBefore() != null) {
+            query.setParameter("receivedBefore", exportRequest.receivedBefore());
+        }
+        if (exportRequest.afterId() != null) {
+            query.setParameter("afterId", exportRequest.afterId());
+        }
+    }
+
     @Override
     public boolean deleteById(long id) {
         return repository.deleteById(id);
@@ -56,6 +267,7 @@ public class TspResponseDataRepositoryImpl implements TspResponseDataRepository
     @Override
     public void deleteAll() {
         repository.deleteAll();
+        metadataRepository.deleteAll();
     }
 
     private Sort mapSort(PageRequest pageRequest) {
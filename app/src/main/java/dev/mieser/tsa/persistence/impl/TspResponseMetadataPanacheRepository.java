@@ -0,0 +1,21 @@
+package dev.mieser.tsa.persistence.impl;
+
+import java.util.Optional;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import dev.mieser.tsa.persistence.impl.entity.TspResponseMetadataEntity;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+
+@ApplicationScoped
+public class TspResponseMetadataPanacheRepository implements PanacheRepository<TspResponseMetadataEntity> {
+
+    /**
+     * @return The metadata of the response with the specified serial number, without the leaves of a Merkle tree which
+     * share the serial number of its root.
+     */
+    Optional<TspResponseMetadataEntity> findBySerialNumber(long serialNumber) {
+        return find("serialNumber = ?1 and leafIndex is null", serialNumber).firstResultOptional();
+    }
+
+}
@@ -0,0 +1,48 @@
+package dev.mieser.tsa.persistence.impl.entity;
+
+import static java.util.stream.Collectors.joining;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import jakarta.persistence.AttributeConverter;
+
+import dev.mieser.tsa.domain.InclusionProofStep;
+
+/**
+ * JPA {@link AttributeConverter}, which converts between the steps of an inclusion proof and a comma separated list.
+ * Each step is represented by {@code L} or {@code R}, depending on the side of the sibling node, followed by the Base64
+ * representation of the sibling's hash. An empty proof is represented by an empty string.
+ */
+public class InclusionProofConverter implements AttributeConverter<List<InclusionProofStep>, String> {
+
+    private static final char LEFT = 'L';
+
+    private static final char RIGHT = 'R';
+
+    @Override
+    public String convertToDatabaseColumn(List<InclusionProofStep> attribute) {
+        if (attribute == null) {
+            return null;
+        }
+
+        return attribute.stream()
+            .map(step -> (step.isSiblingLeft() ? LEFT : RIGHT) + Base64.getEncoder().encodeToString(step.getSiblingHash()))
+            .collect(joining(","));
+    }
+
+    @Override
+    public List<InclusionProofStep> convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        } else if (dbData.isEmpty()) {
+            return List.of();
+        }
+
+        return Arrays.stream(dbData.split(","))
+            .map(step -> new InclusionProofStep(Base64.getDecoder().decode(step.substring(1)), step.charAt(0) == LEFT))
+            .toList();
+    }
+
+}
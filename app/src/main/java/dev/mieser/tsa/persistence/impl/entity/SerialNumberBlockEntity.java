@@ -0,0 +1,28 @@
+package dev.mieser.tsa.persistence.impl.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Holds the first serial number of the next block which will be reserved. The table only contains a single row.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "TSP_SERIAL_NUMBER_BLOCK")
+public class SerialNumberBlockEntity {
+
+    @Id
+    private Long id;
+
+    private long nextSerialNumber;
+
+}
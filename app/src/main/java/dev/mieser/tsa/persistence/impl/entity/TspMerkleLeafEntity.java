@@ -0,0 +1,42 @@
+package dev.mieser.tsa.persistence.impl.entity;
+
+import java.util.List;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import dev.mieser.tsa.domain.InclusionProofStep;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "TSP_MERKLE_LEAF")
+public class TspMerkleLeafEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "TSP_MERKLE_LEAF_SEQ")
+    @SequenceGenerator(name = "TSP_MERKLE_LEAF_SEQ", sequenceName = "TSP_MERKLE_LEAF_SEQ", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "RESPONSE_ID")
+    private TspResponseEntity response;
+
+    private int leafIndex;
+
+    @NotNull
+    private byte[] messageImprint;
+
+    @NotNull
+    @Convert(converter = InclusionProofConverter.class)
+    private List<InclusionProofStep> inclusionProof;
+
+}
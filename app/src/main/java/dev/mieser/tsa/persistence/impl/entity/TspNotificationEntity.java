@@ -0,0 +1,48 @@
+package dev.mieser.tsa.persistence.impl.entity;
+
+import java.time.ZonedDateTime;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A notification about a TSP response issued by one of the application instances sharing the database. The IDs are
+ * allocated one at a time, so they increase in the order the notifications are appended by all instances.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "TSP_NOTIFICATION")
+public class TspNotificationEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "TSP_NOTIFICATION_SEQ")
+    @SequenceGenerator(name = "TSP_NOTIFICATION_SEQ", sequenceName = "TSP_NOTIFICATION_SEQ", allocationSize = 1)
+    private Long id;
+
+    @NotNull
+    private String nodeId;
+
+    @NotNull
+    private ZonedDateTime appendedAt;
+
+    /**
+     * The ID of the response, which is not part of its encoding. {@code null} when the response was not saved or was saved
+     * asynchronously.
+     */
+    private Long responseId;
+
+    /**
+     * The response encoded by the {@link dev.mieser.tsa.persistence.impl.writebehind.TimeStampResponseDataCodec}.
+     */
+    @NotNull
+    private byte[] response;
+
+}
@@ -18,15 +18,19 @@ import lombok.NoArgsConstructor;
 @Table(name = "TSP_REQUEST")
 public class TspRequestEntity {
 
+    /**
+     * Generated using a pooled sequence instead of an identity column, since Hibernate cannot batch inserts of entities
+     * whose ID is generated by the database on insert.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "TSP_REQUEST_SEQ")
+    @SequenceGenerator(name = "TSP_REQUEST_SEQ", sequenceName = "TSP_REQUEST_SEQ", allocationSize = 50)
     private long id;
 
     @NotNull
     private String hashAlgorithmIdentifier;
 
     @NotNull
-    @Convert(converter = Base64Converter.class)
     private byte[] hash;
 
     @Convert(converter = HexAttributeConverter.class)
@@ -37,7 +41,6 @@ public class TspRequestEntity {
     private String tsaPolicyId;
 
     @NotNull
-    @Convert(converter = Base64Converter.class)
     private byte[] asnEncoded;
 
 }
@@ -21,8 +21,13 @@ import dev.mieser.tsa.domain.ResponseStatus;
 @Table(name = "TSP_RESPONSE")
 public class TspResponseEntity {
 
+    /**
+     * Generated using a pooled sequence instead of an identity column, since Hibernate cannot batch inserts of entities
+     * whose ID is generated by the database on insert.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "TSP_RESPONSE_SEQ")
+    @SequenceGenerator(name = "TSP_RESPONSE_SEQ", sequenceName = "TSP_RESPONSE_SEQ", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -42,11 +47,10 @@ public class TspResponseEntity {
     private Long serialNumber;
 
     @NotNull
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "REQUEST_ID")
     private TspRequestEntity request;
 
-    @Convert(converter = Base64Converter.class)
     private byte[] asnEncoded;
 
 }
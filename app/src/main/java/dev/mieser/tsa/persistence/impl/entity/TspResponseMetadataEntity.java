@@ -0,0 +1,72 @@
+package dev.mieser.tsa.persistence.impl.entity;
+
+import java.math.BigInteger;
+import java.time.ZonedDateTime;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import dev.mieser.tsa.domain.FailureInfo;
+import dev.mieser.tsa.domain.ResponseStatus;
+
+/**
+ * The metadata of a TSP response and its request, which is persisted instead of the {@link TspResponseEntity} when only
+ * metadata is persisted. Neither the ASN.1 encoded response nor the ASN.1 encoded request is stored.
+ * <p/>
+ * The leaves of a Merkle tree are persisted as additional rows with the serial number of the response issued for the
+ * root of the tree, see {@link #leafIndex}.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "TSP_RESPONSE_METADATA")
+public class TspResponseMetadataEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "TSP_RESPONSE_METADATA_SEQ")
+    @SequenceGenerator(name = "TSP_RESPONSE_METADATA_SEQ", sequenceName = "TSP_RESPONSE_METADATA_SEQ", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private ResponseStatus status;
+
+    private String statusString;
+
+    @Enumerated(EnumType.STRING)
+    private FailureInfo failureInfo;
+
+    @NotNull
+    private ZonedDateTime receptionTime;
+
+    private ZonedDateTime generationTime;
+
+    private Long serialNumber;
+
+    @NotNull
+    private String hashAlgorithmIdentifier;
+
+    @NotNull
+    private byte[] hash;
+
+    @Convert(converter = HexAttributeConverter.class)
+    private BigInteger nonce;
+
+    private boolean certificateRequested;
+
+    private String tsaPolicyId;
+
+    /**
+     * The zero-based index of the leaf in the Merkle tree whose message imprint is stored as the {@link #hash}.
+     * {@code null} when the row contains the metadata of an issued TSP response.
+     */
+    private Integer leafIndex;
+
+}
@@ -0,0 +1,28 @@
+package dev.mieser.tsa.persistence.impl.entity;
+
+import java.math.BigInteger;
+import java.time.ZonedDateTime;
+
+import dev.mieser.tsa.domain.FailureInfo;
+import dev.mieser.tsa.domain.ResponseStatus;
+import io.quarkus.hibernate.orm.panache.common.ProjectedFieldName;
+
+/**
+ * Panache projection of a {@link TspResponseEntity} and its {@link TspRequestEntity} which leaves out the ASN.1 encoded
+ * payloads.
+ */
+public record TspResponseSummaryProjection(
+    Long id,
+    ResponseStatus status,
+    String statusString,
+    FailureInfo failureInfo,
+    ZonedDateTime receptionTime,
+    ZonedDateTime generationTime,
+    Long serialNumber,
+    @ProjectedFieldName("request.hashAlgorithmIdentifier") String hashAlgorithmIdentifier,
+    @ProjectedFieldName("request.hash") byte[] hash,
+    @ProjectedFieldName("request.nonce") BigInteger nonce,
+    @ProjectedFieldName("request.certificateRequested") boolean certificateRequested,
+    @ProjectedFieldName("request.tsaPolicyId") String tsaPolicyId) {
+
+}
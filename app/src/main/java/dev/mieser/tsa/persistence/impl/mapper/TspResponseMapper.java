@@ -3,10 +3,15 @@ package dev.mieser.tsa.persistence.impl.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
 import dev.mieser.tsa.domain.TimeStampRequestData;
 import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.domain.TimeStampResponseSummary;
+import dev.mieser.tsa.persistence.impl.entity.TspMerkleLeafEntity;
 import dev.mieser.tsa.persistence.impl.entity.TspRequestEntity;
 import dev.mieser.tsa.persistence.impl.entity.TspResponseEntity;
+import dev.mieser.tsa.persistence.impl.entity.TspResponseMetadataEntity;
+import dev.mieser.tsa.persistence.impl.entity.TspResponseSummaryProjection;
 
 /**
  * Mapstruct {@link Mapper} to map between domain objects and JPA entities.
@@ -18,7 +23,69 @@ public interface TspResponseMapper {
 
     TspResponseEntity fromDomain(TimeStampResponseData domain);
 
+    TimeStampResponseSummary toDomain(TspResponseSummaryProjection projection);
+
     @Mapping(target = "id", ignore = true)
     TspRequestEntity fromDomain(TimeStampRequestData domain);
 
+    @Mapping(target = "hashAlgorithmIdentifier", source = "response.request.hashAlgorithmIdentifier")
+    AggregatedTimeStampData toDomain(TspMerkleLeafEntity entity);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "response", ignore = true)
+    TspMerkleLeafEntity fromDomain(AggregatedTimeStampData domain);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "hashAlgorithmIdentifier", source = "request.hashAlgorithmIdentifier")
+    @Mapping(target = "hash", source = "request.hash")
+    @Mapping(target = "nonce", source = "request.nonce")
+    @Mapping(target = "certificateRequested", source = "request.certificateRequested")
+    @Mapping(target = "tsaPolicyId", source = "request.tsaPolicyId")
+    @Mapping(target = "leafIndex", ignore = true)
+    TspResponseMetadataEntity toMetadataEntity(TimeStampResponseData domain);
+
+    /**
+     * Maps a leaf of a Merkle tree together with the metadata of the response issued for its root. The request of the leaf
+     * is not known apart from its message imprint.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "status", source = "response.status")
+    @Mapping(target = "statusString", source = "response.statusString")
+    @Mapping(target = "failureInfo", source = "response.failureInfo")
+    @Mapping(target = "receptionTime", source = "response.receptionTime")
+    @Mapping(target = "generationTime", source = "response.generationTime")
+    @Mapping(target = "serialNumber", source = "response.serialNumber")
+    @Mapping(target = "hash", source = "messageImprint")
+    @Mapping(target = "nonce", ignore = true)
+    @Mapping(target = "certificateRequested", ignore = true)
+    @Mapping(target = "tsaPolicyId", ignore = true)
+    TspResponseMetadataEntity toMetadataEntity(AggregatedTimeStampData domain);
+
+    TimeStampResponseSummary toDomain(TspResponseMetadataEntity entity);
+
+    /**
+     * @return A copy of the specified response with the specified ID.
+     */
+    @Mapping(target = "id", source = "id")
+    TimeStampResponseData withId(TimeStampResponseData response, Long id);
+
+    /**
+     * @return A copy of the specified leaf with the specified response.
+     */
+    @Mapping(target = "response", source = "response")
+    AggregatedTimeStampData withResponse(AggregatedTimeStampData leaf, TimeStampResponseData response);
+
+    /**
+     * Used by Mapstruct for every {@code byte[]} property instead of copying the array. The encoded requests and responses,
+     * hashes and message imprints are never modified after they have been created, so the same array is shared between the
+     * domain object and the entity.
+     *
+     * @param bytes
+     *     The array to share, may be {@code null}.
+     * @return The same array.
+     */
+    default byte[] share(byte[] bytes) {
+        return bytes;
+    }
+
 }
@@ -0,0 +1,67 @@
+package dev.mieser.tsa.persistence.impl.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Decodes the Base64 encoded binary data of all rows into the binary columns created by {@code V3_1_0_4}. Implemented
+ * in Java, since H2 does not provide a function to decode Base64.
+ */
+public class V3_1_0_5__ConvertBase64ToBinary extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        convert(connection, "TSP_REQUEST", "HASH", "ASN_ENCODED");
+        convert(connection, "TSP_RESPONSE", "ASN_ENCODED");
+        convert(connection, "TSP_MERKLE_LEAF", "MESSAGE_IMPRINT");
+    }
+
+    /**
+     * Decodes the specified Base64 columns of all rows of a table into the corresponding {@code <column>_BINARY} columns.
+     */
+    private void convert(Connection connection, String table, String... columns) throws SQLException {
+        String selectColumns = String.join(", ", columns);
+        String assignments = String.join(", ", Arrays.stream(columns)
+            .map(column -> column + "_BINARY = ?")
+            .toList());
+
+        try (Statement select = connection.createStatement();
+            PreparedStatement update = connection
+                .prepareStatement(String.format("UPDATE %s SET %s WHERE ID = ?", table, assignments))) {
+            select.setFetchSize(BATCH_SIZE);
+
+            int pendingUpdates = 0;
+            try (ResultSet rows = select.executeQuery(String.format("SELECT ID, %s FROM %s", selectColumns, table))) {
+                while (rows.next()) {
+                    for (int i = 0; i < columns.length; i++) {
+                        String base64 = rows.getString(i + 2);
+                        update.setBytes(i + 1, base64 != null ? Base64.getDecoder().decode(base64) : null);
+                    }
+
+                    update.setLong(columns.length + 1, rows.getLong(1));
+                    update.addBatch();
+                    if (++pendingUpdates == BATCH_SIZE) {
+                        update.executeBatch();
+                        pendingUpdates = 0;
+                    }
+                }
+            }
+
+            if (pendingUpdates > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package dev.mieser.tsa.persistence.impl.writebehind;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.time.ZonedDateTime;
+
+import dev.mieser.tsa.domain.FailureInfo;
+import dev.mieser.tsa.domain.ResponseStatus;
+import dev.mieser.tsa.domain.TimeStampRequestData;
+import dev.mieser.tsa.domain.TimeStampResponseData;
+
+/**
+ * Encodes {@link TimeStampResponseData} into a compact binary representation for the {@link WriteBehindJournal}. The ID
+ * of a response is not encoded, since journaled responses have not been persisted yet.
+ */
+public class TimeStampResponseDataCodec {
+
+    /**
+     * @param response
+     *     The response to encode, not {@code null}.
+     * @return The binary representation of the response.
+     */
+    public byte[] encode(TimeStampResponseData response) {
+        try (var byteArrayOutputStream = new ByteArrayOutputStream();
+            var output = new DataOutputStream(byteArrayOutputStream)) {
+            output.writeUTF(response.getStatus().name());
+            writeNullableString(output, response.getStatusString());
+            writeNullableString(output, response.getFailureInfo() != null ? response.getFailureInfo().name() : null);
+            output.writeUTF(response.getReceptionTime().toString());
+            writeNullableString(output, response.getGenerationTime() != null ? response.getGenerationTime().toString() : null);
+            writeNullableBytes(output, response.getSerialNumber() != null ? response.getSerialNumber().toByteArray() : null);
+            writeBytes(output, response.getAsnEncoded());
+
+            TimeStampRequestData request = response.getRequest();
+            output.writeUTF(request.getHashAlgorithmIdentifier());
+            writeBytes(output, request.getHash());
+            writeNullableBytes(output, request.getNonce() != null ? request.getNonce().toByteArray() : null);
+            output.writeBoolean(request.isCertificateRequested());
+            writeNullableString(output, request.getTsaPolicyId());
+            writeBytes(output, request.getAsnEncoded());
+
+            output.flush();
+            return byteArrayOutputStream.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode TSP response.", e);
+        }
+    }
+
+    /**
+     * @param encodedResponse
+     *     The binary representation of a response created by {@link #encode(TimeStampResponseData)}, not {@code null}.
+     * @return The decoded response without an ID.
+     */
+    public TimeStampResponseData decode(byte[] encodedResponse) {
+        return decode(encodedResponse, null);
+    }
+
+    /**
+     * @param encodedResponse
+     *     The binary representation of a response created by {@link #encode(TimeStampResponseData)}, not {@code null}.
+     * @param id
+     *     The ID of the response, which is not part of its binary representation. May be {@code null}.
+     * @return The decoded response with the specified ID.
+     */
+    public TimeStampResponseData decode(byte[] encodedResponse, Long id) {
+        try (var input = new DataInputStream(new ByteArrayInputStream(encodedResponse))) {
+            ResponseStatus status = ResponseStatus.valueOf(input.readUTF());
+            String statusString = readNullableString(input);
+            String failureInfo = readNullableString(input);
+            ZonedDateTime receptionTime = ZonedDateTime.parse(input.readUTF());
+            String generationTime = readNullableString(input);
+            byte[] serialNumber = readNullableBytes(input);
+            byte[] asnEncodedResponse = readBytes(input);
+
+            String hashAlgorithmIdentifier = input.readUTF();
+            byte[] hash = readBytes(input);
+            byte[] nonce = readNullableBytes(input);
+            boolean certificateRequested = input.readBoolean();
+            String tsaPolicyId = readNullableString(input);
+            byte[] asnEncodedRequest = readBytes(input);
+
+            TimeStampRequestData request = TimeStampRequestData.builder(hashAlgorithmIdentifier, hash, asnEncodedRequest)
+                .nonce(nonce != null ? new BigInteger(nonce) : null)
+                .certificateRequested(certificateRequested)
+                .tsaPolicyId(tsaPolicyId)
+                .build();
+
+            return TimeStampResponseData.builder(status, receptionTime, request, asnEncodedResponse)
+                .id(id)
+                .statusString(statusString)
+                .failureInfo(failureInfo != null ? FailureInfo.valueOf(failureInfo) : null)
+                .generationTime(generationTime != null ? ZonedDateTime.parse(generationTime) : null)
+                .serialNumber(serialNumber != null ? new BigInteger(serialNumber) : null)
+                .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode TSP response.", e);
+        }
+    }
+
+    private void writeNullableString(DataOutput output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private String readNullableString(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private void writeNullableBytes(DataOutput output, byte[] value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            writeBytes(output, value);
+        }
+    }
+
+    private byte[] readNullableBytes(DataInput input) throws IOException {
+        return input.readBoolean() ? readBytes(input) : null;
+    }
+
+    private void writeBytes(DataOutput output, byte[] value) throws IOException {
+        output.writeInt(value.length);
+        output.write(value);
+    }
+
+    private byte[] readBytes(DataInput input) throws IOException {
+        byte[] value = new byte[input.readInt()];
+        input.readFully(value);
+        return value;
+    }
+
+}
@@ -0,0 +1,201 @@
+package dev.mieser.tsa.persistence.impl.writebehind;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only file containing records which have not been persisted yet. Each record is prefixed with its length and
+ * its CRC32 checksum. A record which was only partially written, e.g. because the application crashed while appending
+ * it, is detected when reading the journal and is ignored together with all following bytes.
+ * <p/>
+ * Appending records is not thread safe and must be synchronized by the caller. {@link #sync()} may be called
+ * concurrently to appending records.
+ */
+@Slf4j
+public class WriteBehindJournal implements AutoCloseable {
+
+    private static final int HEADER_LENGTH = 2 * Integer.BYTES;
+
+    private final Path path;
+
+    /**
+     * Replaced when the journal is rewritten. Volatile, since {@link #sync()} may be called concurrently.
+     */
+    private volatile FileChannel channel;
+
+    /**
+     * @param path
+     *     The path of the journal file, not {@code null}. The file and its parent directories are created when they do not
+     *     exist.
+     */
+    public WriteBehindJournal(Path path) {
+        this.path = path;
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            this.channel = openForAppending(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to open journal '%s'.", path), e);
+        }
+    }
+
+    /**
+     * @return All complete records contained in the journal in the order they were appended.
+     */
+    public List<byte[]> readAll() {
+        try (FileChannel readChannel = FileChannel.open(path, READ)) {
+            List<byte[]> records = new ArrayList<>();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            while (readFully(readChannel, header.clear())) {
+                int length = header.flip().getInt();
+                int checksum = header.getInt();
+                if (length < 0 || length > readChannel.size() - readChannel.position()) {
+                    log.warn("Ignoring incomplete record at the end of journal '{}'.", path);
+                    break;
+                }
+
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(readChannel, payload);
+                if (checksum(payload.array()) != checksum) {
+                    log.warn("Ignoring corrupt record at the end of journal '{}'.", path);
+                    break;
+                }
+
+                records.add(payload.array());
+            }
+
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to read journal '%s'.", path), e);
+        }
+    }
+
+    /**
+     * Appends the specified record. The record is not guaranteed to be written to the storage device until {@link #sync()}
+     * is called.
+     *
+     * @param payload
+     *     The record to append, not {@code null}.
+     */
+    public void append(byte[] payload) {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_LENGTH + payload.length)
+            .putInt(payload.length)
+            .putInt(checksum(payload))
+            .put(payload)
+            .flip();
+
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to append record to journal '%s'.", path), e);
+        }
+    }
+
+    /**
+     * Forces all appended records to be written to the storage device.
+     */
+    public void sync() {
+        try {
+            channel.force(false);
+        } catch (ClosedChannelException e) {
+            // the journal was rewritten concurrently, which already synced all records
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to sync journal '%s'.", path), e);
+        }
+    }
+
+    /**
+     * @return The size of the journal in bytes.
+     */
+    public long size() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to determine size of journal '%s'.", path), e);
+        }
+    }
+
+    /**
+     * Removes all records from the journal.
+     */
+    public void truncate() {
+        try {
+            channel.truncate(0);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to truncate journal '%s'.", path), e);
+        }
+    }
+
+    /**
+     * Atomically replaces the content of the journal with the specified records.
+     *
+     * @param payloads
+     *     The records the journal should contain, not {@code null}.
+     */
+    public void rewrite(List<byte[]> payloads) {
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (var temporaryJournal = new WriteBehindJournal(temporaryPath)) {
+                temporaryJournal.truncate();
+                payloads.forEach(temporaryJournal::append);
+                temporaryJournal.sync();
+            }
+
+            channel.close();
+            Files.move(temporaryPath, path, ATOMIC_MOVE, REPLACE_EXISTING);
+            channel = openForAppending(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to rewrite journal '%s'.", path), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to close journal '%s'.", path), e);
+        }
+    }
+
+    private static FileChannel openForAppending(Path path) throws IOException {
+        return FileChannel.open(path, CREATE, WRITE, APPEND);
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int checksum(byte[] payload) {
+        var crc32 = new CRC32();
+        crc32.update(payload);
+        return (int) crc32.getValue();
+    }
+
+}
@@ -0,0 +1,409 @@
+package dev.mieser.tsa.persistence.impl.writebehind;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.domain.TimeStampResponseSummary;
+import dev.mieser.tsa.persistence.api.CursorPage;
+import dev.mieser.tsa.persistence.api.CursorPageRequest;
+import dev.mieser.tsa.persistence.api.ExportRequest;
+import dev.mieser.tsa.persistence.api.Page;
+import dev.mieser.tsa.persistence.api.PageRequest;
+import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+
+/**
+ * {@link TspResponseDataRepository} decorator which persists saved responses asynchronously. Saved responses are
+ * appended to a {@link WriteBehindJournal} and put into a bounded queue. A background thread takes the responses from
+ * the queue and persists them in batches using the specified batch writer. The journal is truncated as soon as all
+ * responses have been persisted. Responses which are still contained in the journal on construction, e.g. because the
+ * application crashed, are persisted first. Since a crash might happen after a batch was persisted but before the
+ * journal was truncated, responses may be persisted more than once.
+ * <p/>
+ * Responses returned by {@link #save(TimeStampResponseData)} and {@link #saveAll(List)} have not been persisted yet and
+ * therefore do not have an ID. All other methods wait until the pending responses have been persisted before they are
+ * delegated, so the responses saved before are visible to them. Aggregated responses are persisted synchronously.
+ * <p/>
+ * Saving a response blocks while the queue is full. Free space in the queue is reserved before the state lock is
+ * acquired, so the writer thread is never kept from updating the state of the persisted responses by a caller waiting
+ * for free space.
+ */
+@Slf4j
+public class WriteBehindTspResponseDataRepository implements TspResponseDataRepository, AutoCloseable {
+
+    /**
+     * The journal is rewritten to only contain the pending responses once it exceeds this size while the queue never runs
+     * empty.
+     */
+    private static final long JOURNAL_COMPACTION_THRESHOLD = 64L * 1024 * 1024;
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final TspResponseDataRepository delegate;
+
+    private final Consumer<List<TimeStampResponseData>> batchWriter;
+
+    private final WriteBehindJournal journal;
+
+    private final TimeStampResponseDataCodec codec;
+
+    private final boolean syncJournal;
+
+    private final int batchSize;
+
+    private final int queueCapacity;
+
+    private final BlockingQueue<TimeStampResponseData> pendingResponses;
+
+    /**
+     * Contains a permit for each free slot in the queue. Permits are acquired before responses are put into the queue and
+     * released when the writer thread takes them out of the queue.
+     */
+    private final Semaphore freeQueueSlots;
+
+    private final List<TimeStampResponseData> recoveredResponses;
+
+    /**
+     * Guards appending to the journal and putting responses into the queue, so the journal only contains responses which
+     * are either queued or currently being persisted. Also used to wait until pending responses have been persisted.
+     */
+    private final Lock stateLock = new ReentrantLock();
+
+    private final Condition responsesPersisted = stateLock.newCondition();
+
+    private final Thread writerThread;
+
+    private long savedResponseCount;
+
+    private long persistedResponseCount;
+
+    private volatile boolean closed;
+
+    /**
+     * @param delegate
+     *     The repository the methods are delegated to, not {@code null}.
+     * @param batchWriter
+     *     Persists a batch of responses in a single transaction, not {@code null}.
+     * @param journal
+     *     The journal to append saved responses to, not {@code null}.
+     * @param codec
+     *     The codec used to encode the responses appended to the journal, not {@code null}.
+     * @param syncJournal
+     *     Whether the journal is synchronized with the storage device before a save operation returns.
+     * @param queueCapacity
+     *     The maximum number of pending responses. Must be positive.
+     * @param batchSize
+     *     The maximum number of responses persisted at once. Must be positive.
+     */
+    public WriteBehindTspResponseDataRepository(TspResponseDataRepository delegate,
+        Consumer<List<TimeStampResponseData>> batchWriter, WriteBehindJournal journal, TimeStampResponseDataCodec codec,
+        boolean syncJournal, int queueCapacity, int batchSize) {
+        this.delegate = delegate;
+        this.batchWriter = batchWriter;
+        this.journal = journal;
+        this.codec = codec;
+        this.syncJournal = syncJournal;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.pendingResponses = new ArrayBlockingQueue<>(queueCapacity);
+        this.freeQueueSlots = new Semaphore(queueCapacity);
+        this.recoveredResponses = recover();
+        this.writerThread = Thread.ofPlatform()
+            .name("write-behind-writer")
+            .daemon()
+            .start(this::writePendingResponses);
+    }
+
+    @Override
+    public TimeStampResponseData save(TimeStampResponseData response) {
+        enqueue(List.of(response));
+        return response;
+    }
+
+    @Override
+    public List<TimeStampResponseData> saveAll(List<TimeStampResponseData> responses) {
+        enqueue(responses);
+        return responses;
+    }
+
+    @Override
+    public List<AggregatedTimeStampData> saveAggregated(List<AggregatedTimeStampData> leaves) {
+        awaitPendingResponses();
+        return delegate.saveAggregated(leaves);
+    }
+
+    @Override
+    public Optional<TimeStampResponseData> findById(long id) {
+        awaitPendingResponses();
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<byte[]> findAsnEncodedById(long id) {
+        awaitPendingResponses();
+        return delegate.findAsnEncodedById(id);
+    }
+
+    @Override
+    public Optional<AggregatedTimeStampData> findAggregatedByResponseId(long responseId, int leafIndex) {
+        awaitPendingResponses();
+        return delegate.findAggregatedByResponseId(responseId, leafIndex);
+    }
+
+    @Override
+    public Optional<TimeStampResponseSummary> findBySerialNumber(long serialNumber) {
+        awaitPendingResponses();
+        return delegate.findBySerialNumber(serialNumber);
+    }
+
+    @Override
+    public Page<TimeStampResponseSummary> findAll(PageRequest pageRequest) {
+        awaitPendingResponses();
+        return delegate.findAll(pageRequest);
+    }
+
+    @Override
+    public CursorPage<TimeStampResponseSummary> findAllAfterCursor(CursorPageRequest pageRequest) {
+        awaitPendingResponses();
+        return delegate.findAllAfterCursor(pageRequest);
+    }
+
+    @Override
+    public void exportAll(ExportRequest exportRequest, Consumer<TimeStampResponseData> consumer) {
+        awaitPendingResponses();
+        delegate.exportAll(exportRequest, consumer);
+    }
+
+    @Override
+    public void exportAsnEncoded(ExportRequest exportRequest, Consumer<byte[]> consumer) {
+        awaitPendingResponses();
+        delegate.exportAsnEncoded(exportRequest, consumer);
+    }
+
+    @Override
+    public boolean deleteById(long id) {
+        awaitPendingResponses();
+        return delegate.deleteById(id);
+    }
+
+    @Override
+    public void deleteAll() {
+        awaitPendingResponses();
+        delegate.deleteAll();
+    }
+
+    /**
+     * @return The number of responses waiting in the queue to be persisted.
+     */
+    public int pendingResponseCount() {
+        return pendingResponses.size();
+    }
+
+    /**
+     * Stops accepting new responses and waits until the pending responses have been persisted. Responses which could not be
+     * persisted in time remain in the journal and are persisted on the next start.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            if (!writerThread.join(CLOSE_TIMEOUT)) {
+                log.warn("Not all pending TSP responses could be persisted. They will be persisted on the next start.");
+                writerThread.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private List<TimeStampResponseData> recover() {
+        List<byte[]> journaledResponses = journal.readAll();
+        // removes incomplete records at the end of the journal, which would otherwise hide records appended later on
+        journal.rewrite(journaledResponses);
+        if (!journaledResponses.isEmpty()) {
+            log.info("Recovered {} TSP responses from the write-behind journal.", journaledResponses.size());
+        }
+
+        return journaledResponses.stream()
+            .map(codec::decode)
+            .toList();
+    }
+
+    private void enqueue(List<TimeStampResponseData> responses) {
+        if (closed) {
+            throw new IllegalStateException("Repository has already been closed.");
+        }
+
+        // responses exceeding the capacity of the queue are enqueued in chunks, since free space for all of them would
+        // never become available at once
+        for (int fromIndex = 0; fromIndex < responses.size(); fromIndex += queueCapacity) {
+            int toIndex = Math.min(fromIndex + queueCapacity, responses.size());
+            enqueueChunk(responses.subList(fromIndex, toIndex));
+        }
+
+        // synced outside the lock, so concurrent callers share a single sync of the storage device
+        if (syncJournal) {
+            journal.sync();
+        }
+    }
+
+    private void enqueueChunk(List<TimeStampResponseData> responses) {
+        List<byte[]> encodedResponses = responses.stream()
+            .map(codec::encode)
+            .toList();
+
+        try {
+            freeQueueSlots.acquire(responses.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for free space in the write-behind queue.", e);
+        }
+
+        stateLock.lock();
+        try {
+            encodedResponses.forEach(journal::append);
+            // never blocks, since the free space has been reserved above
+            pendingResponses.addAll(responses);
+            savedResponseCount += responses.size();
+        } catch (RuntimeException e) {
+            freeQueueSlots.release(responses.size());
+            throw e;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private void awaitPendingResponses() {
+        stateLock.lock();
+        try {
+            long responsesToAwait = savedResponseCount;
+            while (persistedResponseCount < responsesToAwait) {
+                responsesPersisted.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for pending TSP responses to be persisted.", e);
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private void writePendingResponses() {
+        if (!writeRecoveredResponses()) {
+            return;
+        }
+
+        List<TimeStampResponseData> batch = new ArrayList<>(batchSize);
+        while (!closed || !pendingResponses.isEmpty()) {
+            try {
+                TimeStampResponseData firstResponse = pendingResponses.poll(100, TimeUnit.MILLISECONDS);
+                if (firstResponse == null) {
+                    continue;
+                }
+
+                batch.add(firstResponse);
+                pendingResponses.drainTo(batch, batchSize - 1);
+                freeQueueSlots.release(batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (!writeBatch(batch)) {
+                return;
+            }
+
+            stateLock.lock();
+            try {
+                persistedResponseCount += batch.size();
+                responsesPersisted.signalAll();
+                compactJournal(false);
+            } finally {
+                stateLock.unlock();
+            }
+
+            batch.clear();
+        }
+    }
+
+    private boolean writeRecoveredResponses() {
+        if (recoveredResponses.isEmpty()) {
+            return true;
+        }
+
+        for (int fromIndex = 0; fromIndex < recoveredResponses.size(); fromIndex += batchSize) {
+            int toIndex = Math.min(fromIndex + batchSize, recoveredResponses.size());
+            if (!writeBatch(recoveredResponses.subList(fromIndex, toIndex))) {
+                return false;
+            }
+        }
+
+        stateLock.lock();
+        try {
+            compactJournal(true);
+        } finally {
+            stateLock.unlock();
+        }
+
+        return true;
+    }
+
+    /**
+     * Persists the specified batch. Retries until the batch was persisted successfully.
+     *
+     * @return {@code true}, when the batch was persisted, {@code false} when the thread was interrupted.
+     */
+    private boolean writeBatch(List<TimeStampResponseData> batch) {
+        while (true) {
+            try {
+                batchWriter.accept(batch);
+                log.debug("Persisted batch of {} TSP responses.", batch.size());
+                return true;
+            } catch (Exception e) {
+                log.error("Failed to persist batch of {} TSP responses. Retrying in {}.", batch.size(), RETRY_DELAY, e);
+            }
+
+            try {
+                Thread.sleep(RETRY_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Removes all persisted responses from the journal. Must be called while holding the state lock and while no batch is
+     * being persisted.
+     *
+     * @param force
+     *     Whether the journal is rewritten even when it does not exceed the compaction threshold.
+     */
+    private void compactJournal(boolean force) {
+        if (pendingResponses.isEmpty()) {
+            journal.truncate();
+        } else if (force || journal.size() > JOURNAL_COMPACTION_THRESHOLD) {
+            journal.rewrite(pendingResponses.stream()
+                .map(codec::encode)
+                .toList());
+        }
+    }
+
+}
@@ -2,6 +2,11 @@ package dev.mieser.tsa.rest;
 
 import static jakarta.validation.constraints.Pattern.Flag.CASE_INSENSITIVE;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZonedDateTime;
+import java.util.function.Consumer;
+
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -9,6 +14,7 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,26 +23,40 @@ import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
 import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.domain.TimeStampResponseSummary;
 import dev.mieser.tsa.integration.api.DeleteTimestampResponseService;
 import dev.mieser.tsa.integration.api.QueryTimeStampResponseService;
+import dev.mieser.tsa.persistence.api.CursorPage;
+import dev.mieser.tsa.persistence.api.CursorPageRequest;
+import dev.mieser.tsa.persistence.api.ExportRequest;
 import dev.mieser.tsa.persistence.api.Page;
 import dev.mieser.tsa.persistence.api.PageRequest;
 import dev.mieser.tsa.rest.converter.SortQueryParamConverter;
+import dev.mieser.tsa.rest.domain.ErrorResponse;
 import dev.mieser.tsa.rest.domain.HttpStatusCode;
+import dev.mieser.tsa.rest.domain.TsaMediaType;
 import io.quarkus.hibernate.validator.runtime.jaxrs.ViolationReport;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Uni;
 
-@Transactional
 @Path("/history/responses")
 @RequiredArgsConstructor
 public class ResponseHistoryResource {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final QueryTimeStampResponseService queryTimeStampResponseService;
 
     private final DeleteTimestampResponseService deleteTimestampResponseService;
 
     private final SortQueryParamConverter sortQueryParamConverter;
 
+    private final ObjectMapper objectMapper;
+
     @GET
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
@@ -48,8 +68,60 @@ public class ResponseHistoryResource {
                      responseCode = HttpStatusCode.NOT_FOUND,
                      description = "When the response with the specified ID was not found.")
     })
-    public TimeStampResponseData findById(@PathParam("id") long id) {
-        return queryTimeStampResponseService.findById(id)
+    public Uni<TimeStampResponseData> findById(@PathParam("id") long id) {
+        return queryTimeStampResponseService.findByIdAsync(id)
+            .map(response -> response.orElseThrow(NotFoundException::new));
+    }
+
+    @GET
+    @Path("/{id}/token")
+    @Produces(TsaMediaType.TIMESTAMP_REPLY)
+    @APIResponses({
+        @APIResponse(
+                     responseCode = HttpStatusCode.OK,
+                     description = "The ASN.1 DER-encoded Time-Stamp Response with the specified ID."),
+        @APIResponse(
+                     responseCode = HttpStatusCode.NOT_FOUND,
+                     description = "When the response with the specified ID was not found.")
+    })
+    public Uni<byte[]> findTokenById(@PathParam("id") long id) {
+        return queryTimeStampResponseService.findAsnEncodedByIdAsync(id)
+            .map(asnEncoded -> asnEncoded.orElseThrow(NotFoundException::new));
+    }
+
+    @Transactional
+    @RunOnVirtualThread
+    @GET
+    @Path("/{id}/leaves/{leafIndex}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @APIResponses({
+        @APIResponse(
+                     responseCode = HttpStatusCode.OK,
+                     description = "When the response with the specified ID was issued for a Merkle tree containing a leaf with the specified index."),
+        @APIResponse(
+                     responseCode = HttpStatusCode.NOT_FOUND,
+                     description = "When no such leaf was found.")
+    })
+    public AggregatedTimeStampData findLeafById(@PathParam("id") long id, @PathParam("leafIndex") int leafIndex) {
+        return queryTimeStampResponseService.findAggregatedById(id, leafIndex)
+            .orElseThrow(NotFoundException::new);
+    }
+
+    @Transactional
+    @RunOnVirtualThread
+    @GET
+    @Path("/serial/{serialNumber}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @APIResponses({
+        @APIResponse(
+                     responseCode = HttpStatusCode.OK,
+                     description = "The summary of the response with the specified serial number. Also available when only the metadata of responses is persisted."),
+        @APIResponse(
+                     responseCode = HttpStatusCode.NOT_FOUND,
+                     description = "When no response with the specified serial number was found.")
+    })
+    public TimeStampResponseSummary findBySerialNumber(@PathParam("serialNumber") long serialNumber) {
+        return queryTimeStampResponseService.findBySerialNumber(serialNumber)
             .orElseThrow(NotFoundException::new);
     }
 
@@ -59,19 +131,85 @@ public class ResponseHistoryResource {
     @APIResponses({
         @APIResponse(
                      responseCode = HttpStatusCode.OK,
-                     description = "The specified page with the configured size."),
+                     description = "The specified page with the configured size. The ASN.1 encoded payloads are not included."),
         @APIResponse(
                      responseCode = HttpStatusCode.BAD_REQUEST,
                      description = "When a validation constraint is violated.",
                      content = @Content(schema = @Schema(implementation = ViolationReport.class)))
     })
-    public Page<TimeStampResponseData> findAll(
+    public Uni<Page<TimeStampResponseSummary>> findAll(
         @DefaultValue("1") @QueryParam("page") @Min(1) int page,
         @DefaultValue("50") @QueryParam("size") @Min(1) @Max(500) int size,
         @Pattern(regexp = SortQueryParamConverter.PATTERN, flags = CASE_INSENSITIVE) @QueryParam("sort") String sort) {
-        return queryTimeStampResponseService.findAll(new PageRequest(page, size, sortQueryParamConverter.fromString(sort)));
+        return queryTimeStampResponseService.findAllAsync(new PageRequest(page, size, sortQueryParamConverter.fromString(sort)));
     }
 
+    @GET
+    @Path("/cursor")
+    @Produces(MediaType.APPLICATION_JSON)
+    @APIResponses({
+        @APIResponse(
+                     responseCode = HttpStatusCode.OK,
+                     description = "The page following the specified cursor with the configured size. The total number of elements is only counted when requested."),
+        @APIResponse(
+                     responseCode = HttpStatusCode.BAD_REQUEST,
+                     description = "When a validation constraint is violated or the cursor is invalid.",
+                     content = @Content(schema = @Schema(anyOf = { ErrorResponse.class, ViolationReport.class })))
+    })
+    public Uni<CursorPage<TimeStampResponseSummary>> findAllAfterCursor(
+        @QueryParam("cursor") String cursor,
+        @DefaultValue("50") @QueryParam("size") @Min(1) @Max(500) int size,
+        @Pattern(regexp = SortQueryParamConverter.CURSOR_PATTERN, flags = CASE_INSENSITIVE) @QueryParam("sort") String sort,
+        @DefaultValue("false") @QueryParam("count") boolean count) {
+        return queryTimeStampResponseService.findAllAfterCursorAsync(
+            new CursorPageRequest(cursor, size, sortQueryParamConverter.fromString(sort), count));
+    }
+
+    @Transactional
+    @RunOnVirtualThread
+    @GET
+    @Path("/export")
+    @Produces(APPLICATION_NDJSON)
+    @APIResponses({
+        @APIResponse(
+                     responseCode = HttpStatusCode.OK,
+                     description = "The JSON representations of all selected responses in ascending order of their ID, separated by newlines.")
+    })
+    public StreamingOutput exportAll(
+        @QueryParam("receivedFrom") ZonedDateTime receivedFrom,
+        @QueryParam("receivedBefore") ZonedDateTime receivedBefore,
+        @QueryParam("afterId") Long afterId) {
+        var exportRequest = new ExportRequest(receivedFrom, receivedBefore, afterId);
+        return outputStream -> writeEach(
+            (Consumer<TimeStampResponseData> consumer) -> queryTimeStampResponseService.exportAll(exportRequest, consumer),
+            response -> {
+                outputStream.write(objectMapper.writeValueAsBytes(response));
+                outputStream.write('\n');
+            });
+    }
+
+    @Transactional
+    @RunOnVirtualThread
+    @GET
+    @Path("/export")
+    @Produces(TsaMediaType.TIMESTAMP_REPLY)
+    @APIResponses({
+        @APIResponse(
+                     responseCode = HttpStatusCode.OK,
+                     description = "The concatenated ASN.1 DER-encoded Time-Stamp Responses of all selected responses in ascending order of their ID.")
+    })
+    public StreamingOutput exportAsnEncoded(
+        @QueryParam("receivedFrom") ZonedDateTime receivedFrom,
+        @QueryParam("receivedBefore") ZonedDateTime receivedBefore,
+        @QueryParam("afterId") Long afterId) {
+        var exportRequest = new ExportRequest(receivedFrom, receivedBefore, afterId);
+        return outputStream -> writeEach(
+            (Consumer<byte[]> consumer) -> queryTimeStampResponseService.exportAsnEncoded(exportRequest, consumer),
+            outputStream::write);
+    }
+
+    @Transactional
+    @RunOnVirtualThread
     @DELETE
     @Path("/{id}")
     @APIResponses({
@@ -91,6 +229,8 @@ public class ResponseHistoryResource {
         return Response.noContent().build();
     }
 
+    @Transactional
+    @RunOnVirtualThread
     @DELETE
     @Path("/")
     @APIResponses({
@@ -103,4 +243,34 @@ public class ResponseHistoryResource {
         return Response.noContent().build();
     }
 
+    /**
+     * Writes every exported element to the response body. The export is performed after the resource method returned and
+     * therefore runs in its own transaction.
+     *
+     * @param export
+     *     Runs the export, passing each exported element to the specified consumer.
+     * @param writer
+     *     Writes a single element to the response body.
+     */
+    private static <T> void writeEach(Consumer<Consumer<T>> export, ElementWriter<T> writer) throws IOException {
+        try {
+            export.accept(element -> {
+                try {
+                    writer.write(element);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ElementWriter<T> {
+
+        void write(T element) throws IOException;
+
+    }
+
 }
@@ -0,0 +1,40 @@
+package dev.mieser.tsa.rest;
+
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import lombok.RequiredArgsConstructor;
+
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+
+import dev.mieser.tsa.integration.api.ReloadSigningKeysService;
+import dev.mieser.tsa.rest.domain.HttpStatusCode;
+import dev.mieser.tsa.rest.domain.ReloadSigningKeysResponse;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+
+@Path("/signing-keys")
+@RequiredArgsConstructor
+public class SigningKeyResource {
+
+    private final ReloadSigningKeysService reloadSigningKeysService;
+
+    @RunOnVirtualThread
+    @POST
+    @Path("/reload")
+    @Produces(MediaType.APPLICATION_JSON)
+    @APIResponses({
+        @APIResponse(
+                     responseCode = HttpStatusCode.OK,
+                     description = "When the keystore was checked for changed signing keys. Changed keys are used to sign TSP requests from now on."),
+        @APIResponse(
+                     responseCode = HttpStatusCode.INTERNAL_SERVER_ERROR,
+                     description = "When the changed keystore cannot be read or contains unsupported keys. The previous keys remain in use.")
+    })
+    public ReloadSigningKeysResponse reload() {
+        return new ReloadSigningKeysResponse(reloadSigningKeysService.reloadSigningKeys());
+    }
+
+}
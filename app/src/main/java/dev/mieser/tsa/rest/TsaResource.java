@@ -1,11 +1,15 @@
 package dev.mieser.tsa.rest;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import lombok.RequiredArgsConstructor;
 
@@ -14,7 +18,12 @@ import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
+import dev.mieser.tsa.domain.TimeStampResponseData;
 import dev.mieser.tsa.domain.TimeStampValidationResult;
+import dev.mieser.tsa.integration.api.AggregateTimeStampService;
 import dev.mieser.tsa.integration.api.IssueTimeStampService;
 import dev.mieser.tsa.integration.api.ValidateTimeStampResponseService;
 import dev.mieser.tsa.rest.domain.ErrorResponse;
@@ -25,16 +34,24 @@ import dev.mieser.tsa.signing.api.exception.InvalidCertificateException;
 import dev.mieser.tsa.signing.api.exception.InvalidTspRequestException;
 import dev.mieser.tsa.signing.api.exception.InvalidTspResponseException;
 import io.quarkus.hibernate.validator.runtime.jaxrs.ViolationReport;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 
-@Transactional
 @Path("/")
 @RequiredArgsConstructor
 public class TsaResource {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final IssueTimeStampService issueTimeStampService;
 
     private final ValidateTimeStampResponseService validateTimeStampResponseService;
 
+    private final AggregateTimeStampService aggregateTimeStampService;
+
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    @RunOnVirtualThread
     @POST
     @Path("/sign")
     @Consumes(TsaMediaType.TIMESTAMP_QUERY)
@@ -42,15 +59,65 @@ public class TsaResource {
     @APIResponses({
         @APIResponse(
                      responseCode = HttpStatusCode.OK,
-                     description = "When the time stamp query was parsed successfully and a response was generated."),
+                     description = "When the time stamp query was parsed successfully and a response was generated. Queries using a hash algorithm which is not accepted are answered by a rejection."),
         @APIResponse(
                      responseCode = HttpStatusCode.BAD_REQUEST,
-                     description = "When the time stamp query uses an unsupported hash algorithm or the request cannot be parsed.")
+                     description = "When the time stamp query cannot be parsed or exceeds the maximum length."),
+        @APIResponse(
+                     responseCode = HttpStatusCode.SERVICE_UNAVAILABLE,
+                     description = "When all signers are busy and none became available in time.")
     })
     public byte[] sign(InputStream timestampQueryStream) throws InvalidTspRequestException {
         return issueTimeStampService.signTimestampRequest(timestampQueryStream).getAsnEncoded();
     }
 
+    @Transactional
+    @RunOnVirtualThread
+    @POST
+    @Path("/sign/batch")
+    @Consumes(TsaMediaType.TIMESTAMP_QUERY)
+    @Produces(TsaMediaType.TIMESTAMP_REPLY)
+    @APIResponses({
+        @APIResponse(
+                     responseCode = HttpStatusCode.OK,
+                     description = "When all concatenated time stamp queries were parsed successfully. The body contains the concatenated responses in the same order as the queries."),
+        @APIResponse(
+                     responseCode = HttpStatusCode.BAD_REQUEST,
+                     description = "When at least one of the time stamp queries cannot be parsed or the batch contains more queries than allowed. No query is signed in that case."),
+        @APIResponse(
+                     responseCode = HttpStatusCode.SERVICE_UNAVAILABLE,
+                     description = "When all signers are busy and none became available in time.")
+    })
+    public StreamingOutput signBatch(InputStream timestampQueriesStream) throws InvalidTspRequestException {
+        List<TimeStampResponseData> responses = issueTimeStampService.signTimestampRequests(timestampQueriesStream);
+        return outputStream -> {
+            for (TimeStampResponseData response : responses) {
+                outputStream.write(response.getAsnEncoded());
+            }
+        };
+    }
+
+    @RunOnVirtualThread
+    @POST
+    @Path("/sign/aggregated")
+    @Consumes(TsaMediaType.TIMESTAMP_QUERY)
+    @Produces(MediaType.APPLICATION_JSON)
+    @APIResponses({
+        @APIResponse(
+                     responseCode = HttpStatusCode.OK,
+                     description = "When the time stamp query was parsed successfully and the root of the Merkle tree containing its message imprint was signed."),
+        @APIResponse(
+                     responseCode = HttpStatusCode.BAD_REQUEST,
+                     description = "When the time stamp query cannot be parsed or uses a hash algorithm which is not accepted."),
+        @APIResponse(
+                     responseCode = HttpStatusCode.SERVICE_UNAVAILABLE,
+                     description = "When all signers are busy and none became available in time.")
+    })
+    public AggregatedTimeStampData signAggregated(InputStream timestampQueryStream) throws InvalidTspRequestException {
+        return aggregateTimeStampService.aggregate(timestampQueryStream);
+    }
+
+    @RunOnVirtualThread
     @PUT
     @Path("/validate")
     @Consumes(TsaMediaType.TIMESTAMP_REPLY)
@@ -67,6 +134,34 @@ public class TsaResource {
         return validateTimeStampResponseService.validateTimeStampResponse(timestampResponse);
     }
 
+    @RunOnVirtualThread
+    @PUT
+    @Path("/validate/bulk")
+    @Consumes(TsaMediaType.TIMESTAMP_REPLY)
+    @Produces(APPLICATION_NDJSON)
+    @APIResponses({
+        @APIResponse(
+                     responseCode = HttpStatusCode.OK,
+                     description = "The JSON representations of the validation results of all concatenated time stamp responses in the order the validations finished, separated by newlines. Responses which cannot be validated are reported by an error message.")
+    })
+    public StreamingOutput validateBulk(InputStream timestampResponses) {
+        return outputStream -> {
+            try {
+                validateTimeStampResponseService.validateTimeStampResponses(timestampResponses, result -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(result));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    @RunOnVirtualThread
     @PUT
     @Path("/validate-with-certificate")
     @Consumes(MediaType.MULTIPART_FORM_DATA)
@@ -23,6 +23,11 @@ public class SortQueryParamConverter {
 
     public static final String PATTERN = "^(?<attributeName>[\\w.]+),(?<direction>asc|desc)$";
 
+    /**
+     * Pattern restricted to the attributes supported by cursor based pagination.
+     */
+    public static final String CURSOR_PATTERN = "^(?<attributeName>id|receptionTime|generationTime|serialNumber),(?<direction>asc|desc)$";
+
     private final Pattern compiledPattern = Pattern.compile(PATTERN, Pattern.CASE_INSENSITIVE);
 
     public Sort fromString(String value) {
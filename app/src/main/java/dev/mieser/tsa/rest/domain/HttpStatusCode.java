@@ -17,4 +17,8 @@ public class HttpStatusCode {
 
     public static final String BAD_REQUEST = "400";
 
+    public static final String INTERNAL_SERVER_ERROR = "500";
+
+    public static final String SERVICE_UNAVAILABLE = "503";
+
 }
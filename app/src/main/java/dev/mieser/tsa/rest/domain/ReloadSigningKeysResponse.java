@@ -0,0 +1,9 @@
+package dev.mieser.tsa.rest.domain;
+
+/**
+ * @param changed
+ *     Whether the signing keys changed and are used to sign TSP requests from now on.
+ */
+public record ReloadSigningKeysResponse(boolean changed) {
+
+}
@@ -0,0 +1,13 @@
+package dev.mieser.tsa.rest.providers;
+
+import jakarta.ws.rs.ext.Provider;
+
+import dev.mieser.tsa.persistence.api.exception.InvalidCursorException;
+
+/**
+ * {@link BadRequestResponseMapper} for {@link InvalidCursorException}s.
+ */
+@Provider
+public class InvalidCursorExceptionMapper extends BadRequestResponseMapper<InvalidCursorException> {
+
+}
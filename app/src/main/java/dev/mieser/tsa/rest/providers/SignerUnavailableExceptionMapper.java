@@ -0,0 +1,30 @@
+package dev.mieser.tsa.rest.providers;
+
+import static jakarta.ws.rs.core.Response.Status.SERVICE_UNAVAILABLE;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+import dev.mieser.tsa.rest.domain.ErrorResponse;
+import dev.mieser.tsa.signing.api.exception.SignerUnavailableException;
+
+/**
+ * JAX-RS {@link ExceptionMapper} for {@link SignerUnavailableException}s. The HTTP Status Code is set to
+ * {@code 503 Service Unavailable} and clients are asked to retry after one second.
+ */
+@Provider
+public class SignerUnavailableExceptionMapper implements ExceptionMapper<SignerUnavailableException> {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    @Override
+    public Response toResponse(SignerUnavailableException exception) {
+        return Response.status(SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+            .entity(new ErrorResponse(exception.getMessage()))
+            .build();
+    }
+
+}
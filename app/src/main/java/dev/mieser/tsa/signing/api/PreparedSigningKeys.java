@@ -0,0 +1,16 @@
+package dev.mieser.tsa.signing.api;
+
+/**
+ * Signers or verifiers which were built using changed signing keys, but are not used until they are activated. Allows
+ * preparing the {@link TimeStampAuthority} and the {@link TimeStampValidator} before either of them uses the changed
+ * keys, so a failure to prepare one of them leaves both using the previous keys.
+ */
+@FunctionalInterface
+public interface PreparedSigningKeys {
+
+    /**
+     * Replaces the signers or verifiers in use with the prepared ones. Never fails.
+     */
+    void activate();
+
+}
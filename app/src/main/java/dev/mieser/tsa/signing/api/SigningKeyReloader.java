@@ -0,0 +1,23 @@
+package dev.mieser.tsa.signing.api;
+
+import dev.mieser.tsa.signing.api.exception.TsaInitializationException;
+
+/**
+ * Replaces the signing keys of the {@link TimeStampAuthority} with the keys of the configured key store without
+ * restarting the application.
+ */
+public interface SigningKeyReloader {
+
+    /**
+     * Reads the key store again and, when its keys changed, replaces the signers of the {@link TimeStampAuthority}. The
+     * {@link TimeStampValidator} accepts responses signed using the new keys before the first response is signed with them
+     * and keeps accepting responses signed using the previous keys.
+     *
+     * @return Whether the signing keys changed.
+     * @throws TsaInitializationException
+     *     When the key store cannot be read or the new signers cannot be built. The previous keys remain in use until the
+     *     key store is changed again.
+     */
+    boolean reload();
+
+}
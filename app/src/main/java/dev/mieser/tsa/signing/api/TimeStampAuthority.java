@@ -1,10 +1,15 @@
 package dev.mieser.tsa.signing.api;
 
 import java.io.InputStream;
+import java.util.List;
 
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
+import dev.mieser.tsa.domain.TimeStampRequestData;
 import dev.mieser.tsa.domain.TimeStampResponseData;
 import dev.mieser.tsa.signing.api.exception.InvalidTspRequestException;
+import dev.mieser.tsa.signing.api.exception.SignerUnavailableException;
 import dev.mieser.tsa.signing.api.exception.TsaInitializationException;
+import dev.mieser.tsa.signing.api.exception.TsaNotInitializedException;
 
 /**
  * Interface abstraction of a <a href="https://www.ietf.org/rfc/rfc3161.txt">RFC 3161</a> Time Stamp Authority.
@@ -19,13 +24,65 @@ public interface TimeStampAuthority {
      */
     void initialize();
 
+    /**
+     * Builds and warms up signers using the current signing keys. Once activated, the new signers replace the previous
+     * signers at once, so TSP requests are never paused. Requests which are being signed or waiting for a signer while the
+     * signers are replaced are signed using the previous keys.
+     *
+     * @return The new signers, which are not used before they are activated.
+     * @throws TsaNotInitializedException
+     *     When the TSA has not yet been initialized.
+     * @throws TsaInitializationException
+     *     When the new signers cannot be built. The previous signers remain in use in that case.
+     */
+    PreparedSigningKeys prepareSigningKeys();
+
     /**
      * @param tspRequestInputStream
      *     The input stream of an ASN.1 DER encoded TSP response, not {@code null}.
-     * @return The TSP response data, including the ASN.1 DER encoded response.
+     * @return The TSP response data, including the ASN.1 DER encoded response. A request using a hash algorithm which is
+     * not accepted is answered by a rejection with the failure info {@code badAlg}.
      * @throws InvalidTspRequestException
      *     When the specified input stream does not contain a valid ASN.1 DER encoded TSP request.
+     * @throws SignerUnavailableException
+     *     When no signer became available in time.
      */
     TimeStampResponseData signRequest(InputStream tspRequestInputStream) throws InvalidTspRequestException;
 
+    /**
+     * @param tspRequestsInputStream
+     *     The input stream of multiple concatenated ASN.1 DER encoded TSP requests, not {@code null}.
+     * @return The TSP response data of each request, in the same order as the requests appeared in the input stream.
+     * @throws InvalidTspRequestException
+     *     When at least one of the requests in the specified input stream is not a valid ASN.1 DER encoded TSP request. No
+     *     request is signed in that case.
+     * @throws SignerUnavailableException
+     *     When no signer became available in time.
+     */
+    List<TimeStampResponseData> signRequests(InputStream tspRequestsInputStream) throws InvalidTspRequestException;
+
+    /**
+     * @param tspRequestInputStream
+     *     The input stream of an ASN.1 DER encoded TSP request, not {@code null}.
+     * @return The parsed TSP request data.
+     * @throws InvalidTspRequestException
+     *     When the specified input stream does not contain a valid ASN.1 DER encoded TSP request or the request uses a hash
+     *     algorithm which is not accepted.
+     */
+    TimeStampRequestData parseRequest(InputStream tspRequestInputStream) throws InvalidTspRequestException;
+
+    /**
+     * Aggregates the specified message imprints in a Merkle tree and signs its root.
+     *
+     * @param hashAlgorithmOid
+     *     The OID of the hash algorithm all message imprints were calculated with, not {@code null}.
+     * @param messageImprints
+     *     The message imprints to aggregate, not empty.
+     * @return The signed root and the inclusion proof of each message imprint, in the same order as the specified message
+     * imprints. All entries share the same TSP response.
+     * @throws SignerUnavailableException
+     *     When no signer became available in time.
+     */
+    List<AggregatedTimeStampData> signMessageImprints(String hashAlgorithmOid, List<byte[]> messageImprints);
+
 }
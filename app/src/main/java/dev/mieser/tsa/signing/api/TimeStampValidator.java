@@ -1,11 +1,13 @@
 package dev.mieser.tsa.signing.api;
 
 import java.io.InputStream;
+import java.util.function.Consumer;
 
 import dev.mieser.tsa.domain.TimeStampValidationResult;
 import dev.mieser.tsa.signing.api.exception.InvalidCertificateException;
 import dev.mieser.tsa.signing.api.exception.InvalidTspResponseException;
 import dev.mieser.tsa.signing.api.exception.TsaInitializationException;
+import dev.mieser.tsa.signing.api.exception.TsaNotInitializedException;
 
 /**
  * Interface abstraction of a service verifying that <a href="https://www.ietf.org/rfc/rfc3161.txt">RFC 3161</a>
@@ -21,6 +23,18 @@ public interface TimeStampValidator {
      */
     void initialize();
 
+    /**
+     * Builds verifiers for the current signing keys of the TSA. Once activated, TSP responses signed using the current
+     * signing keys are accepted. Responses signed using signing keys which were replaced remain valid.
+     *
+     * @return The new verifiers, which are not used before they are activated.
+     * @throws TsaNotInitializedException
+     *     When the validator has not yet been initialized.
+     * @throws TsaInitializationException
+     *     When the certificate of a current signing key is not supported.
+     */
+    PreparedSigningKeys prepareSigningKeys();
+
     /**
      * Verifies whether the TSP response was signed using the private key of the currently configured certificate.
      *
@@ -47,4 +61,18 @@ public interface TimeStampValidator {
     TimeStampValidationResult validateResponse(InputStream tspResponse,
         InputStream x509Certificate) throws InvalidTspResponseException, InvalidCertificateException;
 
+    /**
+     * Splits multiple concatenated TSP responses without validating them, so they can be validated independently.
+     *
+     * @param tspResponses
+     *     The input stream of multiple concatenated ASN.1 DER encoded TSP responses, not {@code null}.
+     * @param consumer
+     *     Receives the encoded responses in the order they appear in the input stream, not {@code null}.
+     * @throws InvalidTspResponseException
+     *     When the input stream contains data which is not ASN.1 DER encoded. All responses preceding the malformed data
+     *     have already been passed to the consumer.
+     * @implNote The specified input stream is not getting closed inside the method.
+     */
+    void splitResponses(InputStream tspResponses, Consumer<byte[]> consumer) throws InvalidTspResponseException;
+
 }
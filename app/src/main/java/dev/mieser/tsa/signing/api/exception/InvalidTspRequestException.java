@@ -2,6 +2,10 @@ package dev.mieser.tsa.signing.api.exception;
 
 public class InvalidTspRequestException extends Exception {
 
+    public InvalidTspRequestException(String message) {
+        super(message);
+    }
+
     public InvalidTspRequestException(Throwable cause) {
         super(cause);
     }
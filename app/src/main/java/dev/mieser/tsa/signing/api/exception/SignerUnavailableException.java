@@ -0,0 +1,12 @@
+package dev.mieser.tsa.signing.api.exception;
+
+/**
+ * Thrown when no signer became available in time to sign a TSP request, because all signers are busy.
+ */
+public class SignerUnavailableException extends RuntimeException {
+
+    public SignerUnavailableException(String message) {
+        super(message);
+    }
+
+}
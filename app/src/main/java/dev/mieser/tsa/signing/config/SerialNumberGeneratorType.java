@@ -0,0 +1,18 @@
+package dev.mieser.tsa.signing.config;
+
+/**
+ * The strategies available for generating the serial numbers of TSP responses.
+ */
+public enum SerialNumberGeneratorType {
+
+    /**
+     * Random serial numbers. There is a low chance that the same serial number is generated twice.
+     */
+    RANDOM,
+
+    /**
+     * Unique, strictly increasing serial numbers handed out from blocks which are reserved in the database.
+     */
+    SEQUENTIAL
+
+}
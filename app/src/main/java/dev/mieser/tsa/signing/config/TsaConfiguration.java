@@ -5,18 +5,25 @@ import jakarta.enterprise.inject.Produces;
 
 import dev.mieser.tsa.datetime.api.CurrentDateService;
 import dev.mieser.tsa.datetime.api.DateConverter;
+import dev.mieser.tsa.persistence.api.SerialNumberBlockRepository;
+import dev.mieser.tsa.signing.api.SigningKeyReloader;
 import dev.mieser.tsa.signing.api.TimeStampAuthority;
 import dev.mieser.tsa.signing.api.TimeStampValidator;
 import dev.mieser.tsa.signing.impl.BouncyCastleTimeStampAuthority;
 import dev.mieser.tsa.signing.impl.BouncyCastleTimeStampValidator;
+import dev.mieser.tsa.signing.impl.KeystoreSigningKeyReloader;
 import dev.mieser.tsa.signing.impl.TspParser;
 import dev.mieser.tsa.signing.impl.cert.CertificateParser;
 import dev.mieser.tsa.signing.impl.cert.Pkcs12SigningKeystoreLoader;
+import dev.mieser.tsa.signing.impl.cert.SignerVerifierCache;
 import dev.mieser.tsa.signing.impl.cert.SigningCertificateExtractor;
 import dev.mieser.tsa.signing.impl.cert.SigningKeystoreLoader;
 import dev.mieser.tsa.signing.impl.mapper.TimeStampResponseMapper;
 import dev.mieser.tsa.signing.impl.mapper.TimeStampValidationResultMapper;
 import dev.mieser.tsa.signing.impl.serial.RandomSerialNumberGenerator;
+import dev.mieser.tsa.signing.impl.serial.SequentialSerialNumberGenerator;
+import dev.mieser.tsa.signing.impl.serial.SerialNumberGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
 
 public class TsaConfiguration {
 
@@ -26,32 +33,50 @@ public class TsaConfiguration {
         TspParser tspParser,
         SigningKeystoreLoader signingKeystoreLoader,
         CurrentDateService currentDateService,
-        DateConverter dateConverter) {
+        DateConverter dateConverter,
+        SerialNumberBlockRepository serialNumberBlockRepository,
+        MeterRegistry meterRegistry) {
         return new BouncyCastleTimeStampAuthority(tsaProperties,
             tspParser,
             signingKeystoreLoader,
             currentDateService,
-            new RandomSerialNumberGenerator(),
+            serialNumberGenerator(tsaProperties, serialNumberBlockRepository),
             new TimeStampResponseMapper(dateConverter),
-            new DigestAlgorithmConverter());
+            new DigestAlgorithmConverter(),
+            meterRegistry);
     }
 
     @Produces
     @ApplicationScoped
-    TimeStampValidator timeStampValidator(TspParser tspParser,
+    TimeStampValidator timeStampValidator(TsaProperties tsaProperties,
+        TspParser tspParser,
         SigningKeystoreLoader signingKeystoreLoader,
-        DateConverter dateConverter) {
+        DateConverter dateConverter,
+        MeterRegistry meterRegistry) {
+        TsaProperties.ValidationProperties validation = tsaProperties.validation();
         return new BouncyCastleTimeStampValidator(tspParser,
             signingKeystoreLoader,
             new TimeStampValidationResultMapper(dateConverter),
             new SigningCertificateExtractor(),
-            new CertificateParser());
+            new CertificateParser(),
+            new SignerVerifierCache(validation.verifierCacheSize(), validation.verifierCacheTtl(), meterRegistry),
+            validation.retainedReplacedKeys(),
+            meterRegistry);
     }
 
     @Produces
     @ApplicationScoped
-    TspParser tspParser() {
-        return new TspParser();
+    SigningKeyReloader signingKeyReloader(SigningKeystoreLoader signingKeystoreLoader,
+        TimeStampAuthority timeStampAuthority,
+        TimeStampValidator timeStampValidator) {
+        return new KeystoreSigningKeyReloader(signingKeystoreLoader, timeStampAuthority, timeStampValidator);
+    }
+
+    @Produces
+    @ApplicationScoped
+    TspParser tspParser(TsaProperties tsaProperties) {
+        return new TspParser(tsaProperties.maxRequestLength(), tsaProperties.maxBatchSize(),
+            new DigestAlgorithmConverter().convert(tsaProperties.acceptedHashAlgorithms()));
     }
 
     @Produces
@@ -64,4 +89,13 @@ public class TsaConfiguration {
         return new Pkcs12SigningKeystoreLoader(tsaProperties.keystore().path(), password);
     }
 
+    private SerialNumberGenerator serialNumberGenerator(TsaProperties tsaProperties,
+        SerialNumberBlockRepository serialNumberBlockRepository) {
+        return switch (tsaProperties.serialNumber().generator()) {
+        case RANDOM -> new RandomSerialNumberGenerator();
+        case SEQUENTIAL -> new SequentialSerialNumberGenerator(serialNumberBlockRepository::reserveBlock,
+            tsaProperties.serialNumber().blockSize());
+        };
+    }
+
 }
@@ -1,14 +1,26 @@
 package dev.mieser.tsa.signing.config;
 
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+import dev.mieser.tsa.signing.api.SigningKeyReloader;
 import dev.mieser.tsa.signing.api.TimeStampAuthority;
 import dev.mieser.tsa.signing.api.TimeStampValidator;
 import io.quarkus.runtime.StartupEvent;
 
+/**
+ * Initializes the TSA on startup and, when configured, periodically reloads the signing keys afterwards.
+ */
+@Slf4j
 @ApplicationScoped
 @RequiredArgsConstructor
 public class TsaInitializer {
@@ -17,9 +29,46 @@ public class TsaInitializer {
 
     private final TimeStampValidator timeStampValidator;
 
+    private final SigningKeyReloader signingKeyReloader;
+
+    private final TsaProperties tsaProperties;
+
+    /**
+     * Checks the key store for changes. {@code null} unless a reload interval is configured.
+     */
+    private ScheduledExecutorService keystoreWatcher;
+
     void onStartup(@Observes StartupEvent startupEvent) {
         timeStampAuthority.initialize();
         timeStampValidator.initialize();
+
+        tsaProperties.keystore().reloadInterval().ifPresent(this::watchKeystore);
+    }
+
+    @PreDestroy
+    void stopWatchingKeystore() {
+        if (keystoreWatcher != null) {
+            keystoreWatcher.shutdownNow();
+        }
+    }
+
+    private void watchKeystore(Duration reloadInterval) {
+        keystoreWatcher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("keystore-watcher").daemon().factory());
+        keystoreWatcher.scheduleWithFixedDelay(this::reloadSigningKeys, reloadInterval.toMillis(), reloadInterval.toMillis(),
+            TimeUnit.MILLISECONDS);
+        log.info("Checking keystore for changed signing keys every {}.", reloadInterval);
+    }
+
+    private void reloadSigningKeys() {
+        try {
+            if (signingKeyReloader.reload()) {
+                log.info("Signing keys were changed and reloaded.");
+            }
+        } catch (RuntimeException e) {
+            // not propagated, so the keystore is still checked for a corrected version afterwards
+            log.warn("Failed to reload changed signing keys. Previous signing keys remain in use.", e);
+        }
     }
 
 }
@@ -1,11 +1,15 @@
 package dev.mieser.tsa.signing.config;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 
 import dev.mieser.tsa.signing.config.validator.ValidDigestAlgorithmIdentifier;
 import io.smallrye.config.ConfigMapping;
@@ -43,6 +47,26 @@ public interface TsaProperties {
     @WithDefault("SHA256,SHA512")
     Set<@NotBlank @ValidDigestAlgorithmIdentifier String> acceptedHashAlgorithms();
 
+    /**
+     * The maximum length of a single ASN.1 DER encoded TSP request in bytes. Longer requests are rejected based on the
+     * length in their header, before the rest of the request is read.
+     * <p/>
+     * Default is set to {@code 8192}. Must be positive.
+     */
+    @Positive
+    @WithDefault("8192")
+    int maxRequestLength();
+
+    /**
+     * The maximum number of concatenated TSP requests which are signed at once. Batches containing more requests are
+     * rejected without signing any of them.
+     * <p/>
+     * Default is set to {@code 1000}. Must be positive.
+     */
+    @Positive
+    @WithDefault("1000")
+    int maxBatchSize();
+
     /**
      * The OID of the policy under which the TSP responses are produced.
      * <p/>
@@ -57,6 +81,26 @@ public interface TsaProperties {
      */
     KeystoreLoaderProperties keystore();
 
+    /**
+     * Encapsulates the properties for aggregating message imprints in a Merkle tree.
+     */
+    AggregationProperties aggregation();
+
+    /**
+     * Encapsulates the properties for generating the serial numbers of TSP responses.
+     */
+    SerialNumberProperties serialNumber();
+
+    /**
+     * Encapsulates the properties for signing TSP requests.
+     */
+    SigningProperties signing();
+
+    /**
+     * Encapsulates the properties for validating TSP responses.
+     */
+    ValidationProperties validation();
+
     interface KeystoreLoaderProperties {
 
         /**
@@ -74,6 +118,140 @@ public interface TsaProperties {
          */
         Optional<String> password();
 
+        /**
+         * The interval in which the PKCS#12 file is checked for changes. Changed keys are used to sign TSP requests without
+         * restarting the application, while responses signed using the previous keys remain valid. Keystores read from the
+         * classpath are never reloaded.
+         * <p/>
+         * The file is not checked for changes by default.
+         */
+        Optional<Duration> reloadInterval();
+
+    }
+
+    interface AggregationProperties {
+
+        /**
+         * The time window in which incoming message imprints are collected before the root of their Merkle tree is signed.
+         * <p/>
+         * Default is set to 10 milliseconds. Cannot be {@code null}.
+         */
+        @NotNull
+        @WithDefault("10ms")
+        Duration window();
+
+        /**
+         * The maximum number of message imprints aggregated in a single Merkle tree. The root is signed immediately once the
+         * limit is reached, even when the time window has not yet elapsed.
+         * <p/>
+         * Default is set to {@code 4096}. Must be positive.
+         */
+        @Positive
+        @WithDefault("4096")
+        int maxLeaves();
+
+    }
+
+    interface SerialNumberProperties {
+
+        /**
+         * The strategy which is used to generate the serial numbers of TSP responses.
+         * <p/>
+         * {@link SerialNumberGeneratorType#RANDOM} is used by default. Cannot be {@code null}.
+         */
+        @NotNull
+        @WithDefault("RANDOM")
+        SerialNumberGeneratorType generator();
+
+        /**
+         * The number of serial numbers which are reserved in the database at once when using the
+         * {@link SerialNumberGeneratorType#SEQUENTIAL sequential} generator. Serial numbers of a reserved block which were not
+         * handed out before the application is stopped are skipped.
+         * <p/>
+         * Default is set to {@code 1000}. Must be positive.
+         */
+        @Positive
+        @WithDefault("1000")
+        int blockSize();
+
+    }
+
+    interface SigningProperties {
+
+        /**
+         * The number of independent signers across which TSP requests are distributed. Each signer uses its own signature
+         * instance, so requests are signed concurrently without sharing any state. The key entries of the keystore are assigned
+         * to the signers in turn and every key entry is assigned to at least one signer.
+         * <p/>
+         * Defaults to the number of available processors. Must be positive.
+         */
+        @Positive
+        OptionalInt poolSize();
+
+        /**
+         * The maximum time a TSP request waits for a signer to become available. Since requests are handled on virtual threads,
+         * the number of signers bounds the number of concurrent signature operations, while any number of requests may wait for
+         * a signer. Requests which cannot be signed in time are rejected.
+         * <p/>
+         * Default is set to 30 seconds. Cannot be {@code null}.
+         */
+        @NotNull
+        @WithDefault("30s")
+        Duration acquireTimeout();
+
+        /**
+         * The number of dummy TSP requests each signer signs during initialization, so the classes of the signing code path are
+         * loaded and the signature and digest instances of the security providers are initialized before the first actual
+         * request arrives. The dummy responses are discarded and do not consume serial numbers.
+         * <p/>
+         * Default is set to {@code 8}. Must not be negative.
+         */
+        @PositiveOrZero
+        @WithDefault("8")
+        int warmUpSignatures();
+
+    }
+
+    interface ValidationProperties {
+
+        /**
+         * The maximum number of signature verifiers which are cached for certificates supplied together with a TSP response.
+         * The least recently used verifier is evicted once the limit is reached.
+         * <p/>
+         * Default is set to {@code 100}. Must be positive.
+         */
+        @Positive
+        @WithDefault("100")
+        int verifierCacheSize();
+
+        /**
+         * The duration after which a cached signature verifier expires.
+         * <p/>
+         * Default is set to 1 hour. Cannot be {@code null}.
+         */
+        @NotNull
+        @WithDefault("1h")
+        Duration verifierCacheTtl();
+
+        /**
+         * The maximum number of signing keys which were replaced when reloading the keystore and whose certificates are still
+         * used to validate TSP responses which do not contain a certificate. The most recently replaced keys are retained.
+         * <p/>
+         * Default is set to {@code 10}. Must not be negative.
+         */
+        @PositiveOrZero
+        @WithDefault("10")
+        int retainedReplacedKeys();
+
+        /**
+         * The maximum number of TSP responses which are validated at the same time when validating multiple concatenated TSP
+         * responses. The validations are executed on virtual threads.
+         * <p/>
+         * Defaults to the number of available processors. Must be positive.
+         */
+        @Positive
+        OptionalInt bulkParallelism();
+
     }
 
 }
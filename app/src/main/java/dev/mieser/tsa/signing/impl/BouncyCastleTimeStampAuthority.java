@@ -3,43 +3,72 @@ package dev.mieser.tsa.signing.impl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
-import java.security.PrivateKey;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.cmp.PKIFailureInfo;
+import org.bouncycastle.asn1.cmp.PKIFreeText;
+import org.bouncycastle.asn1.cmp.PKIStatus;
+import org.bouncycastle.asn1.cmp.PKIStatusInfo;
+import org.bouncycastle.asn1.tsp.TimeStampResp;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
 import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.cms.SignerInfoGenerator;
 import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoGeneratorBuilder;
 import org.bouncycastle.operator.DigestCalculator;
-import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
 import org.bouncycastle.tsp.*;
 import org.bouncycastle.util.CollectionStore;
 import org.bouncycastle.util.Store;
 
 import dev.mieser.tsa.datetime.api.CurrentDateService;
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
+import dev.mieser.tsa.domain.FailureInfo;
+import dev.mieser.tsa.domain.ResponseStatus;
+import dev.mieser.tsa.domain.TimeStampRequestData;
 import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.signing.api.PreparedSigningKeys;
 import dev.mieser.tsa.signing.api.TimeStampAuthority;
 import dev.mieser.tsa.signing.api.exception.InvalidTspRequestException;
+import dev.mieser.tsa.signing.api.exception.SignerUnavailableException;
 import dev.mieser.tsa.signing.api.exception.TsaInitializationException;
 import dev.mieser.tsa.signing.api.exception.TsaNotInitializedException;
 import dev.mieser.tsa.signing.api.exception.TspResponseException;
 import dev.mieser.tsa.signing.config.DigestAlgorithmConverter;
 import dev.mieser.tsa.signing.config.TsaProperties;
 import dev.mieser.tsa.signing.impl.cert.PublicKeyAlgorithm;
+import dev.mieser.tsa.signing.impl.cert.SigningKey;
 import dev.mieser.tsa.signing.impl.cert.SigningKeystoreLoader;
 import dev.mieser.tsa.signing.impl.mapper.TimeStampResponseMapper;
+import dev.mieser.tsa.signing.impl.merkle.MerkleTree;
 import dev.mieser.tsa.signing.impl.serial.SerialNumberGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
- * {@link TimeStampAuthority} implementation using Bouncy Castle's TSP implementation.
+ * {@link TimeStampAuthority} implementation using Bouncy Castle's TSP implementation. TSP requests are signed by a pool
+ * of independent generators, one for each configured signer, so requests are signed concurrently. The generators are
+ * warmed up with dummy requests before they are published, so the first actual request does not pay for class loading
+ * and provider initialization. When the signing keys are reloaded, a new pool is built and replaces the previous pool
+ * at once.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -59,14 +88,85 @@ public class BouncyCastleTimeStampAuthority implements TimeStampAuthority {
 
     private final DigestAlgorithmConverter digestAlgorithmConverter;
 
-    private TimeStampResponseGenerator timeStampResponseGenerator;
+    private final MeterRegistry meterRegistry;
+
+    private Timer parseTimer;
+
+    private Timer signTimer;
+
+    /**
+     * The counters of the issued responses by the OID of the hash algorithm of the message imprint, so counting a response
+     * does not look up the counter in the registry. Only contains the accepted hash algorithms.
+     */
+    private Map<String, ResponseCounters> responseCounters;
+
+    /**
+     * The pool of independent generators. A generator is taken from the pool for the duration of a single signature, so no
+     * generator is used by more than one thread at a time. Written last during initialization, so threads which see the
+     * pool also see the timers and the timeout. Replaced as a whole when the signing keys are reloaded. Generators are
+     * always put back into the pool they were taken from, so generators of a replaced pool are discarded once their
+     * signature is completed.
+     */
+    private volatile BlockingQueue<TimeStampResponseGenerator> timeStampResponseGenerators;
+
+    private Duration acquireTimeout;
 
     @Override
     public TimeStampResponseData signRequest(InputStream tspRequestInputStream) throws InvalidTspRequestException {
         verifyTsaIsInitialized();
 
-        TimeStampRequest timeStampRequest = tspParser.parseRequest(tspRequestInputStream);
-        return generateTspResponse(timeStampRequest);
+        Timer.Sample parseSample = Timer.start(meterRegistry);
+        ParsedTspRequest parsedRequest = tspParser.parseRequest(tspRequestInputStream);
+        parseSample.stop(parseTimer);
+        return generateTspResponse(parsedRequest);
+    }
+
+    @Override
+    public List<TimeStampResponseData> signRequests(InputStream tspRequestsInputStream) throws InvalidTspRequestException {
+        verifyTsaIsInitialized();
+
+        Timer.Sample parseSample = Timer.start(meterRegistry);
+        List<ParsedTspRequest> parsedRequests = tspParser.parseRequests(tspRequestsInputStream);
+        parseSample.stop(parseTimer);
+        return parsedRequests.stream()
+            .map(this::generateTspResponse)
+            .toList();
+    }
+
+    @Override
+    public TimeStampRequestData parseRequest(InputStream tspRequestInputStream) throws InvalidTspRequestException {
+        ParsedTspRequest parsedRequest = tspParser.parseRequest(tspRequestInputStream);
+        if (!parsedRequest.hashAlgorithmAccepted()) {
+            throw new InvalidTspRequestException(String.format("The hash algorithm '%s' is not accepted.",
+                parsedRequest.request().getMessageImprintAlgOID().getId()));
+        }
+
+        return timeStampResponseMapper.mapRequest(parsedRequest.request(), parsedRequest.asnEncoded());
+    }
+
+    @Override
+    public List<AggregatedTimeStampData> signMessageImprints(String hashAlgorithmOid, List<byte[]> messageImprints) {
+        verifyTsaIsInitialized();
+
+        MerkleTree merkleTree = MerkleTree.build(hashAlgorithmOid, messageImprints);
+        var rootRequestGenerator = new TimeStampRequestGenerator();
+        rootRequestGenerator.setCertReq(true);
+        TimeStampRequest rootRequest = rootRequestGenerator.generate(new ASN1ObjectIdentifier(hashAlgorithmOid),
+            merkleTree.root());
+
+        TimeStampResponseData rootResponse = generateTspResponse(rootRequest,
+            timeStampResponseMapper.mapRequest(rootRequest));
+        log.info("Aggregated {} message imprints in a single TSP response.", merkleTree.size());
+
+        return IntStream.range(0, merkleTree.size())
+            .mapToObj(leafIndex -> AggregatedTimeStampData.builder()
+                .response(rootResponse)
+                .leafIndex(leafIndex)
+                .hashAlgorithmIdentifier(hashAlgorithmOid)
+                .messageImprint(messageImprints.get(leafIndex))
+                .inclusionProof(merkleTree.inclusionProof(leafIndex))
+                .build())
+            .toList();
     }
 
     /**
@@ -76,21 +176,133 @@ public class BouncyCastleTimeStampAuthority implements TimeStampAuthority {
      *     When the TSA has not yet been initialized.
      */
     private void verifyTsaIsInitialized() {
-        if (timeStampResponseGenerator == null) {
+        if (timeStampResponseGenerators == null) {
             throw new TsaNotInitializedException();
         }
     }
 
-    private TimeStampResponseData generateTspResponse(TimeStampRequest timeStampRequest) {
+    /**
+     * Signs a TSP request which was received by the TSA. The encoding of the request as it was received is kept, so the
+     * request is not encoded again.
+     */
+    private TimeStampResponseData generateTspResponse(ParsedTspRequest parsedRequest) {
+        TimeStampRequestData request = timeStampResponseMapper.mapRequest(parsedRequest.request(),
+            parsedRequest.asnEncoded());
+        if (!parsedRequest.hashAlgorithmAccepted()) {
+            return rejectHashAlgorithm(request);
+        }
+
+        return generateTspResponse(parsedRequest.request(), request);
+    }
+
+    /**
+     * Generates the response to a TSP request whose hash algorithm is not accepted. The rejection does not contain a time
+     * stamp token, so neither a generator nor a serial number is needed.
+     */
+    private TimeStampResponseData rejectHashAlgorithm(TimeStampRequestData request) {
+        Date receptionTime = currentDateService.now();
+        var statusInfo = new PKIStatusInfo(PKIStatus.rejection,
+            new PKIFreeText(String.format("The hash algorithm '%s' is not accepted.", request.getHashAlgorithmIdentifier())),
+            new PKIFailureInfo(PKIFailureInfo.badAlg));
+        try {
+            TimeStampResponse tspResponse = new TimeStampResponse(new TimeStampResp(statusInfo, null));
+            log.info("Rejected TSP request using hash algorithm '{}'.", request.getHashAlgorithmIdentifier());
+
+            TimeStampResponseData response = timeStampResponseMapper.map(request, tspResponse, receptionTime);
+            countResponse(response);
+            return response;
+        } catch (TSPException | IOException e) {
+            throw new TspResponseException("Could not reject TSP request.", e);
+        }
+    }
+
+    private TimeStampResponseData generateTspResponse(TimeStampRequest timeStampRequest, TimeStampRequestData request) {
+        Date receptionTime = currentDateService.now();
+        BlockingQueue<TimeStampResponseGenerator> generators = timeStampResponseGenerators;
+        TimeStampResponseGenerator timeStampResponseGenerator = takeTimeStampResponseGenerator(generators);
         try {
             BigInteger tspResponseSerial = BigInteger.valueOf(serialNumberGenerator.generateSerialNumber());
-            Date receptionTime = currentDateService.now();
+            Timer.Sample signSample = Timer.start(meterRegistry);
             TimeStampResponse tspResponse = timeStampResponseGenerator.generate(timeStampRequest, tspResponseSerial,
                 receptionTime);
+            signSample.stop(signTimer);
             log.info("Successfully signed TSP request. TSP request serial number: {}", tspResponseSerial);
-            return timeStampResponseMapper.map(timeStampRequest, tspResponse, receptionTime);
+
+            TimeStampResponseData response = timeStampResponseMapper.map(request, tspResponse, receptionTime);
+            countResponse(response);
+            return response;
         } catch (TSPException tspException) {
             throw new TspResponseException("Could not sign TSP request.", tspException);
+        } finally {
+            generators.add(timeStampResponseGenerator);
+        }
+    }
+
+    /**
+     * Counts the issued response by the hash algorithm of the message imprint, the response status and the failure info.
+     * The counter is only looked up in the registry when the combination was not registered during initialization, e.g.
+     * when the parser accepts any hash algorithm.
+     */
+    private void countResponse(TimeStampResponseData response) {
+        String hashAlgorithm = response.getRequest().getHashAlgorithmIdentifier();
+        ResponseStatus status = response.getStatus();
+        FailureInfo failureInfo = response.getFailureInfo();
+        ResponseCounters counters = responseCounters.get(hashAlgorithm);
+        Counter counter = counters != null ? counters.get(status, failureInfo) : null;
+        if (counter == null) {
+            counter = responseCounter(hashAlgorithm, status, failureInfo);
+        }
+
+        counter.increment();
+    }
+
+    private Counter responseCounter(String hashAlgorithm, ResponseStatus status, FailureInfo failureInfo) {
+        return Counter.builder("tsa.responses")
+            .description("The number of issued TSP responses.")
+            .tag("hash.algorithm", hashAlgorithm)
+            .tag("status", status.name())
+            .tag("failure.info", failureInfo != null ? failureInfo.name() : "NONE")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Registers a counter for every status without a failure info and for every failure info of a rejection.
+     */
+    private ResponseCounters buildResponseCounters(String hashAlgorithm) {
+        Map<ResponseStatus, Counter> byStatus = new EnumMap<>(ResponseStatus.class);
+        for (ResponseStatus status : ResponseStatus.values()) {
+            byStatus.put(status, responseCounter(hashAlgorithm, status, null));
+        }
+
+        Map<FailureInfo, Counter> rejectionsByFailureInfo = new EnumMap<>(FailureInfo.class);
+        for (FailureInfo failureInfo : FailureInfo.values()) {
+            rejectionsByFailureInfo.put(failureInfo, responseCounter(hashAlgorithm, ResponseStatus.REJECTION, failureInfo));
+        }
+
+        return new ResponseCounters(byStatus, rejectionsByFailureInfo);
+    }
+
+    /**
+     * @param generators
+     *     The pool to take the generator from, not {@code null}.
+     * @return A generator which is exclusively used by the calling thread until it is put back into the pool. Waits until a
+     * generator becomes available when all generators are in use.
+     * @throws SignerUnavailableException
+     *     When no generator became available within the configured timeout.
+     */
+    private TimeStampResponseGenerator takeTimeStampResponseGenerator(BlockingQueue<TimeStampResponseGenerator> generators) {
+        try {
+            TimeStampResponseGenerator timeStampResponseGenerator = generators.poll(acquireTimeout.toNanos(),
+                TimeUnit.NANOSECONDS);
+            if (timeStampResponseGenerator == null) {
+                throw new SignerUnavailableException(
+                    String.format("No signer became available within %s.", acquireTimeout));
+            }
+
+            return timeStampResponseGenerator;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TspResponseException("Interrupted while waiting for a signer.", e);
         }
     }
 
@@ -99,14 +311,25 @@ public class BouncyCastleTimeStampAuthority implements TimeStampAuthority {
         try {
             log.info("Starting TSA initialization...");
 
-            DigestCalculator signerCertDigestCalculator = buildSignerCertDigestCalculator();
-            SignerInfoGenerator signerInfoGenerator = buildSignerInfoGenerator();
-            var timeStampTokenGenerator = new TimeStampTokenGenerator(signerInfoGenerator, signerCertDigestCalculator,
-                new ASN1ObjectIdentifier(tsaProperties.policyOid()));
-            timeStampTokenGenerator.addCertificates(tokenGeneratorCertificateStore());
+            BlockingQueue<TimeStampResponseGenerator> generators = buildTimeStampResponseGenerators(
+                signingKeystoreLoader.loadSigningKeys());
 
-            this.timeStampResponseGenerator = new TimeStampResponseGenerator(timeStampTokenGenerator,
-                digestAlgorithmConverter.convert(tsaProperties.acceptedHashAlgorithms()));
+            this.parseTimer = Timer.builder("tsa.request.parse")
+                .description("The time it takes to parse the ASN.1 DER encoded TSP requests.")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            this.signTimer = Timer.builder("tsa.request.sign")
+                .description("The time it takes to sign a single TSP request.")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            this.responseCounters = digestAlgorithmConverter.convert(tsaProperties.acceptedHashAlgorithms()).stream()
+                .map(ASN1ObjectIdentifier::getId)
+                .collect(Collectors.toUnmodifiableMap(hashAlgorithm -> hashAlgorithm, this::buildResponseCounters));
+            Gauge.builder("tsa.signers.available", this, authority -> authority.timeStampResponseGenerators.size())
+                .description("The number of signers which are currently not signing a TSP request.")
+                .register(meterRegistry);
+            this.acquireTimeout = tsaProperties.signing().acquireTimeout();
+            this.timeStampResponseGenerators = generators;
 
             log.info(
                 "Successfully initialized TSA. Tokens are issued under policy OID '{}'. The following hash algorithms are accepted: {}",
@@ -116,6 +339,84 @@ public class BouncyCastleTimeStampAuthority implements TimeStampAuthority {
         }
     }
 
+    @Override
+    public PreparedSigningKeys prepareSigningKeys() {
+        verifyTsaIsInitialized();
+
+        try {
+            log.info("Building signers using reloaded signing keys...");
+            BlockingQueue<TimeStampResponseGenerator> generators = buildTimeStampResponseGenerators(
+                signingKeystoreLoader.loadReloadedSigningKeys());
+            return () -> {
+                this.timeStampResponseGenerators = generators;
+                log.info("Successfully reloaded signing keys.");
+            };
+        } catch (Exception e) {
+            throw new TsaInitializationException("Could not reload signing keys.", e);
+        }
+    }
+
+    /**
+     * Builds and warms up a generator for each signer.
+     *
+     * @param signingKeys
+     *     The keys the generators sign with, not empty.
+     * @return The pool of generators.
+     * @throws Exception
+     *     When an error occurs building the generators.
+     */
+    private BlockingQueue<TimeStampResponseGenerator> buildTimeStampResponseGenerators(
+        List<SigningKey> signingKeys) throws Exception {
+        List<String> signingAlgorithmNames = new ArrayList<>(signingKeys.size());
+        for (SigningKey signingKey : signingKeys) {
+            signingAlgorithmNames.add(signingAlgorithmName(signingKey));
+        }
+
+        int poolSize = Math.max(signingKeys.size(),
+            tsaProperties.signing().poolSize().orElse(Runtime.getRuntime().availableProcessors()));
+        // requests waiting for a signer are served in arrival order, so no request is overtaken indefinitely under load
+        var generators = new ArrayBlockingQueue<TimeStampResponseGenerator>(poolSize, true);
+        for (int i = 0; i < poolSize; i++) {
+            int keyIndex = i % signingKeys.size();
+            generators.add(buildTimeStampResponseGenerator(signingKeys.get(keyIndex), signingAlgorithmNames.get(keyIndex)));
+        }
+        warmUp(generators);
+
+        log.info("Signing TSP requests using {} key(s) distributed across {} signer(s).", signingKeys.size(), poolSize);
+        return generators;
+    }
+
+    /**
+     * Signs dummy requests with every generator, so the classes of the signing code path are loaded and the signature and
+     * digest instances are initialized before the generators are published. The dummy requests use every accepted hash
+     * algorithm in turn. The responses are discarded, so they are neither recorded in the metrics nor assigned an actual
+     * serial number.
+     */
+    private void warmUp(Collection<TimeStampResponseGenerator> generators) throws Exception {
+        int warmUpSignatures = tsaProperties.signing().warmUpSignatures();
+        if (warmUpSignatures == 0) {
+            return;
+        }
+
+        List<TimeStampRequest> warmUpRequests = new ArrayList<>();
+        var requestGenerator = new TimeStampRequestGenerator();
+        requestGenerator.setCertReq(true);
+        for (ASN1ObjectIdentifier hashAlgorithmOid : digestAlgorithmConverter.convert(tsaProperties.acceptedHashAlgorithms())) {
+            DigestCalculator digestCalculator = new JcaDigestCalculatorProviderBuilder().build()
+                .get(new AlgorithmIdentifier(hashAlgorithmOid));
+            warmUpRequests.add(requestGenerator.generate(hashAlgorithmOid, digestCalculator.getDigest()));
+        }
+
+        long startNanos = System.nanoTime();
+        for (TimeStampResponseGenerator generator : generators) {
+            for (int i = 0; i < warmUpSignatures; i++) {
+                generator.generate(warmUpRequests.get(i % warmUpRequests.size()), BigInteger.ZERO, new Date());
+            }
+        }
+        log.info("Warmed up {} signer(s) with {} dummy signature(s) each in {} ms.", generators.size(), warmUpSignatures,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
     /**
      * @return The {@link DigestCalculator} which is used to calculate the {@code ESSCertID} which is included in TSA
      * responses.
@@ -130,19 +431,41 @@ public class BouncyCastleTimeStampAuthority implements TimeStampAuthority {
             .get(hashAlgorithmIdentifier);
     }
 
-    private SignerInfoGenerator buildSignerInfoGenerator() throws OperatorCreationException, CertificateEncodingException {
-        X509Certificate signingCertificate = signingKeystoreLoader.loadCertificate();
-        String jcaAlgorithmName = signingCertificate.getPublicKey().getAlgorithm();
+    /**
+     * Builds a generator which does not share any state with other generators.
+     *
+     * @param signingKey
+     *     The key which is used to sign TSP requests, not {@code null}.
+     * @param signingAlgorithmName
+     *     The name of the Bouncy Castle signature algorithm, not {@code null}.
+     * @return The generator.
+     * @throws Exception
+     *     When an error occurs building the generator.
+     */
+    private TimeStampResponseGenerator buildTimeStampResponseGenerator(SigningKey signingKey,
+        String signingAlgorithmName) throws Exception {
+        DigestCalculator signerCertDigestCalculator = buildSignerCertDigestCalculator();
+        SignerInfoGenerator signerInfoGenerator = new JcaSimpleSignerInfoGeneratorBuilder()
+            .build(signingAlgorithmName, signingKey.privateKey(), signingKey.certificate());
+        var timeStampTokenGenerator = new TimeStampTokenGenerator(signerInfoGenerator, signerCertDigestCalculator,
+            new ASN1ObjectIdentifier(tsaProperties.policyOid()));
+        timeStampTokenGenerator.addCertificates(tokenGeneratorCertificateStore(signingKey.certificate()));
+
+        return new TimeStampResponseGenerator(timeStampTokenGenerator,
+            digestAlgorithmConverter.convert(tsaProperties.acceptedHashAlgorithms()));
+    }
+
+    private String signingAlgorithmName(SigningKey signingKey) {
+        String jcaAlgorithmName = signingKey.certificate().getPublicKey().getAlgorithm();
         PublicKeyAlgorithm publicKeyAlgorithm = PublicKeyAlgorithm.fromJcaName(jcaAlgorithmName)
             .orElseThrow(() -> new IllegalArgumentException(
                 String.format("Public Key algorithm '%s' is not supported.", jcaAlgorithmName)));
 
-        PrivateKey signingPrivateKey = signingKeystoreLoader.loadPrivateKey();
         String signingAlgorithmName = bouncyCastleSignatureAlgorithmName(publicKeyAlgorithm);
         log.info("Public key algorithm is '{}', using signature algorithm '{}'.", publicKeyAlgorithm.getJcaName(),
             signingAlgorithmName);
 
-        return new JcaSimpleSignerInfoGeneratorBuilder().build(signingAlgorithmName, signingPrivateKey, signingCertificate);
+        return signingAlgorithmName;
     }
 
     /**
@@ -164,10 +487,33 @@ public class BouncyCastleTimeStampAuthority implements TimeStampAuthority {
      * @return A store of {@link X509CertificateHolder X.509 Certificates} which will be included when the {@code certReq}
      * Flag is set.
      */
-    private Store<X509CertificateHolder> tokenGeneratorCertificateStore() throws IOException, CertificateEncodingException {
-        X509CertificateHolder signingCertificate = new X509CertificateHolder(
-            signingKeystoreLoader.loadCertificate().getEncoded());
+    private Store<X509CertificateHolder> tokenGeneratorCertificateStore(
+        X509Certificate certificate) throws IOException, CertificateEncodingException {
+        X509CertificateHolder signingCertificate = new X509CertificateHolder(certificate.getEncoded());
         return new CollectionStore<>(List.of(signingCertificate));
     }
 
+    /**
+     * The counters of the responses issued for a single hash algorithm.
+     *
+     * @param byStatus
+     *     The counters of responses without a failure info by their status.
+     * @param rejectionsByFailureInfo
+     *     The counters of rejected responses by their failure info.
+     */
+    private record ResponseCounters(Map<ResponseStatus, Counter> byStatus, Map<FailureInfo, Counter> rejectionsByFailureInfo) {
+
+        /**
+         * @return The counter of the specified combination or {@code null} when it was not registered up front.
+         */
+        private Counter get(ResponseStatus status, FailureInfo failureInfo) {
+            if (failureInfo == null) {
+                return byStatus.get(status);
+            }
+
+            return status == ResponseStatus.REJECTION ? rejectionsByFailureInfo.get(failureInfo) : null;
+        }
+
+    }
+
 }
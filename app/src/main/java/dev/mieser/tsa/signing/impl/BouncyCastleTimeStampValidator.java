@@ -1,15 +1,21 @@
 package dev.mieser.tsa.signing.impl;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.cms.DefaultCMSSignatureAlgorithmNameGenerator;
+import org.bouncycastle.cms.SignerId;
 import org.bouncycastle.cms.SignerInformationVerifier;
 import org.bouncycastle.operator.ContentVerifierProvider;
 import org.bouncycastle.operator.DefaultDigestAlgorithmIdentifierFinder;
@@ -23,6 +29,7 @@ import org.bouncycastle.tsp.TSPException;
 import org.bouncycastle.tsp.TimeStampResponse;
 
 import dev.mieser.tsa.domain.TimeStampValidationResult;
+import dev.mieser.tsa.signing.api.PreparedSigningKeys;
 import dev.mieser.tsa.signing.api.TimeStampValidator;
 import dev.mieser.tsa.signing.api.exception.InvalidCertificateException;
 import dev.mieser.tsa.signing.api.exception.InvalidTspResponseException;
@@ -30,9 +37,10 @@ import dev.mieser.tsa.signing.api.exception.TsaInitializationException;
 import dev.mieser.tsa.signing.api.exception.TsaNotInitializedException;
 import dev.mieser.tsa.signing.impl.cert.*;
 import dev.mieser.tsa.signing.impl.mapper.TimeStampValidationResultMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Slf4j
-@RequiredArgsConstructor
 public class BouncyCastleTimeStampValidator implements TimeStampValidator {
 
     private final TspParser tspParser;
@@ -45,49 +53,197 @@ public class BouncyCastleTimeStampValidator implements TimeStampValidator {
 
     private final CertificateParser certificateParser;
 
-    private SignerInformationVerifier defaultSignatureVerifier;
+    /**
+     * The verifiers of certificates supplied by clients, so certificates which are used repeatedly are not parsed again.
+     */
+    private final SignerVerifierCache signerVerifierCache;
+
+    /**
+     * The counters of the validated responses by their outcome, so counting a validation does not look up the counter in
+     * the registry.
+     */
+    private final Map<ValidationOutcome, Counter> validationCounters;
+
+    /**
+     * The verifiers of all signing keys of the TSA, including the most recently replaced keys when the signing keys were
+     * reloaded. The first verifier is used when none of the verifiers is associated with the certificate identified in a
+     * time stamp token. Replaced as a whole when the signing keys are reloaded.
+     */
+    private volatile List<SignerInformationVerifier> defaultSignatureVerifiers;
+
+    /**
+     * The maximum number of verifiers of replaced signing keys which are kept in the {@link #defaultSignatureVerifiers}.
+     */
+    private final int retainedReplacedKeys;
+
+    public BouncyCastleTimeStampValidator(TspParser tspParser, SigningKeystoreLoader signingKeystoreLoader,
+        TimeStampValidationResultMapper timeStampValidationResultMapper, SigningCertificateExtractor signingCertificateExtractor,
+        CertificateParser certificateParser, SignerVerifierCache signerVerifierCache, int retainedReplacedKeys,
+        MeterRegistry meterRegistry) {
+        this.tspParser = tspParser;
+        this.signingKeystoreLoader = signingKeystoreLoader;
+        this.timeStampValidationResultMapper = timeStampValidationResultMapper;
+        this.signingCertificateExtractor = signingCertificateExtractor;
+        this.certificateParser = certificateParser;
+        this.signerVerifierCache = signerVerifierCache;
+        this.retainedReplacedKeys = retainedReplacedKeys;
+        this.validationCounters = new EnumMap<>(ValidationOutcome.class);
+        for (ValidationOutcome outcome : ValidationOutcome.values()) {
+            validationCounters.put(outcome, Counter.builder("tsa.validations")
+                .description("The number of validated TSP responses.")
+                .tag("outcome", outcome.name())
+                .register(meterRegistry));
+        }
+    }
 
     @Override
     public void initialize() {
-        if (defaultSignatureVerifier != null) {
+        if (defaultSignatureVerifiers != null) {
             return;
         }
 
         try {
-            defaultSignatureVerifier = buildSignerInformationVerifier(signingKeystoreLoader.loadCertificate());
+            List<SignerInformationVerifier> verifiers = buildDefaultSignatureVerifiers(signingKeystoreLoader.loadSigningKeys());
+            indexKnownCertificates(verifiers);
+            defaultSignatureVerifiers = verifiers;
         } catch (InvalidCertificateException e) {
             throw new TsaInitializationException("Failed to initialize signature verifier.", e);
         }
     }
 
+    /**
+     * The verifiers of the reloaded signing keys take precedence, followed by the verifiers of the most recently replaced
+     * keys which are no longer used. The verifiers of older replaced keys are dropped.
+     */
+    @Override
+    public PreparedSigningKeys prepareSigningKeys() {
+        verifyInitialized();
+
+        try {
+            List<SignerInformationVerifier> verifiers = new ArrayList<>(
+                buildDefaultSignatureVerifiers(signingKeystoreLoader.loadReloadedSigningKeys()));
+            int currentVerifierCount = verifiers.size();
+            // the previous verifiers are ordered from the most to the least recently used keys
+            for (SignerInformationVerifier previousVerifier : defaultSignatureVerifiers) {
+                if (verifiers.size() - currentVerifierCount >= retainedReplacedKeys) {
+                    break;
+                }
+
+                X509CertificateHolder previousCertificate = previousVerifier.getAssociatedCertificate();
+                boolean stillUsed = verifiers.stream()
+                    .anyMatch(verifier -> verifier.getAssociatedCertificate().equals(previousCertificate));
+                if (!stillUsed) {
+                    verifiers.add(previousVerifier);
+                }
+            }
+
+            List<SignerInformationVerifier> preparedVerifiers = List.copyOf(verifiers);
+            return () -> {
+                // hashing cannot fail here, the same hash algorithms were already used when initializing the validator
+                indexKnownCertificates(preparedVerifiers);
+                defaultSignatureVerifiers = preparedVerifiers;
+            };
+        } catch (InvalidCertificateException e) {
+            throw new TsaInitializationException("Failed to reload signature verifiers.", e);
+        }
+    }
+
+    private void indexKnownCertificates(List<SignerInformationVerifier> verifiers) {
+        signingCertificateExtractor.indexKnownCertificates(verifiers.stream()
+            .map(SignerInformationVerifier::getAssociatedCertificate)
+            .toList());
+    }
+
+    private List<SignerInformationVerifier> buildDefaultSignatureVerifiers(
+        List<SigningKey> signingKeys) throws InvalidCertificateException {
+        List<SignerInformationVerifier> verifiers = new ArrayList<>();
+        for (SigningKey signingKey : signingKeys) {
+            verifiers.add(buildSignerInformationVerifier(signingKey.certificate()));
+        }
+
+        return List.copyOf(verifiers);
+    }
+
     @Override
     public TimeStampValidationResult validateResponse(InputStream tspResponse) throws InvalidTspResponseException {
         verifyInitialized();
 
-        return validateResponse(tspResponse, defaultSignatureVerifier);
+        TimeStampResponse timeStampResponse = parseResponse(tspResponse);
+        return validateResponse(timeStampResponse, defaultSignatureVerifier(timeStampResponse));
     }
 
     @Override
     public TimeStampValidationResult validateResponse(InputStream tspResponse,
         InputStream x509Certificate) throws InvalidTspResponseException, InvalidCertificateException {
-        return validateResponse(tspResponse, buildSignerInformationVerifier(certificateParser.parseCertificate(x509Certificate)));
+        SignerInformationVerifier signatureVerifier = signerVerifierCache.get(readCertificate(x509Certificate),
+            encodedCertificate -> buildSignerInformationVerifier(
+                certificateParser.parseCertificate(new ByteArrayInputStream(encodedCertificate))));
+        return validateResponse(parseResponse(tspResponse), signatureVerifier);
+    }
+
+    @Override
+    public void splitResponses(InputStream tspResponses, Consumer<byte[]> consumer) throws InvalidTspResponseException {
+        tspParser.splitResponses(tspResponses, consumer);
+    }
+
+    private byte[] readCertificate(InputStream x509Certificate) throws InvalidCertificateException {
+        try (x509Certificate) {
+            return x509Certificate.readAllBytes();
+        } catch (IOException e) {
+            throw new InvalidCertificateException(e);
+        }
+    }
+
+    private TimeStampResponse parseResponse(InputStream tspResponse) throws InvalidTspResponseException {
+        try {
+            return tspParser.parseResponse(tspResponse);
+        } catch (InvalidTspResponseException e) {
+            countValidation(ValidationOutcome.MALFORMED);
+            throw e;
+        }
     }
 
     private void verifyInitialized() {
-        if (defaultSignatureVerifier == null) {
+        if (defaultSignatureVerifiers == null) {
             throw new TsaNotInitializedException();
         }
     }
 
-    private TimeStampValidationResult validateResponse(InputStream tspResponse,
-        SignerInformationVerifier signatureVerifier) throws InvalidTspResponseException {
-        TimeStampResponse timeStampResponse = tspParser.parseResponse(tspResponse);
+    /**
+     * @param timeStampResponse
+     *     The response to validate, not {@code null}.
+     * @return The verifier of the signing key whose certificate matches the signer identifier of the time stamp token.
+     */
+    private SignerInformationVerifier defaultSignatureVerifier(TimeStampResponse timeStampResponse) {
+        List<SignerInformationVerifier> verifiers = defaultSignatureVerifiers;
+        if (timeStampResponse.getTimeStampToken() == null || verifiers.size() == 1) {
+            return verifiers.getFirst();
+        }
 
+        SignerId signerId = timeStampResponse.getTimeStampToken().getSID();
+        return verifiers.stream()
+            .filter(verifier -> signerId.match(verifier.getAssociatedCertificate()))
+            .findFirst()
+            .orElse(verifiers.getFirst());
+    }
+
+    private TimeStampValidationResult validateResponse(TimeStampResponse timeStampResponse,
+        SignerInformationVerifier signatureVerifier) throws InvalidTspResponseException {
         SigningCertificateHolder signingCertificate = signingCertificateExtractor.extractSigningCertificate(timeStampResponse)
             .orElse(null);
 
-        return timeStampValidationResultMapper.map(timeStampResponse, signingCertificate,
-            isSignatureValid(timeStampResponse, signatureVerifier));
+        boolean signatureValid = isSignatureValid(timeStampResponse, signatureVerifier);
+        if (timeStampResponse.getTimeStampToken() == null) {
+            countValidation(ValidationOutcome.UNSIGNED);
+        } else {
+            countValidation(signatureValid ? ValidationOutcome.VALID : ValidationOutcome.INVALID_SIGNATURE);
+        }
+
+        return timeStampValidationResultMapper.map(timeStampResponse, signingCertificate, signatureValid);
+    }
+
+    private void countValidation(ValidationOutcome outcome) {
+        validationCounters.get(outcome).increment();
     }
 
     private boolean isSignatureValid(TimeStampResponse timeStampResponse,
@@ -131,4 +287,31 @@ public class BouncyCastleTimeStampValidator implements TimeStampValidator {
         }
     }
 
+    /**
+     * The outcome of validating a TSP response.
+     */
+    private enum ValidationOutcome {
+
+        /**
+         * The response contains a time stamp token with a valid signature.
+         */
+        VALID,
+
+        /**
+         * The signature of the time stamp token is invalid or was not created using the expected key.
+         */
+        INVALID_SIGNATURE,
+
+        /**
+         * The response does not contain a time stamp token, e.g. because the request was rejected.
+         */
+        UNSIGNED,
+
+        /**
+         * The response could not be parsed.
+         */
+        MALFORMED
+
+    }
+
 }
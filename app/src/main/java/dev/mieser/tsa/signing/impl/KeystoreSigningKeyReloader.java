@@ -0,0 +1,74 @@
+package dev.mieser.tsa.signing.impl;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import dev.mieser.tsa.signing.api.PreparedSigningKeys;
+import dev.mieser.tsa.signing.api.SigningKeyReloader;
+import dev.mieser.tsa.signing.api.TimeStampAuthority;
+import dev.mieser.tsa.signing.api.TimeStampValidator;
+import dev.mieser.tsa.signing.api.exception.TsaInitializationException;
+import dev.mieser.tsa.signing.impl.cert.SigningKeystoreLoader;
+
+/**
+ * {@link SigningKeyReloader} which reloads the keys of a {@link SigningKeystoreLoader}. The new verifiers and signers
+ * are both built before either of them is used, so a failure leaves the validator and the TSA using the previous keys.
+ * The reloaded keys are only returned by the loader once both were built. The validator is updated before the TSA, so
+ * every response signed using a new key can be validated right away.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class KeystoreSigningKeyReloader implements SigningKeyReloader {
+
+    private final SigningKeystoreLoader signingKeystoreLoader;
+
+    private final TimeStampAuthority timeStampAuthority;
+
+    private final TimeStampValidator timeStampValidator;
+
+    /**
+     * Serializes concurrent reloads, so the TSA and the validator always use the keys of the same reload.
+     */
+    private final Lock reloadLock = new ReentrantLock();
+
+    @Override
+    public boolean reload() {
+        reloadLock.lock();
+        try {
+            if (!reloadKeystore()) {
+                log.debug("Signing keys did not change.");
+                return false;
+            }
+
+            PreparedSigningKeys preparedVerifiers;
+            PreparedSigningKeys preparedSigners;
+            try {
+                preparedVerifiers = timeStampValidator.prepareSigningKeys();
+                preparedSigners = timeStampAuthority.prepareSigningKeys();
+            } catch (RuntimeException e) {
+                // the changed keys are read again on the next reload
+                signingKeystoreLoader.discardReloadedSigningKeys();
+                throw e;
+            }
+
+            signingKeystoreLoader.activateReloadedSigningKeys();
+            preparedVerifiers.activate();
+            preparedSigners.activate();
+            return true;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private boolean reloadKeystore() {
+        try {
+            return signingKeystoreLoader.reloadSigningKeys();
+        } catch (IllegalStateException e) {
+            throw new TsaInitializationException("Could not read changed signing keys.", e);
+        }
+    }
+
+}
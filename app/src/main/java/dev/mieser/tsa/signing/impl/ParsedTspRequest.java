@@ -0,0 +1,19 @@
+package dev.mieser.tsa.signing.impl;
+
+import org.bouncycastle.tsp.TimeStampRequest;
+
+/**
+ * A parsed TSP request together with its ASN.1 DER encoding as it was received, so the request does not have to be
+ * encoded again.
+ *
+ * @param request
+ *     The parsed TSP request, not {@code null}.
+ * @param asnEncoded
+ *     The ASN.1 DER encoded TSP request, not {@code null}. Must not be modified.
+ * @param hashAlgorithmAccepted
+ *     Whether the hash algorithm of the message imprint is accepted. Requests using a hash algorithm which is not
+ *     accepted are rejected without being signed.
+ */
+public record ParsedTspRequest(TimeStampRequest request, byte[] asnEncoded, boolean hashAlgorithmAccepted) {
+
+}
@@ -1,9 +1,20 @@
 package dev.mieser.tsa.signing.impl;
 
+import java.io.EOFException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
 
 import org.apache.commons.io.input.CloseShieldInputStream;
+import org.bouncycastle.asn1.ASN1Encoding;
 import org.bouncycastle.asn1.ASN1InputStream;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.tsp.TimeStampReq;
 import org.bouncycastle.asn1.tsp.TimeStampResp;
 import org.bouncycastle.tsp.TimeStampRequest;
@@ -14,27 +25,339 @@ import dev.mieser.tsa.signing.api.exception.InvalidTspResponseException;
 
 /**
  * Reads an ASN.1 DER encoded TSP requests and responses from an input stream.
+ * <p/>
+ * TSP requests are read header first: requests exceeding the maximum length are rejected based on the length in their
+ * header. The hash algorithm of the message imprint is compared with the accepted hash algorithms without decoding the
+ * request, so requests using a hash algorithm which is not accepted can be rejected without being signed. The encoded
+ * requests are read into buffers which are reused across requests and only requests which are accepted are copied out
+ * of the buffer, so the encoding which was received can be kept instead of encoding the request again.
  */
 public class TspParser {
 
+    private static final int INTEGER_TAG = 0x02;
+
+    private static final int OBJECT_IDENTIFIER_TAG = 0x06;
+
+    private static final int SEQUENCE_TAG = 0x30;
+
+    /**
+     * The bits of the first tag octet which are set when the tag number is encoded in the subsequent octets.
+     */
+    private static final int HIGH_TAG_NUMBER_FORM = 0x1F;
+
+    /**
+     * The size of the pooled buffers. Requests which are longer are read into a buffer which is not pooled.
+     */
+    private static final int POOLED_BUFFER_SIZE = 8192;
+
+    /**
+     * The maximum length of an ASN.1 DER encoded TSP request in bytes, including its header.
+     */
+    private final int maxRequestLength;
+
+    /**
+     * The maximum number of TSP requests which are parsed from a single input stream of concatenated requests.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * The DER encodings of the OIDs of the accepted hash algorithms. {@code null} when any hash algorithm is accepted.
+     */
+    private final byte[][] acceptedHashAlgorithms;
+
+    private final BlockingQueue<byte[]> bufferPool;
+
+    /**
+     * Creates a parser which neither limits the length of TSP requests, their number nor their hash algorithm.
+     */
+    public TspParser() {
+        this(Integer.MAX_VALUE, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * @param maxRequestLength
+     *     The maximum length of an ASN.1 DER encoded TSP request in bytes, must be positive.
+     * @param maxBatchSize
+     *     The maximum number of concatenated TSP requests, must be positive.
+     * @param acceptedHashAlgorithms
+     *     The OIDs of the hash algorithms accepted in the message imprint of TSP requests, not {@code null}.
+     */
+    public TspParser(int maxRequestLength, int maxBatchSize, Collection<ASN1ObjectIdentifier> acceptedHashAlgorithms) {
+        this.maxRequestLength = maxRequestLength;
+        this.maxBatchSize = maxBatchSize;
+        this.acceptedHashAlgorithms = acceptedHashAlgorithms != null ? encode(acceptedHashAlgorithms) : null;
+        this.bufferPool = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+    }
+
     /**
      * @param requestInputStream
      *     The input stream of an ASN.1 DER encoded TSP request, not {@code null}. The input stream will <b>not</b> be
      *     closed.
-     * @return The parsed TSP request.
+     * @return The parsed TSP request together with its encoding and whether its hash algorithm is accepted.
      * @throws InvalidTspRequestException
-     *     When the input stream cannot be parsed to an TSP request.
+     *     When the input stream cannot be parsed to an TSP request or the TSP request exceeds the maximum length.
      */
-    public TimeStampRequest parseRequest(InputStream requestInputStream) throws InvalidTspRequestException {
-        try (ASN1InputStream asnInputStream = new ASN1InputStream(CloseShieldInputStream.wrap(requestInputStream))) {
-            TimeStampReq timeStampReq = TimeStampReq.getInstance(asnInputStream.readObject());
+    public ParsedTspRequest parseRequest(InputStream requestInputStream) throws InvalidTspRequestException {
+        ParsedTspRequest timeStampRequest = readRequest(requestInputStream);
+        if (timeStampRequest == null) {
+            throw new InvalidTspRequestException("The TSP request is empty.");
+        }
+
+        return timeStampRequest;
+    }
+
+    /**
+     * @param requestsInputStream
+     *     The input stream of multiple concatenated ASN.1 DER encoded TSP requests, not {@code null}. The input stream will
+     *     <b>not</b> be closed.
+     * @return The parsed TSP requests in the order they appeared in the input stream.
+     * @throws InvalidTspRequestException
+     *     When at least one of the TSP requests cannot be parsed or exceeds the maximum length or the input stream contains
+     *     more than the maximum number of requests.
+     */
+    public List<ParsedTspRequest> parseRequests(InputStream requestsInputStream) throws InvalidTspRequestException {
+        List<ParsedTspRequest> timeStampRequests = new ArrayList<>();
+
+        ParsedTspRequest timeStampRequest;
+        while ((timeStampRequest = readRequest(requestsInputStream)) != null) {
+            if (timeStampRequests.size() == maxBatchSize) {
+                throw new InvalidTspRequestException(
+                    String.format("The TSP requests exceed the maximum batch size of %d requests.", maxBatchSize));
+            }
 
-            return new TimeStampRequest(timeStampReq);
+            timeStampRequests.add(timeStampRequest);
+        }
+
+        return timeStampRequests;
+    }
+
+    /**
+     * @param inputStream
+     *     The input stream to read the next TSP request from, not {@code null}.
+     * @return The parsed TSP request together with its encoding or {@code null} when the end of the input stream was
+     * reached.
+     * @throws InvalidTspRequestException
+     *     When the TSP request cannot be parsed or exceeds the maximum length.
+     */
+    private ParsedTspRequest readRequest(InputStream inputStream) throws InvalidTspRequestException {
+        try {
+            Header header = readHeader(inputStream);
+            if (header == null) {
+                return null;
+            } else if (header.tag() != SEQUENCE_TAG) {
+                throw new InvalidTspRequestException("The TSP request is not an ASN.1 DER encoded sequence.");
+            } else if (header.isIndefinite()) {
+                throw new InvalidTspRequestException("The TSP request is not DER encoded since its length is indefinite.");
+            } else if (header.isTooLong() || header.length() + header.contentLength() > maxRequestLength) {
+                throw requestTooLong();
+            }
+
+            int requestLength = header.length() + (int) header.contentLength();
+            byte[] asnEncoded;
+            boolean hashAlgorithmAccepted;
+            byte[] buffer = borrowBuffer(requestLength);
+            try {
+                header.writeTo(buffer);
+                if (inputStream.readNBytes(buffer, header.length(), (int) header.contentLength()) != header.contentLength()) {
+                    throw new InvalidTspRequestException("The TSP request is truncated.");
+                }
+
+                hashAlgorithmAccepted = isHashAlgorithmAccepted(buffer, header.length(), requestLength);
+                asnEncoded = Arrays.copyOf(buffer, requestLength);
+            } finally {
+                releaseBuffer(buffer);
+            }
+
+            return new ParsedTspRequest(decodeRequest(asnEncoded), asnEncoded, hashAlgorithmAccepted);
+        } catch (IOException e) {
+            throw new InvalidTspRequestException(e);
+        }
+    }
+
+    /**
+     * Locates the OID of the hash algorithm in the message imprint of the encoded TSP request without decoding the request.
+     *
+     * @param buffer
+     *     The buffer containing the encoded TSP request.
+     * @param contentOffset
+     *     The offset of the contents of the {@code TimeStampReq} sequence.
+     * @param requestLength
+     *     The length of the encoded TSP request.
+     * @return Whether the hash algorithm is accepted.
+     * @throws InvalidTspRequestException
+     *     When the request is malformed.
+     */
+    private boolean isHashAlgorithmAccepted(byte[] buffer, int contentOffset,
+        int requestLength) throws InvalidTspRequestException {
+        if (acceptedHashAlgorithms == null) {
+            return true;
+        }
+
+        // TimeStampReq ::= SEQUENCE { version INTEGER, messageImprint MessageImprint, ... }
+        int versionEnd = elementEnd(buffer, contentOffset, requestLength, INTEGER_TAG);
+        int messageImprintEnd = elementEnd(buffer, versionEnd, requestLength, SEQUENCE_TAG);
+        // MessageImprint ::= SEQUENCE { hashAlgorithm AlgorithmIdentifier, hashedMessage OCTET STRING }
+        int hashAlgorithmOffset = elementContentOffset(buffer, versionEnd);
+        int hashAlgorithmEnd = elementEnd(buffer, hashAlgorithmOffset, messageImprintEnd, SEQUENCE_TAG);
+        // AlgorithmIdentifier ::= SEQUENCE { algorithm OBJECT IDENTIFIER, parameters ANY OPTIONAL }
+        int algorithmOffset = elementContentOffset(buffer, hashAlgorithmOffset);
+        int algorithmEnd = elementEnd(buffer, algorithmOffset, hashAlgorithmEnd, OBJECT_IDENTIFIER_TAG);
+
+        for (byte[] acceptedHashAlgorithm : acceptedHashAlgorithms) {
+            if (Arrays.equals(buffer, algorithmOffset, algorithmEnd, acceptedHashAlgorithm, 0, acceptedHashAlgorithm.length)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private TimeStampRequest decodeRequest(byte[] asnEncoded) throws InvalidTspRequestException {
+        try (var asnInputStream = new ASN1InputStream(asnEncoded)) {
+            return new TimeStampRequest(TimeStampReq.getInstance(asnInputStream.readObject()));
         } catch (Exception e) {
             throw new InvalidTspRequestException(e);
         }
     }
 
+    /**
+     * @return A buffer of at least the specified length. The buffer may contain data of previously parsed requests.
+     */
+    private byte[] borrowBuffer(int length) {
+        if (length > POOLED_BUFFER_SIZE) {
+            return new byte[length];
+        }
+
+        byte[] pooledBuffer = bufferPool.poll();
+        return pooledBuffer != null ? pooledBuffer : new byte[POOLED_BUFFER_SIZE];
+    }
+
+    /**
+     * Puts the buffer back into the pool, unless it is not a pooled buffer or the pool is full.
+     */
+    private void releaseBuffer(byte[] buffer) {
+        if (buffer.length == POOLED_BUFFER_SIZE) {
+            bufferPool.offer(buffer);
+        }
+    }
+
+    private InvalidTspRequestException requestTooLong() {
+        return new InvalidTspRequestException(
+            String.format("The TSP request exceeds the maximum length of %d bytes.", maxRequestLength));
+    }
+
+    /**
+     * Reads the tag and length octets of the next ASN.1 element. The length octets of elements using an indefinite length
+     * or a length which does not fit into an {@code int} are not read.
+     *
+     * @return The header of the next element or {@code null} when the end of the input stream was reached.
+     * @throws EOFException
+     *     When the input stream ends within the header.
+     */
+    private static Header readHeader(InputStream inputStream) throws IOException {
+        int tag = inputStream.read();
+        if (tag == -1) {
+            return null;
+        }
+
+        int lengthOctet = readOctet(inputStream);
+        int lengthOctetCount = lengthOctet < 0x80 ? 0 : lengthOctet & 0x7F;
+        if (lengthOctet == 0x80 || lengthOctetCount > Integer.BYTES) {
+            return new Header(tag, lengthOctet, -1);
+        }
+
+        long contentLength = lengthOctetCount == 0 ? lengthOctet : 0;
+        for (int i = 0; i < lengthOctetCount; i++) {
+            contentLength = (contentLength << 8) | readOctet(inputStream);
+        }
+
+        return new Header(tag, lengthOctet, contentLength);
+    }
+
+    private static int readOctet(InputStream inputStream) throws IOException {
+        int octet = inputStream.read();
+        if (octet == -1) {
+            throw new EOFException("Unexpected end of ASN.1 element.");
+        }
+
+        return octet;
+    }
+
+    /**
+     * @return The offset directly after the element starting at the specified offset.
+     * @throws InvalidTspRequestException
+     *     When the element does not have the expected tag, uses an indefinite length or a long form length with more than
+     *     four octets or does not end before the specified limit.
+     */
+    private static int elementEnd(byte[] buffer, int offset, int limit, int expectedTag) throws InvalidTspRequestException {
+        if (offset + 2 > limit || (buffer[offset] & 0xFF) != expectedTag) {
+            throw new InvalidTspRequestException("The TSP request is malformed.");
+        }
+
+        int lengthOctet = buffer[offset + 1] & 0xFF;
+        int lengthOctetCount = lengthOctet < 0x80 ? 0 : lengthOctet & 0x7F;
+        if (lengthOctet == 0x80 || lengthOctetCount > Integer.BYTES || offset + 2 + lengthOctetCount > limit) {
+            throw new InvalidTspRequestException("The TSP request is malformed.");
+        }
+
+        long contentLength = lengthOctetCount == 0 ? lengthOctet : 0;
+        for (int i = 0; i < lengthOctetCount; i++) {
+            contentLength = (contentLength << 8) | (buffer[offset + 2 + i] & 0xFF);
+        }
+
+        long end = elementContentOffset(buffer, offset) + contentLength;
+        if (end > limit) {
+            throw new InvalidTspRequestException("The TSP request is malformed.");
+        }
+
+        return (int) end;
+    }
+
+    /**
+     * @return The offset of the contents of the element starting at the specified offset, which has already been checked by
+     * {@link #elementEnd(byte[], int, int, int)}.
+     */
+    private static int elementContentOffset(byte[] buffer, int offset) {
+        int lengthOctet = buffer[offset + 1] & 0xFF;
+        return offset + 2 + (lengthOctet < 0x80 ? 0 : lengthOctet & 0x7F);
+    }
+
+    private static byte[][] encode(Collection<ASN1ObjectIdentifier> objectIdentifiers) {
+        try {
+            byte[][] encodedObjectIdentifiers = new byte[objectIdentifiers.size()][];
+            int i = 0;
+            for (ASN1ObjectIdentifier objectIdentifier : objectIdentifiers) {
+                encodedObjectIdentifiers[i++] = objectIdentifier.getEncoded(ASN1Encoding.DER);
+            }
+
+            return encodedObjectIdentifiers;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode object identifier.", e);
+        }
+    }
+
+    /**
+     * Splits multiple concatenated ASN.1 DER encoded TSP responses without parsing their contents, so they can be validated
+     * independently. Only the tag and length of each response are read, the encoded response is passed to the consumer as
+     * it was received.
+     *
+     * @param responsesInputStream
+     *     The input stream of multiple concatenated ASN.1 DER encoded TSP responses, not {@code null}. The input stream
+     *     will <b>not</b> be closed.
+     * @param consumer
+     *     Receives the encoded responses in the order they appear in the input stream, not {@code null}.
+     * @throws InvalidTspResponseException
+     *     When the input stream contains data which is not ASN.1 DER encoded. All responses preceding the malformed data
+     *     have already been passed to the consumer.
+     */
+    public void splitResponses(InputStream responsesInputStream,
+        Consumer<byte[]> consumer) throws InvalidTspResponseException {
+        byte[] encodedResponse;
+        while ((encodedResponse = readEncodedResponse(responsesInputStream)) != null) {
+            consumer.accept(encodedResponse);
+        }
+    }
+
     /**
      * @param inputStream
      *     The input stream of an ASN.1 DER encoded TSP response, not {@code null}. The input stream will <b>not</b> be
@@ -53,4 +376,86 @@ public class TspParser {
         }
     }
 
+    /**
+     * @param inputStream
+     *     The input stream to read the next TSP response from, not {@code null}.
+     * @return The encoding of the next TSP response or {@code null} when the end of the input stream was reached.
+     * @throws InvalidTspResponseException
+     *     When the header of the next response cannot be read or the response is truncated. Elements which are not a
+     *     sequence are split like any other response, so they are reported when they are validated.
+     */
+    private byte[] readEncodedResponse(InputStream inputStream) throws InvalidTspResponseException {
+        try {
+            Header header = readHeader(inputStream);
+            if (header == null) {
+                return null;
+            } else if ((header.tag() & HIGH_TAG_NUMBER_FORM) == HIGH_TAG_NUMBER_FORM) {
+                throw new InvalidTspResponseException("The TSP response does not start with a single octet ASN.1 tag.");
+            } else if (header.isIndefinite()) {
+                throw new InvalidTspResponseException("The TSP response is not DER encoded since its length is indefinite.");
+            } else if (header.isTooLong() || header.length() + header.contentLength() > Integer.MAX_VALUE) {
+                throw new InvalidTspResponseException("The TSP response is too long.");
+            }
+
+            // the contents are read in chunks instead of allocating the length stated in the header up front
+            int contentLength = (int) header.contentLength();
+            byte[] content = inputStream.readNBytes(contentLength);
+            if (content.length != contentLength) {
+                throw new InvalidTspResponseException("The TSP response is truncated.");
+            }
+
+            byte[] encodedResponse = new byte[header.length() + contentLength];
+            header.writeTo(encodedResponse);
+            System.arraycopy(content, 0, encodedResponse, header.length(), contentLength);
+            return encodedResponse;
+        } catch (IOException e) {
+            throw new InvalidTspResponseException("Could not read TSP response", e);
+        }
+    }
+
+    /**
+     * The tag and length octets of an ASN.1 element.
+     *
+     * @param tag
+     *     The tag octet of the element. Only single octet tags are supported.
+     * @param lengthOctet
+     *     The first length octet of the element.
+     * @param contentLength
+     *     The length of the contents or {@code -1} when the length is indefinite or does not fit into an {@code int}.
+     */
+    private record Header(int tag, int lengthOctet, long contentLength) {
+
+        private boolean isIndefinite() {
+            return lengthOctet == 0x80;
+        }
+
+        private boolean isTooLong() {
+            return !isIndefinite() && contentLength < 0;
+        }
+
+        private int lengthOctetCount() {
+            return lengthOctet < 0x80 ? 0 : lengthOctet & 0x7F;
+        }
+
+        /**
+         * @return The length of the header in bytes.
+         */
+        private int length() {
+            return 2 + lengthOctetCount();
+        }
+
+        /**
+         * Writes the header to the start of the specified buffer, which must be at least {@link #length()} bytes long.
+         */
+        private void writeTo(byte[] buffer) {
+            buffer[0] = (byte) tag;
+            buffer[1] = (byte) lengthOctet;
+            int lengthOctetCount = lengthOctetCount();
+            for (int i = 0; i < lengthOctetCount; i++) {
+                buffer[2 + i] = (byte) (contentLength >>> (8 * (lengthOctetCount - 1 - i)));
+            }
+        }
+
+    }
+
 }
@@ -0,0 +1,211 @@
+package dev.mieser.tsa.signing.impl.cert;
+
+import static org.bouncycastle.asn1.nist.NISTObjectIdentifiers.id_sha256;
+import static org.bouncycastle.asn1.x509.X509ObjectIdentifiers.id_SHA1;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.operator.DigestCalculator;
+import org.bouncycastle.operator.DigestCalculatorProvider;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.bc.BcDigestCalculatorProvider;
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * Index of {@link X509CertificateHolder X.509 Certificates} by their hash, as referenced in the {@code ESSCertID} and
+ * {@code ESSCertIDv2} attributes of time stamp tokens. The hash of a certificate is only calculated the first time the
+ * certificate is encountered with a specific hash algorithm. Afterwards, the certificate is found by a hash lookup
+ * instead of hashing every certificate contained in a token.
+ * <p/>
+ * The {@link #indexKnownCertificates(Collection) known certificates} of the TSA are always indexed. All other
+ * certificates, e.g. the ones contained in tokens supplied by clients, are indexed up to the maximum number of entries,
+ * after which the least recently used entry is evicted.
+ */
+public class CertificateFingerprintIndex {
+
+    /**
+     * The hash algorithms the known certificates are hashed with when they are indexed: SHA-1, which is used in
+     * {@code ESSCertID} attributes, and SHA-256, the default hash algorithm of {@code ESSCertIDv2} attributes.
+     */
+    private static final List<AlgorithmIdentifier> KNOWN_CERTIFICATE_HASH_ALGORITHMS = List.of(
+        new AlgorithmIdentifier(id_SHA1), new AlgorithmIdentifier(id_sha256));
+
+    private final DigestCalculatorProvider digestCalculatorProvider = new BcDigestCalculatorProvider();
+
+    private volatile KnownCertificates knownCertificates = new KnownCertificates(Set.of(), new ConcurrentHashMap<>());
+
+    /**
+     * Guards the {@link #otherCertificatesByFingerprint}, whose iteration order is updated on every access.
+     */
+    private final Lock otherCertificatesLock = new ReentrantLock();
+
+    /**
+     * The certificates which are not known, ordered from the least to the most recently used.
+     */
+    private final Map<Fingerprint, X509CertificateHolder> otherCertificatesByFingerprint;
+
+    /**
+     * @param maximumSize
+     *     The maximum number of indexed hashes of certificates which are not known, must be positive.
+     */
+    public CertificateFingerprintIndex(int maximumSize) {
+        this.otherCertificatesByFingerprint = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Fingerprint, X509CertificateHolder> eldest) {
+                return size() > maximumSize;
+            }
+
+        };
+    }
+
+    /**
+     * Replaces the known certificates, which are never evicted from the index. Their SHA-1 and SHA-256 hashes are
+     * calculated right away.
+     *
+     * @param certificates
+     *     The certificates of the signing keys of the TSA, not {@code null}.
+     * @throws IllegalStateException
+     *     When the hash of a certificate cannot be calculated.
+     */
+    public void indexKnownCertificates(Collection<X509CertificateHolder> certificates) {
+        ConcurrentMap<Fingerprint, X509CertificateHolder> certificatesByFingerprint = new ConcurrentHashMap<>();
+        for (X509CertificateHolder certificate : certificates) {
+            for (AlgorithmIdentifier hashAlgorithm : KNOWN_CERTIFICATE_HASH_ALGORITHMS) {
+                certificatesByFingerprint.put(fingerprint(hashAlgorithm, certificate), certificate);
+            }
+        }
+
+        knownCertificates = new KnownCertificates(Set.copyOf(certificates), certificatesByFingerprint);
+    }
+
+    /**
+     * @param certificates
+     *     The certificates to search, not {@code null}.
+     * @param algorithmIdentifier
+     *     The algorithm which was used to calculate the hash with, not {@code null}.
+     * @param hash
+     *     The hash of the certificate to find, not {@code null}.
+     * @return The first of the specified certificates with the specified hash, or an empty optional when none of the
+     * certificates has the specified hash.
+     * @throws IllegalStateException
+     *     When the hash of a certificate cannot be calculated, e.g. because the algorithm is not supported.
+     */
+    public Optional<X509CertificateHolder> find(Collection<X509CertificateHolder> certificates,
+        AlgorithmIdentifier algorithmIdentifier, byte[] hash) {
+        var fingerprint = new Fingerprint(algorithmIdentifier.getAlgorithm(), Hex.toHexString(hash));
+        KnownCertificates currentKnownCertificates = knownCertificates;
+        X509CertificateHolder indexedCertificate = lookup(currentKnownCertificates, fingerprint);
+        if (indexedCertificate != null && certificates.contains(indexedCertificate)) {
+            return Optional.of(indexedCertificate);
+        }
+
+        X509CertificateHolder matchingCertificate = null;
+        for (X509CertificateHolder certificate : certificates) {
+            Fingerprint certificateFingerprint = fingerprint(algorithmIdentifier, certificate);
+            index(currentKnownCertificates, certificateFingerprint, certificate);
+
+            if (matchingCertificate == null && certificateFingerprint.equals(fingerprint)) {
+                matchingCertificate = certificate;
+            }
+        }
+
+        return Optional.ofNullable(matchingCertificate);
+    }
+
+    /**
+     * @return The number of indexed hashes.
+     */
+    public int size() {
+        otherCertificatesLock.lock();
+        try {
+            return knownCertificates.certificatesByFingerprint().size() + otherCertificatesByFingerprint.size();
+        } finally {
+            otherCertificatesLock.unlock();
+        }
+    }
+
+    private X509CertificateHolder lookup(KnownCertificates currentKnownCertificates, Fingerprint fingerprint) {
+        X509CertificateHolder knownCertificate = currentKnownCertificates.certificatesByFingerprint().get(fingerprint);
+        if (knownCertificate != null) {
+            return knownCertificate;
+        }
+
+        otherCertificatesLock.lock();
+        try {
+            return otherCertificatesByFingerprint.get(fingerprint);
+        } finally {
+            otherCertificatesLock.unlock();
+        }
+    }
+
+    private void index(KnownCertificates currentKnownCertificates, Fingerprint fingerprint,
+        X509CertificateHolder certificate) {
+        if (currentKnownCertificates.certificates().contains(certificate)) {
+            // known certificates hashed with an algorithm other than the ones they are indexed with right away
+            currentKnownCertificates.certificatesByFingerprint().putIfAbsent(fingerprint, certificate);
+            return;
+        }
+
+        otherCertificatesLock.lock();
+        try {
+            otherCertificatesByFingerprint.putIfAbsent(fingerprint, certificate);
+        } finally {
+            otherCertificatesLock.unlock();
+        }
+    }
+
+    private Fingerprint fingerprint(AlgorithmIdentifier algorithmIdentifier, X509CertificateHolder certificate) {
+        return new Fingerprint(algorithmIdentifier.getAlgorithm(),
+            Hex.toHexString(calculateHash(algorithmIdentifier, certificate)));
+    }
+
+    private byte[] calculateHash(AlgorithmIdentifier algorithmIdentifier, X509CertificateHolder certificate) {
+        try {
+            DigestCalculator digestCalculator = digestCalculatorProvider.get(algorithmIdentifier);
+            try (OutputStream digestOutputStream = digestCalculator.getOutputStream()) {
+                digestOutputStream.write(certificate.getEncoded());
+            }
+
+            return digestCalculator.getDigest();
+        } catch (OperatorCreationException | IOException e) {
+            throw new IllegalStateException("Failed to calculate hash.", e);
+        }
+    }
+
+    /**
+     * @param algorithm
+     *     The OID of the hash algorithm, not {@code null}.
+     * @param hash
+     *     The hex encoded hash of the certificate, not {@code null}.
+     */
+    private record Fingerprint(ASN1ObjectIdentifier algorithm, String hash) {
+
+    }
+
+    /**
+     * @param certificates
+     *     The known certificates, not {@code null}.
+     * @param certificatesByFingerprint
+     *     The known certificates by their hashes, not {@code null}.
+     */
+    private record KnownCertificates(Set<X509CertificateHolder> certificates,
+        ConcurrentMap<Fingerprint, X509CertificateHolder> certificatesByFingerprint) {
+
+    }
+
+}
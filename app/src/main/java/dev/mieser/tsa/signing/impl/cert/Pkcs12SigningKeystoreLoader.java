@@ -6,18 +6,34 @@ import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.security.*;
 import java.security.cert.CertificateException;
+import java.security.cert.CertificateExpiredException;
+import java.security.cert.CertificateNotYetValidException;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.lang3.StringUtils;
 
 /**
- * {@link SigningKeystoreLoader} which supports PKCS#12 key stores.
+ * {@link SigningKeystoreLoader} which supports PKCS#12 key stores. Every key entry of the key store can be used to sign
+ * TSP requests. The key store is read and validated once and its keys are kept in memory, so the loader can be shared
+ * by all components which require the signing keys. Key stores read from the file system are read again when
+ * {@link #reloadSigningKeys() reloading} after the file was modified. The changed keys are only returned by
+ * {@link #loadSigningKeys()} once they were {@link #activateReloadedSigningKeys() activated}.
  */
+@Slf4j
 @RequiredArgsConstructor
 public class Pkcs12SigningKeystoreLoader implements SigningKeystoreLoader {
 
@@ -29,32 +45,168 @@ public class Pkcs12SigningKeystoreLoader implements SigningKeystoreLoader {
 
     private final char[] password;
 
-    private X509Certificate certificate;
+    /**
+     * Guards loading the key store, so it is read exactly once even when multiple threads request the keys concurrently.
+     */
+    private final Lock loadLock = new ReentrantLock();
+
+    private volatile List<SigningKey> signingKeys;
+
+    /**
+     * The modification time of the key store file when it was last read. {@code null} for key stores read from the
+     * classpath. Only accessed while holding the {@link #loadLock}.
+     */
+    private FileTime loadedLastModifiedTime;
 
-    private PrivateKey privateKey;
+    /**
+     * The keys read by the last reload which changed the keys. {@code null} when the keys were not changed or the reload
+     * was already activated or discarded. Only accessed while holding the {@link #loadLock}.
+     */
+    private List<SigningKey> reloadedSigningKeys;
+
+    /**
+     * The modification time of the key store file when the {@link #reloadedSigningKeys} were read. Only accessed while
+     * holding the {@link #loadLock}.
+     */
+    private FileTime reloadedLastModifiedTime;
 
     @Override
     public X509Certificate loadCertificate() {
-        extractCertificateAndPrivateKey();
-
-        return certificate;
+        return loadSigningKeys().getFirst().certificate();
     }
 
     @Override
     public PrivateKey loadPrivateKey() {
-        extractCertificateAndPrivateKey();
+        return loadSigningKeys().getFirst().privateKey();
+    }
+
+    /**
+     * @return The certificates and private keys of all key entries of the PKCS#12 container, ordered by their alias.
+     * @throws IllegalStateException
+     *     When the key store cannot be read or the private key of a key entry does not match its certificate.
+     */
+    @Override
+    public List<SigningKey> loadSigningKeys() {
+        List<SigningKey> loadedSigningKeys = signingKeys;
+        if (loadedSigningKeys == null) {
+            loadLock.lock();
+            try {
+                loadedSigningKeys = signingKeys;
+                if (loadedSigningKeys == null) {
+                    loadedLastModifiedTime = lastModifiedTime();
+                    loadedSigningKeys = extractSigningKeys(loadKeystore());
+                    signingKeys = loadedSigningKeys;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
 
-        return privateKey;
+        return loadedSigningKeys;
     }
 
-    private void extractCertificateAndPrivateKey() {
-        if (certificate != null && privateKey != null) {
-            return;
+    /**
+     * Reads the key store file again when its modification time changed since it was last read. Key stores read from the
+     * classpath are never read again.
+     *
+     * @return Whether the keys of the key store changed.
+     * @throws IllegalStateException
+     *     When the key store cannot be read or the private key of a key entry does not match its certificate. The previous
+     *     keys are retained in that case.
+     */
+    @Override
+    public boolean reloadSigningKeys() {
+        List<SigningKey> loadedSigningKeys = loadSigningKeys();
+        loadLock.lock();
+        try {
+            // only the last reload can be activated
+            reloadedSigningKeys = null;
+            reloadedLastModifiedTime = null;
+
+            FileTime lastModifiedTime = lastModifiedTime();
+            if (Objects.equals(lastModifiedTime, loadedLastModifiedTime)) {
+                return false;
+            }
+
+            List<SigningKey> changedSigningKeys = extractSigningKeys(loadKeystore());
+            if (changedSigningKeys.equals(loadedSigningKeys)) {
+                loadedLastModifiedTime = lastModifiedTime;
+                return false;
+            }
+
+            reloadedSigningKeys = changedSigningKeys;
+            reloadedLastModifiedTime = lastModifiedTime;
+            return true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    @Override
+    public List<SigningKey> loadReloadedSigningKeys() {
+        loadLock.lock();
+        try {
+            if (reloadedSigningKeys != null) {
+                return reloadedSigningKeys;
+            }
+        } finally {
+            loadLock.unlock();
         }
 
-        KeyStore keyStore = loadKeystore();
-        this.certificate = extractCertificate(keyStore);
-        this.privateKey = extractPrivateKey(keyStore);
+        return loadSigningKeys();
+    }
+
+    /**
+     * Replaces the loaded keys and the modification time of the key store file with the ones of the last reload.
+     */
+    @Override
+    public void activateReloadedSigningKeys() {
+        loadLock.lock();
+        try {
+            if (reloadedSigningKeys != null) {
+                signingKeys = reloadedSigningKeys;
+                loadedLastModifiedTime = reloadedLastModifiedTime;
+                reloadedSigningKeys = null;
+                reloadedLastModifiedTime = null;
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the keys of the last reload. The modification time of the key store file is left unchanged, so the key store
+     * file is read again on the next reload.
+     */
+    @Override
+    public void discardReloadedSigningKeys() {
+        loadLock.lock();
+        try {
+            reloadedSigningKeys = null;
+            reloadedLastModifiedTime = null;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * @return The modification time of the key store file or {@code null} when the key store is read from the classpath or
+     * the modification time cannot be read. Reading the key store fails in the latter case.
+     */
+    private FileTime lastModifiedTime() {
+        if (isClasspathResource()) {
+            return null;
+        }
+
+        try {
+            return Files.getLastModifiedTime(Path.of(path));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private boolean isClasspathResource() {
+        return path.toLowerCase().startsWith(CLASSPATH_MARKER);
     }
 
     private KeyStore loadKeystore() {
@@ -71,7 +223,7 @@ public class Pkcs12SigningKeystoreLoader implements SigningKeystoreLoader {
     }
 
     private InputStream openStream() throws IOException {
-        if (path.toLowerCase().startsWith(CLASSPATH_MARKER)) {
+        if (isClasspathResource()) {
             String pathWithoutClasspathPrefix = StringUtils.removeStartIgnoreCase(path, CLASSPATH_MARKER);
             InputStream resourceStream = getClass().getClassLoader().getResourceAsStream(pathWithoutClasspathPrefix);
             return Objects.requireNonNull(resourceStream,
@@ -81,41 +233,90 @@ public class Pkcs12SigningKeystoreLoader implements SigningKeystoreLoader {
         }
     }
 
-    private X509Certificate extractCertificate(KeyStore keyStore) {
-        return extractEntry(keyStore, (k, a) -> (X509Certificate) k.getCertificate(a));
+    private List<SigningKey> extractSigningKeys(KeyStore keyStore) {
+        try {
+            List<String> keyAliases = extractKeyAliases(keyStore);
+            List<SigningKey> extractedKeys = new ArrayList<>(keyAliases.size());
+            for (String keyAlias : keyAliases) {
+                var certificate = extractEntry(keyStore, keyAlias, (k, a) -> (X509Certificate) k.getCertificate(a));
+                var privateKey = extractEntry(keyStore, keyAlias, (k, a) -> (PrivateKey) k.getKey(a, password));
+                verifyKeyPair(keyAlias, certificate, privateKey);
+                logCertificateValidity(keyAlias, certificate);
+                extractedKeys.add(new SigningKey(certificate, privateKey));
+            }
+
+            return List.copyOf(extractedKeys);
+        } catch (KeyStoreException e) {
+            throw new IllegalStateException("Cannot extract entry from key store.", e);
+        }
+    }
+
+    /**
+     * Signs a challenge with the private key and verifies the signature with the public key of the certificate, so a
+     * mismatching key entry is detected when the key store is loaded instead of when the first TSP request is signed.
+     */
+    private void verifyKeyPair(String keyAlias, X509Certificate certificate, PrivateKey privateKey) {
+        String jcaAlgorithmName = certificate.getPublicKey().getAlgorithm();
+        PublicKeyAlgorithm publicKeyAlgorithm = PublicKeyAlgorithm.fromJcaName(jcaAlgorithmName).orElse(null);
+        if (publicKeyAlgorithm == null) {
+            // rejected when the signers are built
+            return;
+        }
+
+        String signatureAlgorithmName = publicKeyAlgorithm == PublicKeyAlgorithm.EC ? "SHA256withECDSA"
+            : "SHA256with" + publicKeyAlgorithm.getJcaName();
+        byte[] challenge = keyAlias.getBytes(StandardCharsets.UTF_8);
+        try {
+            Signature signer = Signature.getInstance(signatureAlgorithmName);
+            signer.initSign(privateKey);
+            signer.update(challenge);
+            byte[] signature = signer.sign();
+
+            Signature verifier = Signature.getInstance(signatureAlgorithmName);
+            verifier.initVerify(certificate.getPublicKey());
+            verifier.update(challenge);
+            if (!verifier.verify(signature)) {
+                throw new IllegalStateException(
+                    String.format("Private key of key entry '%s' does not match its certificate.", keyAlias));
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(
+                String.format("Private key of key entry '%s' does not match its certificate.", keyAlias), e);
+        }
     }
 
-    private PrivateKey extractPrivateKey(KeyStore keyStore) {
-        return extractEntry(keyStore, (k, a) -> (PrivateKey) k.getKey(a, password));
+    private void logCertificateValidity(String keyAlias, X509Certificate certificate) {
+        try {
+            certificate.checkValidity();
+        } catch (CertificateExpiredException e) {
+            log.warn("Certificate of key entry '{}' expired on {}.", keyAlias, certificate.getNotAfter());
+        } catch (CertificateNotYetValidException e) {
+            log.warn("Certificate of key entry '{}' is not valid before {}.", keyAlias, certificate.getNotBefore());
+        }
     }
 
-    private <T> T extractEntry(KeyStore keyStore, KeystoreEntryExtractor<T> entryExtractor) {
+    private <T> T extractEntry(KeyStore keyStore, String keyAlias, KeystoreEntryExtractor<T> entryExtractor) {
         try {
-            String keyAlias = extractSingleKeyAlias(keyStore);
             return entryExtractor.extractEntry(keyStore, keyAlias);
         } catch (KeyStoreException | UnrecoverableEntryException | NoSuchAlgorithmException e) {
             throw new IllegalStateException("Cannot extract entry from key store.", e);
         }
     }
 
-    private String extractSingleKeyAlias(KeyStore keyStore) throws KeyStoreException {
-        String firstKeyAlias = null;
-
+    private List<String> extractKeyAliases(KeyStore keyStore) throws KeyStoreException {
+        List<String> keyAliases = new ArrayList<>();
         for (String alias : list(keyStore.aliases())) {
-            if (!keyStore.isKeyEntry(alias)) {
-                continue;
-            } else if (firstKeyAlias != null) {
-                throw new IllegalStateException("Multiple key entries present in PKCS#12 container.");
+            if (keyStore.isKeyEntry(alias)) {
+                keyAliases.add(alias);
             }
-
-            firstKeyAlias = alias;
         }
 
-        if (firstKeyAlias == null) {
+        if (keyAliases.isEmpty()) {
             throw new IllegalStateException("No key entry present in PKCS#12 container.");
         }
 
-        return firstKeyAlias;
+        keyAliases.sort(null);
+        return keyAliases;
     }
 
     /**
@@ -0,0 +1,180 @@
+package dev.mieser.tsa.signing.impl.cert;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.bouncycastle.cms.SignerInformationVerifier;
+import org.bouncycastle.util.encoders.Hex;
+
+import dev.mieser.tsa.signing.api.exception.InvalidCertificateException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded cache of the {@link SignerInformationVerifier}s built for certificates, keyed by the SHA-256 fingerprint of
+ * the encoded certificate. The least recently used verifier is evicted once the maximum size is reached. Verifiers
+ * expire after the configured time to live, regardless of how often they are used.
+ * <p/>
+ * Certificates are only parsed when their verifier is not cached. The verifiers are immutable and are shared by all
+ * threads.
+ */
+public class SignerVerifierCache {
+
+    private final int maximumSize;
+
+    private final long timeToLiveNanos;
+
+    private final LongSupplier nanoClock;
+
+    /**
+     * The cached verifiers in access order.
+     */
+    private final LinkedHashMap<String, CacheEntry> entries;
+
+    /**
+     * Guards the {@link #entries}, whose iteration order is updated on every access.
+     */
+    private final Lock entriesLock = new ReentrantLock();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    /**
+     * @param maximumSize
+     *     The maximum number of cached verifiers, must be positive.
+     * @param timeToLive
+     *     The duration after which a cached verifier expires, not {@code null}.
+     * @param meterRegistry
+     *     The registry the hit/miss statistics and the size of the cache are recorded in, not {@code null}.
+     */
+    public SignerVerifierCache(int maximumSize, Duration timeToLive, MeterRegistry meterRegistry) {
+        this(maximumSize, timeToLive, meterRegistry, System::nanoTime);
+    }
+
+    SignerVerifierCache(int maximumSize, Duration timeToLive, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                boolean evict = size() > SignerVerifierCache.this.maximumSize;
+                if (evict) {
+                    evictions.increment();
+                }
+
+                return evict;
+            }
+
+        };
+        this.hits = getsCounter("hit", meterRegistry);
+        this.misses = getsCounter("miss", meterRegistry);
+        this.evictions = Counter.builder("tsa.verifier.cache.evictions")
+            .description("The number of verifiers evicted from the cache because its maximum size was reached.")
+            .register(meterRegistry);
+        Gauge.builder("tsa.verifier.cache.size", this, SignerVerifierCache::size)
+            .description("The number of cached verifiers.")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @param encodedCertificate
+     *     The encoded X.509 certificate to get the verifier for, not {@code null}.
+     * @param verifierFactory
+     *     Builds the verifier when no unexpired verifier is cached for the certificate, not {@code null}.
+     * @return The cached verifier, or the verifier built by the specified factory.
+     * @throws InvalidCertificateException
+     *     When the factory cannot build a verifier for the certificate. Failures are not cached.
+     */
+    public SignerInformationVerifier get(byte[] encodedCertificate,
+        VerifierFactory verifierFactory) throws InvalidCertificateException {
+        String fingerprint = fingerprint(encodedCertificate);
+        SignerInformationVerifier cachedVerifier = lookup(fingerprint);
+        if (cachedVerifier != null) {
+            hits.increment();
+            return cachedVerifier;
+        }
+
+        misses.increment();
+        // built outside the lock, so concurrent misses for different certificates do not wait for each other
+        SignerInformationVerifier verifier = verifierFactory.create(encodedCertificate);
+        entriesLock.lock();
+        try {
+            entries.put(fingerprint, new CacheEntry(verifier, nanoClock.getAsLong() + timeToLiveNanos));
+        } finally {
+            entriesLock.unlock();
+        }
+
+        return verifier;
+    }
+
+    /**
+     * @return The number of cached verifiers, including expired verifiers which have not yet been removed.
+     */
+    public int size() {
+        entriesLock.lock();
+        try {
+            return entries.size();
+        } finally {
+            entriesLock.unlock();
+        }
+    }
+
+    private SignerInformationVerifier lookup(String fingerprint) {
+        entriesLock.lock();
+        try {
+            CacheEntry entry = entries.get(fingerprint);
+            if (entry == null) {
+                return null;
+            } else if (nanoClock.getAsLong() - entry.expiresAt() >= 0) {
+                entries.remove(fingerprint);
+                return null;
+            }
+
+            return entry.verifier();
+        } finally {
+            entriesLock.unlock();
+        }
+    }
+
+    private static String fingerprint(byte[] encodedCertificate) {
+        try {
+            return Hex.toHexString(MessageDigest.getInstance("SHA-256").digest(encodedCertificate));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+    }
+
+    private static Counter getsCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("tsa.verifier.cache.gets")
+            .description("The number of verifier lookups by whether the verifier was cached.")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Builds the verifier of a certificate which is not cached.
+     */
+    @FunctionalInterface
+    public interface VerifierFactory {
+
+        SignerInformationVerifier create(byte[] encodedCertificate) throws InvalidCertificateException;
+
+    }
+
+    private record CacheEntry(SignerInformationVerifier verifier, long expiresAt) {
+
+    }
+
+}
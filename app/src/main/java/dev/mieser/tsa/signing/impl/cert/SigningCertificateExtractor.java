@@ -21,7 +21,6 @@ import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
 import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.tsp.TimeStampResponse;
 import org.bouncycastle.tsp.TimeStampToken;
-import org.bouncycastle.util.Selector;
 
 import dev.mieser.tsa.signing.api.exception.InvalidTspResponseException;
 
@@ -34,6 +33,37 @@ import dev.mieser.tsa.signing.api.exception.InvalidTspResponseException;
 @Slf4j
 public class SigningCertificateExtractor {
 
+    /**
+     * The maximum number of hashes of certificates other than the known certificates which are indexed by default.
+     */
+    private static final int DEFAULT_INDEX_SIZE = 1000;
+
+    /**
+     * Shared by all extractions, so the hashes of certificates contained in many tokens are only calculated once.
+     */
+    private final CertificateFingerprintIndex certificateFingerprintIndex;
+
+    public SigningCertificateExtractor() {
+        this(new CertificateFingerprintIndex(DEFAULT_INDEX_SIZE));
+    }
+
+    public SigningCertificateExtractor(CertificateFingerprintIndex certificateFingerprintIndex) {
+        this.certificateFingerprintIndex = certificateFingerprintIndex;
+    }
+
+    /**
+     * Replaces the certificates which are always found without calculating their hashes, regardless of the number of other
+     * certificates encountered.
+     *
+     * @param certificates
+     *     The certificates of the signing keys of the TSA, not {@code null}.
+     * @throws IllegalStateException
+     *     When the hash of a certificate cannot be calculated.
+     */
+    public void indexKnownCertificates(Collection<X509CertificateHolder> certificates) {
+        certificateFingerprintIndex.indexKnownCertificates(certificates);
+    }
+
     /**
      * @param timeStampResponse
      *     The response to extract the signing certificate from, not {@code null}.
@@ -52,30 +82,19 @@ public class SigningCertificateExtractor {
         }
 
         SigningCertificateIdentifier signingCertificateIdentifier = essCertIdHash(timeStampToken);
-        Selector<X509CertificateHolder> signingCertificateSelector = new HashBasedCertificateSelector(
-            signingCertificateIdentifier.algorithmIdentifier(), signingCertificateIdentifier.hash());
-
-        Collection<X509CertificateHolder> matchingCertificates = timeStampToken.getCertificates()
-            .getMatches(signingCertificateSelector);
-        if (matchingCertificates.isEmpty() && containsCertificates(timeStampToken)) {
+        Collection<X509CertificateHolder> certificates = timeStampToken.getCertificates().getMatches(null);
+        X509CertificateHolder signingCertificate = certificateFingerprintIndex
+            .find(certificates, signingCertificateIdentifier.algorithmIdentifier(), signingCertificateIdentifier.hash())
+            .orElse(null);
+        if (signingCertificate == null && !certificates.isEmpty()) {
             throw new InvalidTspResponseException(
                 "The signing certificate is not contained in the response, thus violating RFC 3161 / RFC 5816.");
         }
 
-        X509CertificateHolder signingCertificate = matchingCertificates.isEmpty() ? null : matchingCertificates.iterator().next();
         return Optional.of(new SigningCertificateHolder(signingCertificateIdentifier.algorithmIdentifier(),
             signingCertificateIdentifier.hash(), signingCertificate));
     }
 
-    /**
-     * @param timeStampToken
-     *     The timestamp token to check.
-     * @return {@code true}, iff the time stamp token contains certificates.
-     */
-    private boolean containsCertificates(TimeStampToken timeStampToken) {
-        return !timeStampToken.getCertificates().getMatches(null).isEmpty();
-    }
-
     /**
      * @param timeStampToken
      *     The Time Stamp Token to extract the algorithm identifier from, not {@code null}.
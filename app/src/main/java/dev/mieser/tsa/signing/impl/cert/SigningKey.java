@@ -0,0 +1,16 @@
+package dev.mieser.tsa.signing.impl.cert;
+
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+
+/**
+ * A private key which is used to sign TSP requests together with the corresponding X.509 certificate.
+ *
+ * @param certificate
+ *     The X.509 certificate, not {@code null}.
+ * @param privateKey
+ *     The corresponding private key, not {@code null}.
+ */
+public record SigningKey(X509Certificate certificate, PrivateKey privateKey) {
+
+}
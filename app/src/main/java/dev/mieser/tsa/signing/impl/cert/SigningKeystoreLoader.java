@@ -3,6 +3,7 @@ package dev.mieser.tsa.signing.impl.cert;
 import java.io.IOException;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
+import java.util.List;
 
 /**
  * Loads an X.509 certificate and the corresponding private key which will be used to sign TSP requests.
@@ -23,4 +24,52 @@ public interface SigningKeystoreLoader {
      */
     PrivateKey loadPrivateKey();
 
+    /**
+     * Loads all keys which can be used to sign TSP requests. Implementations supporting more than one key must override
+     * this method.
+     *
+     * @return The keys which can be used to sign TSP requests, not empty. The first key consists of the
+     * {@link #loadCertificate() certificate} and the {@link #loadPrivateKey() private key} of this loader.
+     */
+    default List<SigningKey> loadSigningKeys() {
+        return List.of(new SigningKey(loadCertificate(), loadPrivateKey()));
+    }
+
+    /**
+     * Reads the keys again when they were changed since they were last loaded. The changed keys are only returned by
+     * {@link #loadReloadedSigningKeys()} until they are {@link #activateReloadedSigningKeys() activated}, so the other load
+     * methods return the previous keys until the changed keys are put into use. Implementations whose keys cannot change
+     * must not override this method.
+     *
+     * @return Whether the keys changed.
+     * @throws IllegalStateException
+     *     When the changed keys cannot be read. The previously loaded keys are retained in that case.
+     */
+    default boolean reloadSigningKeys() {
+        return false;
+    }
+
+    /**
+     * @return The keys read by the last {@link #reloadSigningKeys() reload} which changed the keys, unless they were
+     * activated or discarded since. The {@link #loadSigningKeys() loaded keys} otherwise.
+     */
+    default List<SigningKey> loadReloadedSigningKeys() {
+        return loadSigningKeys();
+    }
+
+    /**
+     * Replaces the loaded keys with the keys read by the last {@link #reloadSigningKeys() reload} which changed the keys.
+     * Used once the changed keys were put into use. Implementations whose keys cannot change must not override this method.
+     */
+    default void activateReloadedSigningKeys() {
+    }
+
+    /**
+     * Drops the keys read by the last {@link #reloadSigningKeys() reload} which changed the keys, so the changed keys are
+     * read again on the next reload. Used when the changed keys cannot be put into use. Implementations whose keys cannot
+     * change must not override this method.
+     */
+    default void discardReloadedSigningKeys() {
+    }
+
 }
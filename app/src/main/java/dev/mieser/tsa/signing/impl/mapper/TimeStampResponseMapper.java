@@ -7,6 +7,8 @@ import lombok.RequiredArgsConstructor;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.tsp.TimeStampRequest;
 import org.bouncycastle.tsp.TimeStampResponse;
+import org.bouncycastle.tsp.TimeStampToken;
+import org.bouncycastle.tsp.TimeStampTokenInfo;
 
 import dev.mieser.tsa.datetime.api.DateConverter;
 import dev.mieser.tsa.domain.TimeStampRequestData;
@@ -30,27 +32,57 @@ public class TimeStampResponseMapper extends AbstractTspMapper {
      * @return The corresponding domain object.
      */
     public TimeStampResponseData map(TimeStampRequest timeStampRequest, TimeStampResponse timeStampResponse, Date receptionTime) {
-        TimeStampRequestData requestData = TimeStampRequestData
-            .builder(timeStampRequest.getMessageImprintAlgOID().getId(), timeStampRequest.getMessageImprintDigest(),
-                asnEncoded(timeStampRequest, TimeStampRequest::getEncoded))
-            .nonce(timeStampRequest.getNonce())
-            .certificateRequested(timeStampRequest.getCertReq())
-            .tsaPolicyId(mapIfNotNull(timeStampRequest.getReqPolicy(), ASN1ObjectIdentifier::getId))
-            .build();
+        return map(mapRequest(timeStampRequest), timeStampResponse, receptionTime);
+    }
+
+    /**
+     * @param request
+     *     The already mapped TSP request for which the response was generated, not {@code null}.
+     * @param timeStampResponse
+     *     The corresponding response, not {@code null}.
+     * @param receptionTime
+     *     The time the TSP request was received, not {@code null}.
+     * @return The corresponding domain object. The response is encoded exactly once.
+     */
+    public TimeStampResponseData map(TimeStampRequestData request, TimeStampResponse timeStampResponse, Date receptionTime) {
+        TimeStampTokenInfo timeStampInfo = mapIfNotNull(timeStampResponse.getTimeStampToken(),
+            TimeStampToken::getTimeStampInfo);
 
         return TimeStampResponseData.builder(
             mapToResponseStatus(timeStampResponse.getStatus()),
             dateConverter.toZonedDateTime(receptionTime),
-            requestData,
+            request,
             asnEncoded(timeStampResponse, TimeStampResponse::getEncoded))
             .statusString(timeStampResponse.getStatusString())
             .failureInfo(mapIfNotNull(timeStampResponse.getFailInfo(), failInfo -> mapToFailureInfo(failInfo.intValue())))
-            .serialNumber(
-                mapIfNotNull(timeStampResponse.getTimeStampToken(),
-                    timeStampToken -> timeStampToken.getTimeStampInfo().getSerialNumber()))
-            .generationTime(
-                mapIfNotNull(timeStampResponse.getTimeStampToken(),
-                    token -> dateConverter.toZonedDateTime(token.getTimeStampInfo().getGenTime())))
+            .serialNumber(mapIfNotNull(timeStampInfo, TimeStampTokenInfo::getSerialNumber))
+            .generationTime(mapIfNotNull(timeStampInfo, info -> dateConverter.toZonedDateTime(info.getGenTime())))
+            .build();
+    }
+
+    /**
+     * @param timeStampRequest
+     *     The Bouncy Castle TSP request to map, not {@code null}.
+     * @return The corresponding domain object.
+     */
+    public TimeStampRequestData mapRequest(TimeStampRequest timeStampRequest) {
+        return mapRequest(timeStampRequest, asnEncoded(timeStampRequest, TimeStampRequest::getEncoded));
+    }
+
+    /**
+     * @param timeStampRequest
+     *     The Bouncy Castle TSP request to map, not {@code null}.
+     * @param asnEncoded
+     *     The ASN.1 DER encoding of the TSP request as it was received, not {@code null}. The array is used as is.
+     * @return The corresponding domain object.
+     */
+    public TimeStampRequestData mapRequest(TimeStampRequest timeStampRequest, byte[] asnEncoded) {
+        return TimeStampRequestData
+            .builder(timeStampRequest.getMessageImprintAlgOID().getId(), timeStampRequest.getMessageImprintDigest(),
+                asnEncoded)
+            .nonce(timeStampRequest.getNonce())
+            .certificateRequested(timeStampRequest.getCertReq())
+            .tsaPolicyId(mapIfNotNull(timeStampRequest.getReqPolicy(), ASN1ObjectIdentifier::getId))
             .build();
     }
 
@@ -0,0 +1,145 @@
+package dev.mieser.tsa.signing.impl.merkle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.operator.DigestCalculator;
+import org.bouncycastle.operator.DigestCalculatorProvider;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.bc.BcDigestCalculatorProvider;
+
+import dev.mieser.tsa.domain.InclusionProofStep;
+
+/**
+ * Binary Merkle tree over a list of message imprints. Leaf and node hashes are domain separated as described in
+ * <a href="https://datatracker.ietf.org/doc/html/rfc6962#section-2.1">RFC 6962</a>: the hash of a leaf is calculated
+ * over {@code 0x00 || messageImprint}, the hash of an inner node over {@code 0x01 || left || right}. When a level
+ * consists of an odd number of nodes, the last node is promoted to the next level unchanged.
+ */
+public class MerkleTree {
+
+    private static final byte LEAF_PREFIX = 0x00;
+
+    private static final byte NODE_PREFIX = 0x01;
+
+    /**
+     * The levels of the tree, starting with the leaf hashes. The last level only contains the root hash.
+     */
+    private final List<byte[][]> levels;
+
+    private MerkleTree(List<byte[][]> levels) {
+        this.levels = levels;
+    }
+
+    /**
+     * @param hashAlgorithmOid
+     *     The OID of the hash algorithm used to calculate the hashes of the tree, not {@code null}.
+     * @param messageImprints
+     *     The message imprints to build the tree for, not empty.
+     * @return The Merkle tree.
+     * @throws IllegalArgumentException
+     *     When no message imprints are specified or the hash algorithm is not supported.
+     */
+    public static MerkleTree build(String hashAlgorithmOid, List<byte[]> messageImprints) {
+        if (messageImprints.isEmpty()) {
+            throw new IllegalArgumentException("At least one message imprint is required.");
+        }
+
+        var hashFunction = new HashFunction(new AlgorithmIdentifier(new ASN1ObjectIdentifier(hashAlgorithmOid)));
+
+        byte[][] currentLevel = messageImprints.stream()
+            .map(imprint -> hashFunction.hash(LEAF_PREFIX, imprint))
+            .toArray(byte[][]::new);
+
+        List<byte[][]> levels = new ArrayList<>();
+        levels.add(currentLevel);
+        while (currentLevel.length > 1) {
+            byte[][] nextLevel = new byte[(currentLevel.length + 1) / 2][];
+            for (int i = 0; i < currentLevel.length; i += 2) {
+                nextLevel[i / 2] = i + 1 < currentLevel.length
+                    ? hashFunction.hash(NODE_PREFIX, currentLevel[i], currentLevel[i + 1])
+                    : currentLevel[i];
+            }
+
+            levels.add(nextLevel);
+            currentLevel = nextLevel;
+        }
+
+        return new MerkleTree(levels);
+    }
+
+    /**
+     * @return The number of leaves.
+     */
+    public int size() {
+        return levels.get(0).length;
+    }
+
+    /**
+     * @return The hash of the root node.
+     */
+    public byte[] root() {
+        return levels.get(levels.size() - 1)[0];
+    }
+
+    /**
+     * @param leafIndex
+     *     The zero-based index of the leaf.
+     * @return The steps from the leaf to the root of the tree.
+     */
+    public List<InclusionProofStep> inclusionProof(int leafIndex) {
+        List<InclusionProofStep> steps = new ArrayList<>();
+
+        int index = leafIndex;
+        for (int level = 0; level < levels.size() - 1; level++) {
+            byte[][] nodes = levels.get(level);
+            int siblingIndex = index ^ 1;
+            if (siblingIndex < nodes.length) {
+                steps.add(new InclusionProofStep(nodes[siblingIndex], siblingIndex < index));
+            }
+
+            index /= 2;
+        }
+
+        return steps;
+    }
+
+    /**
+     * Calculates domain separated hashes using the Bouncy Castle {@link DigestCalculator} of a specific algorithm.
+     */
+    private static class HashFunction {
+
+        private final AlgorithmIdentifier algorithmIdentifier;
+
+        private final DigestCalculatorProvider digestCalculatorProvider = new BcDigestCalculatorProvider();
+
+        private HashFunction(AlgorithmIdentifier algorithmIdentifier) {
+            this.algorithmIdentifier = algorithmIdentifier;
+        }
+
+        private byte[] hash(byte prefix, byte[]... values) {
+            try {
+                DigestCalculator digestCalculator = digestCalculatorProvider.get(algorithmIdentifier);
+                try (OutputStream digestOutputStream = digestCalculator.getOutputStream()) {
+                    digestOutputStream.write(prefix);
+                    for (byte[] value : values) {
+                        digestOutputStream.write(value);
+                    }
+                }
+
+                return digestCalculator.getDigest();
+            } catch (OperatorCreationException e) {
+                throw new IllegalArgumentException(
+                    String.format("Hash algorithm '%s' is not supported.", algorithmIdentifier.getAlgorithm().getId()), e);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to calculate hash.", e);
+            }
+        }
+
+    }
+
+}
@@ -7,7 +7,8 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * {@link SerialNumberGenerator} generating random serial numbers. There is a low chance that the same serial is
- * generated twice.
+ * generated twice. A single {@link SecureRandom} instance is shared by all callers, since creating a new instance for
+ * every serial number is expensive and may block while waiting for entropy.
  */
 @RequiredArgsConstructor
 public class RandomSerialNumberGenerator implements SerialNumberGenerator {
@@ -15,7 +16,7 @@ public class RandomSerialNumberGenerator implements SerialNumberGenerator {
     private final Supplier<Long> randomValueSupplier;
 
     public RandomSerialNumberGenerator() {
-        this(() -> new SecureRandom().nextLong());
+        this(new SecureRandom()::nextLong);
     }
 
     @Override
@@ -0,0 +1,92 @@
+package dev.mieser.tsa.signing.impl.serial;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntToLongFunction;
+
+/**
+ * {@link SerialNumberGenerator} generating unique, strictly increasing serial numbers. Serial numbers are handed out
+ * from blocks which are reserved using the specified block reservation function. As long as the current block is not
+ * exhausted, generating a serial number only requires a single atomic increment. The lock is only acquired to reserve
+ * the next block.
+ * <p/>
+ * The block reservation function must return the first serial number of a block of the requested size which has not
+ * been reserved before, even by other instances of the application. The first serial number of each block must be
+ * greater than the last serial number of all previously reserved blocks.
+ */
+public class SequentialSerialNumberGenerator implements SerialNumberGenerator {
+
+    private final IntToLongFunction blockReservation;
+
+    private final int blockSize;
+
+    /**
+     * Guards the reservation of the next block.
+     */
+    private final Lock reservationLock = new ReentrantLock();
+
+    /**
+     * The block serial numbers are currently handed out from. Initially exhausted, so the first block is reserved when the
+     * first serial number is generated.
+     */
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>(new Block(0L, 0L));
+
+    /**
+     * @param blockReservation
+     *     Function reserving a block of the specified size and returning its first serial number, not {@code null}.
+     * @param blockSize
+     *     The number of serial numbers to reserve at once. Must be positive.
+     */
+    public SequentialSerialNumberGenerator(IntToLongFunction blockReservation, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The block size must be positive.");
+        }
+
+        this.blockReservation = blockReservation;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long generateSerialNumber() {
+        while (true) {
+            Block block = currentBlock.get();
+            long serialNumber = block.next().getAndIncrement();
+            if (serialNumber < block.end()) {
+                return serialNumber;
+            }
+
+            reserveNextBlock(block);
+        }
+    }
+
+    private void reserveNextBlock(Block exhaustedBlock) {
+        reservationLock.lock();
+        try {
+            if (currentBlock.get() == exhaustedBlock) {
+                long start = blockReservation.applyAsLong(blockSize);
+                currentBlock.set(new Block(start, start + blockSize));
+            }
+        } finally {
+            reservationLock.unlock();
+        }
+    }
+
+    /**
+     * A block of serial numbers.
+     *
+     * @param next
+     *     The next serial number to hand out. May exceed the end of the block when concurrent callers exhausted it.
+     * @param end
+     *     The first serial number which is not part of the block anymore (exclusive).
+     */
+    private record Block(AtomicLong next, long end) {
+
+        private Block(long start, long end) {
+            this(new AtomicLong(start), end);
+        }
+
+    }
+
+}
@@ -0,0 +1,26 @@
+package dev.mieser.tsa.websocket;
+
+/**
+ * Determines how the issued TSP responses are delivered to a WebSocket session.
+ */
+public enum DeliveryMode {
+
+    /**
+     * The JSON representation of every response is sent in a separate message as soon as possible.
+     */
+    EACH,
+
+    /**
+     * The JSON representations of the responses issued within an interval are sent in a single message containing a JSON
+     * array.
+     */
+    BATCHED,
+
+    /**
+     * The number of responses issued within an interval is sent in a single message, grouped by their status. The responses
+     * themselves are not sent. The responses are counted as they are issued, so the counts do not depend on the size of the
+     * ring buffer.
+     */
+    COUNTS
+
+}
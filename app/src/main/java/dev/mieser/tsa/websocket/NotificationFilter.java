@@ -0,0 +1,43 @@
+package dev.mieser.tsa.websocket;
+
+import java.util.Set;
+
+import dev.mieser.tsa.domain.ResponseStatus;
+import dev.mieser.tsa.domain.TimeStampResponseData;
+
+/**
+ * Restricts the TSP responses which are delivered to a WebSocket session. An empty set of values matches all responses.
+ *
+ * @param statuses
+ *     The statuses of the delivered responses, not {@code null}.
+ * @param hashAlgorithmOids
+ *     The OIDs of the hash algorithms used in the requests of the delivered responses, not {@code null}.
+ * @param policyOids
+ *     The OIDs of the policies under which the delivered responses were issued, not {@code null}.
+ * @param defaultPolicyOid
+ *     The OID of the policy under which responses are issued when the request does not specify a policy, not empty.
+ */
+record NotificationFilter(Set<ResponseStatus> statuses, Set<String> hashAlgorithmOids, Set<String> policyOids,
+    String defaultPolicyOid) {
+
+    /**
+     * @param response
+     *     The response to check, not {@code null}.
+     * @return Whether the response is delivered to the session.
+     */
+    boolean matches(TimeStampResponseData response) {
+        return matches(statuses, response.getStatus())
+            && matches(hashAlgorithmOids, response.getRequest().getHashAlgorithmIdentifier())
+            && matches(policyOids, policyOid(response));
+    }
+
+    private String policyOid(TimeStampResponseData response) {
+        String requestedPolicyOid = response.getRequest().getTsaPolicyId();
+        return requestedPolicyOid != null ? requestedPolicyOid : defaultPolicyOid;
+    }
+
+    private static <T> boolean matches(Set<T> acceptedValues, T value) {
+        return acceptedValues.isEmpty() || acceptedValues.contains(value);
+    }
+
+}
@@ -0,0 +1,150 @@
+package dev.mieser.tsa.websocket;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import dev.mieser.tsa.domain.TimeStampResponseData;
+
+/**
+ * Fixed size ring buffer of notifications, which is written by a single producer and read by any number of consumers.
+ * Every consumer keeps track of the sequence number of the next notification it reads on its own, so consumers never
+ * block the producer or each other. Once the buffer is full, the oldest notifications are overwritten, regardless of
+ * whether all consumers have read them.
+ */
+class NotificationRingBuffer {
+
+    private final AtomicReferenceArray<Notification> slots;
+
+    private final int indexMask;
+
+    private final Function<TimeStampResponseData, String> serializer;
+
+    /**
+     * The sequence number of the last published notification. Written after the notification was stored in its slot, so
+     * consumers which read the sequence number also see the notification.
+     */
+    private volatile long lastSequence = -1;
+
+    /**
+     * @param capacity
+     *     The number of notifications which are retained. Must be a power of two.
+     * @param serializer
+     *     The function serializing the published responses into their JSON representation, not {@code null}. Returns
+     *     {@code null} when the response cannot be serialized.
+     */
+    NotificationRingBuffer(int capacity, Function<TimeStampResponseData, String> serializer) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException(String.format("Capacity must be a power of two, got %d.", capacity));
+        }
+
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.indexMask = capacity - 1;
+        this.serializer = serializer;
+    }
+
+    /**
+     * Must not be called concurrently. The response is not serialized until a consumer requests its JSON representation.
+     *
+     * @param response
+     *     The issued response, not {@code null}.
+     */
+    void publish(TimeStampResponseData response) {
+        long sequence = lastSequence + 1;
+        slots.set(index(sequence), new Notification(sequence, response, serializer));
+        lastSequence = sequence;
+    }
+
+    /**
+     * @return The sequence number the next published notification will be assigned.
+     */
+    long nextSequence() {
+        return lastSequence + 1;
+    }
+
+    /**
+     * @param sequence
+     *     The sequence number of the notification to read. Must not be negative.
+     * @return The notification with the specified sequence number or, when it has already been overwritten, the oldest
+     * notification which is still retained. {@code null} when the notification has not been published yet.
+     */
+    Notification read(long sequence) {
+        while (true) {
+            long publishedSequence = lastSequence;
+            if (sequence > publishedSequence) {
+                return null;
+            }
+
+            long readableSequence = Math.max(sequence, publishedSequence - slots.length() + 1);
+            Notification notification = slots.get(index(readableSequence));
+            if (notification.sequence() == readableSequence) {
+                return notification;
+            }
+
+            // the slot was overwritten by the producer in the meantime
+            sequence = readableSequence;
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & indexMask);
+    }
+
+    /**
+     * A published response, whose JSON representation is shared by all consumers. The response is serialized on first
+     * access, so responses which no consumer sends in full are never serialized.
+     */
+    static final class Notification {
+
+        private final long sequence;
+
+        private final TimeStampResponseData response;
+
+        private final Function<TimeStampResponseData, String> serializer;
+
+        /**
+         * Guards serializing the response, so it is serialized exactly once.
+         */
+        private final Lock serializationLock = new ReentrantLock();
+
+        private volatile String json;
+
+        private volatile boolean serialized;
+
+        Notification(long sequence, TimeStampResponseData response, Function<TimeStampResponseData, String> serializer) {
+            this.sequence = sequence;
+            this.response = response;
+            this.serializer = serializer;
+        }
+
+        long sequence() {
+            return sequence;
+        }
+
+        TimeStampResponseData response() {
+            return response;
+        }
+
+        /**
+         * @return The JSON representation of the response or {@code null} when it cannot be serialized.
+         */
+        String json() {
+            if (!serialized) {
+                serializationLock.lock();
+                try {
+                    if (!serialized) {
+                        json = serializer.apply(response);
+                        serialized = true;
+                    }
+                } finally {
+                    serializationLock.unlock();
+                }
+            }
+
+            return json;
+        }
+
+    }
+
+}
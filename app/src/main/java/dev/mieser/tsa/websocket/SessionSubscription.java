@@ -0,0 +1,276 @@
+package dev.mieser.tsa.websocket;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Session;
+
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import dev.mieser.tsa.domain.ResponseStatus;
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * Reads the notifications of a {@link NotificationRingBuffer} on behalf of a single WebSocket session and sends the
+ * notifications matching the session's {@link NotificationFilter} according to its {@link DeliveryMode}. At most one
+ * message is sent to the session at a time, so the notifications a session cannot keep up with accumulate in the ring
+ * buffer instead of an unbounded send queue, until they are overwritten.
+ * <p/>
+ * When counts are sent, the matching responses are counted as they are published (see {@link #count}) instead of being
+ * read from the ring buffer, so the counts are exact regardless of how many responses are published within an interval.
+ */
+@Slf4j
+class SessionSubscription {
+
+    private final Session session;
+
+    private final NotificationRingBuffer ringBuffer;
+
+    private final NotificationFilter filter;
+
+    private final DeliveryMode deliveryMode;
+
+    private final SlowSessionStrategy slowSessionStrategy;
+
+    private final Counter droppedNotificationsCounter;
+
+    /**
+     * Whether a message is currently being sent to the session. Guards the {@link #nextSequence}.
+     */
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    private long nextSequence;
+
+    /**
+     * The number of matching responses published since the last flush by status. Empty unless counts are sent.
+     */
+    private final Map<ResponseStatus, AtomicLong> statusCounts = new EnumMap<>(ResponseStatus.class);
+
+    /**
+     * Whether the session was closed because it fell behind. Only accessed while {@link #sending}.
+     */
+    private boolean closed;
+
+    /**
+     * The task periodically sending batches or counts to the session. {@code null} when every notification is sent
+     * separately.
+     */
+    @Setter
+    private volatile ScheduledFuture<?> flushTask;
+
+    /**
+     * @param session
+     *     The session the notifications are sent to, not {@code null}.
+     * @param ringBuffer
+     *     The ring buffer the notifications are read from, not {@code null}. Only notifications published after the
+     *     subscription was created are sent.
+     * @param subscriptionRequest
+     *     The filter and delivery mode the client subscribed with, not {@code null}.
+     * @param slowSessionStrategy
+     *     How notifications which were overwritten before they were sent are handled, not {@code null}.
+     * @param droppedNotificationsCounter
+     *     The counter which is incremented for every notification which was overwritten before it was sent, not
+     *     {@code null}.
+     */
+    SessionSubscription(Session session, NotificationRingBuffer ringBuffer, SubscriptionRequest subscriptionRequest,
+        SlowSessionStrategy slowSessionStrategy, Counter droppedNotificationsCounter) {
+        this.session = session;
+        this.ringBuffer = ringBuffer;
+        this.filter = subscriptionRequest.filter();
+        this.deliveryMode = subscriptionRequest.deliveryMode();
+        this.slowSessionStrategy = slowSessionStrategy;
+        this.droppedNotificationsCounter = droppedNotificationsCounter;
+        this.nextSequence = ringBuffer.nextSequence();
+        if (deliveryMode == DeliveryMode.COUNTS) {
+            for (ResponseStatus status : ResponseStatus.values()) {
+                statusCounts.put(status, new AtomicLong());
+            }
+        }
+    }
+
+    /**
+     * Counts the published response when it matches the filter. Does nothing unless counts are sent.
+     *
+     * @param response
+     *     The published response, not {@code null}.
+     */
+    void count(TimeStampResponseData response) {
+        if (deliveryMode == DeliveryMode.COUNTS && filter.matches(response)) {
+            statusCounts.get(response.getStatus()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Sends the next unsent notification to the session, unless a message is currently being sent. The remaining
+     * notifications are sent one after another once the previous message was sent. Does nothing unless every notification
+     * is sent separately.
+     */
+    void sendPendingNotifications() {
+        if (deliveryMode != DeliveryMode.EACH) {
+            return;
+        }
+
+        while (sending.compareAndSet(false, true)) {
+            NotificationRingBuffer.Notification notification = readNextMatchingNotification(Long.MAX_VALUE);
+            if (closed) {
+                return;
+            }
+
+            if (notification == null) {
+                long readSequence = nextSequence;
+                sending.set(false);
+                // a notification might have been published after reading, but before sending was reset
+                if (ringBuffer.nextSequence() > readSequence) {
+                    continue;
+                }
+                return;
+            }
+
+            String json = notification.json();
+            if (json == null) {
+                sending.set(false);
+                continue;
+            }
+
+            send(json);
+            return;
+        }
+    }
+
+    /**
+     * Sends the notifications published since the last flush in a single message, unless the previous message is still
+     * being sent. Nothing is sent when no matching notification was published.
+     */
+    void flush() {
+        if (!sending.compareAndSet(false, true)) {
+            return;
+        }
+
+        String message = deliveryMode == DeliveryMode.COUNTS ? collectCounts() : collectBatch();
+        if (closed) {
+            return;
+        }
+
+        if (message == null) {
+            sending.set(false);
+            return;
+        }
+
+        send(message);
+    }
+
+    /**
+     * Stops sending batches or counts to the session.
+     */
+    void cancel() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+    }
+
+    /**
+     * @return A JSON array of the JSON representations of the matching notifications or {@code null} when there are none.
+     */
+    private String collectBatch() {
+        var batch = new StringJoiner(",", "[", "]");
+        int batchSize = 0;
+
+        long endSequence = ringBuffer.nextSequence();
+        NotificationRingBuffer.Notification notification;
+        while ((notification = readNextMatchingNotification(endSequence)) != null) {
+            String json = notification.json();
+            if (json != null) {
+                batch.add(json);
+                batchSize++;
+            }
+        }
+
+        return batchSize > 0 ? batch.toString() : null;
+    }
+
+    /**
+     * @return A JSON object containing the number of matching notifications in total and by status or {@code null} when
+     * there are none.
+     */
+    private String collectCounts() {
+        var statusCountsJson = new StringJoiner(",", "{", "}");
+        long count = 0;
+        for (Map.Entry<ResponseStatus, AtomicLong> statusCount : statusCounts.entrySet()) {
+            // responses counted concurrently are either included in this or in the next message
+            long countSinceLastFlush = statusCount.getValue().getAndSet(0);
+            if (countSinceLastFlush > 0) {
+                statusCountsJson.add(String.format("\"%s\":%d", statusCount.getKey(), countSinceLastFlush));
+                count += countSinceLastFlush;
+            }
+        }
+
+        if (count == 0) {
+            return null;
+        }
+
+        return String.format("{\"count\":%d,\"statusCounts\":%s}", count, statusCountsJson);
+    }
+
+    /**
+     * @param endSequence
+     *     The sequence number up to which (exclusive) notifications are read.
+     * @return The next notification matching the filter or {@code null} when there is none or the session was closed.
+     */
+    private NotificationRingBuffer.Notification readNextMatchingNotification(long endSequence) {
+        while (!closed && nextSequence < endSequence) {
+            NotificationRingBuffer.Notification notification = ringBuffer.read(nextSequence);
+            if (notification == null) {
+                return null;
+            }
+
+            long droppedNotifications = notification.sequence() - nextSequence;
+            nextSequence = notification.sequence() + 1;
+            if (droppedNotifications > 0) {
+                handleDroppedNotifications(droppedNotifications);
+            }
+
+            if (!closed && filter.matches(notification.response())) {
+                return notification;
+            }
+        }
+
+        return null;
+    }
+
+    private void send(String message) {
+        session.getAsyncRemote().sendText(message, result -> {
+            if (result.getException() != null) {
+                log.debug("Failed to send message to session (session ID '{}').", session.getId(), result.getException());
+            }
+            sending.set(false);
+            sendPendingNotifications();
+        });
+    }
+
+    private void handleDroppedNotifications(long droppedNotifications) {
+        droppedNotificationsCounter.increment(droppedNotifications);
+        if (slowSessionStrategy == SlowSessionStrategy.DROP_NOTIFICATIONS) {
+            log.debug("Dropped {} notifications for slow session (session ID '{}').", droppedNotifications, session.getId());
+            return;
+        }
+
+        log.debug("Closing slow session after missing {} notifications (session ID '{}').", droppedNotifications,
+            session.getId());
+        closed = true;
+        cancel();
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Notifications were not received in time."));
+        } catch (IOException e) {
+            log.debug("Failed to close slow session (session ID '{}').", session.getId(), e);
+        }
+    }
+
+}
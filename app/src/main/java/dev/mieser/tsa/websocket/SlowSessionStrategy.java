@@ -0,0 +1,19 @@
+package dev.mieser.tsa.websocket;
+
+/**
+ * Determines how WebSocket sessions are handled which cannot keep up with the issued TSP responses.
+ */
+public enum SlowSessionStrategy {
+
+    /**
+     * Notifications which were overwritten before they were sent to the session are skipped. The session continues with the
+     * oldest notification which is still buffered.
+     */
+    DROP_NOTIFICATIONS,
+
+    /**
+     * The session is closed as soon as a notification was overwritten before it was sent to the session.
+     */
+    DISCONNECT
+
+}
@@ -0,0 +1,122 @@
+package dev.mieser.tsa.websocket;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+
+import dev.mieser.tsa.domain.ResponseStatus;
+import dev.mieser.tsa.signing.config.DigestAlgorithmConverter;
+
+/**
+ * The options a WebSocket client subscribes with, which are passed as query parameters when opening the session:
+ * <ul>
+ * <li>{@code status}: the {@link ResponseStatus statuses} of the delivered responses</li>
+ * <li>{@code hashAlgorithm}: the names or OIDs of the hash algorithms used in the requests of the delivered
+ * responses</li>
+ * <li>{@code policyOid}: the OIDs of the policies under which the delivered responses were issued</li>
+ * <li>{@code delivery}: the {@link DeliveryMode}, {@code each} by default</li>
+ * <li>{@code interval}: the interval in milliseconds in which batches or counts are sent</li>
+ * </ul>
+ * The filter parameters accept multiple comma separated values and may be repeated.
+ *
+ * @param filter
+ *     The filter the delivered responses must match, not {@code null}.
+ * @param deliveryMode
+ *     How the responses are delivered, not {@code null}.
+ * @param interval
+ *     The interval in which batches or counts are sent, not {@code null}.
+ */
+record SubscriptionRequest(NotificationFilter filter, DeliveryMode deliveryMode, Duration interval) {
+
+    /**
+     * @param parameters
+     *     The query parameters of the WebSocket handshake request, not {@code null}.
+     * @param properties
+     *     The properties containing the default and minimum interval, not {@code null}.
+     * @param digestAlgorithmConverter
+     *     The converter used to convert the names of hash algorithms to their OIDs, not {@code null}.
+     * @param defaultPolicyOid
+     *     The OID of the policy under which responses are issued when the request does not specify a policy, not empty.
+     * @return The parsed subscription request.
+     * @throws IllegalArgumentException
+     *     When a parameter has an invalid value.
+     */
+    static SubscriptionRequest parse(Map<String, List<String>> parameters, WebSocketProperties properties,
+        DigestAlgorithmConverter digestAlgorithmConverter, String defaultPolicyOid) {
+        Set<ResponseStatus> statuses = parseValues(parameters, "status",
+            value -> parseEnum(ResponseStatus.class, "status", value));
+        Set<String> hashAlgorithmOids = parseValues(parameters, "hashAlgorithm", value -> {
+            ASN1ObjectIdentifier oid = digestAlgorithmConverter.convert(value);
+            if (oid == null) {
+                throw new IllegalArgumentException(String.format("Unknown hash algorithm '%s'.", value));
+            }
+            return oid.getId();
+        });
+        Set<String> policyOids = parseValues(parameters, "policyOid", value -> {
+            try {
+                return new ASN1ObjectIdentifier(value).getId();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("Invalid policy OID '%s'.", value), e);
+            }
+        });
+
+        DeliveryMode deliveryMode = parseSingleValue(parameters, "delivery")
+            .map(value -> parseEnum(DeliveryMode.class, "delivery", value))
+            .orElse(DeliveryMode.EACH);
+        Duration interval = parseSingleValue(parameters, "interval")
+            .map(value -> parseInterval(value, properties.minInterval()))
+            .orElse(properties.defaultInterval());
+
+        return new SubscriptionRequest(new NotificationFilter(statuses, hashAlgorithmOids, policyOids, defaultPolicyOid),
+            deliveryMode, interval);
+    }
+
+    private static <T> Set<T> parseValues(Map<String, List<String>> parameters, String name, Function<String, T> parser) {
+        return parameters.getOrDefault(name, List.of()).stream()
+            .flatMap(parameter -> Arrays.stream(parameter.split(",")))
+            .map(String::strip)
+            .filter(value -> !value.isEmpty())
+            .map(parser)
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static Optional<String> parseSingleValue(Map<String, List<String>> parameters, String name) {
+        List<String> values = parameters.getOrDefault(name, List.of());
+        if (values.size() > 1) {
+            throw new IllegalArgumentException(String.format("Parameter '%s' must not be repeated.", name));
+        }
+
+        return values.stream().findFirst();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> enumType, String name, String value) {
+        try {
+            return Enum.valueOf(enumType, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Invalid %s '%s'.", name, value), e);
+        }
+    }
+
+    private static Duration parseInterval(String value, Duration minInterval) {
+        Duration interval;
+        try {
+            interval = Duration.ofMillis(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid interval '%s'.", value), e);
+        }
+
+        if (interval.compareTo(minInterval) < 0) {
+            throw new IllegalArgumentException(String.format("Interval must be at least %d ms.", minInterval.toMillis()));
+        }
+        return interval;
+    }
+
+}
@@ -1,60 +1,167 @@
 package dev.mieser.tsa.websocket;
 
+import java.io.IOException;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.websocket.CloseReason;
 import jakarta.websocket.OnClose;
 import jakarta.websocket.OnError;
 import jakarta.websocket.OnOpen;
 import jakarta.websocket.Session;
 import jakarta.websocket.server.ServerEndpoint;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.apache.commons.lang3.StringUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import dev.mieser.tsa.domain.TimeStampResponseData;
 import dev.mieser.tsa.integration.api.IssueTimeStampService;
 import dev.mieser.tsa.integration.api.TimeStampListener;
-import dev.mieser.tsa.websocket.encoder.JsonEncoder;
+import dev.mieser.tsa.signing.config.DigestAlgorithmConverter;
+import dev.mieser.tsa.signing.config.TsaProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
+/**
+ * Broadcasts the issued TSP responses to all open sessions. Each response is published to a
+ * {@link NotificationRingBuffer}, from which the messages are sent to the sessions by a dedicated thread, so neither
+ * the number of sessions nor slow sessions delay issuing time stamps. Sessions subscribe with a filter and a delivery
+ * mode passed as query parameters (see {@link SubscriptionRequest}). A response is serialized at most once and only
+ * when it is sent in full to at least one session.
+ */
 @Slf4j
-@ServerEndpoint(value = "/history/responses", encoders = JsonEncoder.class)
+@ServerEndpoint("/history/responses")
 @ApplicationScoped
-@RequiredArgsConstructor
 public class TimeStampNotificationSocket implements TimeStampListener {
 
+    /**
+     * The maximum length of the reason phrase of a close frame, which is limited to 123 bytes.
+     */
+    private static final int MAX_CLOSE_REASON_LENGTH = 120;
+
     private final IssueTimeStampService issueTimeStampService;
 
-    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    private final ObjectMapper objectMapper;
+
+    private final WebSocketProperties webSocketProperties;
+
+    private final String defaultPolicyOid;
+
+    private final DigestAlgorithmConverter digestAlgorithmConverter = new DigestAlgorithmConverter();
+
+    private final SlowSessionStrategy slowSessionStrategy;
+
+    private final Counter droppedNotificationsCounter;
+
+    private final NotificationRingBuffer ringBuffer;
+
+    /**
+     * Serializes the threads publishing to the ring buffer, which only supports a single producer.
+     */
+    private final Lock publishLock = new ReentrantLock();
+
+    private final Map<Session, SessionSubscription> subscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * The subscriptions of the sessions which receive counts, which count the responses as they are published.
+     */
+    private final Set<SessionSubscription> countingSubscriptions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Sends the pending notifications to the sessions after responses were published and sends batches and counts
+     * periodically.
+     */
+    private final ScheduledExecutorService dispatchExecutor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("websocket-notifier").daemon().factory());
+
+    /**
+     * Whether sending the pending notifications to all sessions is already scheduled, so publishing multiple responses in
+     * quick succession only schedules a single dispatch.
+     */
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    public TimeStampNotificationSocket(IssueTimeStampService issueTimeStampService, ObjectMapper objectMapper,
+        WebSocketProperties webSocketProperties, TsaProperties tsaProperties, MeterRegistry meterRegistry) {
+        this.issueTimeStampService = issueTimeStampService;
+        this.objectMapper = objectMapper;
+        this.webSocketProperties = webSocketProperties;
+        this.defaultPolicyOid = tsaProperties.policyOid();
+        this.slowSessionStrategy = webSocketProperties.slowSessionStrategy();
+        this.droppedNotificationsCounter = Counter.builder("tsa.websocket.notifications.dropped")
+            .description("The number of notifications which were not sent to WebSocket sessions which fell behind.")
+            .register(meterRegistry);
+        this.ringBuffer = new NotificationRingBuffer(nextPowerOfTwo(webSocketProperties.bufferSize()), this::serialize);
+    }
 
     @OnOpen
     public void sessionOpened(Session session) {
         log.debug("Websocket session opened (session ID '{}').", session.getId());
-        sessions.add(session);
+
+        SubscriptionRequest subscriptionRequest;
+        try {
+            subscriptionRequest = SubscriptionRequest.parse(session.getRequestParameterMap(), webSocketProperties,
+                digestAlgorithmConverter, defaultPolicyOid);
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejecting websocket session with invalid subscription (session ID '{}').", session.getId(), e);
+            closeSession(session, new CloseReason(CloseReason.CloseCodes.CANNOT_ACCEPT,
+                StringUtils.abbreviate(e.getMessage(), MAX_CLOSE_REASON_LENGTH)));
+            return;
+        }
+
+        var subscription = new SessionSubscription(session, ringBuffer, subscriptionRequest, slowSessionStrategy,
+            droppedNotificationsCounter);
+        if (subscriptionRequest.deliveryMode() != DeliveryMode.EACH) {
+            long intervalMillis = subscriptionRequest.interval().toMillis();
+            subscription.setFlushTask(dispatchExecutor.scheduleWithFixedDelay(subscription::flush, intervalMillis,
+                intervalMillis, TimeUnit.MILLISECONDS));
+        }
+        subscriptions.put(session, subscription);
+        if (subscriptionRequest.deliveryMode() == DeliveryMode.COUNTS) {
+            countingSubscriptions.add(subscription);
+        }
     }
 
     @OnClose
     public void sessionClosed(Session session) {
         log.debug("Websocket session closed (session ID '{}').", session.getId());
-        sessions.remove(session);
+        removeSubscription(session);
     }
 
     @OnError
     public void sessionError(Session session, Throwable throwable) {
         log.debug("Websocket session error (session ID '{}').", session.getId(), throwable);
-        sessions.remove(session);
+        removeSubscription(session);
     }
 
     @Override
     public void onResponse(TimeStampResponseData response) {
-        sessions.forEach(session -> session.getAsyncRemote().sendObject(response, result -> {
-            if (result.getException() != null) {
-                log.debug("Failed to send message to session (session ID '{}').", session.getId(), result.getException());
-            }
-        }));
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        countingSubscriptions.forEach(subscription -> subscription.count(response));
+        publishLock.lock();
+        try {
+            ringBuffer.publish(response);
+        } finally {
+            publishLock.unlock();
+        }
+
+        scheduleDispatch();
     }
 
     @PostConstruct
@@ -65,6 +172,51 @@ public class TimeStampNotificationSocket implements TimeStampListener {
     @PreDestroy
     void unregisterListener() {
         issueTimeStampService.unregisterListener(this);
+        dispatchExecutor.shutdownNow();
+    }
+
+    private void removeSubscription(Session session) {
+        SessionSubscription subscription = subscriptions.remove(session);
+        if (subscription != null) {
+            countingSubscriptions.remove(subscription);
+            subscription.cancel();
+        }
+    }
+
+    private void closeSession(Session session, CloseReason closeReason) {
+        try {
+            session.close(closeReason);
+        } catch (IOException e) {
+            log.debug("Failed to close websocket session (session ID '{}').", session.getId(), e);
+        }
+    }
+
+    /**
+     * @return The JSON representation of the response or {@code null} when it cannot be serialized.
+     */
+    private String serialize(TimeStampResponseData response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize TSP response with serial number '{}'.", response.getSerialNumber(), e);
+            return null;
+        }
+    }
+
+    private void scheduleDispatch() {
+        if (!dispatchScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        dispatchExecutor.execute(() -> {
+            // reset before dispatching, so notifications published while dispatching schedule another dispatch
+            dispatchScheduled.set(false);
+            subscriptions.values().forEach(SessionSubscription::sendPendingNotifications);
+        });
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        return value == 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
     }
 
 }
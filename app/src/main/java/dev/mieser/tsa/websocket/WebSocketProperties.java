@@ -0,0 +1,51 @@
+package dev.mieser.tsa.websocket;
+
+import java.time.Duration;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "tsa.websocket")
+public interface WebSocketProperties {
+
+    /**
+     * The number of serialized notifications which are buffered for WebSocket sessions which have not received them yet.
+     * Rounded up to the next power of two.
+     * <p/>
+     * Default is set to {@code 1024}. Must be positive.
+     */
+    @Positive
+    @WithDefault("1024")
+    int bufferSize();
+
+    /**
+     * How sessions are handled which have not received a notification before it was overwritten in the buffer.
+     * <p/>
+     * {@link SlowSessionStrategy#DROP_NOTIFICATIONS} is used by default. Cannot be {@code null}.
+     */
+    @NotNull
+    @WithDefault("DROP_NOTIFICATIONS")
+    SlowSessionStrategy slowSessionStrategy();
+
+    /**
+     * The interval in which batches or counts are sent to sessions which do not specify an interval.
+     * <p/>
+     * Default is set to 1 second. Cannot be {@code null}.
+     */
+    @NotNull
+    @WithDefault("1s")
+    Duration defaultInterval();
+
+    /**
+     * The minimum interval in which batches or counts can be sent to a session.
+     * <p/>
+     * Default is set to 100 milliseconds. Cannot be {@code null}.
+     */
+    @NotNull
+    @WithDefault("100ms")
+    Duration minInterval();
+
+}
@@ -0,0 +1,3 @@
+-- The metadata of each leaf of a Merkle tree is persisted next to the metadata of the response issued for its root. The
+-- rows of the leaves share the serial number of the root and contain the message imprint of the leaf as the hash.
+ALTER TABLE TSP_RESPONSE_METADATA ADD COLUMN LEAF_INDEX INTEGER;
@@ -0,0 +1,16 @@
+-- IDs are assigned by Hibernate using pooled sequences (allocation size 50) to allow JDBC batch inserts. Hibernate's
+-- pooled optimizer treats the value returned by the sequence as the upper bound of the allocated block, so the
+-- sequences are restarted at the current maximum ID plus the allocation size.
+ALTER TABLE TSP_RESPONSE
+    ALTER COLUMN ID DROP IDENTITY;
+
+ALTER TABLE TSP_REQUEST
+    ALTER COLUMN ID DROP IDENTITY;
+
+CREATE SEQUENCE TSP_RESPONSE_SEQ START WITH 50 INCREMENT BY 50;
+
+CREATE SEQUENCE TSP_REQUEST_SEQ START WITH 50 INCREMENT BY 50;
+
+ALTER SEQUENCE TSP_RESPONSE_SEQ RESTART WITH (SELECT COALESCE(MAX(ID), 0) + 50 FROM TSP_RESPONSE);
+
+ALTER SEQUENCE TSP_REQUEST_SEQ RESTART WITH (SELECT COALESCE(MAX(ID), 0) + 50 FROM TSP_REQUEST);
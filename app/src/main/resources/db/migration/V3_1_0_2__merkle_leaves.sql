@@ -0,0 +1,14 @@
+-- Leaves of Merkle trees whose root was signed by a single TSP response. The inclusion proof is stored as a comma
+-- separated list of sibling hashes, see InclusionProofConverter.
+CREATE TABLE TSP_MERKLE_LEAF
+(
+    ID              BIGINT PRIMARY KEY,
+    RESPONSE_ID     BIGINT         NOT NULL,
+    LEAF_INDEX      INTEGER        NOT NULL,
+    MESSAGE_IMPRINT VARCHAR(200)   NOT NULL,
+    INCLUSION_PROOF VARCHAR(10000) NOT NULL,
+    FOREIGN KEY (RESPONSE_ID) REFERENCES TSP_RESPONSE (ID) ON DELETE CASCADE,
+    UNIQUE (RESPONSE_ID, LEAF_INDEX)
+);
+
+CREATE SEQUENCE TSP_MERKLE_LEAF_SEQ START WITH 50 INCREMENT BY 50;
@@ -0,0 +1,11 @@
+-- Single row holding the first serial number of the next block reserved by the sequential serial number generator.
+-- Serial numbers previously generated by the random generator are spread over the whole BIGINT range, so the chance
+-- of a collision with the sequential serial numbers is negligible.
+CREATE TABLE TSP_SERIAL_NUMBER_BLOCK
+(
+    ID                 BIGINT PRIMARY KEY,
+    NEXT_SERIAL_NUMBER BIGINT NOT NULL
+);
+
+INSERT INTO TSP_SERIAL_NUMBER_BLOCK (ID, NEXT_SERIAL_NUMBER)
+VALUES (1, 1);
@@ -0,0 +1,13 @@
+-- Binary data was stored Base64 encoded in VARCHAR columns. The binary columns are filled by the Java based migration
+-- V3_1_0_5 and replace the VARCHAR columns in V3_1_0_6.
+ALTER TABLE TSP_REQUEST
+    ADD COLUMN HASH_BINARY VARBINARY(128);
+
+ALTER TABLE TSP_REQUEST
+    ADD COLUMN ASN_ENCODED_BINARY VARBINARY;
+
+ALTER TABLE TSP_RESPONSE
+    ADD COLUMN ASN_ENCODED_BINARY VARBINARY;
+
+ALTER TABLE TSP_MERKLE_LEAF
+    ADD COLUMN MESSAGE_IMPRINT_BINARY VARBINARY(128);
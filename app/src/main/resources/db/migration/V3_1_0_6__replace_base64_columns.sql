@@ -0,0 +1,35 @@
+ALTER TABLE TSP_REQUEST
+    DROP COLUMN HASH;
+
+ALTER TABLE TSP_REQUEST
+    DROP COLUMN ASN_ENCODED;
+
+ALTER TABLE TSP_RESPONSE
+    DROP COLUMN ASN_ENCODED;
+
+ALTER TABLE TSP_MERKLE_LEAF
+    DROP COLUMN MESSAGE_IMPRINT;
+
+ALTER TABLE TSP_REQUEST
+    ALTER COLUMN HASH_BINARY RENAME TO HASH;
+
+ALTER TABLE TSP_REQUEST
+    ALTER COLUMN ASN_ENCODED_BINARY RENAME TO ASN_ENCODED;
+
+ALTER TABLE TSP_RESPONSE
+    ALTER COLUMN ASN_ENCODED_BINARY RENAME TO ASN_ENCODED;
+
+ALTER TABLE TSP_MERKLE_LEAF
+    ALTER COLUMN MESSAGE_IMPRINT_BINARY RENAME TO MESSAGE_IMPRINT;
+
+ALTER TABLE TSP_REQUEST
+    ALTER COLUMN HASH SET NOT NULL;
+
+ALTER TABLE TSP_REQUEST
+    ALTER COLUMN ASN_ENCODED SET NOT NULL;
+
+ALTER TABLE TSP_RESPONSE
+    ALTER COLUMN ASN_ENCODED SET NOT NULL;
+
+ALTER TABLE TSP_MERKLE_LEAF
+    ALTER COLUMN MESSAGE_IMPRINT SET NOT NULL;
@@ -0,0 +1,6 @@
+-- Allows the history to be paged by seeking on the sort attribute and the ID instead of skipping rows.
+CREATE INDEX TSP_RESPONSE_RECEPTION_TIME_IDX ON TSP_RESPONSE (RECEPTION_TIME, ID);
+
+CREATE INDEX TSP_RESPONSE_GENERATION_TIME_IDX ON TSP_RESPONSE (GENERATION_TIME, ID);
+
+CREATE INDEX TSP_RESPONSE_SERIAL_NUMBER_IDX ON TSP_RESPONSE (SERIAL_NUMBER, ID);
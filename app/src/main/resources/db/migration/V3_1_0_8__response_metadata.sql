@@ -0,0 +1,21 @@
+-- Metadata of TSP responses which are persisted without their ASN.1 DER encoding, see PersistenceMode.METADATA. The
+-- columns correspond to the columns of TSP_RESPONSE and TSP_REQUEST, leaving out the encoded payloads.
+CREATE TABLE TSP_RESPONSE_METADATA
+(
+    ID                        BIGINT PRIMARY KEY,
+    STATUS                    VARCHAR(50)                 NOT NULL,
+    STATUS_STRING             VARCHAR(200),
+    FAILURE_INFO              VARCHAR(50),
+    RECEPTION_TIME            TIMESTAMP(9) WITH TIME ZONE NOT NULL,
+    GENERATION_TIME           TIMESTAMP(9) WITH TIME ZONE,
+    SERIAL_NUMBER             BIGINT,
+    HASH_ALGORITHM_IDENTIFIER VARCHAR(50)                 NOT NULL,
+    HASH                      VARBINARY(128)              NOT NULL,
+    NONCE                     VARCHAR(200),
+    CERTIFICATE_REQUESTED     BOOLEAN,
+    TSA_POLICY_ID             VARCHAR(50)
+);
+
+CREATE SEQUENCE TSP_RESPONSE_METADATA_SEQ START WITH 50 INCREMENT BY 50;
+
+CREATE INDEX TSP_RESPONSE_METADATA_SERIAL_NUMBER_IDX ON TSP_RESPONSE_METADATA (SERIAL_NUMBER);
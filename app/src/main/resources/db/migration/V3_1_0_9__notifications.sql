@@ -0,0 +1,14 @@
+-- Notifications about issued TSP responses, so application instances sharing the database are informed about the
+-- responses issued by the other instances. Notifications are only kept for a short time.
+CREATE TABLE TSP_NOTIFICATION
+(
+    ID          BIGINT PRIMARY KEY,
+    NODE_ID     VARCHAR(100)                NOT NULL,
+    APPENDED_AT TIMESTAMP(9) WITH TIME ZONE NOT NULL,
+    RESPONSE_ID BIGINT,
+    RESPONSE    VARBINARY                   NOT NULL
+);
+
+CREATE SEQUENCE TSP_NOTIFICATION_SEQ START WITH 1 INCREMENT BY 1;
+
+CREATE INDEX TSP_NOTIFICATION_APPENDED_AT_IDX ON TSP_NOTIFICATION (APPENDED_AT);
@@ -0,0 +1,385 @@
+package dev.mieser.tsa;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.bouncycastle.asn1.ASN1Boolean;
+import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
+import org.bouncycastle.asn1.tsp.MessageImprint;
+import org.bouncycastle.asn1.tsp.TimeStampReq;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import dev.mieser.tsa.rest.domain.TsaMediaType;
+
+/**
+ * Starts the packaged application as a separate process against a file based H2 database in a fresh directory and
+ * measures the time from starting the process until the first signed TSP response was received. The application is then
+ * put under a fixed load, where every connection signs a TSP request and validates the returned response, after which
+ * the resident set size of the process is read. The application is started multiple times and the median time until the
+ * first signed response is compared against the configured threshold, so a single slow start does not fail the
+ * benchmark. The median latency of the first signed request of each start may exceed the median latency of signing
+ * requests one after another after the load by at most a configured factor, so the first request after a deployment is
+ * not considerably slower than a request in the steady state.
+ * <p/>
+ * Not executed as part of the regular test suite. Use the {@code startupBenchmark} Gradle Task to run it after
+ * packaging the JVM and the native application. The artifacts, number of starts, load and thresholds can be configured
+ * using {@code startup-benchmark.*} system properties (see README). Requires Linux, since the resident set size is read
+ * from {@code /proc}.
+ */
+@Slf4j
+@Tag("startup")
+class StartupProfileTest {
+
+    private static final Path BUILD_DIRECTORY = Path.of(System.getProperty("startup-benchmark.build-dir", "build"));
+
+    private static final Path KEYSTORE_PATH = Path
+        .of(System.getProperty("startup-benchmark.keystore", "src/main/resources/keystore/ec.p12"));
+
+    private static final List<String> ARTIFACTS = Arrays
+        .asList(System.getProperty("startup-benchmark.artifacts", "jvm,native").split(","));
+
+    private static final int STARTS = Integer.getInteger("startup-benchmark.starts", 3);
+
+    private static final int CONNECTIONS = Integer.getInteger("startup-benchmark.connections", 16);
+
+    private static final int REQUESTS_PER_CONNECTION = Integer.getInteger("startup-benchmark.requests-per-connection", 50);
+
+    private static final int STEADY_STATE_REQUESTS = 20;
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2L);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30L);
+
+    @ParameterizedTest
+    @EnumSource(Artifact.class)
+    void startupTimeAndMemoryUsageDoNotRegress(Artifact artifact, @TempDir Path workDirectory) throws Exception {
+        // given
+        assumeTrue(ARTIFACTS.contains(artifact.getName()), () -> artifact.getName() + " artifact not selected");
+        assumeTrue(Files.isDirectory(Path.of("/proc/self")), "resident set size can only be read on Linux");
+        List<String> command = artifact.command();
+        assertThat(Path.of(command.getLast())).as("packaged %s application", artifact.getName()).exists();
+
+        // when
+        Path resultsDirectory = Files.createDirectories(BUILD_DIRECTORY.resolve("results/startup-benchmark"));
+        List<Long> timesToFirstToken = new ArrayList<>(STARTS);
+        List<Long> firstRequestLatencies = new ArrayList<>(STARTS);
+        List<Long> latencies = List.of();
+        long steadyStateLatency = 0;
+        long residentSetSizeMegabytes = 0;
+        for (int i = 0; i < STARTS; i++) {
+            Path startDirectory = Files.createDirectory(workDirectory.resolve("start-" + i));
+            int port = freePort();
+            long startNanos = System.nanoTime();
+            Process process = start(command, startDirectory, port,
+                resultsDirectory.resolve(String.format("%s-%d.log", artifact.getName(), i)));
+            try (HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+                URI baseUri = URI.create("http://localhost:" + port);
+                FirstSignedToken firstSignedToken = awaitFirstSignedToken(process, startNanos, httpClient, baseUri);
+                timesToFirstToken.add(firstSignedToken.timeToFirstToken());
+                firstRequestLatencies.add(firstSignedToken.latency());
+                // the load and memory usage only depend on the artifact, so they are only measured after the last start
+                if (i == STARTS - 1) {
+                    latencies = applyLoad(httpClient, baseUri);
+                    residentSetSizeMegabytes = residentSetSizeMegabytes(process);
+                    steadyStateLatency = steadyStateSignLatency(httpClient, baseUri);
+                }
+            } finally {
+                stop(process);
+            }
+        }
+
+        // then
+        long medianTimeToFirstToken = percentile(timesToFirstToken.stream().sorted().toList(), 0.5);
+        long medianFirstRequestLatency = percentile(firstRequestLatencies.stream().sorted().toList(), 0.5);
+        List<Long> sortedLatencies = latencies.stream().sorted().toList();
+        long p50Latency = percentile(sortedLatencies, 0.5);
+        long p99Latency = percentile(sortedLatencies, 0.99);
+        log.info("{} application: time to first signed token {} ms (median of {}), resident set size {} MB, "
+            + "sign and validate latency p50 {} ms, p99 {} ms ({} requests over {} connections)", artifact.getName(),
+            medianTimeToFirstToken, timesToFirstToken, residentSetSizeMegabytes, p50Latency, p99Latency,
+            sortedLatencies.size(), CONNECTIONS);
+        log.info("{} application: first sign request latency {} ms (median of {}), steady state sign latency {} ms",
+            artifact.getName(), medianFirstRequestLatency, firstRequestLatencies, steadyStateLatency);
+        writeResults(resultsDirectory, artifact, medianTimeToFirstToken, residentSetSizeMegabytes, p50Latency, p99Latency,
+            medianFirstRequestLatency, steadyStateLatency);
+
+        long residentSetSize = residentSetSizeMegabytes;
+        long steadyStateSignLatency = steadyStateLatency;
+        assertSoftly(softly -> {
+            softly.assertThat(sortedLatencies).hasSize(CONNECTIONS * REQUESTS_PER_CONNECTION);
+            softly.assertThat(medianTimeToFirstToken).as("median time to first signed token in ms")
+                .isLessThanOrEqualTo(artifact.threshold("max-time-to-first-token-ms"));
+            softly.assertThat(residentSetSize).as("resident set size in MB")
+                .isLessThanOrEqualTo(artifact.threshold("max-rss-mb"));
+            softly.assertThat(p99Latency).as("99th percentile of the sign and validate latency in ms")
+                .isLessThanOrEqualTo(artifact.threshold("max-p99-latency-ms"));
+            softly.assertThat(medianFirstRequestLatency).as("median latency of the first sign request in ms")
+                .isLessThanOrEqualTo(artifact.threshold("max-first-request-latency-ms"));
+            // latencies are measured in whole milliseconds, so a steady state latency below a millisecond counts as one
+            softly.assertThat((double) medianFirstRequestLatency)
+                .as("median latency of the first sign request in relation to the steady state latency of %d ms",
+                    steadyStateSignLatency)
+                .isLessThanOrEqualTo(artifact.maxFirstRequestToSteadyStateRatio() * Math.max(steadyStateSignLatency, 1));
+        });
+    }
+
+    private Process start(List<String> command, Path startDirectory, int port, Path logFile) throws IOException {
+        var processBuilder = new ProcessBuilder(command)
+            .directory(startDirectory.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(logFile.toFile());
+        processBuilder.environment().put("QUARKUS_HTTP_PORT", String.valueOf(port));
+        processBuilder.environment().put("QUARKUS_DATASOURCE_JDBC_URL", "jdbc:h2:file:" + startDirectory.resolve("tsa"));
+        processBuilder.environment().put("TSA_KEYSTORE_PATH", KEYSTORE_PATH.toAbsolutePath().toString());
+        processBuilder.environment().put("TSA_PERSISTENCE_WRITE_BEHIND_JOURNAL_PATH",
+            startDirectory.resolve("tsa-write-behind.journal").toString());
+        return processBuilder.start();
+    }
+
+    /**
+     * @return The time from starting the process until the first signed TSP response was received and the latency of the
+     * request which was signed.
+     */
+    private FirstSignedToken awaitFirstSignedToken(Process process, long startNanos, HttpClient httpClient,
+        URI baseUri) throws Exception {
+        HttpRequest request = signRequest(baseUri);
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                fail("Application exited with code %d before signing a request.", process.exitValue());
+            }
+
+            try {
+                long requestStartNanos = System.nanoTime();
+                HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() == 200) {
+                    long endNanos = System.nanoTime();
+                    return new FirstSignedToken(Duration.ofNanos(endNanos - startNanos).toMillis(),
+                        Duration.ofNanos(endNanos - requestStartNanos).toMillis());
+                }
+            } catch (IOException e) {
+                // the HTTP server is not listening yet
+            }
+            Thread.sleep(5L);
+        }
+
+        return fail("Application did not sign a request within %s.", STARTUP_TIMEOUT);
+    }
+
+    /**
+     * @return The latencies in milliseconds of signing a request and validating the returned response.
+     */
+    private List<Long> applyLoad(HttpClient httpClient, URI baseUri) throws Exception {
+        HttpRequest signRequest = signRequest(baseUri);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(CONNECTIONS * REQUESTS_PER_CONNECTION));
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> connections = new ArrayList<>(CONNECTIONS);
+            for (int i = 0; i < CONNECTIONS; i++) {
+                connections.add(executorService.submit(() -> {
+                    for (int j = 0; j < REQUESTS_PER_CONNECTION; j++) {
+                        long start = System.nanoTime();
+                        byte[] signedToken = send(httpClient, signRequest);
+                        send(httpClient, validateRequest(baseUri, signedToken));
+                        latencies.add(Duration.ofNanos(System.nanoTime() - start).toMillis());
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> connection : connections) {
+                connection.get();
+            }
+        }
+
+        return latencies;
+    }
+
+    /**
+     * @return The median latency in milliseconds of signing requests one after another, which is comparable to the latency
+     * of the first signed request.
+     */
+    private long steadyStateSignLatency(HttpClient httpClient, URI baseUri) throws Exception {
+        HttpRequest signRequest = signRequest(baseUri);
+        List<Long> latencies = new ArrayList<>(STEADY_STATE_REQUESTS);
+        for (int i = 0; i < STEADY_STATE_REQUESTS; i++) {
+            long start = System.nanoTime();
+            send(httpClient, signRequest);
+            latencies.add(Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
+
+        return percentile(latencies.stream().sorted().toList(), 0.5);
+    }
+
+    private byte[] send(HttpClient httpClient, HttpRequest request) throws Exception {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).as("status code of %s", request.uri()).isEqualTo(200);
+        return response.body();
+    }
+
+    private HttpRequest signRequest(URI baseUri) throws Exception {
+        byte[] sha256Digest = MessageDigest.getInstance("SHA-256").digest("startup".getBytes(UTF_8));
+        var messageImprint = new MessageImprint(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256), sha256Digest);
+        byte[] asnEncodedRequest = new TimeStampReq(messageImprint, null, null, ASN1Boolean.TRUE, null).getEncoded();
+        return HttpRequest.newBuilder(baseUri.resolve("/sign"))
+            .header("Content-Type", TsaMediaType.TIMESTAMP_QUERY)
+            .header("Accept", TsaMediaType.TIMESTAMP_REPLY)
+            .timeout(REQUEST_TIMEOUT)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(asnEncodedRequest))
+            .build();
+    }
+
+    private HttpRequest validateRequest(URI baseUri, byte[] signedToken) {
+        return HttpRequest.newBuilder(baseUri.resolve("/validate"))
+            .header("Content-Type", TsaMediaType.TIMESTAMP_REPLY)
+            .header("Accept", "application/json")
+            .timeout(REQUEST_TIMEOUT)
+            .PUT(HttpRequest.BodyPublishers.ofByteArray(signedToken))
+            .build();
+    }
+
+    private long residentSetSizeMegabytes(Process process) throws IOException {
+        return Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status")).stream()
+            .filter(line -> line.startsWith("VmRSS:"))
+            .map(line -> line.replaceAll("\\D", ""))
+            .mapToLong(kilobytes -> Long.parseLong(kilobytes) / 1024)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30L, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private void writeResults(Path resultsDirectory, Artifact artifact, long timeToFirstToken, long residentSetSize,
+        long p50Latency, long p99Latency, long firstRequestLatency, long steadyStateLatency) throws IOException {
+        String results = String.format(Locale.ROOT, """
+                {"artifact":"%s","timeToFirstTokenMs":%d,"rssMb":%d,"p50LatencyMs":%d,"p99LatencyMs":%d,\
+                "firstRequestLatencyMs":%d,"steadyStateLatencyMs":%d}
+                """, artifact.getName(), timeToFirstToken, residentSetSize, p50Latency, p99Latency, firstRequestLatency,
+            steadyStateLatency);
+        Files.writeString(resultsDirectory.resolve(artifact.getName() + ".json"), results);
+    }
+
+    private static int freePort() throws IOException {
+        try (var serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+
+    private static long percentile(List<Long> sortedValues, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedValues.size()) - 1;
+        return sortedValues.get(Math.max(index, 0));
+    }
+
+    enum Artifact {
+
+        /**
+         * The fast-jar packaged by Quarkus, started using the JVM running the benchmark.
+         */
+        JVM(10_000, 512, 1_000, 2_000, 50.0),
+
+        /**
+         * The native executable packaged by Quarkus.
+         */
+        NATIVE(1_000, 192, 500, 250, 10.0);
+
+        private final long defaultMaxTimeToFirstToken;
+
+        private final long defaultMaxResidentSetSize;
+
+        private final long defaultMaxP99Latency;
+
+        private final long defaultMaxFirstRequestLatency;
+
+        private final double defaultMaxFirstRequestToSteadyStateRatio;
+
+        Artifact(long defaultMaxTimeToFirstToken, long defaultMaxResidentSetSize, long defaultMaxP99Latency,
+            long defaultMaxFirstRequestLatency, double defaultMaxFirstRequestToSteadyStateRatio) {
+            this.defaultMaxTimeToFirstToken = defaultMaxTimeToFirstToken;
+            this.defaultMaxResidentSetSize = defaultMaxResidentSetSize;
+            this.defaultMaxP99Latency = defaultMaxP99Latency;
+            this.defaultMaxFirstRequestLatency = defaultMaxFirstRequestLatency;
+            this.defaultMaxFirstRequestToSteadyStateRatio = defaultMaxFirstRequestToSteadyStateRatio;
+        }
+
+        String getName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        List<String> command() {
+            if (this == JVM) {
+                String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+                return List.of(java, "-jar", BUILD_DIRECTORY.resolve("quarkus-app/quarkus-run.jar").toAbsolutePath()
+                    .toString());
+            }
+
+            String runner = System.getProperty("startup-benchmark.native-runner", "tsa-runner");
+            return List.of(BUILD_DIRECTORY.resolve(runner).toAbsolutePath().toString());
+        }
+
+        /**
+         * @param name
+         *     The name of the threshold, e.g. {@code max-rss-mb}.
+         * @return The value of the {@code startup-benchmark.<artifact>.<name>} system property or the default threshold of the
+         * artifact.
+         */
+        long threshold(String name) {
+            long defaultThreshold = switch (name) {
+            case "max-time-to-first-token-ms" -> defaultMaxTimeToFirstToken;
+            case "max-rss-mb" -> defaultMaxResidentSetSize;
+            case "max-p99-latency-ms" -> defaultMaxP99Latency;
+            case "max-first-request-latency-ms" -> defaultMaxFirstRequestLatency;
+            default -> throw new IllegalArgumentException(String.format("Unknown threshold '%s'.", name));
+            };
+            return Long.getLong(String.format("startup-benchmark.%s.%s", getName(), name), defaultThreshold);
+        }
+
+        /**
+         * @return The value of the {@code startup-benchmark.<artifact>.max-first-request-to-steady-state-ratio} system property
+         * or the default ratio of the artifact.
+         */
+        double maxFirstRequestToSteadyStateRatio() {
+            String ratio = System.getProperty(
+                String.format("startup-benchmark.%s.max-first-request-to-steady-state-ratio", getName()));
+            return ratio != null ? Double.parseDouble(ratio) : defaultMaxFirstRequestToSteadyStateRatio;
+        }
+
+    }
+
+    private record FirstSignedToken(long timeToFirstToken, long latency) {
+    }
+
+}
@@ -0,0 +1,187 @@
+package dev.mieser.tsa.integration.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
+import dev.mieser.tsa.domain.TimeStampRequestData;
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.integration.api.TimeStampBroadcaster;
+import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+import dev.mieser.tsa.signing.api.TimeStampAuthority;
+import dev.mieser.tsa.signing.api.exception.InvalidTspRequestException;
+import dev.mieser.tsa.signing.api.exception.SignerUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AggregateTimeStampServiceImplTest {
+
+    private static final String HASH_ALGORITHM_OID = "2.16.840.1.101.3.4.2.1";
+
+    @Mock
+    private TimeStampAuthority timeStampAuthorityMock;
+
+    @Mock
+    private TspResponseDataRepository tspResponseDataRepositoryMock;
+
+    @Mock
+    private TimeStampBroadcaster timeStampBroadcasterMock;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Timer persistTimer = meterRegistry.timer("tsa.responses.persist");
+
+    private AggregateTimeStampServiceImpl testSubject;
+
+    @BeforeEach
+    void setUp() {
+        testSubject = new AggregateTimeStampServiceImpl(timeStampAuthorityMock, tspResponseDataRepositoryMock,
+            timeStampBroadcasterMock, persistTimer, Duration.ofMinutes(1), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testSubject.close();
+    }
+
+    @Test
+    void aggregateSignsTreeWhenMaxLeavesIsReached(@Mock AggregatedTimeStampData firstSignedLeafMock,
+        @Mock AggregatedTimeStampData secondSignedLeafMock, @Mock AggregatedTimeStampData firstSavedLeafMock,
+        @Mock AggregatedTimeStampData secondSavedLeafMock, @Mock TimeStampResponseData rootResponseMock) throws Exception {
+        // given
+        var firstInputStream = new ByteArrayInputStream("first".getBytes(UTF_8));
+        var secondInputStream = new ByteArrayInputStream("second".getBytes(UTF_8));
+
+        given(timeStampAuthorityMock.parseRequest(any())).willReturn(request("imprint".getBytes(UTF_8)));
+        given(timeStampAuthorityMock.signMessageImprints(eq(HASH_ALGORITHM_OID), anyList()))
+            .willReturn(List.of(firstSignedLeafMock, secondSignedLeafMock));
+        given(tspResponseDataRepositoryMock.saveAggregated(List.of(firstSignedLeafMock, secondSignedLeafMock)))
+            .willReturn(List.of(firstSavedLeafMock, secondSavedLeafMock));
+        given(firstSavedLeafMock.getResponse()).willReturn(rootResponseMock);
+
+        // when
+        CompletableFuture<AggregatedTimeStampData> firstResult = CompletableFuture
+            .supplyAsync(() -> aggregate(firstInputStream));
+        CompletableFuture<AggregatedTimeStampData> secondResult = CompletableFuture
+            .supplyAsync(() -> aggregate(secondInputStream));
+
+        // then
+        assertThat(List.of(firstResult.join(), secondResult.join()))
+            .containsExactlyInAnyOrder(firstSavedLeafMock, secondSavedLeafMock);
+    }
+
+    @Test
+    void aggregateSignsTreeWhenWindowElapsed(@Mock AggregatedTimeStampData signedLeafMock,
+        @Mock AggregatedTimeStampData savedLeafMock, @Mock TimeStampResponseData rootResponseMock) throws Exception {
+        // given
+        testSubject.close();
+        testSubject = new AggregateTimeStampServiceImpl(timeStampAuthorityMock, tspResponseDataRepositoryMock,
+            timeStampBroadcasterMock, persistTimer, Duration.ofMillis(10), 4096);
+
+        var inputStream = new ByteArrayInputStream("request".getBytes(UTF_8));
+        byte[] imprint = "imprint".getBytes(UTF_8);
+
+        given(timeStampAuthorityMock.parseRequest(inputStream)).willReturn(request(imprint));
+        given(timeStampAuthorityMock.signMessageImprints(HASH_ALGORITHM_OID, List.of(imprint)))
+            .willReturn(List.of(signedLeafMock));
+        given(tspResponseDataRepositoryMock.saveAggregated(List.of(signedLeafMock))).willReturn(List.of(savedLeafMock));
+        given(savedLeafMock.getResponse()).willReturn(rootResponseMock);
+
+        // when
+        AggregatedTimeStampData result = testSubject.aggregate(inputStream);
+
+        // then
+        assertThat(result).isSameAs(savedLeafMock);
+    }
+
+    @Test
+    void aggregatePublishesResponseOfRootOnceAndRecordsPersistenceLatency(@Mock AggregatedTimeStampData firstSignedLeafMock,
+        @Mock AggregatedTimeStampData secondSignedLeafMock, @Mock AggregatedTimeStampData firstSavedLeafMock,
+        @Mock AggregatedTimeStampData secondSavedLeafMock, @Mock TimeStampResponseData rootResponseMock) throws Exception {
+        // given
+        given(timeStampAuthorityMock.parseRequest(any())).willReturn(request("imprint".getBytes(UTF_8)));
+        given(timeStampAuthorityMock.signMessageImprints(eq(HASH_ALGORITHM_OID), anyList()))
+            .willReturn(List.of(firstSignedLeafMock, secondSignedLeafMock));
+        given(tspResponseDataRepositoryMock.saveAggregated(List.of(firstSignedLeafMock, secondSignedLeafMock)))
+            .willReturn(List.of(firstSavedLeafMock, secondSavedLeafMock));
+        given(firstSavedLeafMock.getResponse()).willReturn(rootResponseMock);
+
+        // when
+        CompletableFuture.allOf(
+            CompletableFuture.supplyAsync(() -> aggregate(new ByteArrayInputStream("first".getBytes(UTF_8)))),
+            CompletableFuture.supplyAsync(() -> aggregate(new ByteArrayInputStream("second".getBytes(UTF_8)))))
+            .join();
+
+        // then
+        then(timeStampBroadcasterMock).should().publish(rootResponseMock);
+        assertThat(meterRegistry.get("tsa.responses.persist").timer().count()).isOne();
+    }
+
+    @Test
+    void aggregateThrowsExceptionWhenServiceIsClosed() throws Exception {
+        // given
+        var inputStream = new ByteArrayInputStream("request".getBytes(UTF_8));
+        given(timeStampAuthorityMock.parseRequest(inputStream)).willReturn(request("imprint".getBytes(UTF_8)));
+        testSubject.close();
+
+        // when / then
+        assertThatExceptionOfType(SignerUnavailableException.class)
+            .isThrownBy(() -> testSubject.aggregate(inputStream))
+            .withMessage("The aggregation of message imprints has been stopped.");
+        assertThat(testSubject.pendingImprintCount()).isZero();
+    }
+
+    @Test
+    void aggregateRethrowsExceptionOfSigningThread() throws Exception {
+        // given
+        testSubject.close();
+        testSubject = new AggregateTimeStampServiceImpl(timeStampAuthorityMock, tspResponseDataRepositoryMock,
+            timeStampBroadcasterMock, persistTimer, Duration.ofMillis(10), 4096);
+
+        var inputStream = new ByteArrayInputStream("request".getBytes(UTF_8));
+
+        given(timeStampAuthorityMock.parseRequest(inputStream)).willReturn(request("imprint".getBytes(UTF_8)));
+        given(timeStampAuthorityMock.signMessageImprints(eq(HASH_ALGORITHM_OID), anyList()))
+            .willThrow(new IllegalStateException("Not initialized"));
+
+        // when / then
+        assertThatIllegalStateException()
+            .isThrownBy(() -> testSubject.aggregate(inputStream))
+            .withMessage("Not initialized");
+        then(timeStampBroadcasterMock).shouldHaveNoInteractions();
+    }
+
+    private AggregatedTimeStampData aggregate(ByteArrayInputStream inputStream) {
+        try {
+            return testSubject.aggregate(inputStream);
+        } catch (InvalidTspRequestException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private TimeStampRequestData request(byte[] messageImprint) {
+        return TimeStampRequestData.builder(HASH_ALGORITHM_OID, messageImprint, "request".getBytes(UTF_8)).build();
+    }
+
+}
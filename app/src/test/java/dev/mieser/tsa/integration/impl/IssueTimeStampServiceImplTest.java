@@ -5,6 +5,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 
 import java.io.ByteArrayInputStream;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,9 +14,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.integration.api.TimeStampBroadcaster;
 import dev.mieser.tsa.integration.api.TimeStampListener;
+import dev.mieser.tsa.persistence.api.PersistenceMode;
 import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
 import dev.mieser.tsa.signing.api.TimeStampAuthority;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class IssueTimeStampServiceImplTest {
@@ -26,11 +31,16 @@ class IssueTimeStampServiceImplTest {
     @Mock
     private TspResponseDataRepository tspResponseDataRepositoryMock;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Timer persistTimer = meterRegistry.timer("tsa.responses.persist");
+
     private IssueTimeStampServiceImpl testSubject;
 
     @BeforeEach
     void setUp() {
-        testSubject = new IssueTimeStampServiceImpl(timeStampAuthorityMock, tspResponseDataRepositoryMock);
+        testSubject = new IssueTimeStampServiceImpl(timeStampAuthorityMock, tspResponseDataRepositoryMock,
+            meterRegistry, persistTimer, PersistenceMode.FULL, new LocalTimeStampBroadcaster());
     }
 
     @Test
@@ -49,6 +59,23 @@ class IssueTimeStampServiceImplTest {
         assertThat(actualResponse).isSameAs(savedResponseMock);
     }
 
+    @Test
+    void signTimestampRequestRecordsPersistenceAndNotificationLatency(@Mock TimeStampResponseData generatedResponseMock,
+        @Mock TimeStampResponseData savedResponseMock) throws Exception {
+        // given
+        var inputStream = new ByteArrayInputStream("asn-encoded-request".getBytes());
+
+        given(timeStampAuthorityMock.signRequest(inputStream)).willReturn(generatedResponseMock);
+        given(tspResponseDataRepositoryMock.save(generatedResponseMock)).willReturn(savedResponseMock);
+
+        // when
+        testSubject.signTimestampRequest(inputStream);
+
+        // then
+        assertThat(meterRegistry.get("tsa.responses.persist").timer().count()).isOne();
+        assertThat(meterRegistry.get("tsa.listeners.notify").timer().count()).isOne();
+    }
+
     @Test
     void notifiesRegisteredListeners(@Mock TimeStampListener listenerMock, @Mock TimeStampResponseData generatedResponseMock,
         @Mock TimeStampResponseData savedResponseMock) throws Exception {
@@ -67,4 +94,109 @@ class IssueTimeStampServiceImplTest {
         then(listenerMock).should().onResponse(savedResponseMock);
     }
 
+    @Test
+    void signTimestampRequestPublishesSavedResponseToBroadcaster(@Mock TimeStampBroadcaster broadcasterMock,
+        @Mock TimeStampResponseData generatedResponseMock, @Mock TimeStampResponseData savedResponseMock) throws Exception {
+        // given
+        var inputStream = new ByteArrayInputStream("asn-encoded-request".getBytes());
+        var clusteredTestSubject = new IssueTimeStampServiceImpl(timeStampAuthorityMock, tspResponseDataRepositoryMock,
+            meterRegistry, persistTimer, PersistenceMode.FULL, broadcasterMock);
+
+        given(timeStampAuthorityMock.signRequest(inputStream)).willReturn(generatedResponseMock);
+        given(tspResponseDataRepositoryMock.save(generatedResponseMock)).willReturn(savedResponseMock);
+
+        // when
+        clusteredTestSubject.signTimestampRequest(inputStream);
+
+        // then
+        then(broadcasterMock).should().publish(savedResponseMock);
+    }
+
+    @Test
+    void signTimestampRequestDoesNotSaveResponseWhenPersistenceIsDisabled(@Mock TimeStampListener listenerMock,
+        @Mock TimeStampResponseData generatedResponseMock) throws Exception {
+        // given
+        var inputStream = new ByteArrayInputStream("asn-encoded-request".getBytes());
+        var statelessTestSubject = new IssueTimeStampServiceImpl(timeStampAuthorityMock, tspResponseDataRepositoryMock,
+            meterRegistry, persistTimer, PersistenceMode.NONE, new LocalTimeStampBroadcaster());
+
+        given(timeStampAuthorityMock.signRequest(inputStream)).willReturn(generatedResponseMock);
+
+        statelessTestSubject.registerListener(listenerMock);
+
+        // when
+        var actualResponse = statelessTestSubject.signTimestampRequest(inputStream);
+
+        // then
+        assertThat(actualResponse).isSameAs(generatedResponseMock);
+        then(listenerMock).should().onResponse(generatedResponseMock);
+        then(tspResponseDataRepositoryMock).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void signTimestampRequestReturnsSavedMetadataWhenOnlyMetadataIsPersisted(@Mock TimeStampListener listenerMock,
+        @Mock TimeStampResponseData generatedResponseMock, @Mock TimeStampResponseData savedResponseMock) throws Exception {
+        // given
+        var inputStream = new ByteArrayInputStream("asn-encoded-request".getBytes());
+        var metadataTestSubject = new IssueTimeStampServiceImpl(timeStampAuthorityMock, tspResponseDataRepositoryMock,
+            meterRegistry, persistTimer, PersistenceMode.METADATA, new LocalTimeStampBroadcaster());
+
+        given(timeStampAuthorityMock.signRequest(inputStream)).willReturn(generatedResponseMock);
+        given(tspResponseDataRepositoryMock.save(generatedResponseMock)).willReturn(savedResponseMock);
+
+        metadataTestSubject.registerListener(listenerMock);
+
+        // when
+        var actualResponse = metadataTestSubject.signTimestampRequest(inputStream);
+
+        // then
+        assertThat(actualResponse).isSameAs(savedResponseMock);
+        then(listenerMock).should().onResponse(savedResponseMock);
+        assertThat(meterRegistry.get("tsa.responses.persist").timer().count()).isOne();
+    }
+
+    @Test
+    void signTimestampRequestsReturnsSavedMetadataWhenOnlyMetadataIsPersisted(
+        @Mock TimeStampResponseData firstResponseMock, @Mock TimeStampResponseData secondResponseMock,
+        @Mock TimeStampResponseData firstSavedResponseMock,
+        @Mock TimeStampResponseData secondSavedResponseMock) throws Exception {
+        // given
+        var inputStream = new ByteArrayInputStream("asn-encoded-requests".getBytes());
+        var metadataTestSubject = new IssueTimeStampServiceImpl(timeStampAuthorityMock, tspResponseDataRepositoryMock,
+            meterRegistry, persistTimer, PersistenceMode.METADATA, new LocalTimeStampBroadcaster());
+
+        given(timeStampAuthorityMock.signRequests(inputStream)).willReturn(List.of(firstResponseMock, secondResponseMock));
+        given(tspResponseDataRepositoryMock.saveAll(List.of(firstResponseMock, secondResponseMock)))
+            .willReturn(List.of(firstSavedResponseMock, secondSavedResponseMock));
+
+        // when
+        var actualResponses = metadataTestSubject.signTimestampRequests(inputStream);
+
+        // then
+        assertThat(actualResponses).containsExactly(firstSavedResponseMock, secondSavedResponseMock);
+    }
+
+    @Test
+    void signTimestampRequestsSavesAllResponsesAndNotifiesListeners(@Mock TimeStampListener listenerMock,
+        @Mock TimeStampResponseData firstResponseMock, @Mock TimeStampResponseData secondResponseMock,
+        @Mock TimeStampResponseData firstSavedResponseMock,
+        @Mock TimeStampResponseData secondSavedResponseMock) throws Exception {
+        // given
+        var inputStream = new ByteArrayInputStream("asn-encoded-requests".getBytes());
+
+        given(timeStampAuthorityMock.signRequests(inputStream)).willReturn(List.of(firstResponseMock, secondResponseMock));
+        given(tspResponseDataRepositoryMock.saveAll(List.of(firstResponseMock, secondResponseMock)))
+            .willReturn(List.of(firstSavedResponseMock, secondSavedResponseMock));
+
+        testSubject.registerListener(listenerMock);
+
+        // when
+        var actualResponses = testSubject.signTimestampRequests(inputStream);
+
+        // then
+        assertThat(actualResponses).containsExactly(firstSavedResponseMock, secondSavedResponseMock);
+        then(listenerMock).should().onResponse(firstSavedResponseMock);
+        then(listenerMock).should().onResponse(secondSavedResponseMock);
+    }
+
 }
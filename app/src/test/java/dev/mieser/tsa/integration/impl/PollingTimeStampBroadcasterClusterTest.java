@@ -0,0 +1,121 @@
+package dev.mieser.tsa.integration.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.mieser.tsa.domain.ResponseStatus;
+import dev.mieser.tsa.domain.TimeStampRequestData;
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.persistence.api.TimeStampNotificationRepository;
+import dev.mieser.tsa.signing.config.HashAlgorithm;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Simulates multiple application instances sharing the same database by creating multiple broadcasters with different
+ * node IDs in the same JVM.
+ */
+@QuarkusTest
+class PollingTimeStampBroadcasterClusterTest {
+
+    private final TimeStampNotificationRepository notificationRepository;
+
+    private final BlockingQueue<TimeStampResponseData> firstNodeResponses = new LinkedBlockingQueue<>();
+
+    private final BlockingQueue<TimeStampResponseData> secondNodeResponses = new LinkedBlockingQueue<>();
+
+    private PollingTimeStampBroadcaster firstNode;
+
+    private PollingTimeStampBroadcaster secondNode;
+
+    @Inject
+    PollingTimeStampBroadcasterClusterTest(TimeStampNotificationRepository notificationRepository) {
+        this.notificationRepository = notificationRepository;
+    }
+
+    @BeforeEach
+    void setUp() {
+        firstNode = startNode("node-a");
+        firstNode.subscribe(firstNodeResponses::add);
+        secondNode = startNode("node-b");
+        secondNode.subscribe(secondNodeResponses::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstNode.close();
+        secondNode.close();
+    }
+
+    @Test
+    void subscribersOfAllNodesAreNotifiedOfPublishedResponse() throws InterruptedException {
+        // given
+        TimeStampResponseData response = response(42L);
+
+        // when
+        firstNode.publish(response);
+
+        // then
+        assertThat(firstNodeResponses.poll(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(secondNodeResponses.poll(5, TimeUnit.SECONDS)).usingRecursiveComparison().isEqualTo(response);
+    }
+
+    @Test
+    void subscribersAreNotifiedOfResponsesOfOtherNodesOnlyOnce() throws InterruptedException {
+        // given
+        TimeStampResponseData firstResponse = response(1L);
+        TimeStampResponseData secondResponse = response(2L);
+
+        // when
+        firstNode.publish(firstResponse);
+        secondNode.publish(secondResponse);
+
+        // then
+        assertThat(take(firstNodeResponses, 2)).usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyInAnyOrder(firstResponse, secondResponse);
+        assertThat(take(secondNodeResponses, 2)).usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyInAnyOrder(firstResponse, secondResponse);
+        assertThat(firstNodeResponses.poll(500, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(secondNodeResponses).isEmpty();
+    }
+
+    private List<TimeStampResponseData> take(BlockingQueue<TimeStampResponseData> responses,
+        int count) throws InterruptedException {
+        List<TimeStampResponseData> takenResponses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            takenResponses.add(responses.poll(5, TimeUnit.SECONDS));
+        }
+        return takenResponses;
+    }
+
+    private PollingTimeStampBroadcaster startNode(String nodeId) {
+        return new PollingTimeStampBroadcaster(notificationRepository, nodeId, Duration.ofMillis(50), Duration.ofSeconds(5),
+            Duration.ofMinutes(10), 1000, Clock.systemUTC());
+    }
+
+    private TimeStampResponseData response(Long id) {
+        var request = TimeStampRequestData
+            .builder(HashAlgorithm.SHA256.getObjectIdentifier(), "sha256".getBytes(UTF_8), "request".getBytes(UTF_8))
+            .build();
+        return TimeStampResponseData
+            .builder(ResponseStatus.GRANTED, ZonedDateTime.parse("2023-07-09T13:37:00+04:00"), request,
+                "response".getBytes(UTF_8))
+            .id(id)
+            .build();
+    }
+
+}
@@ -0,0 +1,235 @@
+package dev.mieser.tsa.integration.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.timeout;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.integration.api.TimeStampListener;
+import dev.mieser.tsa.persistence.api.TimeStampNotificationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PollingTimeStampBroadcasterTest {
+
+    private static final String NODE_ID = "node-a";
+
+    @Mock
+    private TimeStampNotificationRepository notificationRepositoryMock;
+
+    @Mock
+    private TimeStampListener subscriberMock;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T12:00:00Z"));
+
+    private PollingTimeStampBroadcaster testSubject;
+
+    @BeforeEach
+    void setUp() {
+        // polls are triggered manually
+        testSubject = new PollingTimeStampBroadcaster(notificationRepositoryMock, NODE_ID, Duration.ofHours(1),
+            Duration.ofSeconds(5), Duration.ofMinutes(10), 10, clock);
+        testSubject.subscribe(subscriberMock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testSubject.close();
+    }
+
+    @Test
+    void publishNotifiesLocalSubscribersAndAppendsNotification(@Mock TimeStampResponseData responseMock) {
+        // given
+        given(notificationRepositoryMock.appendAll(eq(NODE_ID), any(), eq(List.of(responseMock)))).willReturn(List.of(1L));
+
+        // when
+        testSubject.publish(responseMock);
+
+        // then
+        then(subscriberMock).should().onResponse(responseMock);
+        then(notificationRepositoryMock).should(timeout(5_000)).appendAll(eq(NODE_ID), any(), eq(List.of(responseMock)));
+    }
+
+    @Test
+    void publishDoesNotWaitUntilNotificationIsAppended(@Mock TimeStampResponseData firstResponseMock,
+        @Mock TimeStampResponseData secondResponseMock) throws InterruptedException {
+        // given
+        var appendStarted = new CountDownLatch(1);
+        var appendReleased = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            if (appendStarted.getCount() > 0) {
+                appendStarted.countDown();
+                appendReleased.await();
+            }
+            return List.of();
+        }).given(notificationRepositoryMock).appendAll(eq(NODE_ID), any(), any());
+
+        testSubject.publish(firstResponseMock);
+        assertThat(appendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        testSubject.publish(secondResponseMock);
+
+        // then
+        then(subscriberMock).should().onResponse(secondResponseMock);
+        appendReleased.countDown();
+        then(notificationRepositoryMock).should(timeout(5_000))
+            .appendAll(eq(NODE_ID), any(), eq(List.of(secondResponseMock)));
+    }
+
+    @Test
+    void publishNotifiesLocalSubscribersWhenNotificationCannotBeAppended(@Mock TimeStampResponseData responseMock) {
+        // given
+        given(notificationRepositoryMock.appendAll(eq(NODE_ID), any(), eq(List.of(responseMock))))
+            .willThrow(new IllegalStateException("Database unavailable!"));
+
+        // when
+        testSubject.publish(responseMock);
+
+        // then
+        then(subscriberMock).should().onResponse(responseMock);
+        then(notificationRepositoryMock).should(timeout(5_000)).appendAll(eq(NODE_ID), any(), eq(List.of(responseMock)));
+    }
+
+    @Test
+    void pollNotifiesSubscribersOfNotificationsOfOtherInstances(@Mock TimeStampResponseData firstResponseMock,
+        @Mock TimeStampResponseData secondResponseMock) {
+        // given
+        given(notificationRepositoryMock.findIdsAfter(0L, NODE_ID)).willReturn(List.of(1L, 2L));
+        given(notificationRepositoryMock.findResponses(List.of(1L, 2L)))
+            .willReturn(List.of(firstResponseMock, secondResponseMock));
+
+        // when
+        testSubject.poll();
+
+        // then
+        then(subscriberMock).should().onResponse(firstResponseMock);
+        then(subscriberMock).should().onResponse(secondResponseMock);
+    }
+
+    @Test
+    void pollDeliversNotificationWhichBecomesVisibleLateOnlyOnce(@Mock TimeStampResponseData firstResponseMock,
+        @Mock TimeStampResponseData secondResponseMock) {
+        // given
+        given(notificationRepositoryMock.findIdsAfter(0L, NODE_ID)).willReturn(List.of(2L), List.of(1L, 2L));
+        given(notificationRepositoryMock.findResponses(List.of(2L))).willReturn(List.of(secondResponseMock));
+        given(notificationRepositoryMock.findResponses(List.of(1L))).willReturn(List.of(firstResponseMock));
+        given(notificationRepositoryMock.findIdsAfter(2L, NODE_ID)).willReturn(List.of());
+
+        // when
+        testSubject.poll();
+        testSubject.poll();
+        testSubject.poll();
+
+        // then
+        then(subscriberMock).should().onResponse(firstResponseMock);
+        then(subscriberMock).should().onResponse(secondResponseMock);
+        then(notificationRepositoryMock).should().findIdsAfter(2L, NODE_ID);
+    }
+
+    @Test
+    void pollDoesNotNotifySubscribersOfOwnNotifications(@Mock TimeStampResponseData ownResponseMock,
+        @Mock TimeStampResponseData otherResponseMock) {
+        // given
+        given(notificationRepositoryMock.appendAll(eq(NODE_ID), any(), eq(List.of(ownResponseMock))))
+            .willReturn(List.of(1L));
+        given(notificationRepositoryMock.findIdsAfter(0L, NODE_ID)).willReturn(List.of(2L));
+        given(notificationRepositoryMock.findResponses(List.of(2L))).willReturn(List.of(otherResponseMock));
+        given(notificationRepositoryMock.findIdsAfter(2L, NODE_ID)).willReturn(List.of());
+
+        testSubject.publish(ownResponseMock);
+        // waits until the notification has been appended, polls are still triggered manually
+        testSubject.close();
+
+        // when
+        testSubject.poll();
+        testSubject.poll();
+
+        // then
+        then(subscriberMock).should().onResponse(ownResponseMock);
+        then(subscriberMock).should().onResponse(otherResponseMock);
+        then(notificationRepositoryMock).should().findIdsAfter(2L, NODE_ID);
+    }
+
+    @Test
+    void pollGivesUpWaitingForNotificationAfterMaxCommitDelay(@Mock TimeStampResponseData secondResponseMock) {
+        // given
+        given(notificationRepositoryMock.findIdsAfter(0L, NODE_ID)).willReturn(List.of(2L));
+        given(notificationRepositoryMock.findResponses(List.of(2L))).willReturn(List.of(secondResponseMock));
+        given(notificationRepositoryMock.findIdsAfter(2L, NODE_ID)).willReturn(List.of());
+
+        testSubject.poll();
+        clock.advance(Duration.ofSeconds(6));
+
+        // when
+        testSubject.poll();
+        testSubject.poll();
+
+        // then
+        then(notificationRepositoryMock).should().findIdsAfter(2L, NODE_ID);
+    }
+
+    @Test
+    void pollDeletesExpiredNotificationsOncePerRetentionPeriod() {
+        // given
+        given(notificationRepositoryMock.findIdsAfter(anyLong(), eq(NODE_ID))).willReturn(List.of());
+
+        // when
+        testSubject.poll();
+        testSubject.poll();
+
+        // then
+        then(notificationRepositoryMock).should()
+            .deleteAppendedBefore(clock.instant().minus(Duration.ofMinutes(10)).atZone(ZoneOffset.UTC));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
@@ -16,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import dev.mieser.tsa.domain.*;
 import dev.mieser.tsa.persistence.api.*;
 import dev.mieser.tsa.signing.config.HashAlgorithm;
+import io.smallrye.mutiny.Uni;
 
 @ExtendWith(MockitoExtension.class)
 class QueryTimeStampResponseServiceImplTest {
@@ -23,23 +24,42 @@ class QueryTimeStampResponseServiceImplTest {
     @Mock
     private TspResponseDataRepository tspResponseDataRepositoryMock;
 
+    @Mock
+    private ReactiveTspResponseDataRepository reactiveTspResponseDataRepositoryMock;
+
     private QueryTimeStampResponseServiceImpl testSubject;
 
     @BeforeEach
     void setUp() {
-        testSubject = new QueryTimeStampResponseServiceImpl(tspResponseDataRepositoryMock);
+        testSubject = new QueryTimeStampResponseServiceImpl(tspResponseDataRepositoryMock,
+            reactiveTspResponseDataRepositoryMock);
     }
 
     @Test
     void findAllDelegatesToRepository() {
         // given
         var pageRequest = new PageRequest(2, 25, new Sort(SortDirection.ASC, "field"));
-        var page = new Page<TimeStampResponseData>(25, 2, 12, 300, List.of());
+        var page = new Page<TimeStampResponseSummary>(25, 2, 12, 300, List.of());
 
         given(tspResponseDataRepositoryMock.findAll(pageRequest)).willReturn(page);
 
         // when
-        Page<TimeStampResponseData> actual = testSubject.findAll(pageRequest);
+        Page<TimeStampResponseSummary> actual = testSubject.findAll(pageRequest);
+
+        // then
+        assertThat(actual).isEqualTo(page);
+    }
+
+    @Test
+    void findAllWithCursorDelegatesToRepository() {
+        // given
+        var pageRequest = new CursorPageRequest("cursor", 25, new Sort(SortDirection.DESC, "receptionTime"), true);
+        var page = new CursorPage<TimeStampResponseSummary>(25, "next-cursor", 300L, List.of());
+
+        given(tspResponseDataRepositoryMock.findAllAfterCursor(pageRequest)).willReturn(page);
+
+        // when
+        CursorPage<TimeStampResponseSummary> actual = testSubject.findAllAfterCursor(pageRequest);
 
         // then
         assertThat(actual).isEqualTo(page);
@@ -67,4 +87,19 @@ class QueryTimeStampResponseServiceImplTest {
         assertThat(result).contains(response);
     }
 
+    @Test
+    void findAllWithCursorAsyncDelegatesToReactiveRepository() {
+        // given
+        var pageRequest = new CursorPageRequest(null, 25, null, false);
+        var page = new CursorPage<TimeStampResponseSummary>(25, null, null, List.of());
+
+        given(reactiveTspResponseDataRepositoryMock.findAllAfterCursor(pageRequest)).willReturn(Uni.createFrom().item(page));
+
+        // when
+        CursorPage<TimeStampResponseSummary> actual = testSubject.findAllAfterCursorAsync(pageRequest).await().indefinitely();
+
+        // then
+        assertThat(actual).isEqualTo(page);
+    }
+
 }
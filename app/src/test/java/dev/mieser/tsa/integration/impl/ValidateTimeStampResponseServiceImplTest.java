@@ -1,18 +1,32 @@
 package dev.mieser.tsa.integration.impl;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import dev.mieser.tsa.domain.BulkValidationResult;
 import dev.mieser.tsa.domain.TimeStampValidationResult;
 import dev.mieser.tsa.signing.api.TimeStampValidator;
+import dev.mieser.tsa.signing.api.exception.InvalidTspResponseException;
 
 @ExtendWith(MockitoExtension.class)
 class ValidateTimeStampResponseServiceImplTest {
@@ -20,11 +34,19 @@ class ValidateTimeStampResponseServiceImplTest {
     @Mock
     private TimeStampValidator timeStampValidatorMock;
 
+    private ExecutorService validationExecutor;
+
     private ValidateTimeStampResponseServiceImpl testSubject;
 
     @BeforeEach
     void setUp() {
-        testSubject = new ValidateTimeStampResponseServiceImpl(timeStampValidatorMock);
+        validationExecutor = Executors.newFixedThreadPool(2);
+        testSubject = new ValidateTimeStampResponseServiceImpl(timeStampValidatorMock, validationExecutor, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validationExecutor.shutdownNow();
     }
 
     @Test
@@ -42,4 +64,116 @@ class ValidateTimeStampResponseServiceImplTest {
         assertThat(result).isEqualTo(validationResult);
     }
 
+    @Test
+    void validateTimeStampResponsesPassesResultOfEveryResponseToConsumer() throws Exception {
+        // given
+        var validationResult = TimeStampValidationResult.builder().signatureValid(true).build();
+        givenSplitResponses("first", "second", "third", "fourth", "fifth");
+        given(timeStampValidatorMock.validateResponse(any())).willReturn(validationResult);
+        List<BulkValidationResult> results = new ArrayList<>();
+
+        // when
+        testSubject.validateTimeStampResponses(new ByteArrayInputStream(new byte[0]), results::add);
+
+        // then
+        assertThat(results).extracting(BulkValidationResult::getIndex).containsExactlyInAnyOrder(0, 1, 2, 3, 4);
+        assertThat(results).extracting(BulkValidationResult::getResult).containsOnly(validationResult);
+    }
+
+    @Test
+    void validateTimeStampResponsesReportsResponseWhichCannotBeValidated() throws Exception {
+        // given
+        var validationResult = TimeStampValidationResult.builder().build();
+        givenSplitResponses("valid", "invalid");
+        willAnswer(invocation -> {
+            String encodedResponse = new String(invocation.<InputStream>getArgument(0).readAllBytes(), UTF_8);
+            if (encodedResponse.equals("invalid")) {
+                throw new InvalidTspResponseException("Could not parse TSP response");
+            }
+
+            return validationResult;
+        }).given(timeStampValidatorMock).validateResponse(any());
+        List<BulkValidationResult> results = new ArrayList<>();
+
+        // when
+        testSubject.validateTimeStampResponses(new ByteArrayInputStream(new byte[0]), results::add);
+
+        // then
+        assertThat(results).containsExactlyInAnyOrder(
+            new BulkValidationResult(0, validationResult, null),
+            new BulkValidationResult(1, null, "Could not parse TSP response"));
+    }
+
+    @Test
+    void validateTimeStampResponsesReportsMalformedDataAfterResultsOfPrecedingResponses() throws Exception {
+        // given
+        var validationResult = TimeStampValidationResult.builder().build();
+        willAnswer(invocation -> {
+            Consumer<byte[]> consumer = invocation.getArgument(1);
+            consumer.accept("first".getBytes(UTF_8));
+            consumer.accept("second".getBytes(UTF_8));
+            throw new InvalidTspResponseException("Could not parse TSP response");
+        }).given(timeStampValidatorMock).splitResponses(any(), any());
+        given(timeStampValidatorMock.validateResponse(any())).willReturn(validationResult);
+        List<BulkValidationResult> results = new ArrayList<>();
+
+        // when
+        testSubject.validateTimeStampResponses(new ByteArrayInputStream(new byte[0]), results::add);
+
+        // then
+        assertThat(results).hasSize(3)
+            .last()
+            .isEqualTo(new BulkValidationResult(2, null, "Could not parse TSP response"));
+    }
+
+    @Test
+    void validateTimeStampResponsesReportsResponseWhoseValidationThrowsError() throws Exception {
+        // given
+        givenSplitResponses("first");
+        given(timeStampValidatorMock.validateResponse(any())).willThrow(new StackOverflowError());
+        List<BulkValidationResult> results = new ArrayList<>();
+
+        // when
+        testSubject.validateTimeStampResponses(new ByteArrayInputStream(new byte[0]), results::add);
+
+        // then
+        assertThat(results).containsExactly(new BulkValidationResult(0, null, "The TSP response could not be validated."));
+    }
+
+    @Test
+    void validateTimeStampResponsesPassesResultToConsumerWhileWaitingForFurtherResponses() throws Exception {
+        // given
+        var validationResult = TimeStampValidationResult.builder().build();
+        var firstResultPublished = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            Consumer<byte[]> consumer = invocation.getArgument(1);
+            consumer.accept("first".getBytes(UTF_8));
+            assertThat(firstResultPublished.await(5L, TimeUnit.SECONDS)).isTrue();
+            consumer.accept("second".getBytes(UTF_8));
+            return null;
+        }).given(timeStampValidatorMock).splitResponses(any(), any());
+        given(timeStampValidatorMock.validateResponse(any())).willReturn(validationResult);
+        List<BulkValidationResult> results = new ArrayList<>();
+
+        // when
+        testSubject.validateTimeStampResponses(new ByteArrayInputStream(new byte[0]), result -> {
+            results.add(result);
+            firstResultPublished.countDown();
+        });
+
+        // then
+        assertThat(results).extracting(BulkValidationResult::getIndex).containsExactly(0, 1);
+    }
+
+    private void givenSplitResponses(String... encodedResponses) throws Exception {
+        willAnswer(invocation -> {
+            Consumer<byte[]> consumer = invocation.getArgument(1);
+            for (String encodedResponse : encodedResponses) {
+                consumer.accept(encodedResponse.getBytes(UTF_8));
+            }
+
+            return null;
+        }).given(timeStampValidatorMock).splitResponses(any(), any());
+    }
+
 }
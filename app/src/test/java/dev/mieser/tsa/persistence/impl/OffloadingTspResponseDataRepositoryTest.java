@@ -0,0 +1,93 @@
+package dev.mieser.tsa.persistence.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import dev.mieser.tsa.domain.ResponseStatus;
+import dev.mieser.tsa.domain.TimeStampRequestData;
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.persistence.api.CursorPageRequest;
+import dev.mieser.tsa.persistence.api.ReactiveTspResponseDataRepository;
+import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+import dev.mieser.tsa.persistence.api.exception.InvalidCursorException;
+import dev.mieser.tsa.signing.config.HashAlgorithm;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+
+@QuarkusTest
+class OffloadingTspResponseDataRepositoryTest {
+
+    private final ReactiveTspResponseDataRepository testSubject;
+
+    private final TspResponseDataRepository tspResponseDataRepository;
+
+    @Inject
+    OffloadingTspResponseDataRepositoryTest(ReactiveTspResponseDataRepository testSubject,
+        TspResponseDataRepository tspResponseDataRepository) {
+        this.testSubject = testSubject;
+        this.tspResponseDataRepository = tspResponseDataRepository;
+    }
+
+    @AfterEach
+    void tearDown() {
+        QuarkusTransaction.requiringNew().run(tspResponseDataRepository::deleteAll);
+    }
+
+    @Test
+    void savedResponseCanBeFoundById() {
+        // given
+        var request = TimeStampRequestData
+            .builder(HashAlgorithm.SHA256.getObjectIdentifier(), "sha256".getBytes(UTF_8), "request".getBytes(UTF_8))
+            .build();
+        var response = TimeStampResponseData
+            .builder(ResponseStatus.GRANTED, ZonedDateTime.parse("2023-07-09T13:37:00+04:00"), request,
+                "response".getBytes(UTF_8))
+            .build();
+
+        // when
+        TimeStampResponseData savedResponse = testSubject.save(response).await().indefinitely();
+        Optional<byte[]> asnEncoded = testSubject.findAsnEncodedById(savedResponse.getId()).await().indefinitely();
+
+        // then
+        assertThat(savedResponse.getId()).isNotNull();
+        assertThat(asnEncoded).contains("response".getBytes(UTF_8));
+    }
+
+    @Test
+    void findAllAfterCursorFailsWhenCursorIsMalformed() {
+        // given
+        var pageRequest = new CursorPageRequest("not-a-cursor", 1, null, false);
+
+        // when
+        var subscriber = testSubject.findAllAfterCursor(pageRequest)
+            .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // then
+        subscriber.awaitFailure().assertFailedWith(InvalidCursorException.class, "The cursor is malformed.");
+    }
+
+    @Test
+    void operationsArePerformedOnVirtualThreads() {
+        // given
+        var subscribingThread = Thread.currentThread();
+
+        // when
+        Thread operationThread = testSubject.findById(1L)
+            .map(response -> Thread.currentThread())
+            .await().indefinitely();
+
+        // then
+        assertThat(operationThread).isNotSameAs(subscribingThread);
+        assertThat(operationThread.isVirtual()).isTrue();
+    }
+
+}
@@ -0,0 +1,64 @@
+package dev.mieser.tsa.persistence.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import dev.mieser.tsa.persistence.api.SerialNumberBlockRepository;
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class SerialNumberBlockRepositoryImplTest {
+
+    private final SerialNumberBlockRepository testSubject;
+
+    @Inject
+    SerialNumberBlockRepositoryImplTest(SerialNumberBlockRepository testSubject) {
+        this.testSubject = testSubject;
+    }
+
+    @Test
+    void reserveBlockReturnsConsecutiveBlocks() {
+        // given
+        long firstBlockStart = testSubject.reserveBlock(10);
+
+        // when
+        long secondBlockStart = testSubject.reserveBlock(5);
+
+        // then
+        assertThat(secondBlockStart).isEqualTo(firstBlockStart + 10);
+    }
+
+    @Test
+    void reserveBlockReturnsDisjointBlocksWhenReservedConcurrently() throws Exception {
+        // given
+        int blockSize = 10;
+        List<Future<Long>> blockStarts = new ArrayList<>();
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 20; i++) {
+                blockStarts.add(executor.submit(() -> testSubject.reserveBlock(blockSize)));
+            }
+        }
+
+        // then
+        List<Long> sortedBlockStarts = new ArrayList<>();
+        for (Future<Long> blockStart : blockStarts) {
+            sortedBlockStarts.add(blockStart.get());
+        }
+        sortedBlockStarts.sort(null);
+        for (int i = 1; i < sortedBlockStarts.size(); i++) {
+            assertThat(sortedBlockStarts.get(i)).isGreaterThanOrEqualTo(sortedBlockStarts.get(i - 1) + blockSize);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package dev.mieser.tsa.persistence.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import dev.mieser.tsa.domain.ResponseStatus;
+import dev.mieser.tsa.domain.TimeStampRequestData;
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.persistence.api.TimeStampNotificationRepository;
+import dev.mieser.tsa.signing.config.HashAlgorithm;
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class TimeStampNotificationRepositoryImplTest {
+
+    private static final ZonedDateTime APPENDED_AT = ZonedDateTime.parse("2024-01-01T12:00:00Z");
+
+    private final TimeStampNotificationRepository testSubject;
+
+    @Inject
+    TimeStampNotificationRepositoryImplTest(TimeStampNotificationRepository testSubject) {
+        this.testSubject = testSubject;
+    }
+
+    @Test
+    void findIdsAfterReturnsIdsOfNotificationsOfOtherNodes() {
+        // given
+        long latestId = testSubject.findLatestId();
+        long firstId = append("node-a", APPENDED_AT, response(null));
+        long secondId = append("node-b", APPENDED_AT, response(null));
+        long thirdId = append("node-a", APPENDED_AT, response(null));
+
+        // when
+        List<Long> ids = testSubject.findIdsAfter(latestId, "node-b");
+
+        // then
+        assertThat(ids).containsExactly(firstId, thirdId);
+        assertThat(secondId).isGreaterThan(firstId).isLessThan(thirdId);
+    }
+
+    @Test
+    void appendAllReturnsAscendingIdsInOrderOfResponses() {
+        // given
+        long latestId = testSubject.findLatestId();
+
+        // when
+        List<Long> ids = testSubject.appendAll("node-a", APPENDED_AT, List.of(response(null), response(null)));
+
+        // then
+        assertThat(ids).hasSize(2).isSorted();
+        assertThat(testSubject.findIdsAfter(latestId, "node-b")).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void findResponsesReturnsAppendedResponsesWithTheirIds() {
+        // given
+        TimeStampResponseData firstResponse = response(1L);
+        TimeStampResponseData secondResponse = response(null);
+        List<Long> ids = testSubject.appendAll("node-a", APPENDED_AT, List.of(firstResponse, secondResponse));
+
+        // when
+        List<TimeStampResponseData> responses = testSubject.findResponses(ids.reversed());
+
+        // then
+        assertThat(responses).usingRecursiveFieldByFieldElementComparator()
+            .containsExactly(firstResponse, secondResponse);
+    }
+
+    @Test
+    void deleteAppendedBeforeDeletesOlderNotifications() {
+        // given
+        long latestId = testSubject.findLatestId();
+        long expiredId = append("node-a", APPENDED_AT.minusMinutes(1), response(null));
+        long retainedId = append("node-a", APPENDED_AT, response(null));
+
+        // when
+        testSubject.deleteAppendedBefore(APPENDED_AT);
+
+        // then
+        assertThat(testSubject.findIdsAfter(latestId, "node-b"))
+            .contains(retainedId)
+            .doesNotContain(expiredId);
+    }
+
+    private long append(String nodeId, ZonedDateTime appendedAt, TimeStampResponseData response) {
+        return testSubject.appendAll(nodeId, appendedAt, List.of(response)).getFirst();
+    }
+
+    private TimeStampResponseData response(Long id) {
+        var request = TimeStampRequestData
+            .builder(HashAlgorithm.SHA256.getObjectIdentifier(), "sha256".getBytes(UTF_8), "request".getBytes(UTF_8))
+            .build();
+        return TimeStampResponseData
+            .builder(ResponseStatus.GRANTED, ZonedDateTime.parse("2023-07-09T13:37:00+04:00"), request,
+                "response".getBytes(UTF_8))
+            .id(id)
+            .build();
+    }
+
+}
@@ -2,18 +2,35 @@ package dev.mieser.tsa.persistence.impl;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.math.BigInteger;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 import jakarta.inject.Inject;
 
 import org.junit.jupiter.api.Test;
 
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
+import dev.mieser.tsa.domain.InclusionProofStep;
 import dev.mieser.tsa.domain.ResponseStatus;
 import dev.mieser.tsa.domain.TimeStampRequestData;
 import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.domain.TimeStampResponseSummary;
+import dev.mieser.tsa.persistence.api.CursorPage;
+import dev.mieser.tsa.persistence.api.CursorPageRequest;
+import dev.mieser.tsa.persistence.api.ExportRequest;
+import dev.mieser.tsa.persistence.api.PersistenceMode;
+import dev.mieser.tsa.persistence.api.Sort;
+import dev.mieser.tsa.persistence.api.SortDirection;
 import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+import dev.mieser.tsa.persistence.api.exception.InvalidCursorException;
+import dev.mieser.tsa.persistence.impl.entity.TspResponseMetadataEntity;
+import dev.mieser.tsa.persistence.impl.mapper.TspResponseMapperImpl;
 import dev.mieser.tsa.signing.config.HashAlgorithm;
 import io.quarkus.test.TestTransaction;
 import io.quarkus.test.junit.QuarkusTest;
@@ -24,9 +41,20 @@ class TspResponseDataRepositoryImplTest {
 
     private final TspResponseDataRepository testSubject;
 
+    private final TspPanacheRepository tspPanacheRepository;
+
+    private final TspMerkleLeafPanacheRepository tspMerkleLeafPanacheRepository;
+
+    private final TspResponseMetadataPanacheRepository tspResponseMetadataPanacheRepository;
+
     @Inject
-    TspResponseDataRepositoryImplTest(TspResponseDataRepository testSubject) {
+    TspResponseDataRepositoryImplTest(TspResponseDataRepository testSubject, TspPanacheRepository tspPanacheRepository,
+        TspMerkleLeafPanacheRepository tspMerkleLeafPanacheRepository,
+        TspResponseMetadataPanacheRepository tspResponseMetadataPanacheRepository) {
         this.testSubject = testSubject;
+        this.tspPanacheRepository = tspPanacheRepository;
+        this.tspMerkleLeafPanacheRepository = tspMerkleLeafPanacheRepository;
+        this.tspResponseMetadataPanacheRepository = tspResponseMetadataPanacheRepository;
     }
 
     @Test
@@ -55,4 +83,275 @@ class TspResponseDataRepositoryImplTest {
         assertThat(savedResponse.getId()).isNotNull();
     }
 
+    @Test
+    void saveAllAssignsDistinctIds() {
+        // given
+        var request = TimeStampRequestData
+            .builder(HashAlgorithm.SHA256.getObjectIdentifier(), "sha256".getBytes(UTF_8), "request".getBytes(UTF_8))
+            .build();
+        var response = TimeStampResponseData
+            .builder(ResponseStatus.GRANTED, ZonedDateTime.parse("2023-07-09T13:37:00+04:00"), request,
+                "response".getBytes(UTF_8))
+            .build();
+
+        // when
+        List<TimeStampResponseData> savedResponses = testSubject.saveAll(List.of(response, response, response));
+
+        // then
+        assertThat(savedResponses).extracting(TimeStampResponseData::getId)
+            .doesNotContainNull()
+            .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void savedAggregatedLeavesCanBeFoundByResponseIdAndLeafIndex() {
+        // given
+        var request = TimeStampRequestData
+            .builder(HashAlgorithm.SHA256.getObjectIdentifier(), "root".getBytes(UTF_8), "request".getBytes(UTF_8))
+            .build();
+        var response = TimeStampResponseData
+            .builder(ResponseStatus.GRANTED, ZonedDateTime.parse("2023-07-09T13:37:00+04:00"), request,
+                "response".getBytes(UTF_8))
+            .build();
+        var firstLeaf = new AggregatedTimeStampData(response, 0, HashAlgorithm.SHA256.getObjectIdentifier(),
+            "first".getBytes(UTF_8), List.of(new InclusionProofStep("second-hash".getBytes(UTF_8), false)));
+        var secondLeaf = new AggregatedTimeStampData(response, 1, HashAlgorithm.SHA256.getObjectIdentifier(),
+            "second".getBytes(UTF_8), List.of(new InclusionProofStep("first-hash".getBytes(UTF_8), true)));
+
+        // when
+        List<AggregatedTimeStampData> savedLeaves = testSubject.saveAggregated(List.of(firstLeaf, secondLeaf));
+
+        // then
+        long responseId = savedLeaves.get(0).getResponse().getId();
+        assertThat(testSubject.findAggregatedByResponseId(responseId, 1)).get()
+            .usingRecursiveComparison()
+            .isEqualTo(savedLeaves.get(1));
+    }
+
+    @Test
+    void findAllWithCursorReturnsAllResponsesInExpectedOrder() {
+        // given
+        var generationTime = ZonedDateTime.parse("2023-07-09T13:37:00+04:00");
+        var first = testSubject.save(responseGeneratedAt(generationTime));
+        var second = testSubject.save(responseGeneratedAt(null));
+        var third = testSubject.save(responseGeneratedAt(generationTime.plusSeconds(1)));
+        var fourth = testSubject.save(responseGeneratedAt(generationTime));
+        var fifth = testSubject.save(responseGeneratedAt(null));
+
+        // when
+        List<TimeStampResponseSummary> ascending = findAllPages(new Sort(SortDirection.ASC, "generationTime"));
+        List<TimeStampResponseSummary> descending = findAllPages(new Sort(SortDirection.DESC, "generationTime"));
+
+        // then
+        assertThat(ascending).extracting(TimeStampResponseSummary::getId)
+            .containsExactly(second.getId(), fifth.getId(), first.getId(), fourth.getId(), third.getId());
+        assertThat(descending).extracting(TimeStampResponseSummary::getId)
+            .containsExactly(third.getId(), fourth.getId(), first.getId(), fifth.getId(), second.getId());
+    }
+
+    @Test
+    void findAllWithCursorCountsElementsOnlyWhenRequested() {
+        // given
+        testSubject.save(responseGeneratedAt(null));
+
+        // when
+        CursorPage<TimeStampResponseSummary> withoutCount = testSubject
+            .findAllAfterCursor(new CursorPageRequest(null, 10, null, false));
+        CursorPage<TimeStampResponseSummary> withCount = testSubject
+            .findAllAfterCursor(new CursorPageRequest(null, 10, null, true));
+
+        // then
+        assertThat(withoutCount.totalElements()).isNull();
+        assertThat(withCount.totalElements()).isOne();
+        assertThat(withCount.nextCursor()).isNull();
+    }
+
+    @Test
+    void findAllWithCursorThrowsExceptionWhenCursorWasIssuedForDifferentSort() {
+        // given
+        testSubject.save(responseGeneratedAt(null));
+        testSubject.save(responseGeneratedAt(null));
+        String cursor = testSubject.findAllAfterCursor(new CursorPageRequest(null, 1, null, false)).nextCursor();
+        var pageRequest = new CursorPageRequest(cursor, 1, new Sort(SortDirection.DESC, "serialNumber"), false);
+
+        // when / then
+        assertThatExceptionOfType(InvalidCursorException.class)
+            .isThrownBy(() -> testSubject.findAllAfterCursor(pageRequest))
+            .withMessage("The cursor was issued for a different sort.");
+    }
+
+    @Test
+    void findAllWithCursorThrowsExceptionWhenCursorIsMalformed() {
+        // given
+        var pageRequest = new CursorPageRequest("not-a-cursor", 1, null, false);
+
+        // when / then
+        assertThatExceptionOfType(InvalidCursorException.class)
+            .isThrownBy(() -> testSubject.findAllAfterCursor(pageRequest))
+            .withMessage("The cursor is malformed.");
+    }
+
+    @Test
+    void exportAllPassesResponsesReceivedBeforeUpperBoundToConsumer() {
+        // given
+        var receptionTime = ZonedDateTime.parse("2023-07-09T13:37:00+04:00");
+        var expectedResponse = testSubject.save(responseReceivedAt(receptionTime.minusSeconds(1)));
+        testSubject.save(responseReceivedAt(receptionTime));
+        List<TimeStampResponseData> exportedResponses = new ArrayList<>();
+
+        // when
+        testSubject.exportAll(new ExportRequest(null, receptionTime, null), exportedResponses::add);
+
+        // then
+        assertThat(exportedResponses).extracting(TimeStampResponseData::getId)
+            .containsExactly(expectedResponse.getId());
+    }
+
+    @Test
+    void findBySerialNumberReturnsSavedResponse() {
+        // given
+        var savedResponse = testSubject.save(responseWithSerialNumber(BigInteger.valueOf(4711)));
+
+        // when
+        Optional<TimeStampResponseSummary> foundResponse = testSubject.findBySerialNumber(4711);
+
+        // then
+        assertThat(foundResponse).get()
+            .extracting(TimeStampResponseSummary::getId)
+            .isEqualTo(savedResponse.getId());
+    }
+
+    @Test
+    void saveOnlyPersistsMetadataWhenOnlyMetadataIsPersisted() {
+        // given
+        TspResponseDataRepository metadataTestSubject = repositoryPersisting(PersistenceMode.METADATA);
+        var response = responseWithSerialNumber(BigInteger.valueOf(4712));
+
+        // when
+        TimeStampResponseData savedResponse = metadataTestSubject.save(response);
+
+        // then
+        assertThat(savedResponse.getId()).isNotNull();
+        assertThat(savedResponse).usingRecursiveComparison().ignoringFields("id").isEqualTo(response);
+        assertThat(testSubject.findBySerialNumber(4712)).isEmpty();
+        assertThat(metadataTestSubject.findBySerialNumber(4712)).get()
+            .usingRecursiveComparison()
+            .isEqualTo(new TimeStampResponseSummary(savedResponse.getId(), ResponseStatus.GRANTED, null, null,
+                response.getReceptionTime(), null, BigInteger.valueOf(4712), HashAlgorithm.SHA256.getObjectIdentifier(),
+                "sha256".getBytes(UTF_8), null, false, null));
+    }
+
+    @Test
+    void saveAllAssignsDistinctMetadataIdsWhenOnlyMetadataIsPersisted() {
+        // given
+        TspResponseDataRepository metadataTestSubject = repositoryPersisting(PersistenceMode.METADATA);
+        var firstResponse = responseWithSerialNumber(BigInteger.valueOf(4714));
+        var secondResponse = responseWithSerialNumber(BigInteger.valueOf(4715));
+
+        // when
+        List<TimeStampResponseData> savedResponses = metadataTestSubject.saveAll(List.of(firstResponse, secondResponse));
+
+        // then
+        assertThat(savedResponses).extracting(TimeStampResponseData::getSerialNumber)
+            .containsExactly(BigInteger.valueOf(4714), BigInteger.valueOf(4715));
+        assertThat(savedResponses).extracting(TimeStampResponseData::getId)
+            .doesNotContainNull()
+            .doesNotHaveDuplicates()
+            .containsExactly(metadataTestSubject.findBySerialNumber(4714).orElseThrow().getId(),
+                metadataTestSubject.findBySerialNumber(4715).orElseThrow().getId());
+    }
+
+    @Test
+    void saveAggregatedPersistsMetadataOfRootAndLeavesWhenOnlyMetadataIsPersisted() {
+        // given
+        TspResponseDataRepository metadataTestSubject = repositoryPersisting(PersistenceMode.METADATA);
+        var response = responseWithSerialNumber(BigInteger.valueOf(4716));
+        var firstLeaf = new AggregatedTimeStampData(response, 0, HashAlgorithm.SHA256.getObjectIdentifier(),
+            "first".getBytes(UTF_8), List.of(new InclusionProofStep("second-hash".getBytes(UTF_8), false)));
+        var secondLeaf = new AggregatedTimeStampData(response, 1, HashAlgorithm.SHA256.getObjectIdentifier(),
+            "second".getBytes(UTF_8), List.of(new InclusionProofStep("first-hash".getBytes(UTF_8), true)));
+        long metadataCount = tspResponseMetadataPanacheRepository.count();
+
+        // when
+        List<AggregatedTimeStampData> savedLeaves = metadataTestSubject.saveAggregated(List.of(firstLeaf, secondLeaf));
+
+        // then
+        Long rootId = metadataTestSubject.findBySerialNumber(4716).orElseThrow().getId();
+        assertThat(savedLeaves).extracting(leaf -> leaf.getResponse().getId()).containsOnly(rootId);
+        assertThat(savedLeaves).extracting(AggregatedTimeStampData::getMessageImprint)
+            .containsExactly("first".getBytes(UTF_8), "second".getBytes(UTF_8));
+        assertThat(tspResponseMetadataPanacheRepository.count()).isEqualTo(metadataCount + 3);
+        assertThat(tspResponseMetadataPanacheRepository.find("serialNumber = ?1 and leafIndex = ?2", 4716L, 1)
+            .firstResultOptional()).get()
+            .extracting(TspResponseMetadataEntity::getHash)
+            .isEqualTo("second".getBytes(UTF_8));
+    }
+
+    @Test
+    void saveAllDoesNotPersistAnythingWhenPersistenceIsDisabled() {
+        // given
+        TspResponseDataRepository statelessTestSubject = repositoryPersisting(PersistenceMode.NONE);
+        var response = responseWithSerialNumber(BigInteger.valueOf(4713));
+        long responseCount = tspPanacheRepository.count();
+        long metadataCount = tspResponseMetadataPanacheRepository.count();
+
+        // when
+        List<TimeStampResponseData> savedResponses = statelessTestSubject.saveAll(List.of(response));
+
+        // then
+        assertThat(savedResponses).containsExactly(response);
+        assertThat(tspPanacheRepository.count()).isEqualTo(responseCount);
+        assertThat(tspResponseMetadataPanacheRepository.count()).isEqualTo(metadataCount);
+        assertThat(statelessTestSubject.findBySerialNumber(4713)).isEmpty();
+    }
+
+    private TspResponseDataRepository repositoryPersisting(PersistenceMode persistenceMode) {
+        return new TspResponseDataRepositoryImpl(new TspResponseMapperImpl(), tspPanacheRepository,
+            tspMerkleLeafPanacheRepository, tspResponseMetadataPanacheRepository, persistenceMode, 500, Duration.ofHours(1));
+    }
+
+    private List<TimeStampResponseSummary> findAllPages(Sort sort) {
+        List<TimeStampResponseSummary> responses = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TimeStampResponseSummary> page = testSubject
+                .findAllAfterCursor(new CursorPageRequest(cursor, 2, sort, false));
+            responses.addAll(page.content());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        return responses;
+    }
+
+    private TimeStampResponseData responseReceivedAt(ZonedDateTime receptionTime) {
+        var request = TimeStampRequestData
+            .builder(HashAlgorithm.SHA256.getObjectIdentifier(), "sha256".getBytes(UTF_8), "request".getBytes(UTF_8))
+            .build();
+        return TimeStampResponseData
+            .builder(ResponseStatus.GRANTED, receptionTime, request, "response".getBytes(UTF_8))
+            .build();
+    }
+
+    private TimeStampResponseData responseWithSerialNumber(BigInteger serialNumber) {
+        var request = TimeStampRequestData
+            .builder(HashAlgorithm.SHA256.getObjectIdentifier(), "sha256".getBytes(UTF_8), "request".getBytes(UTF_8))
+            .build();
+        return TimeStampResponseData
+            .builder(ResponseStatus.GRANTED, ZonedDateTime.parse("2023-07-09T13:37:00+04:00"), request,
+                "response".getBytes(UTF_8))
+            .serialNumber(serialNumber)
+            .build();
+    }
+
+    private TimeStampResponseData responseGeneratedAt(ZonedDateTime generationTime) {
+        var request = TimeStampRequestData
+            .builder(HashAlgorithm.SHA256.getObjectIdentifier(), "sha256".getBytes(UTF_8), "request".getBytes(UTF_8))
+            .build();
+        return TimeStampResponseData
+            .builder(ResponseStatus.GRANTED, ZonedDateTime.parse("2023-07-09T13:37:00+04:00"), request,
+                "response".getBytes(UTF_8))
+            .generationTime(generationTime)
+            .build();
+    }
+
 }
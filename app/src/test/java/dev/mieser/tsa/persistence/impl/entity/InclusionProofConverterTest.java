@@ -0,0 +1,71 @@
+package dev.mieser.tsa.persistence.impl.entity;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import dev.mieser.tsa.domain.InclusionProofStep;
+
+class InclusionProofConverterTest {
+
+    private final InclusionProofConverter testSubject = new InclusionProofConverter();
+
+    @Nested
+    class ToColumn {
+
+        @Test
+        void returnsNullWhenAttributeIsNull() {
+            assertThat(testSubject.convertToDatabaseColumn(null)).isNull();
+        }
+
+        @Test
+        void returnsEmptyStringWhenProofIsEmpty() {
+            assertThat(testSubject.convertToDatabaseColumn(List.of())).isEmpty();
+        }
+
+        @Test
+        void returnsCommaSeparatedSteps() {
+            // given
+            var steps = List.of(new InclusionProofStep("test".getBytes(US_ASCII), true),
+                new InclusionProofStep("tset".getBytes(US_ASCII), false));
+
+            // when
+            String result = testSubject.convertToDatabaseColumn(steps);
+
+            // then
+            assertThat(result).isEqualTo("LdGVzdA==,RdHNldA==");
+        }
+
+    }
+
+    @Nested
+    class FromColumn {
+
+        @Test
+        void returnsNullWhenColumnIsNull() {
+            assertThat(testSubject.convertToEntityAttribute(null)).isNull();
+        }
+
+        @Test
+        void returnsEmptyListWhenColumnIsEmpty() {
+            assertThat(testSubject.convertToEntityAttribute("")).isEmpty();
+        }
+
+        @Test
+        void returnsExpectedSteps() {
+            // given / when
+            List<InclusionProofStep> result = testSubject.convertToEntityAttribute("LdGVzdA==,RdHNldA==");
+
+            // then
+            assertThat(result).usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(new InclusionProofStep("test".getBytes(US_ASCII), true),
+                    new InclusionProofStep("tset".getBytes(US_ASCII), false));
+        }
+
+    }
+
+}
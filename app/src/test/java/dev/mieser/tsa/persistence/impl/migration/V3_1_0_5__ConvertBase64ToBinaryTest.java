@@ -0,0 +1,74 @@
+package dev.mieser.tsa.persistence.impl.migration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class V3_1_0_5__ConvertBase64ToBinaryTest {
+
+    private static final String JDBC_URL = "jdbc:h2:mem:binary-migration;DB_CLOSE_DELAY=-1";
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = DriverManager.getConnection(JDBC_URL);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+
+        connection.close();
+    }
+
+    @Test
+    void convertsBase64EncodedColumnsToBinaryColumns() throws Exception {
+        // given
+        migrate("3.1.0.4");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO TSP_REQUEST (ID, HASH_ALGORITHM_IDENTIFIER, HASH, ASN_ENCODED) "
+                + "VALUES (1, '2.16.840.1.101.3.4.2.1', 'aGFzaA==', 'cmVxdWVzdA==')");
+            statement.execute("INSERT INTO TSP_RESPONSE (ID, STATUS, REQUEST_ID, ASN_ENCODED) "
+                + "VALUES (2, 'GRANTED', 1, 'cmVzcG9uc2U=')");
+            statement.execute("INSERT INTO TSP_MERKLE_LEAF (ID, RESPONSE_ID, LEAF_INDEX, MESSAGE_IMPRINT, INCLUSION_PROOF) "
+                + "VALUES (3, 2, 0, 'aW1wcmludA==', '')");
+        }
+
+        // when
+        migrate("latest");
+
+        // then
+        try (Statement statement = connection.createStatement();
+            ResultSet row = statement.executeQuery(
+                "SELECT REQ.HASH, REQ.ASN_ENCODED, RES.ASN_ENCODED, LEAF.MESSAGE_IMPRINT FROM TSP_REQUEST REQ "
+                    + "JOIN TSP_RESPONSE RES ON RES.REQUEST_ID = REQ.ID JOIN TSP_MERKLE_LEAF LEAF ON LEAF.RESPONSE_ID = RES.ID")) {
+            assertThat(row.next()).isTrue();
+            assertThat(row.getBytes(1)).isEqualTo("hash".getBytes(UTF_8));
+            assertThat(row.getBytes(2)).isEqualTo("request".getBytes(UTF_8));
+            assertThat(row.getBytes(3)).isEqualTo("response".getBytes(UTF_8));
+            assertThat(row.getBytes(4)).isEqualTo("imprint".getBytes(UTF_8));
+        }
+    }
+
+    private void migrate(String targetVersion) {
+        Flyway.configure()
+            .dataSource(JDBC_URL, null, null)
+            .locations("classpath:db/migration", "classpath:dev/mieser/tsa/persistence/impl/migration")
+            .target(targetVersion)
+            .load()
+            .migrate();
+    }
+
+}
@@ -0,0 +1,83 @@
+package dev.mieser.tsa.persistence.impl.writebehind;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import dev.mieser.tsa.domain.FailureInfo;
+import dev.mieser.tsa.domain.ResponseStatus;
+import dev.mieser.tsa.domain.TimeStampRequestData;
+import dev.mieser.tsa.domain.TimeStampResponseData;
+
+class TimeStampResponseDataCodecTest {
+
+    private final TimeStampResponseDataCodec testSubject = new TimeStampResponseDataCodec();
+
+    @Test
+    void decodeReturnsEncodedResponseWithAllFields() {
+        // given
+        var request = new TimeStampRequestData("2.16.840.1.101.3.4.2.1",
+            "hash".getBytes(UTF_8),
+            BigInteger.TEN,
+            true,
+            "1.2.3",
+            "request".getBytes(UTF_8));
+        var response = new TimeStampResponseData(null,
+            ResponseStatus.REJECTION,
+            "Rejected!",
+            FailureInfo.BAD_ALGORITHM,
+            ZonedDateTime.parse("2023-07-09T13:37:00.123+04:00"),
+            ZonedDateTime.parse("2023-07-09T13:37:01.456+04:00"),
+            BigInteger.valueOf(-42L),
+            request,
+            "response".getBytes(UTF_8));
+
+        // when
+        TimeStampResponseData decodedResponse = testSubject.decode(testSubject.encode(response));
+
+        // then
+        assertThat(decodedResponse).usingRecursiveComparison().isEqualTo(response);
+    }
+
+    @Test
+    void decodeReturnsEncodedResponseWithoutOptionalFields() {
+        // given
+        var request = TimeStampRequestData
+            .builder("2.16.840.1.101.3.4.2.1", "hash".getBytes(UTF_8), "request".getBytes(UTF_8))
+            .build();
+        var response = TimeStampResponseData
+            .builder(ResponseStatus.GRANTED, ZonedDateTime.parse("2023-07-09T13:37:00+04:00"), request,
+                "response".getBytes(UTF_8))
+            .build();
+
+        // when
+        TimeStampResponseData decodedResponse = testSubject.decode(testSubject.encode(response));
+
+        // then
+        assertThat(decodedResponse).usingRecursiveComparison().isEqualTo(response);
+    }
+
+    @Test
+    void decodeReturnsResponseWithSpecifiedId() {
+        // given
+        var request = TimeStampRequestData
+            .builder("2.16.840.1.101.3.4.2.1", "hash".getBytes(UTF_8), "request".getBytes(UTF_8))
+            .build();
+        var response = TimeStampResponseData
+            .builder(ResponseStatus.GRANTED, ZonedDateTime.parse("2023-07-09T13:37:00+04:00"), request,
+                "response".getBytes(UTF_8))
+            .id(42L)
+            .build();
+
+        // when
+        TimeStampResponseData decodedResponse = testSubject.decode(testSubject.encode(response), 42L);
+
+        // then
+        assertThat(decodedResponse).usingRecursiveComparison().isEqualTo(response);
+    }
+
+}
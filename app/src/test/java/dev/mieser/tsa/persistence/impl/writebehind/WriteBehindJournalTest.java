@@ -0,0 +1,84 @@
+package dev.mieser.tsa.persistence.impl.writebehind;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteBehindJournalTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void readAllReturnsAppendedRecordsInOrder() {
+        // given
+        try (var testSubject = new WriteBehindJournal(tempDir.resolve("journal"))) {
+            testSubject.append("first".getBytes(UTF_8));
+            testSubject.append("second".getBytes(UTF_8));
+            testSubject.sync();
+
+            // when
+            List<byte[]> records = testSubject.readAll();
+
+            // then
+            assertThat(records).containsExactly("first".getBytes(UTF_8), "second".getBytes(UTF_8));
+        }
+    }
+
+    @Test
+    void readAllIgnoresIncompleteRecordAtTheEnd() throws Exception {
+        // given
+        Path journalPath = tempDir.resolve("journal");
+        try (var journal = new WriteBehindJournal(journalPath)) {
+            journal.append("complete".getBytes(UTF_8));
+        }
+
+        Files.write(journalPath, new byte[] { 0, 0, 0, 42, 1, 2 }, APPEND);
+
+        // when
+        try (var testSubject = new WriteBehindJournal(journalPath)) {
+            List<byte[]> records = testSubject.readAll();
+
+            // then
+            assertThat(records).containsExactly("complete".getBytes(UTF_8));
+        }
+    }
+
+    @Test
+    void truncateRemovesAllRecords() {
+        // given
+        try (var testSubject = new WriteBehindJournal(tempDir.resolve("journal"))) {
+            testSubject.append("record".getBytes(UTF_8));
+
+            // when
+            testSubject.truncate();
+
+            // then
+            assertThat(testSubject.readAll()).isEmpty();
+            assertThat(testSubject.size()).isZero();
+        }
+    }
+
+    @Test
+    void rewriteReplacesRecordsAndKeepsJournalAppendable() {
+        // given
+        try (var testSubject = new WriteBehindJournal(tempDir.resolve("journal"))) {
+            testSubject.append("persisted".getBytes(UTF_8));
+
+            // when
+            testSubject.rewrite(List.of("pending".getBytes(UTF_8)));
+            testSubject.append("appended".getBytes(UTF_8));
+
+            // then
+            assertThat(testSubject.readAll()).containsExactly("pending".getBytes(UTF_8), "appended".getBytes(UTF_8));
+        }
+    }
+
+}
@@ -0,0 +1,267 @@
+package dev.mieser.tsa.persistence.impl.writebehind;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
+import dev.mieser.tsa.domain.ResponseStatus;
+import dev.mieser.tsa.domain.TimeStampRequestData;
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindTspResponseDataRepositoryTest {
+
+    private static final int QUEUE_CAPACITY = 10;
+
+    private final TimeStampResponseDataCodec codec = new TimeStampResponseDataCodec();
+
+    private final List<TimeStampResponseData> persistedResponses = new CopyOnWriteArrayList<>();
+
+    @Mock
+    private TspResponseDataRepository delegateMock;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void saveReturnsResponseBeforeItIsPersisted() {
+        // given
+        TimeStampResponseData response = response("response");
+
+        // when
+        try (var testSubject = createTestSubject(persistedResponses::addAll)) {
+            TimeStampResponseData savedResponse = testSubject.save(response);
+
+            // then
+            assertThat(savedResponse).isSameAs(response);
+        }
+    }
+
+    @Test
+    void findByIdWaitsUntilPendingResponsesArePersisted(@Mock TimeStampResponseData foundResponseMock) {
+        // given
+        TimeStampResponseData firstResponse = response("first");
+        TimeStampResponseData secondResponse = response("second");
+
+        given(delegateMock.findById(1L)).willReturn(Optional.of(foundResponseMock));
+
+        try (var testSubject = createTestSubject(persistedResponses::addAll)) {
+            testSubject.saveAll(List.of(firstResponse, secondResponse));
+
+            // when
+            Optional<TimeStampResponseData> foundResponse = testSubject.findById(1L);
+
+            // then
+            assertThat(foundResponse).contains(foundResponseMock);
+            assertThat(persistedResponses).containsExactly(firstResponse, secondResponse);
+        }
+    }
+
+    @Test
+    void saveAggregatedWaitsUntilPendingResponsesArePersisted(@Mock AggregatedTimeStampData leafMock) {
+        // given
+        TimeStampResponseData response = response("response");
+
+        given(delegateMock.saveAggregated(anyList())).willAnswer(invocation -> {
+            assertThat(persistedResponses).containsExactly(response);
+            return invocation.getArgument(0);
+        });
+
+        try (var testSubject = createTestSubject(persistedResponses::addAll)) {
+            testSubject.save(response);
+
+            // when
+            List<AggregatedTimeStampData> savedLeaves = testSubject.saveAggregated(List.of(leafMock));
+
+            // then
+            assertThat(savedLeaves).containsExactly(leafMock);
+        }
+    }
+
+    @Test
+    void saveAllPersistsMoreResponsesThanFitIntoTheQueue() throws Exception {
+        // given
+        List<TimeStampResponseData> responses = responses(3 * QUEUE_CAPACITY);
+
+        try (var testSubject = createTestSubject(persistedResponses::addAll);
+            ExecutorService executorService = Executors.newSingleThreadExecutor()) {
+            // when
+            Future<?> saveAll = executorService.submit(() -> testSubject.saveAll(responses));
+            saveAll.get(10, TimeUnit.SECONDS);
+            testSubject.deleteAll();
+
+            // then
+            assertThat(persistedResponses).containsExactlyElementsOf(responses);
+        }
+    }
+
+    @Test
+    void recoveredResponsesArePersistedWhileQueueIsFull() throws Exception {
+        // given
+        Path journalPath = tempDir.resolve("journal");
+        try (var journal = new WriteBehindJournal(journalPath)) {
+            journal.append(codec.encode(response("journaled")));
+        }
+
+        var recoveryStarted = new CountDownLatch(1);
+        var releaseRecovery = new CountDownLatch(1);
+        Consumer<List<TimeStampResponseData>> blockingBatchWriter = batch -> {
+            if (recoveryStarted.getCount() > 0) {
+                recoveryStarted.countDown();
+                awaitUninterruptibly(releaseRecovery);
+            }
+
+            persistedResponses.addAll(batch);
+        };
+
+        List<TimeStampResponseData> responses = responses(QUEUE_CAPACITY + 1);
+        try (var testSubject = createTestSubject(journalPath, blockingBatchWriter);
+            ExecutorService executorService = Executors.newSingleThreadExecutor()) {
+            recoveryStarted.await();
+            Future<?> saveAll = executorService.submit(() -> testSubject.saveAll(responses));
+            while (testSubject.pendingResponseCount() < QUEUE_CAPACITY) {
+                Thread.sleep(10);
+            }
+
+            // when
+            releaseRecovery.countDown();
+            saveAll.get(10, TimeUnit.SECONDS);
+            testSubject.deleteAll();
+
+            // then
+            assertThat(persistedResponses).hasSize(QUEUE_CAPACITY + 2);
+        }
+    }
+
+    @Test
+    void journalIsTruncatedWhenAllResponsesArePersisted() {
+        // given
+        Path journalPath = tempDir.resolve("journal");
+
+        try (var testSubject = createTestSubject(journalPath, persistedResponses::addAll)) {
+            testSubject.save(response("response"));
+
+            // when
+            testSubject.findAll(null);
+        }
+
+        // then
+        try (var journal = new WriteBehindJournal(journalPath)) {
+            assertThat(journal.readAll()).isEmpty();
+        }
+    }
+
+    @Test
+    void persistsRecoveredResponsesOnConstruction() {
+        // given
+        Path journalPath = tempDir.resolve("journal");
+        TimeStampResponseData journaledResponse = response("journaled");
+        try (var journal = new WriteBehindJournal(journalPath)) {
+            journal.append(codec.encode(journaledResponse));
+        }
+
+        // when
+        try (var testSubject = createTestSubject(journalPath, persistedResponses::addAll)) {
+            testSubject.save(response("response"));
+            testSubject.deleteAll();
+        }
+
+        // then
+        assertThat(persistedResponses).hasSize(2)
+            .first().usingRecursiveComparison().isEqualTo(journaledResponse);
+    }
+
+    @Test
+    void retriesFailedBatches() {
+        // given
+        var failedOnce = new AtomicBoolean();
+        Consumer<List<TimeStampResponseData>> failingOnceBatchWriter = batch -> {
+            if (failedOnce.compareAndSet(false, true)) {
+                throw new IllegalStateException("Database unavailable");
+            }
+
+            persistedResponses.addAll(batch);
+        };
+
+        try (var testSubject = createTestSubject(failingOnceBatchWriter)) {
+            testSubject.save(response("response"));
+
+            // when
+            testSubject.deleteAll();
+        }
+
+        // then
+        assertThat(persistedResponses).hasSize(1);
+    }
+
+    @Test
+    void saveThrowsExceptionWhenClosed() {
+        // given
+        var testSubject = createTestSubject(persistedResponses::addAll);
+        testSubject.close();
+
+        // when / then
+        assertThatIllegalStateException()
+            .isThrownBy(() -> testSubject.save(response("response")))
+            .withMessage("Repository has already been closed.");
+    }
+
+    private WriteBehindTspResponseDataRepository createTestSubject(Consumer<List<TimeStampResponseData>> batchWriter) {
+        return createTestSubject(tempDir.resolve("journal"), batchWriter);
+    }
+
+    private WriteBehindTspResponseDataRepository createTestSubject(Path journalPath,
+        Consumer<List<TimeStampResponseData>> batchWriter) {
+        return new WriteBehindTspResponseDataRepository(delegateMock, batchWriter, new WriteBehindJournal(journalPath),
+            codec, true, QUEUE_CAPACITY, 5);
+    }
+
+    private List<TimeStampResponseData> responses(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(index -> response("response-" + index))
+            .toList();
+    }
+
+    private void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TimeStampResponseData response(String asnEncoded) {
+        var request = TimeStampRequestData
+            .builder("2.16.840.1.101.3.4.2.1", "hash".getBytes(UTF_8), "request".getBytes(UTF_8))
+            .build();
+        return TimeStampResponseData
+            .builder(ResponseStatus.GRANTED, ZonedDateTime.parse("2023-07-09T13:37:00+04:00"), request,
+                asnEncoded.getBytes(UTF_8))
+            .build();
+    }
+
+}
@@ -3,22 +3,33 @@ package dev.mieser.tsa.rest;
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
 
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
 import java.time.ZonedDateTime;
 import java.util.Comparator;
+import java.util.List;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Response.Status;
 
-import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import dev.mieser.tsa.domain.ResponseStatus;
 import dev.mieser.tsa.domain.TimeStampRequestData;
 import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.domain.TimeStampResponseSummary;
+import dev.mieser.tsa.persistence.api.CursorPage;
 import dev.mieser.tsa.persistence.api.Page;
 import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+import dev.mieser.tsa.rest.domain.TsaMediaType;
 import dev.mieser.tsa.signing.config.HashAlgorithm;
 import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
@@ -30,9 +41,12 @@ class ResponseHistoryResourceTest {
 
     private final TspResponseDataRepository tspResponseDataRepository;
 
+    private final ObjectMapper objectMapper;
+
     @Inject
-    ResponseHistoryResourceTest(TspResponseDataRepository tspResponseDataRepository) {
+    ResponseHistoryResourceTest(TspResponseDataRepository tspResponseDataRepository, ObjectMapper objectMapper) {
         this.tspResponseDataRepository = tspResponseDataRepository;
+        this.objectMapper = objectMapper;
     }
 
     @AfterEach
@@ -48,6 +62,14 @@ class ResponseHistoryResourceTest {
             .statusCode(Status.NOT_FOUND.getStatusCode());
     }
 
+    @Test
+    void queryLeafByIdReturnsNotFoundWhenLeafDoesNotExist() {
+        given().accept(ContentType.JSON)
+            .get("/history/responses/-1/leaves/0")
+            .then().assertThat()
+            .statusCode(Status.NOT_FOUND.getStatusCode());
+    }
+
     @Test
     void queryById() {
         // given
@@ -76,7 +98,7 @@ class ResponseHistoryResourceTest {
         var thirdLatestResponse = saveGeneratedResponseInNewTransaction(now.plusMinutes(5L));
 
         // when / then
-        Page<TimeStampResponseData> returnedPage = given()
+        Page<TimeStampResponseSummary> returnedPage = given()
             .accept(ContentType.JSON)
             .param("page", 1)
             .param("size", 2)
@@ -91,15 +113,192 @@ class ResponseHistoryResourceTest {
             softly.assertThat(returnedPage.pageNumber()).isEqualTo(1);
             softly.assertThat(returnedPage.size()).isEqualTo(2);
 
-            softly.assertThat(returnedPage.content())
-                .usingRecursiveFieldByFieldElementComparator(RecursiveComparisonConfiguration.builder()
-                    .withComparatorForType(Comparator.comparing(ZonedDateTime::toInstant), ZonedDateTime.class)
-                    .build())
-                .containsSubsequence(latestResponse, secondLatestResponse)
-                .doesNotContain(thirdLatestResponse);
+            softly.assertThat(returnedPage.content()).extracting(TimeStampResponseSummary::getId)
+                .containsSubsequence(latestResponse.getId(), secondLatestResponse.getId())
+                .doesNotContain(thirdLatestResponse.getId());
+        });
+    }
+
+    @Test
+    void queryAllReturnsSummariesWithoutAsnEncodedPayloads() {
+        // given
+        TimeStampResponseData savedResponse = saveGeneratedResponseInNewTransaction(ZonedDateTime.now());
+
+        // when / then
+        given().accept(ContentType.JSON)
+            .get("/history/responses")
+            .then().assertThat()
+            .statusCode(Status.OK.getStatusCode())
+            .body("content[0].id", equalTo(savedResponse.getId().intValue()))
+            .body("content[0].hashAlgorithmIdentifier", equalTo(HashAlgorithm.SHA256.getObjectIdentifier()))
+            .body("content[0]", not(hasKey("asnEncoded")));
+    }
+
+    @Test
+    void queryTokenById() {
+        // given
+        TimeStampResponseData savedResponse = saveGeneratedResponseInNewTransaction(ZonedDateTime.now());
+
+        // when / then
+        byte[] returnedToken = given()
+            .accept(TsaMediaType.TIMESTAMP_REPLY)
+            .get("/history/responses/{id}/token", savedResponse.getId())
+            .then().assertThat()
+            .statusCode(Status.OK.getStatusCode())
+            .contentType(TsaMediaType.TIMESTAMP_REPLY)
+            .extract()
+            .asByteArray();
+
+        assertThat(returnedToken).isEqualTo(savedResponse.getAsnEncoded());
+    }
+
+    @Test
+    void querySummaryBySerialNumber() {
+        // given
+        var request = TimeStampRequestData
+            .builder(HashAlgorithm.SHA256.getObjectIdentifier(), "sha-256".getBytes(), "asn-encoded".getBytes())
+            .build();
+        var response = TimeStampResponseData
+            .builder(ResponseStatus.GRANTED, ZonedDateTime.now(), request, "asn-encoded".getBytes())
+            .serialNumber(BigInteger.valueOf(1337))
+            .build();
+        TimeStampResponseData savedResponse = QuarkusTransaction.requiringNew()
+            .call(() -> tspResponseDataRepository.save(response));
+
+        // when / then
+        given().accept(ContentType.JSON)
+            .get("/history/responses/serial/{serialNumber}", 1337)
+            .then().assertThat()
+            .statusCode(Status.OK.getStatusCode())
+            .body("id", equalTo(savedResponse.getId().intValue()))
+            .body("serialNumber", equalTo(1337))
+            .body("$", not(hasKey("asnEncoded")));
+    }
+
+    @Test
+    void querySummaryBySerialNumberReturnsNotFoundWhenResponseDoesNotExist() {
+        given().accept(ContentType.JSON)
+            .get("/history/responses/serial/-1")
+            .then().assertThat()
+            .statusCode(Status.NOT_FOUND.getStatusCode());
+    }
+
+    @Test
+    void queryTokenByIdReturnsNotFoundWhenResponseDoesNotExist() {
+        given().accept(TsaMediaType.TIMESTAMP_REPLY)
+            .get("/history/responses/-1/token")
+            .then().assertThat()
+            .statusCode(Status.NOT_FOUND.getStatusCode());
+    }
+
+    @Test
+    void queryAllAfterCursorReturnsFollowingPage() {
+        // given
+        var now = ZonedDateTime.now();
+        var latestResponse = saveGeneratedResponseInNewTransaction(now.plusMinutes(15L));
+        var secondLatestResponse = saveGeneratedResponseInNewTransaction(now.plusMinutes(10L));
+        var thirdLatestResponse = saveGeneratedResponseInNewTransaction(now.plusMinutes(5L));
+
+        CursorPage<TimeStampResponseSummary> firstPage = given()
+            .accept(ContentType.JSON)
+            .param("size", 2)
+            .param("sort", "receptionTime,desc")
+            .param("count", true)
+            .get("/history/responses/cursor")
+            .then().assertThat()
+            .statusCode(Status.OK.getStatusCode())
+            .and()
+            .extract().as(new TypeRef<>() {});
+
+        // when / then
+        CursorPage<TimeStampResponseSummary> secondPage = given()
+            .accept(ContentType.JSON)
+            .param("cursor", firstPage.nextCursor())
+            .param("size", 2)
+            .param("sort", "receptionTime,desc")
+            .get("/history/responses/cursor")
+            .then().assertThat()
+            .statusCode(Status.OK.getStatusCode())
+            .and()
+            .extract().as(new TypeRef<>() {});
+
+        assertSoftly(softly -> {
+            softly.assertThat(firstPage.totalElements()).isEqualTo(3L);
+            softly.assertThat(firstPage.content()).extracting(TimeStampResponseSummary::getId)
+                .containsExactly(latestResponse.getId(), secondLatestResponse.getId());
+
+            softly.assertThat(secondPage.totalElements()).isNull();
+            softly.assertThat(secondPage.nextCursor()).isNull();
+            softly.assertThat(secondPage.content()).extracting(TimeStampResponseSummary::getId)
+                .containsExactly(thirdLatestResponse.getId());
         });
     }
 
+    @Test
+    void queryAllAfterCursorReturnsBadRequestWhenCursorIsMalformed() {
+        given().accept(ContentType.JSON)
+            .param("cursor", "not-a-cursor")
+            .get("/history/responses/cursor")
+            .then().assertThat()
+            .statusCode(Status.BAD_REQUEST.getStatusCode());
+    }
+
+    @Test
+    void exportAllReturnsSelectedResponsesAsNdjson() throws Exception {
+        // given
+        var now = ZonedDateTime.now();
+        var tooEarlyResponse = saveGeneratedResponseInNewTransaction(now.minusMinutes(10L));
+        var alreadyExportedResponse = saveGeneratedResponseInNewTransaction(now);
+        var firstExpectedResponse = saveGeneratedResponseInNewTransaction(now.plusMinutes(5L));
+        var secondExpectedResponse = saveGeneratedResponseInNewTransaction(now.plusMinutes(1L));
+
+        // when
+        String exportedLines = given()
+            .accept("application/x-ndjson")
+            .param("receivedFrom", now.minusMinutes(1L).toOffsetDateTime().toString())
+            .param("afterId", alreadyExportedResponse.getId())
+            .get("/history/responses/export")
+            .then().assertThat()
+            .statusCode(Status.OK.getStatusCode())
+            .extract()
+            .asString();
+
+        // then
+        List<TimeStampResponseData> exportedResponses = exportedLines.lines()
+            .map(line -> readJson(line, TimeStampResponseData.class))
+            .toList();
+
+        assertThat(exportedResponses).extracting(TimeStampResponseData::getId)
+            .containsExactly(firstExpectedResponse.getId(), secondExpectedResponse.getId())
+            .doesNotContain(tooEarlyResponse.getId());
+        assertThat(exportedResponses.get(0))
+            .usingComparatorForType(Comparator.comparing(ZonedDateTime::toInstant), ZonedDateTime.class)
+            .usingRecursiveComparison()
+            .isEqualTo(firstExpectedResponse);
+    }
+
+    @Test
+    void exportAsnEncodedReturnsConcatenatedResponses() throws Exception {
+        // given
+        var firstResponse = saveGeneratedResponseInNewTransaction(ZonedDateTime.now());
+        var secondResponse = saveGeneratedResponseInNewTransaction(ZonedDateTime.now());
+
+        // when
+        byte[] exportedResponses = given()
+            .accept(TsaMediaType.TIMESTAMP_REPLY)
+            .get("/history/responses/export")
+            .then().assertThat()
+            .statusCode(Status.OK.getStatusCode())
+            .extract()
+            .asByteArray();
+
+        // then
+        var expectedResponses = new ByteArrayOutputStream();
+        expectedResponses.write(firstResponse.getAsnEncoded());
+        expectedResponses.write(secondResponse.getAsnEncoded());
+        assertThat(exportedResponses).isEqualTo(expectedResponses.toByteArray());
+    }
+
     @Test
     void deleteByIdReturnsNotFoundWhenResponseDoesNotExist() {
         given().accept(ContentType.JSON)
@@ -138,7 +337,7 @@ class ResponseHistoryResourceTest {
             .statusCode(Status.NO_CONTENT.getStatusCode());
 
         // then
-        Page<TimeStampResponseData> returnedPage = given().accept(ContentType.JSON)
+        Page<TimeStampResponseSummary> returnedPage = given().accept(ContentType.JSON)
             .get("/history/responses")
             .then().assertThat()
             .statusCode(Status.OK.getStatusCode())
@@ -149,6 +348,14 @@ class ResponseHistoryResourceTest {
         assertThat(returnedPage.totalElements()).isZero();
     }
 
+    private <T> T readJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private TimeStampResponseData saveGeneratedResponseInNewTransaction(ZonedDateTime receptionTime) {
         var minimalRequest = TimeStampRequestData
             .builder(HashAlgorithm.SHA256.getObjectIdentifier(), "sha-256".getBytes(), "asn-encoded".getBytes())
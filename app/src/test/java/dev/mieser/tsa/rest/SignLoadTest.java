@@ -0,0 +1,253 @@
+package dev.mieser.tsa.rest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.bouncycastle.asn1.ASN1Boolean;
+import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
+import org.bouncycastle.asn1.tsp.MessageImprint;
+import org.bouncycastle.asn1.tsp.TimeStampReq;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
+import dev.mieser.tsa.rest.domain.TsaMediaType;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Signs requests from a large number of concurrent clients in a closed loop: every client opens a connection of its own
+ * and sends its next request as soon as it received the response to the previous one. All clients send a warm-up
+ * request before any client sends its measured requests. Since the requests are handled on virtual threads, the number
+ * of clients is not limited by a worker pool. The latency of every request therefore consists of the time to sign it
+ * plus the time it waits for the requests of the other clients, which is the same for all requests as long as they are
+ * served fairly. The 99th percentile of the latency must not exceed a multiple of the median, so clients which are
+ * starved, e.g. because the carrier threads are blocked, fail the test regardless of the speed of the machine.
+ * <p/>
+ * A virtual thread which blocks inside a {@code synchronized} block or method stays pinned to its carrier thread, so
+ * the carrier threads bound the number of concurrently handled requests. The {@code jdk.VirtualThreadPinned} JFR events
+ * are therefore recorded while the load is applied, and no virtual thread may be pinned for longer than the threshold
+ * of the JDK. Both libraries on the request path avoid pinning: H2 2.2 guards its sessions and the MVStore using
+ * {@link java.util.concurrent.locks.ReentrantLock}s and only synchronizes on the database while opening and closing
+ * sessions, which the connection pool does outside of requests. The signing path of BouncyCastle does not block inside
+ * monitors. Contended monitors of the JDK, e.g. of a shared {@link java.security.SecureRandom}, block the carrier
+ * thread without parking and are not reported by JFR, but are only held for short, CPU bound sections.
+ * <p/>
+ * Not executed as part of the regular test suite. Use the {@code loadTest} Gradle Task to run it. The number of
+ * clients, the measured requests per client and the maximum ratio of the 99th percentile to the median can be
+ * configured using the {@code load-test.connections}, {@code load-test.requests-per-connection} and
+ * {@code load-test.max-p99-to-median-ratio} system properties.
+ */
+@Slf4j
+@Tag("load")
+@QuarkusTest
+@TestProfile(SignLoadTest.LoadTestProfile.class)
+class SignLoadTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("load-test.connections", 1_000);
+
+    private static final int REQUESTS_PER_CONNECTION = Integer.getInteger("load-test.requests-per-connection", 10);
+
+    private static final double MAX_P99_TO_MEDIAN_RATIO = Double
+        .parseDouble(System.getProperty("load-test.max-p99-to-median-ratio", "3"));
+
+    private static final String VIRTUAL_THREAD_PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * The duration a virtual thread has to be pinned for a JFR event to be recorded. Matches the JDK default.
+     */
+    private static final Duration PINNED_THRESHOLD = Duration.ofMillis(20L);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(5L);
+
+    private final TspResponseDataRepository tspResponseDataRepository;
+
+    @TestHTTPResource("/sign")
+    URI signUri;
+
+    @Inject
+    SignLoadTest(TspResponseDataRepository tspResponseDataRepository) {
+        this.tspResponseDataRepository = tspResponseDataRepository;
+    }
+
+    @AfterEach
+    void tearDown() {
+        QuarkusTransaction.requiringNew().run(tspResponseDataRepository::deleteAll);
+    }
+
+    @Test
+    void tailLatencyStaysCloseToMedianWhenClientsWaitForResponses(@TempDir Path recordingDirectory) throws Exception {
+        // given
+        byte[] sha256Digest = MessageDigest.getInstance("SHA-256").digest("load".getBytes(UTF_8));
+        var messageImprint = new MessageImprint(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256), sha256Digest);
+        byte[] asnEncodedRequest = new TimeStampReq(messageImprint, null, null, ASN1Boolean.TRUE, null).getEncoded();
+        HttpRequest request = HttpRequest.newBuilder(signUri)
+            .header("Content-Type", TsaMediaType.TIMESTAMP_QUERY)
+            .header("Accept", TsaMediaType.TIMESTAMP_REPLY)
+            .timeout(REQUEST_TIMEOUT)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(asnEncodedRequest))
+            .build();
+
+        // when
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(CONNECTIONS * REQUESTS_PER_CONNECTION));
+        var warmedUpConnections = new CountDownLatch(CONNECTIONS);
+        Path recordingFile = recordingDirectory.resolve("load-test.jfr");
+        long durationNanos;
+        try (var recording = new Recording()) {
+            recording.enable(VIRTUAL_THREAD_PINNED_EVENT).withThreshold(PINNED_THRESHOLD).withStackTrace();
+            recording.start();
+
+            long startNanos = System.nanoTime();
+            try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> connections = new ArrayList<>(CONNECTIONS);
+                for (int i = 0; i < CONNECTIONS; i++) {
+                    connections.add(executorService.submit(() -> {
+                        // a client of its own per connection, since a shared client multiplexes the requests over a pool
+                        try (HttpClient httpClient = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_1_1)
+                            .build()) {
+                            send(httpClient, request);
+                            warmedUpConnections.countDown();
+                            warmedUpConnections.await();
+                            for (int j = 0; j < REQUESTS_PER_CONNECTION; j++) {
+                                latencies.add(send(httpClient, request));
+                            }
+                        }
+
+                        return null;
+                    }));
+                }
+
+                for (Future<?> connection : connections) {
+                    connection.get();
+                }
+            }
+            durationNanos = System.nanoTime() - startNanos;
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        // then
+        Map<String, Long> percentiles = percentiles(latencies);
+        long requestsPerSecond = latencies.size() * Duration.ofSeconds(1L).toNanos() / durationNanos;
+        log.info("Latency percentiles in milliseconds of {} requests sent by {} concurrent clients at {} requests per "
+            + "second: {}", latencies.size(), CONNECTIONS, requestsPerSecond, percentiles);
+        Map<String, Long> pinnedFrames = pinnedFrames(recordingFile);
+        log.info("Virtual threads pinned for at least {} by topmost frame outside of the JDK: {}", PINNED_THRESHOLD,
+            pinnedFrames);
+
+        assertSoftly(softly -> {
+            softly.assertThat(latencies).hasSize(CONNECTIONS * REQUESTS_PER_CONNECTION);
+            softly.assertThat(pinnedFrames).as("pinned virtual threads").isEmpty();
+            softly.assertThat((double) percentiles.get("p99"))
+                .isLessThanOrEqualTo(MAX_P99_TO_MEDIAN_RATIO * Math.max(percentiles.get("p50"), 1L));
+        });
+    }
+
+    /**
+     * @return The latency of the request in milliseconds.
+     */
+    private long send(HttpClient httpClient, HttpRequest request) throws Exception {
+        long startNanos = System.nanoTime();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        long latency = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        return latency;
+    }
+
+    private Map<String, Long> percentiles(List<Long> latencies) {
+        List<Long> sortedLatencies = latencies.stream().sorted().toList();
+        return Map.of("p50", percentile(sortedLatencies, 0.5),
+            "p99", percentile(sortedLatencies, 0.99),
+            "p99.9", percentile(sortedLatencies, 0.999),
+            "max", sortedLatencies.getLast());
+    }
+
+    private long percentile(List<Long> sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.size()) - 1;
+        return sortedLatencies.get(Math.max(index, 0));
+    }
+
+    /**
+     * @return The number of recorded pinned events by the topmost stack frame which does not belong to the JDK, most
+     * frequent first.
+     */
+    private Map<String, Long> pinnedFrames(Path recordingFile) throws IOException {
+        return RecordingFile.readAllEvents(recordingFile).stream()
+            .filter(event -> event.getEventType().getName().equals(VIRTUAL_THREAD_PINNED_EVENT))
+            .map(this::topmostNonJdkFrame)
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+            .entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (first, second) -> first,
+                LinkedHashMap::new));
+    }
+
+    private String topmostNonJdkFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+
+        return event.getStackTrace().getFrames().stream()
+            .map(RecordedFrame::getMethod)
+            .filter(method -> !method.getType().getName().startsWith("java.")
+                && !method.getType().getName().startsWith("jdk.")
+                && !method.getType().getName().startsWith("sun."))
+            .map(method -> method.getType().getName() + "." + method.getName())
+            .findFirst()
+            .orElse("JDK");
+    }
+
+    /**
+     * Lets requests wait for a signer and a database connection as long as the client does, so no request is rejected on
+     * machines with few processors.
+     */
+    public static class LoadTestProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("tsa.signing.acquire-timeout", "5m",
+                "quarkus.datasource.jdbc.acquisition-timeout", "5m",
+                "quarkus.transaction-manager.default-transaction-timeout", "5m");
+        }
+
+    }
+
+}
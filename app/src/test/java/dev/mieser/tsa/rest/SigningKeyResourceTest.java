@@ -0,0 +1,24 @@
+package dev.mieser.tsa.rest;
+
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+
+@QuarkusTest
+public class SigningKeyResourceTest {
+
+    @Test
+    void reloadReportsUnchangedKeysWhenKeystoreIsReadFromClasspath() {
+        RestAssured.given()
+            .accept(ContentType.JSON)
+            .post("/signing-keys/reload")
+            .then().assertThat()
+            .statusCode(200)
+            .body("changed", equalTo(false));
+    }
+
+}
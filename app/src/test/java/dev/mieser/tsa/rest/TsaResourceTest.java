@@ -4,25 +4,40 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.List;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.MediaType;
 
 import org.bouncycastle.asn1.ASN1Boolean;
+import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.asn1.ASN1Integer;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.cmp.PKIFailureInfo;
+import org.bouncycastle.asn1.cmp.PKIStatus;
 import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
+import org.bouncycastle.asn1.oiw.OIWObjectIdentifiers;
 import org.bouncycastle.asn1.tsp.MessageImprint;
 import org.bouncycastle.asn1.tsp.TimeStampReq;
 import org.bouncycastle.asn1.tsp.TimeStampResp;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.tsp.TimeStampResponse;
+import org.bouncycastle.util.Arrays;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.mieser.tsa.domain.AggregatedTimeStampData;
+import dev.mieser.tsa.domain.BulkValidationResult;
 import dev.mieser.tsa.domain.ResponseStatus;
 import dev.mieser.tsa.domain.TimeStampValidationResult;
 import dev.mieser.tsa.persistence.api.TspResponseDataRepository;
@@ -44,9 +59,12 @@ public class TsaResourceTest {
 
     private final TspResponseDataRepository tspResponseDataRepository;
 
+    private final ObjectMapper objectMapper;
+
     @Inject
-    TsaResourceTest(TspResponseDataRepository tspResponseDataRepository) {
+    TsaResourceTest(TspResponseDataRepository tspResponseDataRepository, ObjectMapper objectMapper) {
         this.tspResponseDataRepository = tspResponseDataRepository;
+        this.objectMapper = objectMapper;
     }
 
     @AfterEach
@@ -94,6 +112,178 @@ public class TsaResourceTest {
                 .statusCode(400);
         }
 
+        @Test
+        void returnsRejectionWhenHashAlgorithmIsNotAccepted() throws Exception {
+            // given
+            byte[] sha1Digest = MessageDigest.getInstance("SHA-1").digest("test".getBytes(UTF_8));
+            var messageImprint = new MessageImprint(new AlgorithmIdentifier(OIWObjectIdentifiers.idSHA1), sha1Digest);
+            byte[] asnEncodedRequest = new TimeStampReq(messageImprint, null, null, ASN1Boolean.TRUE, null).getEncoded();
+
+            // when
+            byte[] asnEncodedResponse = RestAssured.given()
+                .contentType(TsaMediaType.TIMESTAMP_QUERY)
+                .accept(TsaMediaType.TIMESTAMP_REPLY)
+                .body(asnEncodedRequest)
+                .post("/sign")
+                .then().assertThat()
+                .statusCode(200)
+                .extract().asByteArray();
+
+            // then
+            var response = new TimeStampResponse(asnEncodedResponse);
+            assertThat(response.getStatus()).isEqualTo(PKIStatus.REJECTION);
+            assertThat(response.getFailInfo().intValue()).isEqualTo(PKIFailureInfo.badAlg);
+        }
+
+        @Test
+        void exposesSigningMetrics() throws Exception {
+            // given
+            byte[] sha256Digest = MessageDigest.getInstance("SHA-256").digest("test".getBytes(UTF_8));
+            var messageImprint = new MessageImprint(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256), sha256Digest);
+            byte[] asnEncodedRequest = new TimeStampReq(messageImprint, null, null, ASN1Boolean.TRUE, null).getEncoded();
+
+            RestAssured.given()
+                .contentType(TsaMediaType.TIMESTAMP_QUERY)
+                .accept(TsaMediaType.TIMESTAMP_REPLY)
+                .body(asnEncodedRequest)
+                .post("/sign")
+                .then().assertThat()
+                .statusCode(200);
+
+            // when
+            String metrics = RestAssured.given()
+                .get("/q/metrics")
+                .then().assertThat()
+                .statusCode(200)
+                .and().extract().body().asString();
+
+            // then
+            assertThat(metrics).contains("tsa_request_parse_seconds_bucket",
+                "tsa_request_sign_seconds_bucket",
+                "tsa_responses_persist_seconds_bucket",
+                "tsa_listeners_notify_seconds_bucket",
+                "tsa_responses_total{failure_info=\"NONE\",hash_algorithm=\"2.16.840.1.101.3.4.2.1\",status=\"GRANTED\"}",
+                "tsa_signers_available",
+                "agroal_active_count");
+        }
+
+    }
+
+    @Nested
+    class SignBatch {
+
+        @Test
+        void returnsConcatenatedResponsesInRequestOrder() throws Exception {
+            // given
+            var concatenatedRequests = new ByteArrayOutputStream();
+            for (int nonce = 1; nonce <= 3; nonce++) {
+                byte[] sha256Digest = MessageDigest.getInstance("SHA-256").digest("test".getBytes(UTF_8));
+                var messageImprint = new MessageImprint(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256), sha256Digest);
+                concatenatedRequests.write(new TimeStampReq(messageImprint,
+                    null,
+                    new ASN1Integer(nonce),
+                    ASN1Boolean.FALSE,
+                    null).getEncoded());
+            }
+
+            // when
+            byte[] issuedResponses = RestAssured.given()
+                .contentType(TsaMediaType.TIMESTAMP_QUERY)
+                .accept(TsaMediaType.TIMESTAMP_REPLY)
+                .body(concatenatedRequests.toByteArray())
+                .post("/sign/batch")
+                .then().assertThat()
+                .statusCode(200)
+                .and().extract().body().asByteArray();
+
+            // then
+            try (var asnInputStream = new ASN1InputStream(new ByteArrayInputStream(issuedResponses))) {
+                for (int nonce = 1; nonce <= 3; nonce++) {
+                    var response = new TimeStampResponse(TimeStampResp.getInstance(asnInputStream.readObject()));
+                    assertThat(response.getTimeStampToken().getTimeStampInfo().getNonce()).isEqualTo(BigInteger.valueOf(nonce));
+                }
+
+                assertThat(asnInputStream.readObject()).isNull();
+            }
+        }
+
+        @Test
+        void returnsBadRequestWhenOneRequestIsInvalid() {
+            RestAssured.given()
+                .contentType(TsaMediaType.TIMESTAMP_QUERY)
+                .accept(TsaMediaType.TIMESTAMP_REPLY)
+                .body("I'm a TSP request, trust me!".getBytes(UTF_8))
+                .post("/sign/batch")
+                .then().assertThat()
+                .statusCode(400);
+        }
+
+        @Test
+        void returnsBadRequestWhenBatchExceedsMaximumSize() throws Exception {
+            // given
+            byte[] sha256Digest = MessageDigest.getInstance("SHA-256").digest("test".getBytes(UTF_8));
+            var messageImprint = new MessageImprint(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256), sha256Digest);
+            byte[] asnEncodedRequest = new TimeStampReq(messageImprint, null, null, ASN1Boolean.FALSE, null).getEncoded();
+            var concatenatedRequests = new ByteArrayOutputStream();
+            for (int i = 0; i <= 1000; i++) {
+                concatenatedRequests.write(asnEncodedRequest);
+            }
+
+            // when / then
+            RestAssured.given()
+                .contentType(TsaMediaType.TIMESTAMP_QUERY)
+                .accept(TsaMediaType.TIMESTAMP_REPLY)
+                .body(concatenatedRequests.toByteArray())
+                .post("/sign/batch")
+                .then().assertThat()
+                .statusCode(400);
+        }
+
+    }
+
+    @Nested
+    class SignAggregated {
+
+        @Test
+        void returnsSignedRootAndInclusionProof() throws Exception {
+            // given
+            byte[] sha256Digest = MessageDigest.getInstance("SHA-256").digest("test".getBytes(UTF_8));
+            var messageImprint = new MessageImprint(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256), sha256Digest);
+            byte[] asnEncodedRequest = new TimeStampReq(messageImprint, null, null, ASN1Boolean.FALSE, null).getEncoded();
+
+            // when
+            AggregatedTimeStampData aggregatedData = RestAssured.given()
+                .contentType(TsaMediaType.TIMESTAMP_QUERY)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(asnEncodedRequest)
+                .post("/sign/aggregated")
+                .then().assertThat()
+                .statusCode(200)
+                .and().extract().body().as(AggregatedTimeStampData.class);
+
+            // then
+            byte[] expectedRoot = MessageDigest.getInstance("SHA-256")
+                .digest(Arrays.concatenate(new byte[] { 0x00 }, sha256Digest));
+            var timeStampResponse = new TimeStampResponse(aggregatedData.getResponse().getAsnEncoded());
+            assertSoftly(softly -> {
+                softly.assertThat(aggregatedData.getMessageImprint()).isEqualTo(sha256Digest);
+                softly.assertThat(aggregatedData.getInclusionProof()).isEmpty();
+                softly.assertThat(timeStampResponse.getTimeStampToken().getTimeStampInfo().getMessageImprintDigest())
+                    .isEqualTo(expectedRoot);
+            });
+        }
+
+        @Test
+        void returnsBadRequestWhenRequestIsInvalid() {
+            RestAssured.given()
+                .contentType(TsaMediaType.TIMESTAMP_QUERY)
+                .accept(MediaType.APPLICATION_JSON)
+                .body("I'm a TSP request, trust me!".getBytes(UTF_8))
+                .post("/sign/aggregated")
+                .then().assertThat()
+                .statusCode(400);
+        }
+
     }
 
     @Nested
@@ -157,6 +347,91 @@ public class TsaResourceTest {
 
     }
 
+    @Nested
+    class ValidateBulk {
+
+        @Test
+        void returnsResultOfEveryConcatenatedResponse() throws Exception {
+            // given
+            byte[] issuedResponse = issueResponse();
+            var concatenatedResponses = new ByteArrayOutputStream();
+            concatenatedResponses.write(issuedResponse);
+            concatenatedResponses.write(new ASN1Integer(BigInteger.ONE).getEncoded());
+            concatenatedResponses.write(issuedResponse);
+
+            // when
+            List<BulkValidationResult> results = validateBulk(concatenatedResponses.toByteArray());
+
+            // then
+            assertThat(results).extracting(BulkValidationResult::getIndex).containsExactly(0, 1, 2);
+            assertSoftly(softly -> {
+                softly.assertThat(results.get(0).getResult().isSignatureValid()).isTrue();
+                softly.assertThat(results.get(0).getError()).isNull();
+                softly.assertThat(results.get(1).getResult()).isNull();
+                softly.assertThat(results.get(1).getError()).isEqualTo("Could not parse TSP response");
+                softly.assertThat(results.get(2).getResult().isSignatureValid()).isTrue();
+            });
+        }
+
+        @Test
+        void reportsMalformedDataAfterResultsOfPrecedingResponses() throws Exception {
+            // given
+            var concatenatedResponses = new ByteArrayOutputStream();
+            concatenatedResponses.write(issueResponse());
+            concatenatedResponses.write("nonsense".getBytes(UTF_8));
+
+            // when
+            List<BulkValidationResult> results = validateBulk(concatenatedResponses.toByteArray());
+
+            // then
+            assertThat(results).hasSize(2);
+            assertThat(results.get(0).getResult().getStatus()).isEqualTo(ResponseStatus.GRANTED);
+            assertThat(results.get(1).getIndex()).isOne();
+            assertThat(results.get(1).getError()).isEqualTo("The TSP response is truncated.");
+        }
+
+        private byte[] issueResponse() throws Exception {
+            byte[] sha256Digest = MessageDigest.getInstance("SHA-256").digest("test".getBytes(UTF_8));
+            var messageImprint = new MessageImprint(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256), sha256Digest);
+            byte[] asnEncodedRequest = new TimeStampReq(messageImprint, null, null, ASN1Boolean.TRUE, null).getEncoded();
+
+            return RestAssured.given()
+                .contentType(TsaMediaType.TIMESTAMP_QUERY)
+                .accept(TsaMediaType.TIMESTAMP_REPLY)
+                .body(asnEncodedRequest)
+                .post("/sign")
+                .then().assertThat()
+                .statusCode(200)
+                .and().extract().body().asByteArray();
+        }
+
+        private List<BulkValidationResult> validateBulk(byte[] concatenatedResponses) {
+            String resultLines = RestAssured.given()
+                .contentType(TsaMediaType.TIMESTAMP_REPLY)
+                .accept("application/x-ndjson")
+                .body(concatenatedResponses)
+                .put("/validate/bulk")
+                .then().assertThat()
+                .statusCode(200)
+                .extract()
+                .asString();
+
+            return resultLines.lines()
+                .map(this::readResult)
+                .sorted(Comparator.comparingInt(BulkValidationResult::getIndex))
+                .toList();
+        }
+
+        private BulkValidationResult readResult(String json) {
+            try {
+                return objectMapper.readValue(json, BulkValidationResult.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
     @Nested
     class ValidateWithCertificate {
 
@@ -3,24 +3,35 @@ package dev.mieser.tsa.signing.impl;
 import static dev.mieser.tsa.signing.config.HashAlgorithm.*;
 import static dev.mieser.tsa.signing.impl.cert.PublicKeyAlgorithm.*;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
 import static org.junit.jupiter.api.Named.named;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
 import java.security.PublicKey;
 import java.security.cert.X509Certificate;
 import java.sql.Date;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import org.bouncycastle.asn1.ASN1Boolean;
@@ -31,6 +42,10 @@ import org.bouncycastle.asn1.tsp.MessageImprint;
 import org.bouncycastle.asn1.tsp.TimeStampReq;
 import org.bouncycastle.asn1.tsp.TimeStampResp;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.tsp.TSPException;
+import org.bouncycastle.tsp.TimeStampResponse;
+import org.bouncycastle.tsp.TimeStampToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -47,10 +62,13 @@ import dev.mieser.tsa.domain.FailureInfo;
 import dev.mieser.tsa.domain.ResponseStatus;
 import dev.mieser.tsa.domain.TimeStampRequestData;
 import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.signing.api.PreparedSigningKeys;
+import dev.mieser.tsa.signing.api.exception.SignerUnavailableException;
 import dev.mieser.tsa.signing.api.exception.TsaInitializationException;
 import dev.mieser.tsa.signing.api.exception.TsaNotInitializedException;
 import dev.mieser.tsa.signing.config.DigestAlgorithmConverter;
 import dev.mieser.tsa.signing.impl.cert.PublicKeyAlgorithm;
+import dev.mieser.tsa.signing.impl.cert.SigningKey;
 import dev.mieser.tsa.signing.impl.cert.SigningKeystoreLoader;
 import dev.mieser.tsa.signing.impl.mapper.TimeStampResponseMapper;
 import dev.mieser.tsa.signing.impl.serial.SerialNumberGenerator;
@@ -58,6 +76,8 @@ import dev.mieser.tsa.signing.impl.testutil.ConfigurableSigningKeystoreLoader;
 import dev.mieser.tsa.signing.impl.testutil.CurrentDateServiceStub;
 import dev.mieser.tsa.signing.impl.testutil.DelegatingTsaProperties;
 import dev.mieser.tsa.signing.impl.testutil.TsaConfiguration;
+import dev.mieser.tsa.testutil.TestKeyLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class BouncyCastleTimeStampAuthorityTest {
@@ -68,6 +88,8 @@ class BouncyCastleTimeStampAuthorityTest {
 
     private final CurrentDateServiceStub currentDateServiceStub = new CurrentDateServiceStub();
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Mock
     private DateConverter dateConverterMock;
 
@@ -84,7 +106,8 @@ class BouncyCastleTimeStampAuthorityTest {
             currentDateServiceStub,
             serialNumberGeneratorMock,
             new TimeStampResponseMapper(dateConverterMock),
-            new DigestAlgorithmConverter());
+            new DigestAlgorithmConverter(),
+            meterRegistry);
     }
 
     @Nested
@@ -97,7 +120,7 @@ class BouncyCastleTimeStampAuthorityTest {
             var configuration = new TsaConfiguration(EC, SHA512, SHA512, Set.of(), "1.2");
             delegatingTsaProperties.setConfiguration(configuration);
 
-            given(certificateLoaderMock.loadCertificate()).willReturn(certificateMock);
+            given(certificateLoaderMock.loadSigningKeys()).willReturn(List.of(new SigningKey(certificateMock, null)));
             given(certificateMock.getPublicKey()).willReturn(publicKeyMock);
             given(publicKeyMock.getAlgorithm()).willReturn("EdDSA");
 
@@ -107,7 +130,8 @@ class BouncyCastleTimeStampAuthorityTest {
                 currentDateServiceStub,
                 serialNumberGeneratorMock,
                 new TimeStampResponseMapper(dateConverterMock),
-                new DigestAlgorithmConverter());
+                new DigestAlgorithmConverter(),
+                meterRegistry);
 
             // when / then
             assertThatExceptionOfType(TsaInitializationException.class)
@@ -128,6 +152,27 @@ class BouncyCastleTimeStampAuthorityTest {
             assertThatCode(testSubject::initialize).doesNotThrowAnyException();
         }
 
+        @Test
+        void warmUpDoesNotConsumeSerialNumbersOrRecordMetrics() {
+            // given
+            var configuration = new TsaConfiguration(RSA, SHA256, SHA256, Set.of(SHA1, SHA256), "1.2");
+            configurableSigningCertificateLoader.setConfiguration(configuration);
+            delegatingTsaProperties.setConfiguration(configuration);
+            delegatingTsaProperties.setSignerPoolSize(2);
+            delegatingTsaProperties.setSignerWarmUpSignatures(3);
+
+            // when
+            testSubject.initialize();
+
+            // then
+            then(serialNumberGeneratorMock).shouldHaveNoInteractions();
+            assertSoftly(softly -> {
+                softly.assertThat(meterRegistry.get("tsa.request.sign").timer().count()).isZero();
+                softly.assertThat(meterRegistry.find("tsa.responses").counters())
+                    .allSatisfy(counter -> assertThat(counter.count()).isZero());
+            });
+        }
+
         static Stream<Arguments> supportedTsaConfigurations() {
             return Stream.of(
                 // ECDSA
@@ -184,6 +229,41 @@ class BouncyCastleTimeStampAuthorityTest {
             });
         }
 
+        @Test
+        void rejectsRequestWithoutSigningWhenParserDoesNotAcceptHashAlgorithm() throws Exception {
+            // given
+            var sha1Imprint = new MessageImprint(new AlgorithmIdentifier(OIWObjectIdentifiers.idSHA1),
+                "a94a8fe5ccb19ba61c4c0873d391e987982fbbd3".getBytes(UTF_8));
+            var sha1Request = new TimeStampReq(sha1Imprint, null, null, ASN1Boolean.FALSE, null);
+            InputStream tspRequestStream = new ByteArrayInputStream(sha1Request.getEncoded());
+
+            var configuration = new TsaConfiguration(RSA, SHA512, SHA512, Set.of(SHA512), "1.2");
+            delegatingTsaProperties.setConfiguration(configuration);
+            configurableSigningCertificateLoader.setConfiguration(configuration);
+
+            testSubject = new BouncyCastleTimeStampAuthority(delegatingTsaProperties,
+                new TspParser(8192, 1, Set.of(NISTObjectIdentifiers.id_sha512)),
+                configurableSigningCertificateLoader,
+                currentDateServiceStub,
+                serialNumberGeneratorMock,
+                new TimeStampResponseMapper(dateConverterMock),
+                new DigestAlgorithmConverter(),
+                meterRegistry);
+            testSubject.initialize();
+
+            // when
+            TimeStampResponseData response = testSubject.signRequest(tspRequestStream);
+
+            // then
+            assertSoftly(softly -> {
+                softly.assertThat(response.getStatus()).isEqualTo(ResponseStatus.REJECTION);
+                softly.assertThat(response.getFailureInfo()).isEqualTo(FailureInfo.BAD_ALGORITHM);
+                softly.assertThat(response.getStatusString()).isEqualTo("The hash algorithm '1.3.14.3.2.26' is not accepted.");
+                softly.assertThat(response.getSerialNumber()).isNull();
+            });
+            then(serialNumberGeneratorMock).shouldHaveNoInteractions();
+        }
+
         @ParameterizedTest
         @EnumSource
         void signsValidRequest(PublicKeyAlgorithm algorithm) throws Exception {
@@ -233,6 +313,200 @@ class BouncyCastleTimeStampAuthorityTest {
             });
         }
 
+        @Test
+        void registersResponseCountersOfAcceptedHashAlgorithmsOnInitialization() {
+            // given
+            var configuration = new TsaConfiguration(EC, SHA256, SHA256, Set.of(SHA256), "1.2");
+            delegatingTsaProperties.setConfiguration(configuration);
+            configurableSigningCertificateLoader.setConfiguration(configuration);
+
+            // when
+            testSubject.initialize();
+
+            // then
+            assertSoftly(softly -> {
+                softly.assertThat(meterRegistry.find("tsa.responses").tag("hash.algorithm", SHA256.getObjectIdentifier())
+                    .tag("failure.info", "NONE").counters()).hasSize(ResponseStatus.values().length);
+                softly.assertThat(meterRegistry.find("tsa.responses").tag("hash.algorithm", SHA256.getObjectIdentifier())
+                    .tag("status", "REJECTION").counters()).hasSize(FailureInfo.values().length + 1);
+            });
+        }
+
+        @Test
+        void recordsMetricsOfIssuedResponses() throws Exception {
+            // given
+            var configuration = new TsaConfiguration(EC, SHA256, SHA256, Set.of(SHA256), "1.2");
+            delegatingTsaProperties.setConfiguration(configuration);
+            configurableSigningCertificateLoader.setConfiguration(configuration);
+
+            testSubject.initialize();
+
+            // when
+            testSubject.signRequest(new ByteArrayInputStream(sha256Request()));
+
+            // then
+            assertSoftly(softly -> {
+                softly.assertThat(meterRegistry.get("tsa.responses")
+                    .tags("hash.algorithm", SHA256.getObjectIdentifier(), "status", "GRANTED", "failure.info", "NONE")
+                    .counter().count()).isOne();
+                softly.assertThat(meterRegistry.get("tsa.request.parse").timer().count()).isOne();
+                softly.assertThat(meterRegistry.get("tsa.request.sign").timer().count()).isOne();
+            });
+        }
+
+        @Test
+        void distributesRequestsAcrossAllSigningKeys(@Mock SigningKeystoreLoader signingKeystoreLoaderMock) throws Exception {
+            // given
+            X509Certificate rsaCertificate = TestKeyLoader.loadRsaCertificate();
+            X509Certificate ecCertificate = TestKeyLoader.loadEcCertificate();
+            given(signingKeystoreLoaderMock.loadSigningKeys()).willReturn(List.of(
+                new SigningKey(rsaCertificate, TestKeyLoader.loadRsaPrivateKey()),
+                new SigningKey(ecCertificate, TestKeyLoader.loadEcPrivateKey())));
+            delegatingTsaProperties.setConfiguration(new TsaConfiguration(RSA, SHA256, SHA256, Set.of(SHA256), "1.2"));
+            delegatingTsaProperties.setSignerPoolSize(1);
+
+            var testSubject = new BouncyCastleTimeStampAuthority(delegatingTsaProperties,
+                new TspParser(),
+                signingKeystoreLoaderMock,
+                currentDateServiceStub,
+                serialNumberGeneratorMock,
+                new TimeStampResponseMapper(dateConverterMock),
+                new DigestAlgorithmConverter(),
+                meterRegistry);
+            testSubject.initialize();
+
+            // when
+            TimeStampResponseData firstResponse = testSubject.signRequest(new ByteArrayInputStream(sha256Request()));
+            TimeStampResponseData secondResponse = testSubject.signRequest(new ByteArrayInputStream(sha256Request()));
+
+            // then
+            assertThat(Stream.of(firstResponse, secondResponse).map(this::signerCertificate))
+                .containsExactly(new X509CertificateHolder(rsaCertificate.getEncoded()),
+                    new X509CertificateHolder(ecCertificate.getEncoded()));
+        }
+
+        @Test
+        void signsRequestsUsingReloadedSigningKeys(@Mock SigningKeystoreLoader signingKeystoreLoaderMock) throws Exception {
+            // given
+            X509Certificate ecCertificate = TestKeyLoader.loadEcCertificate();
+            given(signingKeystoreLoaderMock.loadSigningKeys()).willReturn(
+                List.of(new SigningKey(TestKeyLoader.loadRsaCertificate(), TestKeyLoader.loadRsaPrivateKey())));
+            given(signingKeystoreLoaderMock.loadReloadedSigningKeys())
+                .willReturn(List.of(new SigningKey(ecCertificate, TestKeyLoader.loadEcPrivateKey())));
+            delegatingTsaProperties.setConfiguration(new TsaConfiguration(RSA, SHA256, SHA256, Set.of(SHA256), "1.2"));
+            delegatingTsaProperties.setSignerPoolSize(1);
+
+            var testSubject = new BouncyCastleTimeStampAuthority(delegatingTsaProperties,
+                new TspParser(),
+                signingKeystoreLoaderMock,
+                currentDateServiceStub,
+                serialNumberGeneratorMock,
+                new TimeStampResponseMapper(dateConverterMock),
+                new DigestAlgorithmConverter(),
+                meterRegistry);
+            testSubject.initialize();
+
+            // when
+            PreparedSigningKeys preparedSigningKeys = testSubject.prepareSigningKeys();
+            TimeStampResponseData responseBeforeActivation = testSubject
+                .signRequest(new ByteArrayInputStream(sha256Request()));
+            preparedSigningKeys.activate();
+            TimeStampResponseData response = testSubject.signRequest(new ByteArrayInputStream(sha256Request()));
+
+            // then
+            var rsaCertificateHolder = new X509CertificateHolder(TestKeyLoader.loadRsaCertificate().getEncoded());
+            var ecCertificateHolder = new X509CertificateHolder(ecCertificate.getEncoded());
+            assertSoftly(softly -> {
+                softly.assertThat(signerCertificate(responseBeforeActivation)).isEqualTo(rsaCertificateHolder);
+                softly.assertThat(signerCertificate(response)).isEqualTo(ecCertificateHolder);
+                softly.assertThat(meterRegistry.get("tsa.signers.available").gauge().value()).isOne();
+            });
+        }
+
+        @Test
+        void prepareSigningKeysThrowsExceptionWhenTsaIsNotInitialized() {
+            // when / then
+            assertThatExceptionOfType(TsaNotInitializedException.class)
+                .isThrownBy(testSubject::prepareSigningKeys);
+        }
+
+        @Test
+        void throwsExceptionWhenNoSignerBecomesAvailableInTime() throws Exception {
+            // given
+            var configuration = new TsaConfiguration(EC, SHA256, SHA256, Set.of(SHA256), "1.2");
+            delegatingTsaProperties.setConfiguration(configuration);
+            delegatingTsaProperties.setSignerPoolSize(1);
+            delegatingTsaProperties.setSignerAcquireTimeout(Duration.ofMillis(50L));
+            configurableSigningCertificateLoader.setConfiguration(configuration);
+
+            testSubject.initialize();
+
+            var signerAcquired = new CountDownLatch(1);
+            var releaseSigner = new CountDownLatch(1);
+            given(serialNumberGeneratorMock.generateSerialNumber()).willAnswer(invocation -> {
+                signerAcquired.countDown();
+                releaseSigner.await();
+                return 1L;
+            });
+
+            byte[] asnEncodedRequest = sha256Request();
+            try (ExecutorService executorService = Executors.newSingleThreadExecutor()) {
+                Future<TimeStampResponseData> blockingResponse = executorService
+                    .submit(() -> testSubject.signRequest(new ByteArrayInputStream(asnEncodedRequest)));
+                signerAcquired.await();
+
+                // when / then
+                assertThatExceptionOfType(SignerUnavailableException.class)
+                    .isThrownBy(() -> testSubject.signRequest(new ByteArrayInputStream(asnEncodedRequest)))
+                    .withMessage("No signer became available within PT0.05S.");
+
+                releaseSigner.countDown();
+                assertThat(blockingResponse.get().getStatus()).isEqualTo(ResponseStatus.GRANTED);
+            }
+        }
+
+        @Test
+        void signsRequestsConcurrently() throws Exception {
+            // given
+            var configuration = new TsaConfiguration(EC, SHA256, SHA256, Set.of(SHA256), "1.2");
+            delegatingTsaProperties.setConfiguration(configuration);
+            delegatingTsaProperties.setSignerPoolSize(2);
+            configurableSigningCertificateLoader.setConfiguration(configuration);
+
+            testSubject.initialize();
+
+            byte[] asnEncodedRequest = sha256Request();
+            List<Callable<TimeStampResponseData>> signingTasks = Collections.nCopies(50,
+                () -> testSubject.signRequest(new ByteArrayInputStream(asnEncodedRequest)));
+
+            // when
+            List<Future<TimeStampResponseData>> responses;
+            try (ExecutorService executorService = Executors.newFixedThreadPool(4)) {
+                responses = executorService.invokeAll(signingTasks);
+            }
+
+            // then
+            for (Future<TimeStampResponseData> response : responses) {
+                assertThat(response.get().getStatus()).isEqualTo(ResponseStatus.GRANTED);
+            }
+        }
+
+        private byte[] sha256Request() throws IOException {
+            byte[] sha256Hash = Base64.getDecoder().decode("n4bQgYhMfWWaL+qgxVrQFaO/TxsrC4Is0V1sFbDwCgg=");
+            var sha256Imprint = new MessageImprint(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256), sha256Hash);
+            return new TimeStampReq(sha256Imprint, null, null, ASN1Boolean.TRUE, null).getEncoded();
+        }
+
+        private X509CertificateHolder signerCertificate(TimeStampResponseData response) {
+            try {
+                TimeStampToken timeStampToken = new TimeStampResponse(response.getAsnEncoded()).getTimeStampToken();
+                return (X509CertificateHolder) timeStampToken.getCertificates().getMatches(timeStampToken.getSID())
+                    .iterator().next();
+            } catch (TSPException | IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
     }
 
 }
@@ -2,12 +2,17 @@ package dev.mieser.tsa.signing.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
 import static org.mockito.BDDMockito.given;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.*;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 
 import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
@@ -24,13 +29,17 @@ import dev.mieser.tsa.domain.TimeStampValidationResult;
 import dev.mieser.tsa.signing.api.exception.InvalidCertificateException;
 import dev.mieser.tsa.signing.api.exception.InvalidTspResponseException;
 import dev.mieser.tsa.signing.api.exception.TsaInitializationException;
+import dev.mieser.tsa.signing.api.exception.TsaNotInitializedException;
 import dev.mieser.tsa.signing.impl.cert.CertificateParser;
+import dev.mieser.tsa.signing.impl.cert.SignerVerifierCache;
 import dev.mieser.tsa.signing.impl.cert.SigningCertificateExtractor;
 import dev.mieser.tsa.signing.impl.cert.SigningCertificateHolder;
+import dev.mieser.tsa.signing.impl.cert.SigningKey;
 import dev.mieser.tsa.signing.impl.cert.SigningKeystoreLoader;
 import dev.mieser.tsa.signing.impl.mapper.TimeStampValidationResultMapper;
 import dev.mieser.tsa.testutil.CertificateGenerator;
 import dev.mieser.tsa.testutil.TestKeyLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class BouncyCastleTimeStampValidatorTest {
@@ -38,13 +47,15 @@ class BouncyCastleTimeStampValidatorTest {
     @Mock
     private SigningKeystoreLoader signingKeystoreLoaderMock;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private BouncyCastleTimeStampValidator testSubject;
 
     @BeforeEach
     void setUp() {
         testSubject = new BouncyCastleTimeStampValidator(new TspParser(), signingKeystoreLoaderMock,
             new TimeStampValidationResultMapper(new DateConverterImpl()), new SigningCertificateExtractor(),
-            new CertificateParser());
+            new CertificateParser(), new SignerVerifierCache(10, Duration.ofHours(1L), meterRegistry), 1, meterRegistry);
     }
 
     @Nested
@@ -53,7 +64,8 @@ class BouncyCastleTimeStampValidatorTest {
         @Test
         void initializeThrowsExceptionWhenUnsupportedPublicKeyAlgorithmIsUsed() throws Exception {
             // given
-            given(signingKeystoreLoaderMock.loadCertificate()).willReturn(CertificateGenerator.createEd25519Certificate());
+            given(signingKeystoreLoaderMock.loadSigningKeys())
+                .willReturn(signingKeys(CertificateGenerator.createEd25519Certificate()));
 
             // when / then
             assertThatExceptionOfType(TsaInitializationException.class)
@@ -66,7 +78,7 @@ class BouncyCastleTimeStampValidatorTest {
             // given
             InputStream invalidResponse = new ByteArrayInputStream("invalid".getBytes());
 
-            given(signingKeystoreLoaderMock.loadCertificate()).willReturn(TestKeyLoader.loadEcCertificate());
+            given(signingKeystoreLoaderMock.loadSigningKeys()).willReturn(signingKeys(TestKeyLoader.loadEcCertificate()));
             testSubject.initialize();
 
             // when / then
@@ -79,7 +91,7 @@ class BouncyCastleTimeStampValidatorTest {
             // given
             InputStream tspResponse = new ByteArrayInputStream(readValidResponse());
 
-            given(signingKeystoreLoaderMock.loadCertificate()).willReturn(TestKeyLoader.loadEcCertificate());
+            given(signingKeystoreLoaderMock.loadSigningKeys()).willReturn(signingKeys(TestKeyLoader.loadEcCertificate()));
             testSubject.initialize();
 
             // when
@@ -98,8 +110,8 @@ class BouncyCastleTimeStampValidatorTest {
                 .map(SigningCertificateHolder::getSigningCertificate)
                 .orElseThrow();
 
-            given(signingKeystoreLoaderMock.loadCertificate())
-                .willReturn(new JcaX509CertificateConverter().getCertificate(matchingCertificate));
+            given(signingKeystoreLoaderMock.loadSigningKeys())
+                .willReturn(signingKeys(new JcaX509CertificateConverter().getCertificate(matchingCertificate)));
             testSubject.initialize();
 
             // when
@@ -110,6 +122,111 @@ class BouncyCastleTimeStampValidatorTest {
             assertThat(actual.isSignatureValid()).isTrue();
         }
 
+        @Test
+        void countsValidationOutcomes() throws Exception {
+            // given
+            InputStream invalidResponse = new ByteArrayInputStream("invalid".getBytes());
+            InputStream tspResponse = new ByteArrayInputStream(readValidResponse());
+
+            given(signingKeystoreLoaderMock.loadSigningKeys()).willReturn(signingKeys(TestKeyLoader.loadEcCertificate()));
+            testSubject.initialize();
+
+            // when
+            assertThatExceptionOfType(InvalidTspResponseException.class)
+                .isThrownBy(() -> testSubject.validateResponse(invalidResponse));
+            testSubject.validateResponse(tspResponse);
+
+            // then
+            assertSoftly(softly -> {
+                softly.assertThat(meterRegistry.get("tsa.validations").tag("outcome", "MALFORMED").counter().count())
+                    .isOne();
+                softly.assertThat(meterRegistry.get("tsa.validations").tag("outcome", "INVALID_SIGNATURE").counter().count())
+                    .isOne();
+            });
+        }
+
+        @Test
+        void registersValidationCounterOfEveryOutcomeUpFront() {
+            // then
+            assertThat(meterRegistry.find("tsa.validations").counters())
+                .extracting(counter -> counter.getId().getTag("outcome"))
+                .containsExactlyInAnyOrder("VALID", "INVALID_SIGNATURE", "UNSIGNED", "MALFORMED");
+        }
+
+        @Test
+        void signatureIsValidWhenResponseIsSignedUsingAnyOfTheSigningKeys() throws Exception {
+            // given
+            InputStream tspResponse = new ByteArrayInputStream(readValidResponse());
+            X509CertificateHolder matchingCertificate = new SigningCertificateExtractor()
+                .extractSigningCertificate(new TimeStampResponse(readValidResponse()))
+                .map(SigningCertificateHolder::getSigningCertificate)
+                .orElseThrow();
+
+            given(signingKeystoreLoaderMock.loadSigningKeys()).willReturn(signingKeys(TestKeyLoader.loadEcCertificate(),
+                new JcaX509CertificateConverter().getCertificate(matchingCertificate)));
+            testSubject.initialize();
+
+            // when
+            TimeStampValidationResult actual = testSubject.validateResponse(tspResponse);
+
+            // then
+            assertThat(actual.isSignatureValid()).isTrue();
+        }
+
+        @Test
+        void signatureIsValidWhenResponseIsSignedUsingSigningKeyWhichWasReplaced() throws Exception {
+            // given
+            InputStream tspResponse = new ByteArrayInputStream(readValidResponse());
+            X509CertificateHolder replacedCertificate = new SigningCertificateExtractor()
+                .extractSigningCertificate(new TimeStampResponse(readValidResponse()))
+                .map(SigningCertificateHolder::getSigningCertificate)
+                .orElseThrow();
+
+            given(signingKeystoreLoaderMock.loadSigningKeys())
+                .willReturn(signingKeys(new JcaX509CertificateConverter().getCertificate(replacedCertificate)));
+            given(signingKeystoreLoaderMock.loadReloadedSigningKeys()).willReturn(signingKeys(TestKeyLoader.loadEcCertificate()));
+            testSubject.initialize();
+            testSubject.prepareSigningKeys().activate();
+
+            // when
+            TimeStampValidationResult actual = testSubject.validateResponse(tspResponse);
+
+            // then
+            assertThat(actual.isSignatureValid()).isTrue();
+        }
+
+        @Test
+        void signatureIsInvalidWhenSigningKeyWasReplacedBeforeMoreRecentlyReplacedKeysThanRetained() throws Exception {
+            // given
+            InputStream tspResponse = new ByteArrayInputStream(readValidResponse());
+            X509CertificateHolder replacedCertificate = new SigningCertificateExtractor()
+                .extractSigningCertificate(new TimeStampResponse(readValidResponse()))
+                .map(SigningCertificateHolder::getSigningCertificate)
+                .orElseThrow();
+
+            given(signingKeystoreLoaderMock.loadSigningKeys())
+                .willReturn(signingKeys(new JcaX509CertificateConverter().getCertificate(replacedCertificate)));
+            given(signingKeystoreLoaderMock.loadReloadedSigningKeys()).willReturn(
+                signingKeys(TestKeyLoader.loadEcCertificate()),
+                signingKeys(TestKeyLoader.loadRsaCertificate()));
+            testSubject.initialize();
+            testSubject.prepareSigningKeys().activate();
+            testSubject.prepareSigningKeys().activate();
+
+            // when
+            TimeStampValidationResult actual = testSubject.validateResponse(tspResponse);
+
+            // then
+            assertThat(actual.isSignatureValid()).isFalse();
+        }
+
+        @Test
+        void prepareSigningKeysThrowsExceptionWhenNotInitialized() {
+            // when / then
+            assertThatExceptionOfType(TsaNotInitializedException.class)
+                .isThrownBy(testSubject::prepareSigningKeys);
+        }
+
     }
 
     @Nested
@@ -180,6 +297,37 @@ class BouncyCastleTimeStampValidatorTest {
             assertThat(actual.isSignatureValid()).isTrue();
         }
 
+        @Test
+        void reusesVerifierOfCertificateWhichWasUsedBefore() throws Exception {
+            // given
+            X509CertificateHolder matchingCertificate = new SigningCertificateExtractor()
+                .extractSigningCertificate(new TimeStampResponse(readValidResponse()))
+                .map(SigningCertificateHolder::getSigningCertificate)
+                .orElseThrow();
+
+            testSubject.validateResponse(new ByteArrayInputStream(readValidResponse()),
+                new ByteArrayInputStream(matchingCertificate.getEncoded()));
+
+            // when
+            TimeStampValidationResult actual = testSubject.validateResponse(new ByteArrayInputStream(readValidResponse()),
+                new ByteArrayInputStream(matchingCertificate.getEncoded()));
+
+            // then
+            assertThat(actual.isSignatureValid()).isTrue();
+            assertSoftly(softly -> {
+                softly.assertThat(meterRegistry.get("tsa.verifier.cache.gets").tag("result", "hit").counter().count())
+                    .isOne();
+                softly.assertThat(meterRegistry.get("tsa.verifier.cache.gets").tag("result", "miss").counter().count())
+                    .isOne();
+            });
+        }
+
+    }
+
+    private List<SigningKey> signingKeys(X509Certificate... certificates) {
+        return Arrays.stream(certificates)
+            .map(certificate -> new SigningKey(certificate, null))
+            .toList();
     }
 
     private byte[] readValidResponse() throws IOException {
@@ -0,0 +1,110 @@
+package dev.mieser.tsa.signing.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import dev.mieser.tsa.signing.api.PreparedSigningKeys;
+import dev.mieser.tsa.signing.api.TimeStampAuthority;
+import dev.mieser.tsa.signing.api.TimeStampValidator;
+import dev.mieser.tsa.signing.api.exception.TsaInitializationException;
+import dev.mieser.tsa.signing.impl.cert.SigningKeystoreLoader;
+
+@ExtendWith(MockitoExtension.class)
+class KeystoreSigningKeyReloaderTest {
+
+    @Mock
+    private SigningKeystoreLoader signingKeystoreLoaderMock;
+
+    @Mock
+    private TimeStampAuthority timeStampAuthorityMock;
+
+    @Mock
+    private TimeStampValidator timeStampValidatorMock;
+
+    private KeystoreSigningKeyReloader testSubject;
+
+    @BeforeEach
+    void setUp() {
+        testSubject = new KeystoreSigningKeyReloader(signingKeystoreLoaderMock, timeStampAuthorityMock,
+            timeStampValidatorMock);
+    }
+
+    @Test
+    void reloadReturnsFalseAndKeepsSignersWhenKeysDidNotChange() {
+        // given
+        given(signingKeystoreLoaderMock.reloadSigningKeys()).willReturn(false);
+
+        // when
+        boolean reloaded = testSubject.reload();
+
+        // then
+        assertThat(reloaded).isFalse();
+        then(timeStampAuthorityMock).shouldHaveNoInteractions();
+        then(timeStampValidatorMock).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void reloadPreparesValidatorAndAuthorityBeforeActivatingKeysAndValidatorFirstWhenKeysChanged(
+        @Mock PreparedSigningKeys preparedVerifiersMock, @Mock PreparedSigningKeys preparedSignersMock) {
+        // given
+        given(signingKeystoreLoaderMock.reloadSigningKeys()).willReturn(true);
+        given(timeStampValidatorMock.prepareSigningKeys()).willReturn(preparedVerifiersMock);
+        given(timeStampAuthorityMock.prepareSigningKeys()).willReturn(preparedSignersMock);
+
+        // when
+        boolean reloaded = testSubject.reload();
+
+        // then
+        assertThat(reloaded).isTrue();
+        var inOrder = inOrder(signingKeystoreLoaderMock, timeStampValidatorMock, timeStampAuthorityMock,
+            preparedVerifiersMock, preparedSignersMock);
+        inOrder.verify(timeStampValidatorMock).prepareSigningKeys();
+        inOrder.verify(timeStampAuthorityMock).prepareSigningKeys();
+        inOrder.verify(signingKeystoreLoaderMock).activateReloadedSigningKeys();
+        inOrder.verify(preparedVerifiersMock).activate();
+        inOrder.verify(preparedSignersMock).activate();
+        then(signingKeystoreLoaderMock).should(never()).discardReloadedSigningKeys();
+    }
+
+    @Test
+    void reloadKeepsPreviousKeysEverywhereWhenAuthorityCannotBePrepared(@Mock PreparedSigningKeys preparedVerifiersMock) {
+        // given
+        var exception = new TsaInitializationException("Could not reload signing keys.", new IllegalStateException());
+        given(signingKeystoreLoaderMock.reloadSigningKeys()).willReturn(true);
+        given(timeStampValidatorMock.prepareSigningKeys()).willReturn(preparedVerifiersMock);
+        given(timeStampAuthorityMock.prepareSigningKeys()).willThrow(exception);
+
+        // when / then
+        assertThatExceptionOfType(TsaInitializationException.class)
+            .isThrownBy(testSubject::reload)
+            .isSameAs(exception);
+        then(preparedVerifiersMock).shouldHaveNoInteractions();
+        then(signingKeystoreLoaderMock).should().discardReloadedSigningKeys();
+        then(signingKeystoreLoaderMock).should(never()).activateReloadedSigningKeys();
+    }
+
+    @Test
+    void reloadThrowsExceptionWhenKeystoreCannotBeRead() {
+        // given
+        var cause = new IllegalStateException("Failed to load PKCS#12 Keystore.");
+        given(signingKeystoreLoaderMock.reloadSigningKeys()).willThrow(cause);
+
+        // when / then
+        assertThatExceptionOfType(TsaInitializationException.class)
+            .isThrownBy(testSubject::reload)
+            .withMessage("Could not read changed signing keys.")
+            .withCause(cause);
+        then(timeStampAuthorityMock).shouldHaveNoInteractions();
+    }
+
+}
@@ -6,14 +6,20 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.math.BigInteger;
+import java.util.List;
+import java.util.Set;
 
 import org.bouncycastle.asn1.ASN1Boolean;
 import org.bouncycastle.asn1.ASN1Integer;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
+import org.bouncycastle.asn1.oiw.OIWObjectIdentifiers;
 import org.bouncycastle.asn1.tsp.MessageImprint;
 import org.bouncycastle.asn1.tsp.TimeStampReq;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
@@ -26,7 +32,12 @@ import dev.mieser.tsa.signing.api.exception.InvalidTspResponseException;
 
 class TspParserTest {
 
-    private final TspParser testSubject = new TspParser();
+    private static final int MAX_REQUEST_LENGTH = 1024;
+
+    private static final int MAX_BATCH_SIZE = 2;
+
+    private final TspParser testSubject = new TspParser(MAX_REQUEST_LENGTH, MAX_BATCH_SIZE,
+        Set.of(NISTObjectIdentifiers.id_sha512));
 
     @Test
     void parseRequestThrowsExceptionWhenRequestCannotBeParsed() {
@@ -46,12 +57,27 @@ class TspParserTest {
         InputStream tspRequestInputStream = new ByteArrayInputStream(timeStampRequest.getEncoded());
 
         // when
-        TimeStampRequest parsedRequest = testSubject.parseRequest(tspRequestInputStream);
+        TimeStampRequest parsedRequest = testSubject.parseRequest(tspRequestInputStream).request();
 
         // then
         assertThat(parsedRequest.getEncoded()).isEqualTo(timeStampRequest.getEncoded());
     }
 
+    @Test
+    void parseRequestReturnsEncodingOfRequest() throws Exception {
+        // given
+        byte[] encodedRequest = createTimeStampRequest().getEncoded();
+        var concatenatedRequests = new ByteArrayOutputStream();
+        concatenatedRequests.write(encodedRequest);
+        concatenatedRequests.write(encodedRequest);
+
+        // when
+        ParsedTspRequest parsedRequest = testSubject.parseRequest(new ByteArrayInputStream(concatenatedRequests.toByteArray()));
+
+        // then
+        assertThat(parsedRequest.asnEncoded()).isEqualTo(encodedRequest);
+    }
+
     @Test
     void parseRequestDoesNotCloseInputStream() throws Exception {
         // given
@@ -66,6 +92,162 @@ class TspParserTest {
         assertThat(tspRequestInputStream.isClosed()).isFalse();
     }
 
+    @Test
+    void parseRequestThrowsExceptionWhenLengthInHeaderExceedsMaximumLength() {
+        // given
+        byte[] requestHeader = { 0x30, (byte) 0x82, 0x04, 0x00 };
+        InputStream tspRequestInputStream = new ByteArrayInputStream(requestHeader);
+
+        // when / then
+        assertThatExceptionOfType(InvalidTspRequestException.class)
+            .isThrownBy(() -> testSubject.parseRequest(tspRequestInputStream))
+            .withMessage("The TSP request exceeds the maximum length of 1024 bytes.");
+    }
+
+    @Test
+    void parseRequestThrowsExceptionWhenLengthIsIndefinite() {
+        // given
+        byte[] requestHeader = { 0x30, (byte) 0x80, 0x00, 0x00 };
+        InputStream tspRequestInputStream = new ByteArrayInputStream(requestHeader);
+
+        // when / then
+        assertThatExceptionOfType(InvalidTspRequestException.class)
+            .isThrownBy(() -> testSubject.parseRequest(tspRequestInputStream))
+            .withMessage("The TSP request is not DER encoded since its length is indefinite.");
+    }
+
+    @Test
+    void parseRequestThrowsExceptionWhenRequestIsTruncated() throws Exception {
+        // given
+        byte[] encodedRequest = createTimeStampRequest().getEncoded();
+        InputStream tspRequestInputStream = new ByteArrayInputStream(encodedRequest, 0, encodedRequest.length - 1);
+
+        // when / then
+        assertThatExceptionOfType(InvalidTspRequestException.class)
+            .isThrownBy(() -> testSubject.parseRequest(tspRequestInputStream))
+            .withMessage("The TSP request is truncated.");
+    }
+
+    @Test
+    void parseRequestMarksRequestWhenHashAlgorithmIsNotAccepted() throws Exception {
+        // given
+        var sha1Imprint = new MessageImprint(new AlgorithmIdentifier(OIWObjectIdentifiers.idSHA1),
+            "a94a8fe5ccb19ba61c4c0873d391e987982fbbd3".getBytes(UTF_8));
+        var sha1Request = new TimeStampReq(sha1Imprint, null, null, ASN1Boolean.FALSE, null);
+        InputStream tspRequestInputStream = new ByteArrayInputStream(sha1Request.getEncoded());
+
+        // when
+        ParsedTspRequest parsedRequest = testSubject.parseRequest(tspRequestInputStream);
+
+        // then
+        assertThat(parsedRequest.hashAlgorithmAccepted()).isFalse();
+        assertThat(parsedRequest.request().getMessageImprintAlgOID()).isEqualTo(OIWObjectIdentifiers.idSHA1);
+    }
+
+    @Test
+    void parseRequestMarksRequestWhenHashAlgorithmIsAccepted() throws Exception {
+        // given
+        InputStream tspRequestInputStream = new ByteArrayInputStream(createTimeStampRequest().getEncoded());
+
+        // when
+        ParsedTspRequest parsedRequest = testSubject.parseRequest(tspRequestInputStream);
+
+        // then
+        assertThat(parsedRequest.hashAlgorithmAccepted()).isTrue();
+    }
+
+    @Test
+    void parseRequestChecksHashAlgorithmOfMessageImprintWithThreeLengthOctets() throws Exception {
+        // given
+        var messageImprint = new MessageImprint(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha512), new byte[70_000]);
+        byte[] encodedRequest = new TimeStampReq(messageImprint, null, null, ASN1Boolean.FALSE, null).getEncoded();
+        var parser = new TspParser(encodedRequest.length, MAX_BATCH_SIZE, Set.of(NISTObjectIdentifiers.id_sha512));
+
+        // when
+        ParsedTspRequest parsedRequest = parser.parseRequest(new ByteArrayInputStream(encodedRequest));
+
+        // then
+        assertThat(encodedRequest[9]).isEqualTo((byte) 0x83);
+        assertThat(parsedRequest.hashAlgorithmAccepted()).isTrue();
+    }
+
+    @Test
+    void parseRequestAcceptsAnyHashAlgorithmWhenNotLimited() throws Exception {
+        // given
+        var sha1Imprint = new MessageImprint(new AlgorithmIdentifier(OIWObjectIdentifiers.idSHA1),
+            "a94a8fe5ccb19ba61c4c0873d391e987982fbbd3".getBytes(UTF_8));
+        byte[] encodedRequest = new TimeStampReq(sha1Imprint, null, null, ASN1Boolean.FALSE, null).getEncoded();
+
+        // when
+        TimeStampRequest parsedRequest = new TspParser().parseRequest(new ByteArrayInputStream(encodedRequest)).request();
+
+        // then
+        assertThat(parsedRequest.getEncoded()).isEqualTo(encodedRequest);
+    }
+
+    @Test
+    void parseRequestReusesBufferOfPreviousRequest() throws Exception {
+        // given
+        byte[] longerRequest = new TimeStampReq(new MessageImprint(
+            new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha512), new byte[64]), null, null, ASN1Boolean.TRUE, null)
+            .getEncoded();
+        byte[] shorterRequest = createTimeStampRequest().getEncoded();
+        testSubject.parseRequest(new ByteArrayInputStream(longerRequest));
+
+        // when
+        ParsedTspRequest parsedRequest = testSubject.parseRequest(new ByteArrayInputStream(shorterRequest));
+
+        // then
+        assertThat(parsedRequest.asnEncoded()).isEqualTo(shorterRequest);
+        assertThat(parsedRequest.request().getEncoded()).isEqualTo(shorterRequest);
+    }
+
+    @Test
+    void parseRequestsReturnsAllConcatenatedRequests() throws Exception {
+        // given
+        byte[] encodedRequest = createTimeStampRequest().getEncoded();
+        var concatenatedRequests = new ByteArrayOutputStream();
+        concatenatedRequests.write(encodedRequest);
+        concatenatedRequests.write(encodedRequest);
+
+        // when
+        List<ParsedTspRequest> parsedRequests = testSubject
+            .parseRequests(new ByteArrayInputStream(concatenatedRequests.toByteArray()));
+
+        // then
+        assertThat(parsedRequests).hasSize(2)
+            .allSatisfy(parsedRequest -> assertThat(parsedRequest.asnEncoded()).isEqualTo(encodedRequest));
+    }
+
+    @Test
+    void parseRequestsThrowsExceptionWhenBatchExceedsMaximumSize() throws Exception {
+        // given
+        byte[] encodedRequest = createTimeStampRequest().getEncoded();
+        var concatenatedRequests = new ByteArrayOutputStream();
+        for (int i = 0; i <= MAX_BATCH_SIZE; i++) {
+            concatenatedRequests.write(encodedRequest);
+        }
+        InputStream tspRequestsInputStream = new ByteArrayInputStream(concatenatedRequests.toByteArray());
+
+        // when / then
+        assertThatExceptionOfType(InvalidTspRequestException.class)
+            .isThrownBy(() -> testSubject.parseRequests(tspRequestsInputStream))
+            .withMessage("The TSP requests exceed the maximum batch size of 2 requests.");
+    }
+
+    @Test
+    void parseRequestsThrowsExceptionWhenOneRequestCannotBeParsed() throws Exception {
+        // given
+        var concatenatedRequests = new ByteArrayOutputStream();
+        concatenatedRequests.write(createTimeStampRequest().getEncoded());
+        concatenatedRequests.write("tsp request".getBytes(UTF_8));
+        InputStream tspRequestsInputStream = new ByteArrayInputStream(concatenatedRequests.toByteArray());
+
+        // when / then
+        assertThatExceptionOfType(InvalidTspRequestException.class)
+            .isThrownBy(() -> testSubject.parseRequests(tspRequestsInputStream));
+    }
+
     @Test
     void parseResponseThrowsExceptionWhenRequestCannotBeParsed() {
         // given
@@ -104,6 +286,80 @@ class TspParserTest {
         assertThat(tspResponseInputStream.isClosed()).isFalse();
     }
 
+    @Test
+    void splitResponsesPassesAllConcatenatedResponsesToConsumer() throws Exception {
+        // given
+        byte[] timeStampResponse = readAsnEncodedTimeStampResponse();
+        var concatenatedResponses = new ByteArrayOutputStream();
+        concatenatedResponses.write(timeStampResponse);
+        concatenatedResponses.write(timeStampResponse);
+        List<byte[]> splitResponses = new ArrayList<>();
+
+        // when
+        testSubject.splitResponses(new ByteArrayInputStream(concatenatedResponses.toByteArray()), splitResponses::add);
+
+        // then
+        assertThat(splitResponses).containsExactly(timeStampResponse, timeStampResponse);
+    }
+
+    @Test
+    void splitResponsesThrowsExceptionAfterPassingPrecedingResponsesToConsumer() throws Exception {
+        // given
+        byte[] timeStampResponse = readAsnEncodedTimeStampResponse();
+        var concatenatedResponses = new ByteArrayOutputStream();
+        concatenatedResponses.write(timeStampResponse);
+        concatenatedResponses.write("tsp response".getBytes(UTF_8));
+        InputStream tspResponsesInputStream = new ByteArrayInputStream(concatenatedResponses.toByteArray());
+        List<byte[]> splitResponses = new ArrayList<>();
+
+        // when / then
+        assertThatExceptionOfType(InvalidTspResponseException.class)
+            .isThrownBy(() -> testSubject.splitResponses(tspResponsesInputStream, splitResponses::add))
+            .withMessage("The TSP response is truncated.");
+        assertThat(splitResponses).containsExactly(timeStampResponse);
+    }
+
+    @Test
+    void splitResponsesPassesEncodingAsReceivedWithoutParsingContents() throws Exception {
+        // given
+        byte[] malformedResponse = { 0x30, 0x03, (byte) 0xFF, 0x00, 0x01 };
+        byte[] timeStampResponse = readAsnEncodedTimeStampResponse();
+        var concatenatedResponses = new ByteArrayOutputStream();
+        concatenatedResponses.write(malformedResponse);
+        concatenatedResponses.write(timeStampResponse);
+        List<byte[]> splitResponses = new ArrayList<>();
+
+        // when
+        testSubject.splitResponses(new ByteArrayInputStream(concatenatedResponses.toByteArray()), splitResponses::add);
+
+        // then
+        assertThat(splitResponses).containsExactly(malformedResponse, timeStampResponse);
+    }
+
+    @Test
+    void splitResponsesThrowsExceptionWhenResponseIsTruncated() throws Exception {
+        // given
+        byte[] timeStampResponse = readAsnEncodedTimeStampResponse();
+        InputStream tspResponsesInputStream = new ByteArrayInputStream(timeStampResponse, 0, timeStampResponse.length - 1);
+
+        // when / then
+        assertThatExceptionOfType(InvalidTspResponseException.class)
+            .isThrownBy(() -> testSubject.splitResponses(tspResponsesInputStream, response -> {}))
+            .withMessage("The TSP response is truncated.");
+    }
+
+    @Test
+    void splitResponsesThrowsExceptionWhenLengthIsIndefinite() {
+        // given
+        byte[] responseHeader = { 0x30, (byte) 0x80, 0x00, 0x00 };
+        InputStream tspResponsesInputStream = new ByteArrayInputStream(responseHeader);
+
+        // when / then
+        assertThatExceptionOfType(InvalidTspResponseException.class)
+            .isThrownBy(() -> testSubject.splitResponses(tspResponsesInputStream, response -> {}))
+            .withMessage("The TSP response is not DER encoded since its length is indefinite.");
+    }
+
     private TimeStampReq createTimeStampRequest() {
         var policyId = new ASN1ObjectIdentifier("1.2.3.4");
         var hashAlgorithmIdentifier = new AlgorithmIdentifier(new ASN1ObjectIdentifier(SHA512.getObjectIdentifier()));
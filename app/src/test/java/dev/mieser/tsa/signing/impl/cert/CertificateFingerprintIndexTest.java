@@ -0,0 +1,170 @@
+package dev.mieser.tsa.signing.impl.cert;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.bouncycastle.asn1.nist.NISTObjectIdentifiers.id_sha256;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+import java.util.List;
+
+import org.apache.commons.codec.binary.Hex;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CertificateFingerprintIndexTest {
+
+    private static final AlgorithmIdentifier SHA256_IDENTIFIER = new AlgorithmIdentifier(id_sha256);
+
+    /**
+     * The SHA-256 hash of the UTF-8 encoded string {@code encoded}.
+     */
+    private static final String SHA256_OF_ENCODED = "766adc67b02bf315b9b5057994bfe6cfbd9354c433f259b29ba415dbe0f7afa5";
+
+    @Test
+    void findThrowsExceptionWhenDigestCalculatorCannotBeConstructed(@Mock X509CertificateHolder certificateMock) {
+        // given
+        var testSubject = new CertificateFingerprintIndex(10);
+        var unsupportedAlgorithm = new AlgorithmIdentifier(new ASN1ObjectIdentifier("1.2.3"));
+
+        // when / then
+        assertThatIllegalStateException()
+            .isThrownBy(() -> testSubject.find(List.of(certificateMock), unsupportedAlgorithm, new byte[0]))
+            .withMessage("Failed to calculate hash.")
+            .withCauseInstanceOf(OperatorCreationException.class);
+    }
+
+    @Test
+    void findReturnsCertificateWhenDigestOfCertificateMatches(@Mock X509CertificateHolder otherCertificateMock,
+        @Mock X509CertificateHolder certificateMock) throws Exception {
+        // given
+        var testSubject = new CertificateFingerprintIndex(10);
+
+        given(otherCertificateMock.getEncoded()).willReturn("other".getBytes(UTF_8));
+        given(certificateMock.getEncoded()).willReturn("encoded".getBytes(UTF_8));
+
+        // when
+        var actual = testSubject.find(List.of(otherCertificateMock, certificateMock), SHA256_IDENTIFIER,
+            Hex.decodeHex(SHA256_OF_ENCODED));
+
+        // then
+        assertThat(actual).containsSame(certificateMock);
+    }
+
+    @Test
+    void findReturnsEmptyOptionalWhenDigestOfCertificateDiffers(@Mock X509CertificateHolder certificateMock) throws Exception {
+        // given
+        var testSubject = new CertificateFingerprintIndex(10);
+        byte[] sha1Hash = Hex.decodeHex("a5645bb67778c147a3b366da521477d254f5c4e8");
+
+        given(certificateMock.getEncoded()).willReturn("encoded".getBytes(UTF_8));
+
+        // when
+        var actual = testSubject.find(List.of(certificateMock), SHA256_IDENTIFIER, sha1Hash);
+
+        // then
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void findDoesNotCalculateDigestOfIndexedCertificateAgain(@Mock X509CertificateHolder certificateMock) throws Exception {
+        // given
+        var testSubject = new CertificateFingerprintIndex(10);
+
+        given(certificateMock.getEncoded()).willReturn("encoded".getBytes(UTF_8));
+        testSubject.find(List.of(certificateMock), SHA256_IDENTIFIER, Hex.decodeHex(SHA256_OF_ENCODED));
+
+        // when
+        var actual = testSubject.find(List.of(certificateMock), SHA256_IDENTIFIER, Hex.decodeHex(SHA256_OF_ENCODED));
+
+        // then
+        assertThat(actual).containsSame(certificateMock);
+        then(certificateMock).should().getEncoded();
+    }
+
+    @Test
+    void findDoesNotIndexMoreCertificatesThanMaximumSize(@Mock X509CertificateHolder firstCertificateMock,
+        @Mock X509CertificateHolder secondCertificateMock) throws Exception {
+        // given
+        var testSubject = new CertificateFingerprintIndex(1);
+
+        given(firstCertificateMock.getEncoded()).willReturn("first".getBytes(UTF_8));
+        given(secondCertificateMock.getEncoded()).willReturn("encoded".getBytes(UTF_8));
+
+        // when
+        var actual = testSubject.find(List.of(firstCertificateMock, secondCertificateMock), SHA256_IDENTIFIER,
+            Hex.decodeHex(SHA256_OF_ENCODED));
+
+        // then
+        assertThat(actual).containsSame(secondCertificateMock);
+        assertThat(testSubject.size()).isOne();
+    }
+
+    @Test
+    void findEvictsLeastRecentlyUsedCertificateWhenMaximumSizeIsReached(@Mock X509CertificateHolder firstCertificateMock,
+        @Mock X509CertificateHolder secondCertificateMock) throws Exception {
+        // given
+        var testSubject = new CertificateFingerprintIndex(1);
+
+        given(firstCertificateMock.getEncoded()).willReturn("encoded".getBytes(UTF_8));
+        given(secondCertificateMock.getEncoded()).willReturn("second".getBytes(UTF_8));
+        testSubject.find(List.of(firstCertificateMock), SHA256_IDENTIFIER, Hex.decodeHex(SHA256_OF_ENCODED));
+        testSubject.find(List.of(secondCertificateMock), SHA256_IDENTIFIER, Hex.decodeHex(SHA256_OF_ENCODED));
+
+        // when
+        var actual = testSubject.find(List.of(firstCertificateMock), SHA256_IDENTIFIER, Hex.decodeHex(SHA256_OF_ENCODED));
+
+        // then
+        assertThat(actual).containsSame(firstCertificateMock);
+        then(firstCertificateMock).should(times(2)).getEncoded();
+    }
+
+    @Test
+    void findDoesNotEvictKnownCertificates(@Mock X509CertificateHolder knownCertificateMock,
+        @Mock X509CertificateHolder firstCertificateMock, @Mock X509CertificateHolder secondCertificateMock) throws Exception {
+        // given
+        var testSubject = new CertificateFingerprintIndex(1);
+
+        given(knownCertificateMock.getEncoded()).willReturn("encoded".getBytes(UTF_8));
+        given(firstCertificateMock.getEncoded()).willReturn("first".getBytes(UTF_8));
+        given(secondCertificateMock.getEncoded()).willReturn("second".getBytes(UTF_8));
+        testSubject.indexKnownCertificates(List.of(knownCertificateMock));
+        testSubject.find(List.of(firstCertificateMock, secondCertificateMock), SHA256_IDENTIFIER, new byte[0]);
+
+        // when
+        var actual = testSubject.find(List.of(firstCertificateMock, knownCertificateMock), SHA256_IDENTIFIER,
+            Hex.decodeHex(SHA256_OF_ENCODED));
+
+        // then
+        assertThat(actual).containsSame(knownCertificateMock);
+        // hashed once with SHA-1 and SHA-256 when indexed
+        then(knownCertificateMock).should(times(2)).getEncoded();
+    }
+
+    @Test
+    void indexKnownCertificatesReplacesPreviousKnownCertificates(@Mock X509CertificateHolder previousCertificateMock,
+        @Mock X509CertificateHolder currentCertificateMock) throws Exception {
+        // given
+        var testSubject = new CertificateFingerprintIndex(10);
+
+        given(previousCertificateMock.getEncoded()).willReturn("encoded".getBytes(UTF_8));
+        given(currentCertificateMock.getEncoded()).willReturn("current".getBytes(UTF_8));
+        testSubject.indexKnownCertificates(List.of(previousCertificateMock));
+
+        // when
+        testSubject.indexKnownCertificates(List.of(currentCertificateMock));
+
+        // then
+        assertThat(testSubject.size()).isEqualTo(2);
+    }
+
+}
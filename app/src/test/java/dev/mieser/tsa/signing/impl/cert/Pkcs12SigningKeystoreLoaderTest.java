@@ -4,17 +4,30 @@ import static org.assertj.core.api.Assertions.*;
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
 import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
 import java.security.PrivateKey;
+import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 import org.bouncycastle.util.io.pem.PemReader;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import dev.mieser.tsa.testutil.TestKeyLoader;
+
 class Pkcs12SigningKeystoreLoaderTest {
 
     private static final char[] NO_PASSWORD = new char[0];
@@ -73,6 +86,207 @@ class Pkcs12SigningKeystoreLoaderTest {
         });
     }
 
+    @Test
+    void loadsAllKeyEntriesOrderedByAlias() throws Exception {
+        // given
+        var keyStore = KeyStore.getInstance("pkcs12");
+        keyStore.load(null, PASSWORD);
+        keyStore.setKeyEntry("second", TestKeyLoader.loadEcPrivateKey(), PASSWORD,
+            new Certificate[] { TestKeyLoader.loadEcCertificate() });
+        keyStore.setKeyEntry("first", TestKeyLoader.loadRsaPrivateKey(), PASSWORD,
+            new Certificate[] { TestKeyLoader.loadRsaCertificate() });
+
+        var keyStoreFile = new File(tempDir, "multiple-keys.p12");
+        try (var outputStream = new FileOutputStream(keyStoreFile)) {
+            keyStore.store(outputStream, PASSWORD);
+        }
+
+        var testSubject = new Pkcs12SigningKeystoreLoader(keyStoreFile.getAbsolutePath(), PASSWORD);
+
+        // when
+        List<SigningKey> actualSigningKeys = testSubject.loadSigningKeys();
+
+        // then
+        assertSoftly(softly -> {
+            softly.assertThat(actualSigningKeys).extracting(SigningKey::certificate)
+                .containsExactly(TestKeyLoader.loadRsaCertificate(), TestKeyLoader.loadEcCertificate());
+            softly.assertThat(actualSigningKeys).extracting(SigningKey::privateKey)
+                .containsExactly(TestKeyLoader.loadRsaPrivateKey(), TestKeyLoader.loadEcPrivateKey());
+            softly.assertThat(testSubject.loadCertificate()).isEqualTo(TestKeyLoader.loadRsaCertificate());
+        });
+    }
+
+    @Test
+    void throwsExceptionWhenPrivateKeyDoesNotMatchCertificate() throws Exception {
+        // given
+        var keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        PrivateKey otherPrivateKey = keyPairGenerator.generateKeyPair().getPrivate();
+
+        var keyStore = KeyStore.getInstance("pkcs12");
+        keyStore.load(null, PASSWORD);
+        keyStore.setKeyEntry("mismatch", otherPrivateKey, PASSWORD,
+            new Certificate[] { TestKeyLoader.loadRsaCertificate() });
+
+        var keyStoreFile = new File(tempDir, "mismatch.p12");
+        try (var outputStream = new FileOutputStream(keyStoreFile)) {
+            keyStore.store(outputStream, PASSWORD);
+        }
+
+        var testSubject = new Pkcs12SigningKeystoreLoader(keyStoreFile.getAbsolutePath(), PASSWORD);
+
+        // when / then
+        assertThatIllegalStateException().isThrownBy(testSubject::loadSigningKeys)
+            .withMessage("Private key of key entry 'mismatch' does not match its certificate.");
+    }
+
+    @Test
+    void loadsKeystoreOnlyOnceWhenKeysAreRequestedConcurrently() throws Exception {
+        // given
+        var testSubject = new Pkcs12SigningKeystoreLoader("classpath:keystore/ec.p12", NO_PASSWORD);
+
+        // when
+        List<List<SigningKey>> loadedSigningKeys;
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            var startLatch = new CountDownLatch(1);
+            List<Future<List<SigningKey>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    return testSubject.loadSigningKeys();
+                }));
+            }
+            startLatch.countDown();
+
+            loadedSigningKeys = new ArrayList<>();
+            for (Future<List<SigningKey>> future : futures) {
+                loadedSigningKeys.add(future.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        // then
+        assertThat(loadedSigningKeys).allSatisfy(signingKeys -> assertThat(signingKeys).isSameAs(loadedSigningKeys.get(0)));
+    }
+
+    @Test
+    void reloadSigningKeysReturnsFalseWhenKeyStoreFileWasNotModified() throws Exception {
+        // given
+        File keyStoreFile = writeKeyStore(TestKeyLoader.loadRsaPrivateKey(), TestKeyLoader.loadRsaCertificate());
+
+        var testSubject = new Pkcs12SigningKeystoreLoader(keyStoreFile.getAbsolutePath(), PASSWORD);
+        testSubject.loadSigningKeys();
+
+        // when
+        boolean reloaded = testSubject.reloadSigningKeys();
+
+        // then
+        assertThat(reloaded).isFalse();
+    }
+
+    @Test
+    void reloadSigningKeysReadsKeyStoreFileAgainWhenItWasModifiedWithoutActivatingChangedKeys() throws Exception {
+        // given
+        File keyStoreFile = writeKeyStore(TestKeyLoader.loadRsaPrivateKey(), TestKeyLoader.loadRsaCertificate());
+
+        var testSubject = new Pkcs12SigningKeystoreLoader(keyStoreFile.getAbsolutePath(), PASSWORD);
+        testSubject.loadSigningKeys();
+
+        writeKeyStore(TestKeyLoader.loadEcPrivateKey(), TestKeyLoader.loadEcCertificate());
+        Files.setLastModifiedTime(keyStoreFile.toPath(),
+            FileTime.from(Files.getLastModifiedTime(keyStoreFile.toPath()).toInstant().plusSeconds(10L)));
+
+        // when
+        boolean reloaded = testSubject.reloadSigningKeys();
+
+        // then
+        assertSoftly(softly -> {
+            softly.assertThat(reloaded).isTrue();
+            softly.assertThat(testSubject.loadReloadedSigningKeys().getFirst().certificate())
+                .isEqualTo(TestKeyLoader.loadEcCertificate());
+            softly.assertThat(testSubject.loadCertificate()).isEqualTo(TestKeyLoader.loadRsaCertificate());
+        });
+    }
+
+    @Test
+    void activateReloadedSigningKeysReplacesLoadedKeys() throws Exception {
+        // given
+        File keyStoreFile = writeKeyStore(TestKeyLoader.loadRsaPrivateKey(), TestKeyLoader.loadRsaCertificate());
+
+        var testSubject = new Pkcs12SigningKeystoreLoader(keyStoreFile.getAbsolutePath(), PASSWORD);
+        testSubject.loadSigningKeys();
+
+        writeKeyStore(TestKeyLoader.loadEcPrivateKey(), TestKeyLoader.loadEcCertificate());
+        Files.setLastModifiedTime(keyStoreFile.toPath(),
+            FileTime.from(Files.getLastModifiedTime(keyStoreFile.toPath()).toInstant().plusSeconds(10L)));
+        testSubject.reloadSigningKeys();
+
+        // when
+        testSubject.activateReloadedSigningKeys();
+
+        // then
+        assertSoftly(softly -> {
+            softly.assertThat(testSubject.loadCertificate()).isEqualTo(TestKeyLoader.loadEcCertificate());
+            softly.assertThat(testSubject.loadReloadedSigningKeys()).isEqualTo(testSubject.loadSigningKeys());
+            softly.assertThat(testSubject.reloadSigningKeys()).isFalse();
+        });
+    }
+
+    @Test
+    void reloadSigningKeysKeepsPreviousKeysWhenModifiedKeyStoreFileCannotBeRead() throws Exception {
+        // given
+        File keyStoreFile = writeKeyStore(TestKeyLoader.loadRsaPrivateKey(), TestKeyLoader.loadRsaCertificate());
+
+        var testSubject = new Pkcs12SigningKeystoreLoader(keyStoreFile.getAbsolutePath(), PASSWORD);
+        testSubject.loadSigningKeys();
+
+        FileUtils.writeByteArrayToFile(keyStoreFile, "invalid".getBytes());
+        Files.setLastModifiedTime(keyStoreFile.toPath(),
+            FileTime.from(Files.getLastModifiedTime(keyStoreFile.toPath()).toInstant().plusSeconds(10L)));
+
+        // when / then
+        assertThatIllegalStateException().isThrownBy(testSubject::reloadSigningKeys);
+        assertThat(testSubject.loadCertificate()).isEqualTo(TestKeyLoader.loadRsaCertificate());
+    }
+
+    @Test
+    void discardReloadedSigningKeysKeepsPreviousKeysAndReadsChangedKeysAgainOnNextReload() throws Exception {
+        // given
+        File keyStoreFile = writeKeyStore(TestKeyLoader.loadRsaPrivateKey(), TestKeyLoader.loadRsaCertificate());
+
+        var testSubject = new Pkcs12SigningKeystoreLoader(keyStoreFile.getAbsolutePath(), PASSWORD);
+        testSubject.loadSigningKeys();
+
+        writeKeyStore(TestKeyLoader.loadEcPrivateKey(), TestKeyLoader.loadEcCertificate());
+        Files.setLastModifiedTime(keyStoreFile.toPath(),
+            FileTime.from(Files.getLastModifiedTime(keyStoreFile.toPath()).toInstant().plusSeconds(10L)));
+        testSubject.reloadSigningKeys();
+
+        // when
+        testSubject.discardReloadedSigningKeys();
+
+        // then
+        assertSoftly(softly -> {
+            softly.assertThat(testSubject.loadReloadedSigningKeys()).isEqualTo(testSubject.loadSigningKeys());
+            softly.assertThat(testSubject.loadCertificate()).isEqualTo(TestKeyLoader.loadRsaCertificate());
+            softly.assertThat(testSubject.reloadSigningKeys()).isTrue();
+            softly.assertThat(testSubject.loadReloadedSigningKeys().getFirst().certificate())
+                .isEqualTo(TestKeyLoader.loadEcCertificate());
+        });
+    }
+
+    @Test
+    void reloadSigningKeysReturnsFalseWhenKeyStoreIsReadFromClasspath() {
+        // given
+        var testSubject = new Pkcs12SigningKeystoreLoader("classpath:keystore/ec.p12", NO_PASSWORD);
+        testSubject.loadSigningKeys();
+
+        // when
+        boolean reloaded = testSubject.reloadSigningKeys();
+
+        // then
+        assertThat(reloaded).isFalse();
+    }
+
     @Test
     void throwsExceptionWhenKeyStoreFileNotFound() {
         // given
@@ -115,6 +329,19 @@ class Pkcs12SigningKeystoreLoaderTest {
         }
     }
 
+    private File writeKeyStore(PrivateKey privateKey, X509Certificate certificate) throws Exception {
+        var keyStore = KeyStore.getInstance("pkcs12");
+        keyStore.load(null, PASSWORD);
+        keyStore.setKeyEntry("key", privateKey, PASSWORD, new Certificate[] { certificate });
+
+        var keyStoreFile = new File(tempDir, "reloaded.p12");
+        try (var outputStream = new FileOutputStream(keyStoreFile)) {
+            keyStore.store(outputStream, PASSWORD);
+        }
+
+        return keyStoreFile;
+    }
+
     private File copyResourceToTempDirectory(String resourcePath) throws IOException {
         var tempFile = new File(tempDir, "file");
         try (var inputStream = getClass().getResourceAsStream(resourcePath);) {
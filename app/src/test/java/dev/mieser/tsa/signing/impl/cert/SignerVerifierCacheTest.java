@@ -0,0 +1,106 @@
+package dev.mieser.tsa.signing.impl.cert;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bouncycastle.cms.SignerInformationVerifier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import dev.mieser.tsa.signing.api.exception.InvalidCertificateException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class SignerVerifierCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    void getReturnsCachedVerifierOfSameCertificate(@Mock SignerInformationVerifier verifierMock) throws Exception {
+        // given
+        var testSubject = new SignerVerifierCache(10, Duration.ofMinutes(1L), meterRegistry, nanoTime::get);
+        var createdVerifiers = new AtomicInteger();
+        SignerVerifierCache.VerifierFactory verifierFactory = encodedCertificate -> {
+            createdVerifiers.incrementAndGet();
+            return verifierMock;
+        };
+
+        // when
+        testSubject.get("certificate".getBytes(UTF_8), verifierFactory);
+        SignerInformationVerifier actual = testSubject.get("certificate".getBytes(UTF_8), verifierFactory);
+
+        // then
+        assertThat(actual).isSameAs(verifierMock);
+        assertSoftly(softly -> {
+            softly.assertThat(createdVerifiers).hasValue(1);
+            softly.assertThat(meterRegistry.get("tsa.verifier.cache.gets").tag("result", "hit").counter().count())
+                .isOne();
+            softly.assertThat(meterRegistry.get("tsa.verifier.cache.gets").tag("result", "miss").counter().count())
+                .isOne();
+        });
+    }
+
+    @Test
+    void getEvictsLeastRecentlyUsedVerifierWhenMaximumSizeIsReached(@Mock SignerInformationVerifier firstVerifierMock,
+        @Mock SignerInformationVerifier secondVerifierMock, @Mock SignerInformationVerifier thirdVerifierMock,
+        @Mock SignerInformationVerifier newFirstVerifierMock) throws Exception {
+        // given
+        var testSubject = new SignerVerifierCache(2, Duration.ofMinutes(1L), meterRegistry, nanoTime::get);
+        testSubject.get("first".getBytes(UTF_8), encodedCertificate -> firstVerifierMock);
+        testSubject.get("second".getBytes(UTF_8), encodedCertificate -> secondVerifierMock);
+        testSubject.get("second".getBytes(UTF_8), encodedCertificate -> secondVerifierMock);
+        testSubject.get("third".getBytes(UTF_8), encodedCertificate -> thirdVerifierMock);
+
+        // when
+        SignerInformationVerifier actual = testSubject.get("first".getBytes(UTF_8),
+            encodedCertificate -> newFirstVerifierMock);
+
+        // then
+        assertThat(actual).isSameAs(newFirstVerifierMock);
+        assertThat(testSubject.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("tsa.verifier.cache.evictions").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void getBuildsNewVerifierWhenCachedVerifierExpired(@Mock SignerInformationVerifier expiredVerifierMock,
+        @Mock SignerInformationVerifier newVerifierMock) throws Exception {
+        // given
+        var testSubject = new SignerVerifierCache(10, Duration.ofMinutes(1L), meterRegistry, nanoTime::get);
+        testSubject.get("certificate".getBytes(UTF_8), encodedCertificate -> expiredVerifierMock);
+        nanoTime.addAndGet(Duration.ofMinutes(1L).toNanos());
+
+        // when
+        SignerInformationVerifier actual = testSubject.get("certificate".getBytes(UTF_8),
+            encodedCertificate -> newVerifierMock);
+
+        // then
+        assertThat(actual).isSameAs(newVerifierMock);
+    }
+
+    @Test
+    void getDoesNotCacheFailures(@Mock SignerInformationVerifier verifierMock) throws Exception {
+        // given
+        var testSubject = new SignerVerifierCache(10, Duration.ofMinutes(1L), meterRegistry, nanoTime::get);
+
+        // when
+        assertThatExceptionOfType(InvalidCertificateException.class)
+            .isThrownBy(() -> testSubject.get("certificate".getBytes(UTF_8), encodedCertificate -> {
+                throw new InvalidCertificateException("Invalid!");
+            }));
+        SignerInformationVerifier actual = testSubject.get("certificate".getBytes(UTF_8), encodedCertificate -> verifierMock);
+
+        // then
+        assertThat(actual).isSameAs(verifierMock);
+    }
+
+}
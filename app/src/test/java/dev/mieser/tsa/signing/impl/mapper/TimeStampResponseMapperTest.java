@@ -7,6 +7,8 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 
 import java.io.IOException;
 import java.math.BigInteger;
@@ -48,12 +50,10 @@ class TimeStampResponseMapperTest {
     void mapThrowsExceptionWhenTspRequestCannotBeConvertedToAsnObject(@Mock TimeStampRequest timeStampRequestMock,
         @Mock TimeStampResponse timeStampResponseMock) throws IOException {
         // given
-        var hashAlgorithmOid = new ASN1ObjectIdentifier(SHA256.getObjectIdentifier());
         Date receptionTime = new Date();
 
         IOException thrownException = new IOException();
 
-        given(timeStampRequestMock.getMessageImprintAlgOID()).willReturn(hashAlgorithmOid);
         given(timeStampRequestMock.getEncoded()).willThrow(thrownException);
 
         // when / then
@@ -144,6 +144,25 @@ class TimeStampResponseMapperTest {
             .build();
 
         assertThat(actualResponseData).isEqualTo(expectedResponseData);
+        then(timeStampTokenMock).should().getTimeStampInfo();
+    }
+
+    @Test
+    void mapRequestUsesEncodingOfReceivedRequest(@Mock TimeStampRequest timeStampRequestMock) throws IOException {
+        // given
+        var hashAlgorithmOid = new ASN1ObjectIdentifier(SHA256.getObjectIdentifier());
+        byte[] requestHash = "sha256".getBytes(UTF_8);
+        byte[] asnEncodedRequest = "TSP request".getBytes(UTF_8);
+
+        given(timeStampRequestMock.getMessageImprintAlgOID()).willReturn(hashAlgorithmOid);
+        given(timeStampRequestMock.getMessageImprintDigest()).willReturn(requestHash);
+
+        // when
+        TimeStampRequestData actualRequestData = testSubject.mapRequest(timeStampRequestMock, asnEncodedRequest);
+
+        // then
+        assertThat(actualRequestData.getAsnEncoded()).isSameAs(asnEncodedRequest);
+        then(timeStampRequestMock).should(never()).getEncoded();
     }
 
     @Test
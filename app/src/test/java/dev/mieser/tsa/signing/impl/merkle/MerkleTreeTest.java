@@ -0,0 +1,92 @@
+package dev.mieser.tsa.signing.impl.merkle;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import dev.mieser.tsa.domain.InclusionProofStep;
+import dev.mieser.tsa.signing.config.HashAlgorithm;
+
+class MerkleTreeTest {
+
+    private static final String SHA256_OID = HashAlgorithm.SHA256.getObjectIdentifier();
+
+    @Test
+    void buildThrowsExceptionWhenNoMessageImprintsAreSpecified() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> MerkleTree.build(SHA256_OID, List.of()))
+            .withMessage("At least one message imprint is required.");
+    }
+
+    @Test
+    void rootOfSingleLeafTreeIsLeafHash() throws Exception {
+        // given
+        byte[] messageImprint = "imprint".getBytes(UTF_8);
+
+        // when
+        MerkleTree merkleTree = MerkleTree.build(SHA256_OID, List.of(messageImprint));
+
+        // then
+        assertThat(merkleTree.root()).isEqualTo(sha256((byte) 0x00, messageImprint));
+        assertThat(merkleTree.inclusionProof(0)).isEmpty();
+    }
+
+    @Test
+    void rootOfTwoLeafTreeIsNodeHashOfLeafHashes() throws Exception {
+        // given
+        byte[] leftImprint = "left".getBytes(UTF_8);
+        byte[] rightImprint = "right".getBytes(UTF_8);
+
+        // when
+        MerkleTree merkleTree = MerkleTree.build(SHA256_OID, List.of(leftImprint, rightImprint));
+
+        // then
+        byte[] leftLeafHash = sha256((byte) 0x00, leftImprint);
+        byte[] rightLeafHash = sha256((byte) 0x00, rightImprint);
+        assertThat(merkleTree.root()).isEqualTo(sha256((byte) 0x01, leftLeafHash, rightLeafHash));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 3, 5, 8, 13 })
+    void inclusionProofOfEachLeafLeadsToRoot(int size) throws Exception {
+        // given
+        List<byte[]> messageImprints = IntStream.range(0, size)
+            .mapToObj(index -> ("imprint-" + index).getBytes(UTF_8))
+            .toList();
+
+        // when
+        MerkleTree merkleTree = MerkleTree.build(SHA256_OID, messageImprints);
+
+        // then
+        assertThat(merkleTree.size()).isEqualTo(size);
+        for (int leafIndex = 0; leafIndex < size; leafIndex++) {
+            byte[] hash = sha256((byte) 0x00, messageImprints.get(leafIndex));
+            for (InclusionProofStep step : merkleTree.inclusionProof(leafIndex)) {
+                hash = step.isSiblingLeft()
+                    ? sha256((byte) 0x01, step.getSiblingHash(), hash)
+                    : sha256((byte) 0x01, hash, step.getSiblingHash());
+            }
+
+            assertThat(hash).isEqualTo(merkleTree.root());
+        }
+    }
+
+    private byte[] sha256(byte prefix, byte[]... values) throws Exception {
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        messageDigest.update(prefix);
+        for (byte[] value : values) {
+            messageDigest.update(value);
+        }
+
+        return messageDigest.digest();
+    }
+
+}
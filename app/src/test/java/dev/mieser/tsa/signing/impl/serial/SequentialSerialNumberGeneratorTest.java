@@ -0,0 +1,75 @@
+package dev.mieser.tsa.signing.impl.serial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class SequentialSerialNumberGeneratorTest {
+
+    @Test
+    void constructorThrowsExceptionWhenBlockSizeIsNotPositive() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new SequentialSerialNumberGenerator(blockSize -> 1L, 0))
+            .withMessage("The block size must be positive.");
+    }
+
+    @Test
+    void generateSerialNumberReturnsSerialNumbersOfReservedBlocks() {
+        // given
+        List<Integer> requestedBlockSizes = new ArrayList<>();
+        var nextBlockStart = new AtomicLong(100L);
+        var testSubject = new SequentialSerialNumberGenerator(blockSize -> {
+            requestedBlockSizes.add(blockSize);
+            return nextBlockStart.getAndAdd(10L);
+        }, 2);
+
+        // when
+        List<Long> serialNumbers = LongStream.range(0, 5)
+            .map(i -> testSubject.generateSerialNumber())
+            .boxed()
+            .toList();
+
+        // then
+        assertThat(serialNumbers).containsExactly(100L, 101L, 110L, 111L, 120L);
+        assertThat(requestedBlockSizes).containsExactly(2, 2, 2);
+    }
+
+    @Test
+    void generateSerialNumberReturnsUniqueSerialNumbersWhenCalledConcurrently() throws Exception {
+        // given
+        var nextBlockStart = new AtomicLong(1L);
+        var testSubject = new SequentialSerialNumberGenerator(blockSize -> nextBlockStart.getAndAdd(blockSize), 7);
+        int threads = 8;
+        int serialNumbersPerThread = 1000;
+
+        // when
+        List<Future<List<Long>>> futures;
+        try (ExecutorService executorService = Executors.newFixedThreadPool(threads)) {
+            Callable<List<Long>> generateSerialNumbers = () -> LongStream.range(0, serialNumbersPerThread)
+                .map(i -> testSubject.generateSerialNumber())
+                .boxed()
+                .toList();
+            futures = executorService.invokeAll(Collections.nCopies(threads, generateSerialNumbers));
+        }
+
+        // then
+        List<Long> allSerialNumbers = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            List<Long> serialNumbers = future.get();
+            assertThat(serialNumbers).isSorted();
+            allSerialNumbers.addAll(serialNumbers);
+        }
+
+        assertThat(allSerialNumbers).hasSize(threads * serialNumbersPerThread)
+            .doesNotHaveDuplicates();
+    }
+
+}
@@ -1,5 +1,7 @@
 package dev.mieser.tsa.signing.impl.testutil;
 
+import java.time.Duration;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -16,6 +18,12 @@ public class DelegatingTsaProperties implements TsaProperties {
 
     private TsaConfiguration configuration;
 
+    private Integer signerPoolSize;
+
+    private Duration signerAcquireTimeout = Duration.ofSeconds(30L);
+
+    private int signerWarmUpSignatures = 1;
+
     @Override
     public HashAlgorithm essCertIdAlgorithm() {
         return configuration.essCertIdAlgorithm();
@@ -33,6 +41,16 @@ public class DelegatingTsaProperties implements TsaProperties {
             .collect(Collectors.toUnmodifiableSet());
     }
 
+    @Override
+    public int maxRequestLength() {
+        return 8192;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return 1000;
+    }
+
     @Override
     public String policyOid() {
         return configuration.policyOid();
@@ -43,4 +61,30 @@ public class DelegatingTsaProperties implements TsaProperties {
         throw new UnsupportedOperationException("Not required for unit testing.");
     }
 
+    @Override
+    public AggregationProperties aggregation() {
+        throw new UnsupportedOperationException("Not required for unit testing.");
+    }
+
+    @Override
+    public SerialNumberProperties serialNumber() {
+        throw new UnsupportedOperationException("Not required for unit testing.");
+    }
+
+    @Override
+    public SigningProperties signing() {
+        OptionalInt poolSize = signerPoolSize != null ? OptionalInt.of(signerPoolSize) : OptionalInt.empty();
+        return new FixedSigningProperties(poolSize, signerAcquireTimeout, signerWarmUpSignatures);
+    }
+
+    @Override
+    public ValidationProperties validation() {
+        throw new UnsupportedOperationException("Not required for unit testing.");
+    }
+
+    private record FixedSigningProperties(OptionalInt poolSize, Duration acquireTimeout,
+        int warmUpSignatures) implements SigningProperties {
+
+    }
+
 }
@@ -1,7 +1,7 @@
 package dev.mieser.tsa.websocket;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import jakarta.websocket.ClientEndpoint;
 import jakarta.websocket.OnMessage;
@@ -18,7 +18,7 @@ import dev.mieser.tsa.domain.TimeStampResponseData;
 @RequiredArgsConstructor
 public class CachingHistoryWebsocketClient {
 
-    private final List<TimeStampResponseData> receivedMessages = new ArrayList<>();
+    private final BlockingQueue<TimeStampResponseData> receivedMessages = new LinkedBlockingQueue<>();
 
     private final ObjectMapper objectMapper;
 
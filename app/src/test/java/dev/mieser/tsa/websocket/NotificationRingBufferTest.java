@@ -0,0 +1,124 @@
+package dev.mieser.tsa.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import dev.mieser.tsa.domain.TimeStampResponseData;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRingBufferTest {
+
+    @Mock
+    private Function<TimeStampResponseData, String> serializerMock;
+
+    @Mock
+    private TimeStampResponseData firstResponseMock;
+
+    @Mock
+    private TimeStampResponseData secondResponseMock;
+
+    private NotificationRingBuffer testSubject;
+
+    @BeforeEach
+    void setUp() {
+        testSubject = new NotificationRingBuffer(4, serializerMock);
+    }
+
+    @Test
+    void constructorThrowsExceptionWhenCapacityIsNotPowerOfTwo() {
+        // given / when / then
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new NotificationRingBuffer(3, serializerMock))
+            .withMessage("Capacity must be a power of two, got 3.");
+    }
+
+    @Test
+    void readReturnsNullWhenNotificationIsNotPublished() {
+        // given
+        testSubject.publish(firstResponseMock);
+
+        // when
+        NotificationRingBuffer.Notification notification = testSubject.read(1);
+
+        // then
+        assertThat(notification).isNull();
+    }
+
+    @Test
+    void readReturnsPublishedNotification() {
+        // given
+        testSubject.publish(firstResponseMock);
+        testSubject.publish(secondResponseMock);
+
+        // when
+        NotificationRingBuffer.Notification notification = testSubject.read(1);
+
+        // then
+        assertThat(notification.sequence()).isOne();
+        assertThat(notification.response()).isSameAs(secondResponseMock);
+    }
+
+    @Test
+    void readReturnsOldestRetainedNotificationWhenNotificationWasOverwritten() {
+        // given
+        for (int i = 0; i < 6; i++) {
+            testSubject.publish(i == 2 ? secondResponseMock : firstResponseMock);
+        }
+
+        // when
+        NotificationRingBuffer.Notification notification = testSubject.read(0);
+
+        // then
+        assertThat(notification.sequence()).isEqualTo(2);
+        assertThat(notification.response()).isSameAs(secondResponseMock);
+    }
+
+    @Test
+    void nextSequenceReturnsSequenceOfNextPublishedNotification() {
+        // given
+        testSubject.publish(firstResponseMock);
+
+        // when
+        long nextSequence = testSubject.nextSequence();
+
+        // then
+        assertThat(nextSequence).isOne();
+    }
+
+    @Test
+    void jsonSerializesResponseOnlyOnce() {
+        // given
+        given(serializerMock.apply(firstResponseMock)).willReturn("{}");
+
+        testSubject.publish(firstResponseMock);
+        NotificationRingBuffer.Notification notification = testSubject.read(0);
+
+        // when
+        notification.json();
+        String json = notification.json();
+
+        // then
+        assertThat(json).isEqualTo("{}");
+        then(serializerMock).should().apply(firstResponseMock);
+    }
+
+    @Test
+    void publishDoesNotSerializeResponse() {
+        // given / when
+        testSubject.publish(firstResponseMock);
+
+        // then
+        then(serializerMock).shouldHaveNoInteractions();
+    }
+
+}
@@ -0,0 +1,280 @@
+package dev.mieser.tsa.websocket;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Set;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import dev.mieser.tsa.domain.ResponseStatus;
+import dev.mieser.tsa.domain.TimeStampRequestData;
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class SessionSubscriptionTest {
+
+    private static final NotificationFilter MATCH_ALL = new NotificationFilter(Set.of(), Set.of(), Set.of(), "1.2");
+
+    @Mock
+    private Session sessionMock;
+
+    @Mock
+    private RemoteEndpoint.Async asyncRemoteMock;
+
+    /**
+     * Serializes responses to their status string, so sent messages can be told apart easily.
+     */
+    private final NotificationRingBuffer ringBuffer = new NotificationRingBuffer(2,
+        response -> "\"" + response.getStatusString() + "\"");
+
+    private final Counter droppedNotificationsCounter = Counter.builder("dropped").register(new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "published-before-subscription"));
+    }
+
+    @Test
+    void sendPendingNotificationsSendsNotificationsPublishedAfterSubscription() {
+        // given
+        var testSubject = subscription(MATCH_ALL, DeliveryMode.EACH, SlowSessionStrategy.DROP_NOTIFICATIONS);
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "first"));
+
+        given(sessionMock.getAsyncRemote()).willReturn(asyncRemoteMock);
+
+        // when
+        testSubject.sendPendingNotifications();
+
+        // then
+        assertThat(sentMessage()).isEqualTo("\"first\"");
+    }
+
+    @Test
+    void sendPendingNotificationsSendsNextNotificationOnlyAfterPreviousMessageWasSent() {
+        // given
+        var testSubject = subscription(MATCH_ALL, DeliveryMode.EACH, SlowSessionStrategy.DROP_NOTIFICATIONS);
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "first"));
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "second"));
+
+        given(sessionMock.getAsyncRemote()).willReturn(asyncRemoteMock);
+
+        testSubject.sendPendingNotifications();
+        testSubject.sendPendingNotifications();
+        var sendHandlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+        then(asyncRemoteMock).should().sendText(any(), sendHandlerCaptor.capture());
+
+        // when
+        sendHandlerCaptor.getValue().onResult(new SendResult());
+
+        // then
+        var messageCaptor = ArgumentCaptor.forClass(String.class);
+        then(asyncRemoteMock).should(times(2)).sendText(messageCaptor.capture(), any());
+        assertThat(messageCaptor.getAllValues()).containsExactly("\"first\"", "\"second\"");
+    }
+
+    @Test
+    void sendPendingNotificationsSkipsNotificationsNotMatchingFilter() {
+        // given
+        var rejectionFilter = new NotificationFilter(Set.of(ResponseStatus.REJECTION), Set.of(), Set.of(), "1.2");
+        var testSubject = subscription(rejectionFilter, DeliveryMode.EACH, SlowSessionStrategy.DROP_NOTIFICATIONS);
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "granted"));
+        ringBuffer.publish(response(ResponseStatus.REJECTION, "rejected"));
+
+        given(sessionMock.getAsyncRemote()).willReturn(asyncRemoteMock);
+
+        // when
+        testSubject.sendPendingNotifications();
+
+        // then
+        assertThat(sentMessage()).isEqualTo("\"rejected\"");
+    }
+
+    @Test
+    void sendPendingNotificationsDoesNothingWhenNotificationsAreSentPeriodically() {
+        // given
+        var testSubject = subscription(MATCH_ALL, DeliveryMode.BATCHED, SlowSessionStrategy.DROP_NOTIFICATIONS);
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "first"));
+
+        // when
+        testSubject.sendPendingNotifications();
+
+        // then
+        then(sessionMock).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void sendPendingNotificationsSkipsOverwrittenNotificationsWhenDroppingNotifications() {
+        // given
+        var testSubject = subscription(MATCH_ALL, DeliveryMode.EACH, SlowSessionStrategy.DROP_NOTIFICATIONS);
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "first"));
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "second"));
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "third"));
+
+        given(sessionMock.getAsyncRemote()).willReturn(asyncRemoteMock);
+
+        // when
+        testSubject.sendPendingNotifications();
+
+        // then
+        assertThat(sentMessage()).isEqualTo("\"second\"");
+        assertThat(droppedNotificationsCounter.count()).isOne();
+    }
+
+    @Test
+    void sendPendingNotificationsClosesSessionWhenNotificationWasOverwritten() throws Exception {
+        // given
+        var testSubject = subscription(MATCH_ALL, DeliveryMode.EACH, SlowSessionStrategy.DISCONNECT);
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "first"));
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "second"));
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "third"));
+
+        // when
+        testSubject.sendPendingNotifications();
+
+        // then
+        var closeReasonCaptor = ArgumentCaptor.forClass(CloseReason.class);
+        then(sessionMock).should().close(closeReasonCaptor.capture());
+        assertThat(closeReasonCaptor.getValue().getCloseCode()).isEqualTo(CloseReason.CloseCodes.TRY_AGAIN_LATER);
+        then(sessionMock).should(never()).getAsyncRemote();
+    }
+
+    @Test
+    void flushSendsMatchingNotificationsAsJsonArray() {
+        // given
+        var testSubject = subscription(MATCH_ALL, DeliveryMode.BATCHED, SlowSessionStrategy.DROP_NOTIFICATIONS);
+        ringBuffer.publish(response(ResponseStatus.GRANTED, "first"));
+        ringBuffer.publish(response(ResponseStatus.REJECTION, "second"));
+
+        given(sessionMock.getAsyncRemote()).willReturn(asyncRemoteMock);
+
+        // when
+        testSubject.flush();
+
+        // then
+        assertThat(sentMessage()).isEqualTo("[\"first\",\"second\"]");
+    }
+
+    @Test
+    void flushSendsNumberOfMatchingNotificationsByStatus() {
+        // given
+        var testSubject = subscription(MATCH_ALL, DeliveryMode.COUNTS, SlowSessionStrategy.DROP_NOTIFICATIONS);
+        publish(testSubject, response(ResponseStatus.GRANTED, "first"));
+        publish(testSubject, response(ResponseStatus.REJECTION, "second"));
+
+        given(sessionMock.getAsyncRemote()).willReturn(asyncRemoteMock);
+
+        // when
+        testSubject.flush();
+
+        // then
+        assertThat(sentMessage()).isEqualTo("{\"count\":2,\"statusCounts\":{\"GRANTED\":1,\"REJECTION\":1}}");
+    }
+
+    @Test
+    void flushCountsAllNotificationsWhenMoreNotificationsThanFitIntoBufferWerePublished() {
+        // given
+        var testSubject = subscription(MATCH_ALL, DeliveryMode.COUNTS, SlowSessionStrategy.DISCONNECT);
+        for (int i = 0; i < 5; i++) {
+            publish(testSubject, response(ResponseStatus.GRANTED, "granted"));
+        }
+
+        given(sessionMock.getAsyncRemote()).willReturn(asyncRemoteMock);
+
+        // when
+        testSubject.flush();
+
+        // then
+        assertThat(sentMessage()).isEqualTo("{\"count\":5,\"statusCounts\":{\"GRANTED\":5}}");
+        assertThat(droppedNotificationsCounter.count()).isZero();
+    }
+
+    @Test
+    void flushSendsOnlyNotificationsCountedSinceLastFlush() {
+        // given
+        var testSubject = subscription(MATCH_ALL, DeliveryMode.COUNTS, SlowSessionStrategy.DROP_NOTIFICATIONS);
+        publish(testSubject, response(ResponseStatus.GRANTED, "first"));
+
+        var sendHandlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+        given(sessionMock.getAsyncRemote()).willReturn(asyncRemoteMock);
+        testSubject.flush();
+        then(asyncRemoteMock).should().sendText(any(), sendHandlerCaptor.capture());
+        sendHandlerCaptor.getValue().onResult(new SendResult());
+
+        publish(testSubject, response(ResponseStatus.REJECTION, "second"));
+
+        // when
+        testSubject.flush();
+
+        // then
+        var messageCaptor = ArgumentCaptor.forClass(String.class);
+        then(asyncRemoteMock).should(times(2)).sendText(messageCaptor.capture(), any());
+        assertThat(messageCaptor.getValue()).isEqualTo("{\"count\":1,\"statusCounts\":{\"REJECTION\":1}}");
+    }
+
+    @Test
+    void flushDoesNotSendMessageWhenNoNotificationMatches() {
+        // given
+        var rejectionFilter = new NotificationFilter(Set.of(ResponseStatus.REJECTION), Set.of(), Set.of(), "1.2");
+        var testSubject = subscription(rejectionFilter, DeliveryMode.COUNTS, SlowSessionStrategy.DROP_NOTIFICATIONS);
+        publish(testSubject, response(ResponseStatus.GRANTED, "first"));
+
+        // when
+        testSubject.flush();
+
+        // then
+        then(sessionMock).shouldHaveNoInteractions();
+    }
+
+    private SessionSubscription subscription(NotificationFilter filter, DeliveryMode deliveryMode,
+        SlowSessionStrategy slowSessionStrategy) {
+        return new SessionSubscription(sessionMock, ringBuffer,
+            new SubscriptionRequest(filter, deliveryMode, Duration.ofSeconds(1)), slowSessionStrategy,
+            droppedNotificationsCounter);
+    }
+
+    /**
+     * Publishes the response the same way as the {@link TimeStampNotificationSocket}.
+     */
+    private void publish(SessionSubscription subscription, TimeStampResponseData response) {
+        subscription.count(response);
+        ringBuffer.publish(response);
+    }
+
+    private String sentMessage() {
+        var messageCaptor = ArgumentCaptor.forClass(String.class);
+        then(asyncRemoteMock).should().sendText(messageCaptor.capture(), any());
+        return messageCaptor.getValue();
+    }
+
+    private TimeStampResponseData response(ResponseStatus status, String statusString) {
+        var request = TimeStampRequestData
+            .builder("2.16.840.1.101.3.4.2.1", "hash".getBytes(UTF_8), "request".getBytes(UTF_8))
+            .build();
+        return TimeStampResponseData
+            .builder(status, ZonedDateTime.parse("2023-07-09T13:37:00+04:00"), request, "response".getBytes(UTF_8))
+            .statusString(statusString)
+            .build();
+    }
+
+}
@@ -0,0 +1,147 @@
+package dev.mieser.tsa.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import dev.mieser.tsa.domain.ResponseStatus;
+import dev.mieser.tsa.signing.config.DigestAlgorithmConverter;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionRequestTest {
+
+    private static final String DEFAULT_POLICY_OID = "1.2";
+
+    private final DigestAlgorithmConverter digestAlgorithmConverter = new DigestAlgorithmConverter();
+
+    @Mock
+    private WebSocketProperties propertiesMock;
+
+    @Test
+    void parseReturnsDefaultsWhenNoParametersArePresent() {
+        // given
+        given(propertiesMock.defaultInterval()).willReturn(Duration.ofSeconds(1));
+
+        // when
+        SubscriptionRequest parsed = parse(Map.of());
+
+        // then
+        var expectedFilter = new NotificationFilter(Set.of(), Set.of(), Set.of(), DEFAULT_POLICY_OID);
+        assertThat(parsed).isEqualTo(new SubscriptionRequest(expectedFilter, DeliveryMode.EACH, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void parseParsesCommaSeparatedAndRepeatedFilterParameters() {
+        // given
+        given(propertiesMock.defaultInterval()).willReturn(Duration.ofSeconds(1));
+
+        var parameters = Map.of(
+            "status", List.of("granted, rejection", "WAITING"),
+            "hashAlgorithm", List.of("SHA256", "1.3.14.3.2.26"),
+            "policyOid", List.of("1.2.3.4"));
+
+        // when
+        SubscriptionRequest parsed = parse(parameters);
+
+        // then
+        assertThat(parsed.filter()).isEqualTo(new NotificationFilter(
+            Set.of(ResponseStatus.GRANTED, ResponseStatus.REJECTION, ResponseStatus.WAITING),
+            Set.of("2.16.840.1.101.3.4.2.1", "1.3.14.3.2.26"), Set.of("1.2.3.4"), DEFAULT_POLICY_OID));
+    }
+
+    @Test
+    void parseParsesDeliveryModeAndInterval() {
+        // given
+        given(propertiesMock.minInterval()).willReturn(Duration.ofMillis(100));
+
+        // when
+        SubscriptionRequest parsed = parse(Map.of("delivery", List.of("Counts"), "interval", List.of("250")));
+
+        // then
+        assertThat(parsed.deliveryMode()).isEqualTo(DeliveryMode.COUNTS);
+        assertThat(parsed.interval()).isEqualTo(Duration.ofMillis(250));
+    }
+
+    @Test
+    void parseThrowsExceptionWhenHashAlgorithmIsUnknown() {
+        // given
+        var parameters = Map.of("hashAlgorithm", List.of("UNKNOWN"));
+
+        // when / then
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> parse(parameters))
+            .withMessage("Unknown hash algorithm 'UNKNOWN'.");
+    }
+
+    @Test
+    void parseThrowsExceptionWhenPolicyOidIsInvalid() {
+        // given
+        var parameters = Map.of("policyOid", List.of("not-an-oid"));
+
+        // when / then
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> parse(parameters))
+            .withMessage("Invalid policy OID 'not-an-oid'.");
+    }
+
+    @Test
+    void parseThrowsExceptionWhenStatusIsInvalid() {
+        // given
+        var parameters = Map.of("status", List.of("GRANTED,UNKNOWN"));
+
+        // when / then
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> parse(parameters))
+            .withMessage("Invalid status 'UNKNOWN'.");
+    }
+
+    @Test
+    void parseThrowsExceptionWhenDeliveryModeIsRepeated() {
+        // given
+        var parameters = Map.of("delivery", List.of("each", "batched"));
+
+        // when / then
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> parse(parameters))
+            .withMessage("Parameter 'delivery' must not be repeated.");
+    }
+
+    @Test
+    void parseThrowsExceptionWhenIntervalIsNotANumber() {
+        // given
+        var parameters = Map.of("interval", List.of("1s"));
+
+        // when / then
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> parse(parameters))
+            .withMessage("Invalid interval '1s'.");
+    }
+
+    @Test
+    void parseThrowsExceptionWhenIntervalIsShorterThanMinimum() {
+        // given
+        var parameters = Map.of("interval", List.of("99"));
+
+        given(propertiesMock.minInterval()).willReturn(Duration.ofMillis(100));
+
+        // when / then
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> parse(parameters))
+            .withMessage("Interval must be at least 100 ms.");
+    }
+
+    private SubscriptionRequest parse(Map<String, List<String>> parameters) {
+        return SubscriptionRequest.parse(parameters, propertiesMock, digestAlgorithmConverter, DEFAULT_POLICY_OID);
+    }
+
+}
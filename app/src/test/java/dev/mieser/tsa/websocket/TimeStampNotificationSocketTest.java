@@ -7,6 +7,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.math.BigInteger;
 import java.net.URI;
 import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.inject.Inject;
 import jakarta.websocket.ContainerProvider;
@@ -25,6 +26,7 @@ import org.junit.jupiter.api.Test;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.domain.TimeStampResponseSummary;
 import dev.mieser.tsa.persistence.api.Page;
 import dev.mieser.tsa.rest.domain.TsaMediaType;
 import io.quarkus.test.common.http.TestHTTPResource;
@@ -51,7 +53,8 @@ public class TimeStampNotificationSocketTest {
 
         try (Session ignored = ContainerProvider.getWebSocketContainer().connectToServer(client, websocketUri)) {
             var expectedResponse = signRequestViaHttpEndpoint();
-            assertThat(client.getReceivedMessages()).containsExactly(expectedResponse);
+            assertThat(client.getReceivedMessages().poll(5, TimeUnit.SECONDS)).isEqualTo(expectedResponse);
+            assertThat(client.getReceivedMessages()).isEmpty();
         }
     }
 
@@ -72,7 +75,7 @@ public class TimeStampNotificationSocketTest {
             .then().assertThat()
             .statusCode(Status.OK.getStatusCode());
 
-        return given()
+        TimeStampResponseSummary latestResponse = given()
             .accept(ContentType.JSON)
             .param("size", 1)
             .param("sort", "receptionTime,desc")
@@ -81,9 +84,18 @@ public class TimeStampNotificationSocketTest {
             .statusCode(Status.OK.getStatusCode())
             .and()
             .extract()
-            .as(new TypeRef<Page<TimeStampResponseData>>() {})
+            .as(new TypeRef<Page<TimeStampResponseSummary>>() {})
             .content()
             .get(0);
+
+        return given()
+            .accept(ContentType.JSON)
+            .get("/history/responses/{id}", latestResponse.getId())
+            .then().assertThat()
+            .statusCode(Status.OK.getStatusCode())
+            .and()
+            .extract()
+            .as(TimeStampResponseData.class);
     }
 
 }
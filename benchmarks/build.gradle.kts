@@ -0,0 +1,50 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+    alias(libs.plugins.spotless)
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    jmh(enforcedPlatform(libs.quarkus.bom))
+    jmh(project(":app"))
+    jmh(libs.bouncycastle)
+    jmh("org.hibernate.orm:hibernate-core")
+    jmh("org.flywaydb:flyway-core")
+    jmh("com.h2database:h2")
+    jmh("io.micrometer:micrometer-core")
+    jmh("com.fasterxml.jackson.core:jackson-databind")
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    System.getProperty("jmh.includes")?.let { includes.add(it) }
+    jvmArgsAppend.addAll(
+        "-Dbenchmark.app-dir=${project(":app").layout.buildDirectory.dir("quarkus-app").get().asFile.absolutePath}",
+        "-Dbenchmark.keystore=${project(":app").file("src/main/resources/keystore/ec.p12").absolutePath}"
+    )
+}
+
+tasks.named("jmh") {
+    // the persistence benchmarks send requests to the packaged application
+    dependsOn(":app:quarkusBuild")
+}
+
+spotless {
+    java {
+        target("src/jmh/java/**/*.java")
+        importOrderFile("$rootDir/spotless.importorder")
+        removeUnusedImports()
+        eclipse().configFile("$rootDir/eclipse-formatter.xml")
+    }
+}
@@ -0,0 +1,297 @@
+package dev.mieser.tsa.benchmarks;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.tsp.TimeStampRequestGenerator;
+
+import dev.mieser.tsa.datetime.impl.CurrentDateServiceImpl;
+import dev.mieser.tsa.datetime.impl.DateConverterImpl;
+import dev.mieser.tsa.signing.config.DigestAlgorithmConverter;
+import dev.mieser.tsa.signing.config.HashAlgorithm;
+import dev.mieser.tsa.signing.config.SerialNumberGeneratorType;
+import dev.mieser.tsa.signing.config.TsaProperties;
+import dev.mieser.tsa.signing.impl.BouncyCastleTimeStampAuthority;
+import dev.mieser.tsa.signing.impl.BouncyCastleTimeStampValidator;
+import dev.mieser.tsa.signing.impl.TspParser;
+import dev.mieser.tsa.signing.impl.cert.CertificateParser;
+import dev.mieser.tsa.signing.impl.cert.PublicKeyAlgorithm;
+import dev.mieser.tsa.signing.impl.cert.SignerVerifierCache;
+import dev.mieser.tsa.signing.impl.cert.SigningCertificateExtractor;
+import dev.mieser.tsa.signing.impl.cert.SigningKeystoreLoader;
+import dev.mieser.tsa.signing.impl.mapper.TimeStampResponseMapper;
+import dev.mieser.tsa.signing.impl.mapper.TimeStampValidationResultMapper;
+import dev.mieser.tsa.signing.impl.serial.RandomSerialNumberGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Creates the components of the Time Stamp Authority outside the CDI container, so their hot paths can be benchmarked
+ * in isolation. Metrics are recorded in a {@link SimpleMeterRegistry} to include the overhead of instrumentation. The
+ * signing keys and self-signed certificates are generated on the fly, which makes the benchmarks independent of any
+ * keystore.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * @param publicKeyAlgorithm
+     *     The algorithm of the key pair to generate, not {@code null}.
+     * @return A loader returning a freshly generated private key and a self-signed certificate of the corresponding public
+     * key. The certificate contains a critical <i>Extended Key Usage</i> extension with {@code id-kp-timeStamping} as its
+     * only <i>KeyPurposeId</i>.
+     */
+    static SigningKeystoreLoader generateSigningKeystore(
+        PublicKeyAlgorithm publicKeyAlgorithm) throws GeneralSecurityException, OperatorCreationException, IOException {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(publicKeyAlgorithm.getJcaName());
+        String signatureAlgorithm = switch (publicKeyAlgorithm) {
+        case RSA -> {
+            keyPairGenerator.initialize(2048);
+            yield "SHA256withRSA";
+        }
+        case EC -> {
+            keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+            yield "SHA256withECDSA";
+        }
+        case DSA -> {
+            keyPairGenerator.initialize(2048);
+            yield "SHA256withDSA";
+        }
+        };
+
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        var name = new X500Name("CN=TSA Benchmark " + publicKeyAlgorithm.getJcaName());
+        Instant now = Instant.now();
+        var certificateBuilder = new JcaX509v3CertificateBuilder(name, BigInteger.ONE, Date.from(now.minus(Duration.ofDays(1))),
+            Date.from(now.plus(Duration.ofDays(1))), name, keyPair.getPublic());
+        certificateBuilder.addExtension(Extension.extendedKeyUsage, true, new ExtendedKeyUsage(KeyPurposeId.id_kp_timeStamping));
+
+        X509Certificate certificate = new JcaX509CertificateConverter()
+            .getCertificate(
+                certificateBuilder.build(new JcaContentSignerBuilder(signatureAlgorithm).build(keyPair.getPrivate())));
+        return new InMemorySigningKeystoreLoader(certificate, keyPair.getPrivate());
+    }
+
+    static BouncyCastleTimeStampAuthority initializedTimeStampAuthority(SigningKeystoreLoader signingKeystoreLoader,
+        HashAlgorithm signingDigestAlgorithm) {
+        return initializedTimeStampAuthority(signingKeystoreLoader, signingDigestAlgorithm, OptionalInt.empty());
+    }
+
+    /**
+     * @param signerPoolSize
+     *     The number of independent signers, or an empty optional to use one signer per available processor.
+     */
+    static BouncyCastleTimeStampAuthority initializedTimeStampAuthority(SigningKeystoreLoader signingKeystoreLoader,
+        HashAlgorithm signingDigestAlgorithm, OptionalInt signerPoolSize) {
+        var timeStampAuthority = new BouncyCastleTimeStampAuthority(
+            new BenchmarkTsaProperties(signingDigestAlgorithm, signerPoolSize),
+            new TspParser(),
+            signingKeystoreLoader,
+            new CurrentDateServiceImpl(),
+            new RandomSerialNumberGenerator(),
+            new TimeStampResponseMapper(new DateConverterImpl()),
+            new DigestAlgorithmConverter(),
+            new SimpleMeterRegistry());
+        timeStampAuthority.initialize();
+        return timeStampAuthority;
+    }
+
+    static BouncyCastleTimeStampValidator initializedTimeStampValidator(SigningKeystoreLoader signingKeystoreLoader) {
+        var timeStampValidator = new BouncyCastleTimeStampValidator(new TspParser(),
+            signingKeystoreLoader,
+            new TimeStampValidationResultMapper(new DateConverterImpl()),
+            new SigningCertificateExtractor(),
+            new CertificateParser(),
+            new SignerVerifierCache(100, Duration.ofHours(1L), new SimpleMeterRegistry()),
+            10,
+            new SimpleMeterRegistry());
+        timeStampValidator.initialize();
+        return timeStampValidator;
+    }
+
+    /**
+     * @return An ASN.1 DER encoded TSP request of a SHA-256 message imprint with a nonce, requesting the certificate.
+     */
+    static byte[] encodedRequest() throws IOException {
+        var requestGenerator = new TimeStampRequestGenerator();
+        requestGenerator.setCertReq(true);
+        byte[] messageImprint = new byte[32];
+        return requestGenerator
+            .generate(new ASN1ObjectIdentifier(HashAlgorithm.SHA256.getObjectIdentifier()), messageImprint, BigInteger.TEN)
+            .getEncoded();
+    }
+
+    private record InMemorySigningKeystoreLoader(X509Certificate certificate, PrivateKey privateKey)
+        implements SigningKeystoreLoader {
+
+        @Override
+        public X509Certificate loadCertificate() {
+            return certificate;
+        }
+
+        @Override
+        public PrivateKey loadPrivateKey() {
+            return privateKey;
+        }
+
+    }
+
+    private record BenchmarkTsaProperties(HashAlgorithm signingDigestAlgorithm,
+        OptionalInt signerPoolSize) implements TsaProperties {
+
+        @Override
+        public HashAlgorithm essCertIdAlgorithm() {
+            return HashAlgorithm.SHA256;
+        }
+
+        @Override
+        public Set<String> acceptedHashAlgorithms() {
+            return Set.of("SHA256", "SHA512");
+        }
+
+        @Override
+        public int maxRequestLength() {
+            return 8192;
+        }
+
+        @Override
+        public int maxBatchSize() {
+            return 1000;
+        }
+
+        @Override
+        public String policyOid() {
+            return "1.2";
+        }
+
+        @Override
+        public KeystoreLoaderProperties keystore() {
+            return new KeystoreLoaderProperties() {
+
+                @Override
+                public String path() {
+                    return "in-memory";
+                }
+
+                @Override
+                public Optional<String> password() {
+                    return Optional.empty();
+                }
+
+                @Override
+                public Optional<Duration> reloadInterval() {
+                    return Optional.empty();
+                }
+
+            };
+        }
+
+        @Override
+        public AggregationProperties aggregation() {
+            return new AggregationProperties() {
+
+                @Override
+                public Duration window() {
+                    return Duration.ofMillis(10L);
+                }
+
+                @Override
+                public int maxLeaves() {
+                    return 4096;
+                }
+
+            };
+        }
+
+        @Override
+        public SerialNumberProperties serialNumber() {
+            return new SerialNumberProperties() {
+
+                @Override
+                public SerialNumberGeneratorType generator() {
+                    return SerialNumberGeneratorType.RANDOM;
+                }
+
+                @Override
+                public int blockSize() {
+                    return 1000;
+                }
+
+            };
+        }
+
+        @Override
+        public SigningProperties signing() {
+            return new SigningProperties() {
+
+                @Override
+                public OptionalInt poolSize() {
+                    return signerPoolSize;
+                }
+
+                @Override
+                public Duration acquireTimeout() {
+                    return Duration.ofSeconds(30L);
+                }
+
+                @Override
+                public int warmUpSignatures() {
+                    // the benchmarks have warm-up iterations of their own
+                    return 0;
+                }
+
+            };
+        }
+
+        @Override
+        public ValidationProperties validation() {
+            return new ValidationProperties() {
+
+                @Override
+                public int verifierCacheSize() {
+                    return 100;
+                }
+
+                @Override
+                public Duration verifierCacheTtl() {
+                    return Duration.ofHours(1L);
+                }
+
+                @Override
+                public int retainedReplacedKeys() {
+                    return 10;
+                }
+
+                @Override
+                public OptionalInt bulkParallelism() {
+                    return OptionalInt.empty();
+                }
+
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,99 @@
+package dev.mieser.tsa.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures loading a random page of the response history from the packaged application (see
+ * {@link PackagedApplication}) using offset based pagination ({@code /history/responses}) and keyset pagination
+ * ({@code /history/responses/cursor}). The history is filled by signing TSP requests in batches before the measurement,
+ * so the pages are read through {@code TspResponseDataRepositoryImpl} from the tables the application writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoryPageLoadBenchmark {
+
+    private static final int SIGNING_BATCH_SIZE = 500;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Param({ "10000" })
+    private int rows;
+
+    @Param({ "50" })
+    private int pageSize;
+
+    private PackagedApplication application;
+
+    /**
+     * The cursors of all pages except the first one, in the order of the pages.
+     */
+    private List<String> cursors;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        application = PackagedApplication.start(Map.of());
+        insertRows();
+        cursors = collectCursors();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, InterruptedException {
+        application.close();
+    }
+
+    @Benchmark
+    public String loadPage() throws IOException, InterruptedException {
+        int page = ThreadLocalRandom.current().nextInt(rows / pageSize) + 1;
+        return application.getJson(String.format("/history/responses?page=%d&size=%d", page, pageSize));
+    }
+
+    @Benchmark
+    public String loadPageAfterCursor() throws IOException, InterruptedException {
+        String cursor = cursors.get(ThreadLocalRandom.current().nextInt(cursors.size()));
+        return application.getJson(String.format("/history/responses/cursor?size=%d&cursor=%s", pageSize,
+            URLEncoder.encode(cursor, StandardCharsets.UTF_8)));
+    }
+
+    private void insertRows() throws IOException, InterruptedException {
+        byte[] request = BenchmarkFixtures.encodedRequest();
+        for (int inserted = 0; inserted < rows; inserted += SIGNING_BATCH_SIZE) {
+            int batchSize = Math.min(SIGNING_BATCH_SIZE, rows - inserted);
+            var batchRequest = new ByteArrayOutputStream(batchSize * request.length);
+            for (int i = 0; i < batchSize; i++) {
+                batchRequest.write(request);
+            }
+            application.sign("/sign/batch", batchRequest.toByteArray());
+        }
+    }
+
+    private List<String> collectCursors() throws IOException, InterruptedException {
+        List<String> collectedCursors = new ArrayList<>(rows / pageSize);
+        JsonNode page = objectMapper.readTree(application.getJson("/history/responses/cursor?size=" + pageSize));
+        while (page.hasNonNull("nextCursor")) {
+            String cursor = page.get("nextCursor").asText();
+            collectedCursors.add(cursor);
+            page = objectMapper.readTree(application.getJson(String.format("/history/responses/cursor?size=%d&cursor=%s",
+                pageSize, URLEncoder.encode(cursor, StandardCharsets.UTF_8))));
+        }
+
+        return collectedCursors;
+    }
+
+}
@@ -0,0 +1,177 @@
+package dev.mieser.tsa.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import dev.mieser.tsa.rest.domain.TsaMediaType;
+
+/**
+ * The packaged application started in a separate process against a file based H2 database in a fresh directory.
+ * <p/>
+ * The persistence layer relies on Panache repositories, which are only implemented when the application is built by
+ * Quarkus. Benchmarks of the persistence layer therefore send requests to the packaged application, so they measure the
+ * real repositories and queries including the HTTP overhead, which is the same for all compared configurations. The
+ * application is located using the {@code benchmark.app-dir} and {@code benchmark.keystore} system properties, which
+ * are set by the {@code jmh} Gradle Task.
+ */
+final class PackagedApplication implements AutoCloseable {
+
+    private static final Path APPLICATION_DIRECTORY = Path
+        .of(System.getProperty("benchmark.app-dir", "../app/build/quarkus-app"));
+
+    private static final Path KEYSTORE_PATH = Path
+        .of(System.getProperty("benchmark.keystore", "../app/src/main/resources/keystore/ec.p12"));
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2L);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30L);
+
+    private final Process process;
+
+    private final Path workDirectory;
+
+    private final URI baseUri;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .connectTimeout(REQUEST_TIMEOUT)
+        .build();
+
+    private PackagedApplication(Process process, Path workDirectory, URI baseUri) {
+        this.process = process;
+        this.workDirectory = workDirectory;
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * @param environment
+     *     Additional environment variables configuring the application, e.g. {@code TSA_PERSISTENCE_MODE}, not
+     *     {@code null}.
+     * @return The started application, which accepts requests.
+     */
+    static PackagedApplication start(Map<String, String> environment) throws IOException, InterruptedException {
+        Path runner = APPLICATION_DIRECTORY.resolve("quarkus-run.jar").toAbsolutePath();
+        if (!Files.exists(runner)) {
+            throw new IllegalStateException(String.format("Packaged application '%s' does not exist.", runner));
+        }
+
+        Path workDirectory = Files.createTempDirectory("tsa-benchmark");
+        int port = freePort();
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        var processBuilder = new ProcessBuilder(java, "-jar", runner.toString())
+            .directory(workDirectory.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(workDirectory.resolve("tsa.log").toFile());
+        processBuilder.environment().put("QUARKUS_HTTP_PORT", String.valueOf(port));
+        processBuilder.environment().put("QUARKUS_DATASOURCE_JDBC_URL", "jdbc:h2:file:" + workDirectory.resolve("tsa"));
+        processBuilder.environment().put("TSA_KEYSTORE_PATH", KEYSTORE_PATH.toAbsolutePath().toString());
+        processBuilder.environment().put("TSA_PERSISTENCE_WRITE_BEHIND_JOURNAL_PATH",
+            workDirectory.resolve("tsa-write-behind.journal").toString());
+        processBuilder.environment().putAll(environment);
+
+        var application = new PackagedApplication(processBuilder.start(), workDirectory,
+            URI.create("http://localhost:" + port));
+        application.awaitStartup();
+        return application;
+    }
+
+    /**
+     * @param path
+     *     The path of the signing endpoint, e.g. {@code /sign/batch}, not {@code null}.
+     * @param asnEncodedRequests
+     *     The concatenated ASN.1 DER encoded TSP requests, not {@code null}.
+     * @return The concatenated ASN.1 DER encoded TSP responses.
+     */
+    byte[] sign(String path, byte[] asnEncodedRequests) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", TsaMediaType.TIMESTAMP_QUERY)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(asnEncodedRequests))
+            .build();
+        return send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * @param pathAndQuery
+     *     The path and query of the requested resource, e.g. {@code /history/responses?page=1}, not {@code null}.
+     * @return The JSON body of the response.
+     */
+    String getJson(String pathAndQuery) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(pathAndQuery))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+        return send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        process.destroy();
+        process.waitFor();
+        try (Stream<Path> paths = Files.walk(workDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(PackagedApplication::delete);
+        }
+    }
+
+    private <T> T send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        HttpResponse<T> response = httpClient.send(request, bodyHandler);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(
+                String.format("Request to '%s' failed with status %d.", request.uri(), response.statusCode()));
+        }
+
+        return response.body();
+    }
+
+    private void awaitStartup() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/history/responses?size=1"))
+            .timeout(REQUEST_TIMEOUT)
+            .GET()
+            .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(String.format("Application exited with code %d, see '%s'.",
+                    process.exitValue(), workDirectory.resolve("tsa.log")));
+            }
+
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // the HTTP server is not listening yet
+            }
+            Thread.sleep(50L);
+        }
+
+        close();
+        throw new IllegalStateException(String.format("Application did not start within %s.", STARTUP_TIMEOUT));
+    }
+
+    private static int freePort() throws IOException {
+        try (var serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.delete(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package dev.mieser.tsa.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.signing.api.exception.InvalidTspRequestException;
+import dev.mieser.tsa.signing.config.HashAlgorithm;
+import dev.mieser.tsa.signing.impl.BouncyCastleTimeStampAuthority;
+import dev.mieser.tsa.signing.impl.cert.PublicKeyAlgorithm;
+
+/**
+ * Measures the signature throughput when all available processors sign TSP requests concurrently, depending on the
+ * number of independent signers the requests are distributed across. A pool of a single signer serializes all
+ * signatures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(1)
+public class ParallelSigningBenchmark {
+
+    @Param({ "1", "2", "4", "8" })
+    private int signerPoolSize;
+
+    private BouncyCastleTimeStampAuthority timeStampAuthority;
+
+    private byte[] request;
+
+    @Setup
+    public void setUp() throws Exception {
+        timeStampAuthority = BenchmarkFixtures.initializedTimeStampAuthority(
+            BenchmarkFixtures.generateSigningKeystore(PublicKeyAlgorithm.EC), HashAlgorithm.SHA256,
+            OptionalInt.of(signerPoolSize));
+        request = BenchmarkFixtures.encodedRequest();
+    }
+
+    @Benchmark
+    public TimeStampResponseData signRequest() throws InvalidTspRequestException {
+        return timeStampAuthority.signRequest(new ByteArrayInputStream(request));
+    }
+
+}
@@ -0,0 +1,55 @@
+package dev.mieser.tsa.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.*;
+
+import dev.mieser.tsa.signing.impl.serial.RandomSerialNumberGenerator;
+import dev.mieser.tsa.signing.impl.serial.SequentialSerialNumberGenerator;
+import dev.mieser.tsa.signing.impl.serial.SerialNumberGenerator;
+
+/**
+ * Compares the throughput of the available {@link SerialNumberGenerator} implementations with and without contention.
+ * The blocks of the sequential generator are reserved in memory, so the benchmark measures the generator itself and not
+ * the database round trip which is amortized over the block size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerialNumberGeneratorBenchmark {
+
+    @Param({ "RANDOM", "SEQUENTIAL" })
+    private String generator;
+
+    @Param({ "1000" })
+    private int blockSize;
+
+    private SerialNumberGenerator serialNumberGenerator;
+
+    @Setup
+    public void setUp() {
+        var nextBlockStart = new AtomicLong(1L);
+        serialNumberGenerator = switch (generator) {
+        case "RANDOM" -> new RandomSerialNumberGenerator();
+        case "SEQUENTIAL" -> new SequentialSerialNumberGenerator(nextBlockStart::getAndAdd, blockSize);
+        default -> throw new IllegalArgumentException(String.format("Unknown generator '%s'.", generator));
+        };
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long uncontended() {
+        return serialNumberGenerator.generateSerialNumber();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long contended() {
+        return serialNumberGenerator.generateSerialNumber();
+    }
+
+}
@@ -0,0 +1,48 @@
+package dev.mieser.tsa.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.signing.api.exception.InvalidTspRequestException;
+import dev.mieser.tsa.signing.config.HashAlgorithm;
+import dev.mieser.tsa.signing.impl.BouncyCastleTimeStampAuthority;
+import dev.mieser.tsa.signing.impl.cert.PublicKeyAlgorithm;
+
+/**
+ * Measures signing a single TSP request including parsing the request and mapping the response for every supported type
+ * of signing key and signing digest algorithm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningBenchmark {
+
+    @Param({ "RSA", "EC", "DSA" })
+    private PublicKeyAlgorithm keyAlgorithm;
+
+    @Param({ "SHA256", "SHA512" })
+    private HashAlgorithm signingDigestAlgorithm;
+
+    private BouncyCastleTimeStampAuthority timeStampAuthority;
+
+    private byte[] request;
+
+    @Setup
+    public void setUp() throws Exception {
+        timeStampAuthority = BenchmarkFixtures.initializedTimeStampAuthority(
+            BenchmarkFixtures.generateSigningKeystore(keyAlgorithm), signingDigestAlgorithm);
+        request = BenchmarkFixtures.encodedRequest();
+    }
+
+    @Benchmark
+    public TimeStampResponseData signRequest() throws InvalidTspRequestException {
+        return timeStampAuthority.signRequest(new ByteArrayInputStream(request));
+    }
+
+}
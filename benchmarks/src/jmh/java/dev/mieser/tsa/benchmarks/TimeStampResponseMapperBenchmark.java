@@ -0,0 +1,69 @@
+package dev.mieser.tsa.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.tsp.TimeStampResponse;
+import org.openjdk.jmh.annotations.*;
+
+import dev.mieser.tsa.datetime.impl.DateConverterImpl;
+import dev.mieser.tsa.domain.TimeStampRequestData;
+import dev.mieser.tsa.domain.TimeStampResponseData;
+import dev.mieser.tsa.persistence.impl.mapper.TspResponseMapper;
+import dev.mieser.tsa.persistence.impl.mapper.TspResponseMapperImpl;
+import dev.mieser.tsa.signing.config.HashAlgorithm;
+import dev.mieser.tsa.signing.impl.ParsedTspRequest;
+import dev.mieser.tsa.signing.impl.TspParser;
+import dev.mieser.tsa.signing.impl.cert.PublicKeyAlgorithm;
+import dev.mieser.tsa.signing.impl.mapper.TimeStampResponseMapper;
+
+/**
+ * Measures mapping a parsed Bouncy Castle TSP request and response to the domain object which is returned to the
+ * client, as well as converting it to the JPA entity which is persisted and back. Run with {@code -prof gc} to see the
+ * bytes allocated per mapped response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeStampResponseMapperBenchmark {
+
+    private final TimeStampResponseMapper timeStampResponseMapper = new TimeStampResponseMapper(new DateConverterImpl());
+
+    private final TspResponseMapper tspResponseMapper = new TspResponseMapperImpl();
+
+    private final Date receptionTime = new Date();
+
+    private ParsedTspRequest request;
+
+    private TimeStampResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        var tspParser = new TspParser();
+        byte[] encodedRequest = BenchmarkFixtures.encodedRequest();
+        byte[] encodedResponse = BenchmarkFixtures
+            .initializedTimeStampAuthority(BenchmarkFixtures.generateSigningKeystore(PublicKeyAlgorithm.EC),
+                HashAlgorithm.SHA256)
+            .signRequest(new ByteArrayInputStream(encodedRequest))
+            .getAsnEncoded();
+
+        request = tspParser.parseRequest(new ByteArrayInputStream(encodedRequest));
+        response = tspParser.parseResponse(new ByteArrayInputStream(encodedResponse));
+    }
+
+    @Benchmark
+    public TimeStampResponseData map() {
+        TimeStampRequestData requestData = timeStampResponseMapper.mapRequest(request.request(), request.asnEncoded());
+        return timeStampResponseMapper.map(requestData, response, receptionTime);
+    }
+
+    @Benchmark
+    public TimeStampResponseData mapAndConvertEntity() {
+        return tspResponseMapper.toDomain(tspResponseMapper.fromDomain(map()));
+    }
+
+}
@@ -0,0 +1,59 @@
+package dev.mieser.tsa.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import dev.mieser.tsa.domain.TimeStampValidationResult;
+import dev.mieser.tsa.signing.api.exception.InvalidCertificateException;
+import dev.mieser.tsa.signing.api.exception.InvalidTspResponseException;
+import dev.mieser.tsa.signing.config.HashAlgorithm;
+import dev.mieser.tsa.signing.impl.BouncyCastleTimeStampValidator;
+import dev.mieser.tsa.signing.impl.cert.PublicKeyAlgorithm;
+import dev.mieser.tsa.signing.impl.cert.SigningKeystoreLoader;
+
+/**
+ * Measures validating a TSP response signed by the TSA's own key for every supported type of signing key, both using
+ * the TSA's certificate and a certificate supplied with the response. The verifier of the supplied certificate is
+ * cached after the first invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeStampValidatorBenchmark {
+
+    @Param({ "RSA", "EC", "DSA" })
+    private PublicKeyAlgorithm keyAlgorithm;
+
+    private BouncyCastleTimeStampValidator timeStampValidator;
+
+    private byte[] response;
+
+    private byte[] certificate;
+
+    @Setup
+    public void setUp() throws Exception {
+        SigningKeystoreLoader signingKeystore = BenchmarkFixtures.generateSigningKeystore(keyAlgorithm);
+        response = BenchmarkFixtures.initializedTimeStampAuthority(signingKeystore, HashAlgorithm.SHA256)
+            .signRequest(new ByteArrayInputStream(BenchmarkFixtures.encodedRequest()))
+            .getAsnEncoded();
+        timeStampValidator = BenchmarkFixtures.initializedTimeStampValidator(signingKeystore);
+        certificate = signingKeystore.loadCertificate().getEncoded();
+    }
+
+    @Benchmark
+    public TimeStampValidationResult validateResponse() throws InvalidTspResponseException {
+        return timeStampValidator.validateResponse(new ByteArrayInputStream(response));
+    }
+
+    @Benchmark
+    public TimeStampValidationResult validateResponseWithCertificate() throws InvalidTspResponseException, InvalidCertificateException {
+        return timeStampValidator.validateResponse(new ByteArrayInputStream(response),
+            new ByteArrayInputStream(certificate));
+    }
+
+}
@@ -0,0 +1,80 @@
+package dev.mieser.tsa.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.ASN1Boolean;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
+import org.bouncycastle.asn1.tsp.MessageImprint;
+import org.bouncycastle.asn1.tsp.TimeStampReq;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.tsp.TimeStampResponse;
+import org.openjdk.jmh.annotations.*;
+
+import dev.mieser.tsa.signing.api.exception.InvalidTspRequestException;
+import dev.mieser.tsa.signing.api.exception.InvalidTspResponseException;
+import dev.mieser.tsa.signing.config.HashAlgorithm;
+import dev.mieser.tsa.signing.impl.ParsedTspRequest;
+import dev.mieser.tsa.signing.impl.TspParser;
+import dev.mieser.tsa.signing.impl.cert.PublicKeyAlgorithm;
+
+/**
+ * Measures parsing ASN.1 DER encoded TSP requests and responses. Requests are parsed the same way as in the
+ * application, limiting their length and accepted hash algorithms. The oversized request contains a 64 KiB extension
+ * and is rejected. The response is signed using an EC key and contains the signing certificate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TspParserBenchmark {
+
+    private final TspParser tspParser = new TspParser(8192, 1000,
+        Set.of(NISTObjectIdentifiers.id_sha256, NISTObjectIdentifiers.id_sha512));
+
+    private byte[] request;
+
+    private byte[] oversizedRequest;
+
+    private byte[] response;
+
+    @Setup
+    public void setUp() throws Exception {
+        request = BenchmarkFixtures.encodedRequest();
+        var messageImprint = new MessageImprint(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256), new byte[32]);
+        var largeExtension = new Extension(new ASN1ObjectIdentifier("1.2.3.4"), false, new byte[64 * 1024]);
+        oversizedRequest = new TimeStampReq(messageImprint, null, null, ASN1Boolean.TRUE, new Extensions(largeExtension))
+            .getEncoded();
+        response = BenchmarkFixtures
+            .initializedTimeStampAuthority(BenchmarkFixtures.generateSigningKeystore(PublicKeyAlgorithm.EC),
+                HashAlgorithm.SHA256)
+            .signRequest(new ByteArrayInputStream(request))
+            .getAsnEncoded();
+    }
+
+    @Benchmark
+    public ParsedTspRequest parseRequest() throws InvalidTspRequestException {
+        return tspParser.parseRequest(new ByteArrayInputStream(request));
+    }
+
+    @Benchmark
+    public Object parseOversizedRequest() {
+        try {
+            return tspParser.parseRequest(new ByteArrayInputStream(oversizedRequest));
+        } catch (InvalidTspRequestException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public TimeStampResponse parseResponse() throws InvalidTspResponseException {
+        return tspParser.parseResponse(new ByteArrayInputStream(response));
+    }
+
+}
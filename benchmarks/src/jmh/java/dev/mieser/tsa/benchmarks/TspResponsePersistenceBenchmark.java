@@ -0,0 +1,70 @@
+package dev.mieser.tsa.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import dev.mieser.tsa.persistence.api.PersistenceMode;
+
+/**
+ * Measures issuing TSP responses by the packaged application (see {@link PackagedApplication}) in each
+ * {@link PersistenceMode}, with and without persisting the responses asynchronously. Signing costs the same in all
+ * configurations, so the difference to {@link PersistenceMode#NONE} is the time spent in
+ * {@code TspResponseDataRepositoryImpl} and the write-behind decorator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TspResponsePersistenceBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Param({ "FULL", "METADATA", "NONE" })
+    private PersistenceMode persistenceMode;
+
+    @Param({ "false", "true" })
+    private boolean writeBehind;
+
+    private PackagedApplication application;
+
+    private byte[] request;
+
+    private byte[] batchRequest;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        application = PackagedApplication.start(Map.of(
+            "TSA_PERSISTENCE_MODE", persistenceMode.name(),
+            "TSA_PERSISTENCE_WRITE_BEHIND_ENABLED", String.valueOf(writeBehind)));
+
+        request = BenchmarkFixtures.encodedRequest();
+        var batchRequestStream = new ByteArrayOutputStream(BATCH_SIZE * request.length);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batchRequestStream.write(request);
+        }
+        batchRequest = batchRequestStream.toByteArray();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, InterruptedException {
+        application.close();
+    }
+
+    @Benchmark
+    public byte[] sign() throws IOException, InterruptedException {
+        return application.sign("/sign", request);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[] signBatch() throws IOException, InterruptedException {
+        return application.sign("/sign/batch", batchRequest);
+    }
+
+}
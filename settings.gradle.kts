@@ -2,6 +2,7 @@ rootProject.name = "tsa"
 
 include("app")
 include("web")
+include("benchmarks")
 
 dependencyResolutionManagement {
     versionCatalogs {
@@ -12,6 +13,7 @@ dependencyResolutionManagement {
             plugin("quarkus", "io.quarkus").versionRef("quarkus")
             plugin("lombok", "io.freefair.lombok").version("8.4")
             plugin("spotless", "com.diffplug.spotless").version("6.25.0")
+            plugin("jmh", "me.champeau.jmh").version("0.7.2")
 
             library("quarkus-bom", "io.quarkus", "quarkus-bom").versionRef("quarkus")
             library("bouncycastle", "org.bouncycastle:bcpkix-jdk18on:1.77")